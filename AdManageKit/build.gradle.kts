@@ -2,6 +2,7 @@ plugins {
     alias(libs.plugins.android.library)
     alias(libs.plugins.jetbrains.kotlin.android)
     alias(libs.plugins.dokka)
+    alias(libs.plugins.androidx.baselineprofile)
     id("maven-publish")
 }
 
@@ -49,6 +50,11 @@ android {
         }
     }
 
+    // Offline tools for unit tests (the strategy simulator); not part of the AAR
+    testFixtures {
+        enable = true
+    }
+
 }
 
 dependencies {
@@ -69,6 +75,17 @@ dependencies {
     testImplementation(libs.robolectric)
     testImplementation(libs.mockk)
     testImplementation(libs.androidx.test.core)
+
+    baselineProfile(project(":admanagekit-macrobenchmark"))
+}
+
+// Profiles generated from the sample app's journeys (./gradlew :AdManageKit:generateBaselineProfile)
+// land in src/main/generated/baselineProfiles and ship in the AAR next to the hand-written
+// src/main/baseline-prof.txt. Keep only this library's classes; the app owns the rest.
+baselineProfile {
+    filter {
+        include("com.i2hammad.admanagekit.**")
+    }
 }
 
 afterEvaluate {
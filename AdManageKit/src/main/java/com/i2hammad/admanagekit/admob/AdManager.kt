@@ -8,6 +8,7 @@ import android.graphics.drawable.ColorDrawable
 import android.os.Bundle
 import android.os.Handler
 import android.os.Looper
+import android.os.SystemClock
 import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
@@ -32,9 +33,12 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
-import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.config.AdLoadingPolicy
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.utils.AdDebugUtils
 import com.i2hammad.admanagekit.utils.AdRetryManager
@@ -73,6 +77,9 @@ class AdManager() {
     // Track which ad units are currently loading
     private val loadingAdUnits = ConcurrentHashMap.newKeySet<String>()
 
+    // Ad units whose load is parked until MobileAds finishes initializing
+    private val awaitingInitAdUnits = ConcurrentHashMap.newKeySet<String>()
+
     // Legacy single ad reference (for backward compatibility)
     @Deprecated("Use adPool instead", ReplaceWith("adPool"))
     private var mInterstitialAd: InterstitialAd? = null
@@ -263,17 +270,43 @@ class AdManager() {
         // Skip if ad is already loaded and ready
         if (mInterstitialAd != null || adPool.containsKey(adUnitId)) {
             Log.d("AdManager", "Ad already loaded for splash, skipping load request")
-            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", "Ad already loaded for splash", true)
+            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", true) { "Ad already loaded for splash" }
             this.adUnitId = adUnitId
             callback.onNextAction()
             callback.onAdLoaded()
             return
         }
 
+        // The splash timeout runs from now: a load that starts once MobileAds is ready
+        // gets what is left of it, and one that cannot start in time only warms the pool.
+        if (AdProviderReadiness.isInitializing(AdProvider.ADMOB)) {
+            val appContext = context.applicationContext
+            val deadline = SystemClock.uptimeMillis() + timeoutMillis
+            val settled = AtomicBoolean(false)
+            val handler = Handler(Looper.getMainLooper())
+            val timeout = Runnable {
+                if (settled.compareAndSet(false, true)) {
+                    AdDebugUtils.logEvent(adUnitId, "onTimeout", false) { "MobileAds still initializing at splash timeout" }
+                    callback.onNextAction()
+                }
+            }
+            handler.postDelayed(timeout, timeoutMillis)
+            whenAdMobReady(adUnitId) {
+                if (settled.compareAndSet(false, true)) {
+                    handler.removeCallbacks(timeout)
+                    val remainingMillis = (deadline - SystemClock.uptimeMillis()).coerceAtLeast(0)
+                    loadInterstitialAdForSplash(appContext, adUnitId, remainingMillis, callback)
+                } else {
+                    loadInterstitialAd(appContext, adUnitId)
+                }
+            }
+            return
+        }
+
         // Skip if already loading this ad unit
         if (loadingAdUnits.contains(adUnitId) || isAdLoading) {
             Log.d("AdManager", "Ad unit $adUnitId already loading for splash, waiting for in-flight load")
-            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", "Ad already loading for splash, waiting", true)
+            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", true) { "Ad already loading for splash, waiting" }
             // Poll the in-flight load so this caller is always notified exactly once:
             // success -> onNextAction + onAdLoaded (same as the normal success path),
             // failure/timeout -> onNextAction.
@@ -289,7 +322,7 @@ class AdManager() {
                         // In-flight load completed successfully
                         isReady() -> {
                             callbackCalled = true
-                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "In-flight splash load completed", true)
+                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "In-flight splash load completed" }
                             callback.onNextAction()
                             callback.onAdLoaded()
                         }
@@ -297,14 +330,14 @@ class AdManager() {
                         // Timeout reached - proceed without the ad
                         elapsedMs >= timeoutMillis -> {
                             callbackCalled = true
-                            AdDebugUtils.logEvent(adUnitId, "onTimeout", "In-flight splash load timed out", false)
+                            AdDebugUtils.logEvent(adUnitId, "onTimeout", false) { "In-flight splash load timed out" }
                             callback.onNextAction()
                         }
 
                         // In-flight load finished without an ad (failed) - proceed
                         !loadingAdUnits.contains(adUnitId) && !isAdLoading -> {
                             callbackCalled = true
-                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "In-flight splash load failed", false)
+                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "In-flight splash load failed" }
                             callback.onNextAction()
                         }
 
@@ -337,76 +370,80 @@ class AdManager() {
         val callbackCalled = AtomicBoolean(false)
 
         // Load the interstitial ad
-        InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
-            override fun onAdLoaded(interstitialAd: InterstitialAd) {
-                // Always save the ad (improves show rate even if timeout already fired)
-                mInterstitialAd = interstitialAd
-                loadingAdUnits.remove(adUnitId)
-                isAdLoading = loadingAdUnits.isNotEmpty()
-                Log.d("AdManager", "Interstitial ad loaded for splash")
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Interstitial ad loaded for splash", true)
-
-                // Only call callback if not already called by timeout
-                if (callbackCalled.compareAndSet(false, true)) {
-                    callback.onNextAction()
-                    callback.onAdLoaded()
-                } else {
-                    // Ad loaded after timeout - it's saved for next use (not wasted!)
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoadedAfterTimeout", "Ad saved for next show", true)
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
+                override fun onAdLoaded(interstitialAd: InterstitialAd) {
+                    ticket.finish()
+                    // Always save the ad (improves show rate even if timeout already fired)
+                    mInterstitialAd = interstitialAd
+                    loadingAdUnits.remove(adUnitId)
+                    isAdLoading = loadingAdUnits.isNotEmpty()
+                    Log.d("AdManager", "Interstitial ad loaded for splash")
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Interstitial ad loaded for splash" }
+
+                    // Only call callback if not already called by timeout
+                    if (callbackCalled.compareAndSet(false, true)) {
+                        callback.onNextAction()
+                        callback.onAdLoaded()
+                    } else {
+                        // Ad loaded after timeout - it's saved for next use (not wasted!)
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoadedAfterTimeout", true) { "Ad saved for next show" }
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                loadingAdUnits.remove(adUnitId)
-                isAdLoading = loadingAdUnits.isNotEmpty()
+                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                    ticket.finish()
+                    loadingAdUnits.remove(adUnitId)
+                    isAdLoading = loadingAdUnits.isNotEmpty()
 
-                Log.e(
-                    "AdManager", "Failed to load interstitial ad for splash: ${loadAdError.message}"
-                )
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Interstitial failed for splash: ${loadAdError.message}", false)
-
-                // Attempt automatic retry if enabled
-                if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
-                    val currentAttempt = retryAttempts[adUnitId] ?: 0
-                    retryAttempts[adUnitId] = currentAttempt + 1
-
-                    // Use application context so the retry closure doesn't retain an Activity
-                    val appContext = context.applicationContext
-                    AdRetryManager.getInstance().scheduleRetry(
-                        adUnitId = adUnitId,
-                        attempt = currentAttempt,
-                        maxAttempts = AdManageKitConfig.maxRetryAttempts
-                    ) {
-                        // Retry purely to warm the cache for the next show.
-                        // Do NOT reuse the splash callback - it fires exactly once below.
-                        loadInterstitialAd(appContext, adUnitId)
+                    Log.e(
+                        "AdManager", "Failed to load interstitial ad for splash: ${loadAdError.message}"
+                    )
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "Interstitial failed for splash: ${loadAdError.message}" }
+
+                    // Attempt automatic retry if enabled
+                    if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
+                        val currentAttempt = retryAttempts[adUnitId] ?: 0
+                        retryAttempts[adUnitId] = currentAttempt + 1
+
+                        // Use application context so the retry closure doesn't retain an Activity
+                        val appContext = context.applicationContext
+                        AdRetryManager.getInstance().scheduleRetry(
+                            adUnitId = adUnitId,
+                            attempt = currentAttempt,
+                            maxAttempts = AdManageKitConfig.maxRetryAttempts
+                        ) {
+                            // Retry purely to warm the cache for the next show.
+                            // Do NOT reuse the splash callback - it fires exactly once below.
+                            loadInterstitialAd(appContext, adUnitId)
+                        }
+                    } else {
+                        mInterstitialAd = null
                     }
-                } else {
-                    mInterstitialAd = null
-                }
 
-                // Log Firebase event for ad failed to load
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", loadAdError.code.toString())
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", loadAdError.message)
+                    // Log Firebase event for ad failed to load
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", loadAdError.code.toString())
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", loadAdError.message)
+                        }
                     }
-                }
-                firebaseAnalytics.logEvent("ad_failed_to_load", params)
+                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
 
-                // Only call callback if not already called by timeout
-                if (callbackCalled.compareAndSet(false, true)) {
-                    callback.onNextAction()
-                    callback.onFailedToLoad(loadAdError)
+                    // Only call callback if not already called by timeout
+                    if (callbackCalled.compareAndSet(false, true)) {
+                        callback.onNextAction()
+                        callback.onFailedToLoad(loadAdError)
+                    }
                 }
-            }
-        })
+            })
+        }
 
         Handler(Looper.getMainLooper()).postDelayed({
             if (loadingAdUnits.contains(adUnitId) && callbackCalled.compareAndSet(false, true)) {
                 Log.d("AdManager", "Ad loading timed out for splash")
-                AdDebugUtils.logEvent(adUnitId, "onTimeout", "Interstitial ad loading timed out for splash", false)
+                AdDebugUtils.logEvent(adUnitId, "onTimeout", false) { "Interstitial ad loading timed out for splash" }
 
                 // Note: Don't remove from loadingAdUnits here - the ad callback will still fire
                 // and save the ad if it arrives later. Just allow new UI flows to proceed.
@@ -424,26 +461,37 @@ class AdManager() {
         // Skip loading for premium users - no need to request ads
         val purchaseProvider = BillingConfig.getPurchaseProvider()
         if (purchaseProvider.isPurchased()) {
-            AdDebugUtils.logEvent(adUnitId, "skipLoad", "Skipping ad load - user is premium", true)
+            AdDebugUtils.logEvent(adUnitId, "skipLoad", true) { "Skipping ad load - user is premium" }
+            return
+        }
+
+        if (AdProviderReadiness.isInitializing(AdProvider.ADMOB)) {
+            if (awaitingInitAdUnits.add(adUnitId)) {
+                val appContext = context.applicationContext
+                whenAdMobReady(adUnitId) {
+                    awaitingInitAdUnits.remove(adUnitId)
+                    loadInterstitialAd(appContext, adUnitId)
+                }
+            }
             return
         }
 
         // Guard: Prevent duplicate concurrent loads for SAME ad unit
         if (loadingAdUnits.contains(adUnitId)) {
             Log.d("AdManager", "Ad unit $adUnitId already loading, skipping duplicate request")
-            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", "Ad unit already loading", true)
+            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", true) { "Ad unit already loading" }
             return
         }
 
         // Guard: Skip if THIS ad unit already has ad in pool
         if (adPool.containsKey(adUnitId)) {
             Log.d("AdManager", "Ad unit $adUnitId already in pool, skipping load request")
-            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", "Ad already in pool", true)
+            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", true) { "Ad already in pool" }
             return
         }
 
         if (AdManageKitConfig.testMode) {
-            AdDebugUtils.logEvent(adUnitId, "testMode", "Using test mode for interstitial ads", true)
+            AdDebugUtils.logEvent(adUnitId, "testMode", true) { "Using test mode for interstitial ads" }
         }
 
         // Set primary ad unit if not set
@@ -467,61 +515,65 @@ class AdManager() {
         // Firebase: Log ad request
         logAdRequest(adUnitId, "interstitial")
 
-        InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
-            override fun onAdLoaded(interstitialAd: InterstitialAd) {
-                // Add to pool
-                adPool[adUnitId] = interstitialAd
-                loadingAdUnits.remove(adUnitId)
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
+                override fun onAdLoaded(interstitialAd: InterstitialAd) {
+                    ticket.finish()
+                    // Add to pool
+                    adPool[adUnitId] = interstitialAd
+                    loadingAdUnits.remove(adUnitId)
 
-                // Legacy compatibility
-                mInterstitialAd = interstitialAd
-                isAdLoading = loadingAdUnits.isNotEmpty()
+                    // Legacy compatibility
+                    mInterstitialAd = interstitialAd
+                    isAdLoading = loadingAdUnits.isNotEmpty()
 
-                Log.d("AdManager", "Interstitial ad loaded for unit: $adUnitId (pool size: ${adPool.size})")
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Ad loaded, pool size: ${adPool.size}", true)
+                    Log.d("AdManager", "Interstitial ad loaded for unit: $adUnitId (pool size: ${adPool.size})")
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Ad loaded, pool size: ${adPool.size}" }
 
-                // Firebase: Log ad fill (successful load)
-                logAdFill(adUnitId, "interstitial")
+                    // Firebase: Log ad fill (successful load)
+                    logAdFill(adUnitId, "interstitial")
 
-                // Reset retry attempts on success
-                retryAttempts.remove(adUnitId)
-            }
+                    // Reset retry attempts on success
+                    retryAttempts.remove(adUnitId)
+                }
 
-            override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                loadingAdUnits.remove(adUnitId)
-                isAdLoading = loadingAdUnits.isNotEmpty()
-
-                Log.e("AdManager", "Failed to load interstitial ad for $adUnitId: ${loadAdError.message}")
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Interstitial failed: ${loadAdError.message}", false)
-
-                // Attempt automatic retry if enabled
-                if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
-                    val currentAttempt = retryAttempts[adUnitId] ?: 0
-                    retryAttempts[adUnitId] = currentAttempt + 1
-
-                    // Use application context so the retry closure doesn't retain an Activity
-                    val appContext = context.applicationContext
-                    AdRetryManager.getInstance().scheduleRetry(
-                        adUnitId = adUnitId,
-                        attempt = currentAttempt,
-                        maxAttempts = AdManageKitConfig.maxRetryAttempts
-                    ) {
-                        // Retry loading the ad
-                        loadInterstitialAd(appContext, adUnitId)
+                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                    ticket.finish()
+                    loadingAdUnits.remove(adUnitId)
+                    isAdLoading = loadingAdUnits.isNotEmpty()
+
+                    Log.e("AdManager", "Failed to load interstitial ad for $adUnitId: ${loadAdError.message}")
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "Interstitial failed: ${loadAdError.message}" }
+
+                    // Attempt automatic retry if enabled
+                    if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
+                        val currentAttempt = retryAttempts[adUnitId] ?: 0
+                        retryAttempts[adUnitId] = currentAttempt + 1
+
+                        // Use application context so the retry closure doesn't retain an Activity
+                        val appContext = context.applicationContext
+                        AdRetryManager.getInstance().scheduleRetry(
+                            adUnitId = adUnitId,
+                            attempt = currentAttempt,
+                            maxAttempts = AdManageKitConfig.maxRetryAttempts
+                        ) {
+                            // Retry loading the ad
+                            loadInterstitialAd(appContext, adUnitId)
+                        }
                     }
-                }
 
-                // Log Firebase event for ad failed to load
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", loadAdError.code.toString())
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", loadAdError.message)
+                    // Log Firebase event for ad failed to load
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", loadAdError.code.toString())
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", loadAdError.message)
+                        }
                     }
+                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
                 }
-                firebaseAnalytics.logEvent("ad_failed_to_load", params)
-            }
-        })
+            })
+        }
     }
 
     /**
@@ -564,7 +616,29 @@ class AdManager() {
         adPool.clear()
         mInterstitialAd = null
         Log.d("AdManager", "Cleared $count ads from pool")
-        AdDebugUtils.logEvent("", "poolCleared", "Cleared $count ads", true)
+        AdDebugUtils.logEvent("", "poolCleared", true) { "Cleared $count ads" }
+    }
+
+    /**
+     * Drops every pooled interstitial to release memory, as [clearAdPool] does.
+     *
+     * @return Number of ads dropped
+     */
+    internal fun releasePooledAds(): Int {
+        val count = adPool.size
+        if (count > 0) clearAdPool()
+        return count
+    }
+
+    /**
+     * Runs [load] on the main thread once MobileAds is ready. Used while it is still
+     * initializing (started through AdManageKit), since the SDK would reject the request.
+     */
+    private fun whenAdMobReady(adUnitId: String, load: () -> Unit) {
+        AdDebugUtils.logEvent(adUnitId, "deferLoad", true) { "MobileAds initializing, loading once ready" }
+        AdProviderReadiness.whenReady(AdProvider.ADMOB) {
+            Handler(Looper.getMainLooper()).post { load() }
+        }
     }
 
     /**
@@ -578,7 +652,7 @@ class AdManager() {
         context: Context, adUnitId: String, interstitialAdLoadCallback: AdLoadCallback<InterstitialAd>
     ) {
         if (AdManageKitConfig.testMode) {
-            AdDebugUtils.logEvent(adUnitId, "testMode", "Using test mode for interstitial ads with callback", true)
+            AdDebugUtils.logEvent(adUnitId, "testMode", true) { "Using test mode for interstitial ads with callback" }
         }
         var purchaseProvider = BillingConfig.getPurchaseProvider()
         if (purchaseProvider.isPurchased()){
@@ -596,6 +670,11 @@ class AdManager() {
             )
             return
         }
+        if (AdProviderReadiness.isInitializing(AdProvider.ADMOB)) {
+            val appContext = context.applicationContext
+            whenAdMobReady(adUnitId) { loadInterstitialAd(appContext, adUnitId, interstitialAdLoadCallback) }
+            return
+        }
         this.adUnitId = adUnitId
         initializeFirebase(context)
         val adRequest = AdRequest.Builder(adUnitId).build()
@@ -605,56 +684,60 @@ class AdManager() {
         retryAttempts.remove(adUnitId)
 
         isAdLoading = true
-        InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
-            override fun onAdLoaded(interstitialAd: InterstitialAd) {
-                mInterstitialAd = interstitialAd
-                isAdLoading = false
-                Log.d("AdManager", "Interstitial ad loaded")
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Interstitial ad loaded with callback", true)
-
-                // Use the non-null local parameter, not the shared mInterstitialAd field:
-                // a concurrent show/dismiss/load on another thread can null the field between
-                // the assignment above and here, making mInterstitialAd!! throw an NPE.
-                interstitialAdLoadCallback.onAdLoaded(interstitialAd)
-            }
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
+                override fun onAdLoaded(interstitialAd: InterstitialAd) {
+                    ticket.finish()
+                    mInterstitialAd = interstitialAd
+                    isAdLoading = false
+                    Log.d("AdManager", "Interstitial ad loaded")
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Interstitial ad loaded with callback" }
+
+                    // Use the non-null local parameter, not the shared mInterstitialAd field:
+                    // a concurrent show/dismiss/load on another thread can null the field between
+                    // the assignment above and here, making mInterstitialAd!! throw an NPE.
+                    interstitialAdLoadCallback.onAdLoaded(interstitialAd)
+                }
 
-            override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                isAdLoading = false
-                Log.e("AdManager", "Failed to load interstitial ad: ${loadAdError.message}")
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Interstitial failed with callback: ${loadAdError.message}", false)
-
-                // Attempt automatic retry if enabled
-                if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
-                    val currentAttempt = retryAttempts[adUnitId] ?: 0
-                    retryAttempts[adUnitId] = currentAttempt + 1
-
-                    // Use application context so the retry closure doesn't retain an Activity
-                    val appContext = context.applicationContext
-                    AdRetryManager.getInstance().scheduleRetry(
-                        adUnitId = adUnitId,
-                        attempt = currentAttempt,
-                        maxAttempts = AdManageKitConfig.maxRetryAttempts
-                    ) {
-                        // Retry purely to warm the cache.
-                        // Do NOT reuse the caller's callback - it is notified exactly once below.
-                        loadInterstitialAd(appContext, adUnitId)
+                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                    ticket.finish()
+                    isAdLoading = false
+                    Log.e("AdManager", "Failed to load interstitial ad: ${loadAdError.message}")
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "Interstitial failed with callback: ${loadAdError.message}" }
+
+                    // Attempt automatic retry if enabled
+                    if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
+                        val currentAttempt = retryAttempts[adUnitId] ?: 0
+                        retryAttempts[adUnitId] = currentAttempt + 1
+
+                        // Use application context so the retry closure doesn't retain an Activity
+                        val appContext = context.applicationContext
+                        AdRetryManager.getInstance().scheduleRetry(
+                            adUnitId = adUnitId,
+                            attempt = currentAttempt,
+                            maxAttempts = AdManageKitConfig.maxRetryAttempts
+                        ) {
+                            // Retry purely to warm the cache.
+                            // Do NOT reuse the caller's callback - it is notified exactly once below.
+                            loadInterstitialAd(appContext, adUnitId)
+                        }
+                    } else {
+                        mInterstitialAd = null
                     }
-                } else {
-                    mInterstitialAd = null
-                }
 
-                // Log Firebase event for ad failed to load
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", loadAdError.code.toString())
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", loadAdError.message)
+                    // Log Firebase event for ad failed to load
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", loadAdError.code.toString())
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", loadAdError.message)
+                        }
                     }
+                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
+                    interstitialAdLoadCallback.onAdFailedToLoad(loadAdError)
                 }
-                firebaseAnalytics.logEvent("ad_failed_to_load", params)
-                interstitialAdLoadCallback.onAdFailedToLoad(loadAdError)
-            }
-        })
+            })
+        }
     }
 
     /**
@@ -672,31 +755,20 @@ class AdManager() {
         val strategy = AdManageKitConfig.interstitialLoadingStrategy
         val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
 
-        when (strategy) {
-            AdLoadingStrategy.ON_DEMAND -> {
-                // Always fetch fresh ad with dialog
-                forceShowInterstitialAlways(activity, callback)
+        // The preloaded interstitial stays loaded until shown, so "taking" it is a readiness check
+        when (AdLoadingPolicy.decide(strategy) { isReady() }) {
+            AdLoadingPolicy.Decision.SHOW_CACHED -> {
+                // ONLY_CACHE or HYBRID with a preloaded ad ready
+                showInterstitialIfReady(activity, callback, effectiveAutoReload)
             }
-            AdLoadingStrategy.ONLY_CACHE -> {
-                // Only show if cached, skip otherwise
-                if (isReady()) {
-                    showInterstitialIfReady(activity, callback, effectiveAutoReload)
-                } else {
-                    callback.onNextAction()
-                }
-            }
-            AdLoadingStrategy.HYBRID -> {
-                // Show cached if ready, otherwise fetch fresh
-                if (isReady()) {
-                    showInterstitialIfReady(activity, callback, effectiveAutoReload)
-                } else {
-                    forceShowInterstitialAlways(activity, callback)
-                }
+            AdLoadingPolicy.Decision.SKIP -> {
+                // ONLY_CACHE with nothing ready: skip
+                callback.onNextAction()
             }
-            AdLoadingStrategy.FRESH_WITH_CACHE_FALLBACK -> {
-                // Try fresh first, fall back to cache if fails
-                // For interstitials, this behaves like ON_DEMAND (always tries fresh)
-                // but the internal loading will fall back to cache on failure
+            AdLoadingPolicy.Decision.LOAD_FRESH,
+            AdLoadingPolicy.Decision.LOAD_FRESH_WITH_CACHE_FALLBACK -> {
+                // Fetch fresh ad with dialog. For FRESH_WITH_CACHE_FALLBACK the
+                // internal loading will fall back to cache on failure
                 forceShowInterstitialAlways(activity, callback)
             }
         }
@@ -850,7 +922,7 @@ class AdManager() {
 
         if (hasCachedFallback) {
             Log.d("AdManager", "Cached ad available as fallback while loading fresh")
-            AdDebugUtils.logEvent(currentAdUnitId, "cachedFallbackAvailable", "Cached ad saved as fallback", true)
+            AdDebugUtils.logEvent(currentAdUnitId, "cachedFallbackAvailable", true) { "Cached ad saved as fallback" }
         }
 
         // Never open the loading dialog over a finishing/destroyed activity:
@@ -896,7 +968,9 @@ class AdManager() {
         fun showCachedFallback(): Boolean {
             if (cachedAdFallback != null) {
                 Log.d("AdManager", "Showing cached fallback ad")
-                AdDebugUtils.logEvent(currentAdUnitId, "showingCachedFallback", "Fresh load failed, showing cached fallback", true)
+                AdDebugUtils.logEvent(currentAdUnitId, "showingCachedFallback", true) {
+                    "Fresh load failed, showing cached fallback"
+                }
                 mInterstitialAd = cachedAdFallback
                 val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
                 // The cached ad may have been loaded under a different ad unit - find its real
@@ -912,58 +986,66 @@ class AdManager() {
             return false
         }
 
-        InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
-            override fun onAdLoaded(interstitialAd: InterstitialAd) {
-                // Always save the ad (even when the timeout already won the race)
-                mInterstitialAd = interstitialAd
-
-                if (!resolved.compareAndSet(false, true)) {
-                    // Timeout already triggered, but ad loaded - it's saved for next time
-                    Log.d("AdManager", "Ad loaded after timeout - saved for next show")
-                    AdDebugUtils.logEvent(currentAdUnitId, "onAdLoadedAfterTimeout", "Ad saved for next show", true)
-                    return
-                }
+        AdRequestGovernor.submit(currentAdUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
+                override fun onAdLoaded(interstitialAd: InterstitialAd) {
+                    ticket.finish()
+                    // Always save the ad (even when the timeout already won the race)
+                    mInterstitialAd = interstitialAd
+
+                    if (!resolved.compareAndSet(false, true)) {
+                        // Timeout already triggered, but ad loaded - it's saved for next time
+                        Log.d("AdManager", "Ad loaded after timeout - saved for next show")
+                        AdDebugUtils.logEvent(currentAdUnitId, "onAdLoadedAfterTimeout", true) {
+                            "Ad saved for next show"
+                        }
+                        return
+                    }
 
-                Log.d("AdManager", "Fresh interstitial ad loaded for force show")
-                AdDebugUtils.logEvent(currentAdUnitId, "onAdLoaded", "Fresh interstitial loaded for force show", true)
+                    Log.d("AdManager", "Fresh interstitial ad loaded for force show")
+                    AdDebugUtils.logEvent(currentAdUnitId, "onAdLoaded", true) {
+                        "Fresh interstitial loaded for force show"
+                    }
 
-                val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
-                // Animate dialog dismissal and show the freshly loaded ad
-                // (pass it explicitly so an unrelated pooled ad is never shown instead)
-                dismissDialogOnce {
-                    showAd(activity, callback, effectiveAutoReload, currentAdUnitId to interstitialAd)
+                    val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
+                    // Animate dialog dismissal and show the freshly loaded ad
+                    // (pass it explicitly so an unrelated pooled ad is never shown instead)
+                    dismissDialogOnce {
+                        showAd(activity, callback, effectiveAutoReload, currentAdUnitId to interstitialAd)
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                if (!resolved.compareAndSet(false, true)) return
-                Log.e("AdManager", "Failed to load fresh interstitial ad: ${loadAdError.message}")
-                AdDebugUtils.logEvent(currentAdUnitId, "onFailedToLoad", "Fresh interstitial failed: ${loadAdError.message}", false)
-
-                // Log Firebase event
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, currentAdUnitId)
-                    putString("ad_error_code", loadAdError.code.toString())
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", loadAdError.message)
+                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                    ticket.finish()
+                    if (!resolved.compareAndSet(false, true)) return
+                    Log.e("AdManager", "Failed to load fresh interstitial ad: ${loadAdError.message}")
+                    AdDebugUtils.logEvent(currentAdUnitId, "onFailedToLoad", false) { "Fresh interstitial failed: ${loadAdError.message}" }
+
+                    // Log Firebase event
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, currentAdUnitId)
+                        putString("ad_error_code", loadAdError.code.toString())
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", loadAdError.message)
+                        }
                     }
-                }
-                firebaseAnalytics.logEvent("ad_failed_to_load", params)
+                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
 
-                // Try cached fallback before giving up
-                if (!showCachedFallback()) {
-                    dismissDialogOnce {
-                        callback.onNextAction()
+                    // Try cached fallback before giving up
+                    if (!showCachedFallback()) {
+                        dismissDialogOnce {
+                            callback.onNextAction()
+                        }
                     }
                 }
-            }
-        })
+            })
+        }
 
         // Timeout handler
         Handler(Looper.getMainLooper()).postDelayed({
             if (resolved.compareAndSet(false, true)) {
                 Log.d("AdManager", "Force show interstitial timed out")
-                AdDebugUtils.logEvent(currentAdUnitId, "onTimeout", "Force show interstitial timed out", false)
+                AdDebugUtils.logEvent(currentAdUnitId, "onTimeout", false) { "Force show interstitial timed out" }
 
                 // Try cached fallback on timeout
                 if (!showCachedFallback()) {
@@ -1164,7 +1246,7 @@ class AdManager() {
     fun setAdInterval(intervalMillis: Long) {
         this.adIntervalMillis = intervalMillis
         if (AdManageKitConfig.debugMode) {
-            AdDebugUtils.logEvent("", "setAdInterval", "Ad interval set to ${intervalMillis}ms", true)
+            AdDebugUtils.logEvent("", "setAdInterval", true) { "Ad interval set to ${intervalMillis}ms" }
         }
     }
 
@@ -1227,7 +1309,8 @@ class AdManager() {
     }
 
     private fun canShowAd(): Boolean {
-        val elapsed = System.currentTimeMillis() - lastAdShowTime
+        val now = System.currentTimeMillis()
+        val elapsed = now - lastAdShowTime
         Log.d("AdManager", "Time since last ad: $elapsed milliseconds")
         
         // Use adaptive intervals if enabled
@@ -1239,7 +1322,7 @@ class AdManager() {
             adIntervalMillis
         }
         
-        return elapsed > effectiveInterval
+        return AdLoadingPolicy.isIntervalElapsed(lastAdShowTime, now, effectiveInterval)
     }
     
     /**
@@ -1273,7 +1356,7 @@ class AdManager() {
         // Guard: never call show() while another interstitial is on screen
         if (isDisplayingAd) {
             Log.d("AdManager", "Interstitial ad is already displaying, skipping duplicate show request")
-            AdDebugUtils.logEvent(adUnitId ?: "", "skipAlreadyDisplaying", "Interstitial already displaying", false)
+            AdDebugUtils.logEvent(adUnitId ?: "", "skipAlreadyDisplaying", false) { "Interstitial already displaying" }
             callback.onNextAction()
             return
         }
@@ -1302,7 +1385,7 @@ class AdManager() {
         }
 
         Log.d("AdManager", "Showing ad from unit: $shownAdUnitId (remaining in pool: ${adPool.size})")
-        AdDebugUtils.logEvent(shownAdUnitId, "showingFromPool", "Pool size after: ${adPool.size}", true)
+        AdDebugUtils.logEvent(shownAdUnitId, "showingFromPool", true) { "Pool size after: ${adPool.size}" }
 
         interstitialAd.adEventCallback = object : InterstitialAdEventCallback {
             override fun onAdDismissedFullScreenContent() {
@@ -1311,7 +1394,7 @@ class AdManager() {
                 if (mInterstitialAd === interstitialAd) {
                     mInterstitialAd = null
                 }
-                AdDebugUtils.logEvent(shownAdUnitId, "onAdDismissed", "Interstitial ad dismissed", true)
+                AdDebugUtils.logEvent(shownAdUnitId, "onAdDismissed", true) { "Interstitial ad dismissed" }
                 // GMA fires this dismiss callback on a background thread, and app onNextAction
                 // handlers touch views — always deliver it on the main thread to avoid
                 // CalledFromWrongThreadException across every InterstitialAdBuilder.show { } site.
@@ -1339,7 +1422,7 @@ class AdManager() {
                     mInterstitialAd = null
                 }
                 Log.e("AdManager", "Failed to show full-screen content: ${adError.message}")
-                AdDebugUtils.logEvent(shownAdUnitId, "onFailedToShow", "Interstitial failed to show: ${adError.message}", false)
+                AdDebugUtils.logEvent(shownAdUnitId, "onFailedToShow", false) { "Interstitial failed to show: ${adError.message}" }
                 // Deliver on the main thread (GMA callback runs on a background thread).
                 if (Looper.myLooper() == Looper.getMainLooper()) callback.onNextAction()
                 else Handler(Looper.getMainLooper()).post { callback.onNextAction() }
@@ -1365,7 +1448,7 @@ class AdManager() {
                 isDisplayingAd = true
                 lastAdShowTime = System.currentTimeMillis()
                 adDisplayCount++
-                AdDebugUtils.logEvent(shownAdUnitId, "onAdImpression", "Interstitial ad shown", true)
+                AdDebugUtils.logEvent(shownAdUnitId, "onAdImpression", true) { "Interstitial ad shown" }
 
                 // Notify callback that ad is now showing. GMA fires this on a background
                 // thread and onAdShowed is documented for UI work ("pause app content,
@@ -1418,7 +1501,7 @@ class AdManager() {
         if (!isReady()) {
             loadInterstitialAd(context, adUnitId)
             if (AdManageKitConfig.debugMode) {
-                AdDebugUtils.logEvent(adUnitId, "preload", "Preloading interstitial ad", true)
+                AdDebugUtils.logEvent(adUnitId, "preload", true) { "Preloading interstitial ad" }
             }
         }
     }
@@ -1432,7 +1515,7 @@ class AdManager() {
         adDisplayCount = 0
         retryAttempts.clear()
         if (AdManageKitConfig.debugMode) {
-            AdDebugUtils.logEvent("", "resetThrottling", "Ad throttling reset", true)
+            AdDebugUtils.logEvent("", "resetThrottling", true) { "Ad throttling reset" }
         }
     }
 
@@ -1445,7 +1528,7 @@ class AdManager() {
         setAdInterval(5000L)
 
         if (AdManageKitConfig.debugMode) {
-            AdDebugUtils.logEvent("", "aggressiveMode", "Aggressive ad loading enabled (5s interval)", true)
+            AdDebugUtils.logEvent("", "aggressiveMode", true) { "Aggressive ad loading enabled (5s interval)" }
         }
     }
 
@@ -1513,19 +1596,19 @@ class AdManager() {
         when {
             // Case 1: Ad is ready - show immediately
             isReady() -> {
-                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", "Ad ready, showing immediately", true)
+                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", true) { "Ad ready, showing immediately" }
                 showAd(activity, callback, effectiveAutoReload)
             }
 
             // Case 2: Ad is loading - wait for it with timeout
             isAdLoading -> {
-                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", "Ad loading, waiting with timeout ${timeoutMillis}ms", true)
+                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", true) { "Ad loading, waiting with timeout ${timeoutMillis}ms" }
                 waitForLoadingAd(activity, callback, timeoutMillis, showDialogIfLoading, effectiveAutoReload)
             }
 
             // Case 3: Neither ready nor loading - force load
             else -> {
-                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", "Ad not loaded/loading, force fetching", true)
+                AdDebugUtils.logEvent(currentAdUnitId, "showOrWait", true) { "Ad not loaded/loading, force fetching" }
                 forceShowInterstitialInternal(activity, callback)
             }
         }
@@ -1556,7 +1639,7 @@ class AdManager() {
                 when {
                     // Ad became ready - show it
                     isReady() -> {
-                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", "Ad loaded after ${elapsedMs}ms, showing", true)
+                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", true) { "Ad loaded after ${elapsedMs}ms, showing" }
                         if (dialogViews != null) {
                             animateDialogDismissal(dialogViews) {
                                 showAd(activity, callback, reloadAd)
@@ -1568,7 +1651,7 @@ class AdManager() {
 
                     // Timeout reached
                     elapsedMs >= timeoutMillis -> {
-                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", "Timeout after ${elapsedMs}ms, proceeding", false)
+                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", false) { "Timeout after ${elapsedMs}ms, proceeding" }
                         if (dialogViews != null) {
                             animateDialogDismissal(dialogViews) {
                                 callback.onNextAction()
@@ -1586,7 +1669,7 @@ class AdManager() {
 
                     // Loading failed (not loading anymore, not ready) - force fetch or proceed
                     else -> {
-                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", "Loading failed, proceeding", false)
+                        AdDebugUtils.logEvent(adUnitId ?: "", "waitForAd", false) { "Loading failed, proceeding" }
                         if (dialogViews != null) {
                             animateDialogDismissal(dialogViews) {
                                 callback.onNextAction()
@@ -1631,43 +1714,46 @@ class AdManager() {
         val waterfall = createWaterfall(adUnitId)
         interstitialWaterfall = waterfall
 
-        waterfall.load(context, object : InterstitialAdProvider.InterstitialAdCallback {
-            override fun onAdLoaded() {
-                isWaterfallLoading = false
-                isAdLoading = false
-                retryAttempts.remove(adUnitId)
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Interstitial waterfall ad loaded", true)
-                logAdFill(adUnitId, "interstitial")
-            }
-
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                isWaterfallLoading = false
-                isAdLoading = false
-                interstitialWaterfall = null
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Interstitial waterfall failed: ${error.message}", false)
+        // Each provider takes its own request slot for the step it loads
+        AdRequestGovernor.withPriority(AdRequestPriority.PREFETCH) {
+            waterfall.load(context, object : InterstitialAdProvider.InterstitialAdCallback {
+                override fun onAdLoaded() {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    retryAttempts.remove(adUnitId)
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Interstitial waterfall ad loaded" }
+                    logAdFill(adUnitId, "interstitial")
+                }
 
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", error.code.toString())
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", error.message)
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    interstitialWaterfall = null
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "Interstitial waterfall failed: ${error.message}" }
+
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", error.code.toString())
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", error.message)
+                        }
                     }
-                }
-                firebaseAnalytics.logEvent("ad_failed_to_load", params)
-
-                if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
-                    val currentAttempt = retryAttempts[adUnitId] ?: 0
-                    retryAttempts[adUnitId] = currentAttempt + 1
-                    AdRetryManager.getInstance().scheduleRetry(
-                        adUnitId = adUnitId,
-                        attempt = currentAttempt,
-                        maxAttempts = AdManageKitConfig.maxRetryAttempts
-                    ) {
-                        loadViaWaterfall(context, adUnitId)
+                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
+
+                    if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry(adUnitId)) {
+                        val currentAttempt = retryAttempts[adUnitId] ?: 0
+                        retryAttempts[adUnitId] = currentAttempt + 1
+                        AdRetryManager.getInstance().scheduleRetry(
+                            adUnitId = adUnitId,
+                            attempt = currentAttempt,
+                            maxAttempts = AdManageKitConfig.maxRetryAttempts
+                        ) {
+                            loadViaWaterfall(context, adUnitId)
+                        }
                     }
                 }
-            }
-        })
+            })
+        }
     }
 
     private fun loadWaterfallForSplash(
@@ -1692,32 +1778,35 @@ class AdManager() {
         val waterfall = createWaterfall(adUnitId)
         interstitialWaterfall = waterfall
 
-        waterfall.load(context, object : InterstitialAdProvider.InterstitialAdCallback {
-            override fun onAdLoaded() {
-                isWaterfallLoading = false
-                isAdLoading = false
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    callback.onNextAction(); callback.onAdLoaded()
+        // The splash is waiting on this load
+        AdRequestGovernor.withPriority(AdRequestPriority.SHOW_BLOCKING) {
+            waterfall.load(context, object : InterstitialAdProvider.InterstitialAdCallback {
+                override fun onAdLoaded() {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        callback.onNextAction(); callback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                isWaterfallLoading = false
-                isAdLoading = false
-                interstitialWaterfall = null
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    callback.onNextAction()
-                    // AdKitAdError's numeric code (from the waterfall/provider path) has no
-                    // equivalent in the Next-Gen SDK's closed LoadAdError.ErrorCode enum -
-                    // the message carries the real detail here.
-                    callback.onFailedToLoad(
-                        LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
-                    )
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    interstitialWaterfall = null
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        callback.onNextAction()
+                        // AdKitAdError's numeric code (from the waterfall/provider path) has no
+                        // equivalent in the Next-Gen SDK's closed LoadAdError.ErrorCode enum -
+                        // the message carries the real detail here.
+                        callback.onFailedToLoad(
+                            LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
+                        )
+                    }
                 }
-            }
-        })
+            })
+        }
 
         Handler(Looper.getMainLooper()).postDelayed({
             if (!callbackCalled) {
@@ -1837,27 +1926,30 @@ class AdManager() {
         isWaterfallLoading = true
         isAdLoading = true
 
-        waterfall.load(activity, object : InterstitialAdProvider.InterstitialAdCallback {
-            override fun onAdLoaded() {
-                isWaterfallLoading = false
-                isAdLoading = false
-                if (resolved) return
-                resolved = true
-                val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
-                dismissDialogOnce {
-                    showWaterfallAd(activity, callback, effectiveAutoReload)
+        // The user is waiting behind the loading dialog
+        AdRequestGovernor.withPriority(AdRequestPriority.SHOW_BLOCKING) {
+            waterfall.load(activity, object : InterstitialAdProvider.InterstitialAdCallback {
+                override fun onAdLoaded() {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    if (resolved) return
+                    resolved = true
+                    val effectiveAutoReload = AdManageKitConfig.interstitialAutoReload
+                    dismissDialogOnce {
+                        showWaterfallAd(activity, callback, effectiveAutoReload)
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                isWaterfallLoading = false
-                isAdLoading = false
-                interstitialWaterfall = null
-                if (resolved) return
-                resolved = true
-                dismissDialogOnce { callback.onNextAction() }
-            }
-        })
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    isWaterfallLoading = false
+                    isAdLoading = false
+                    interstitialWaterfall = null
+                    if (resolved) return
+                    resolved = true
+                    dismissDialogOnce { callback.onNextAction() }
+                }
+            })
+        }
 
         Handler(Looper.getMainLooper()).postDelayed({
             if (!resolved) {
@@ -3,6 +3,7 @@ package com.i2hammad.admanagekit.admob;
 import android.app.Activity
 import android.app.Application
 import android.app.Dialog
+import android.content.Context
 import android.graphics.Color
 import android.graphics.drawable.ColorDrawable
 import android.os.Bundle
@@ -37,12 +38,17 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.config.AdLoadingStrategy
 import com.i2hammad.admanagekit.utils.AdDebugUtils
+import com.i2hammad.admanagekit.utils.AdMemoryGovernor
 import com.i2hammad.admanagekit.utils.AdRetryManager
+import com.i2hammad.admanagekit.utils.AdSystrace
 import com.i2hammad.admanagekit.waterfall.AppOpenWaterfall
 import java.lang.ref.WeakReference
 import java.util.concurrent.atomic.AtomicBoolean
@@ -70,6 +76,10 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     private val excludedScreenTags: MutableSet<String> = HashSet()
     @Volatile
     private var currentScreenTag: String? = null
+
+    /** The current show in system traces: "show" until the ad is on screen, then "display" until it closes. */
+    @Volatile
+    private var showSlice: AdSystrace.Slice? = null
     private var fragmentTagProvider: (() -> String?)? = null
 
     private val skipNextAd = AtomicBoolean(false)
@@ -94,6 +104,17 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     private var lastLoadStartTime = 0L
     private val loadTimes = mutableListOf<Long>()
 
+    // Learns how long the user stays away, to time the background refresh. Built on
+    // first use, and only used while the predictive refresh can run.
+    private val returnPredictor by lazy {
+        AppOpenReturnPredictor(
+            myApplication.getSharedPreferences(AppOpenReturnPredictor.PREFS_NAME, Context.MODE_PRIVATE)
+        )
+    }
+    private val usesReturnPredictor: Boolean
+        get() = AdManageKitConfig.appOpenPredictivePrefetch && !AdManageKitConfig.appOpenFetchFreshAd
+    private var predictedRefresh: Runnable? = null
+
     // Waterfall support
     private var appOpenWaterfall: AppOpenWaterfall? = null
     private val useWaterfall: Boolean
@@ -103,6 +124,8 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     init {
         myApplication.registerActivityLifecycleCallbacks(this)
         ProcessLifecycleOwner.get().lifecycle.addObserver(this)
+        AdMemoryGovernor.register(myApplication)
+        AdMemoryGovernor.track(this)
 
         // Clear cache on startup
         excludedActivityNames.clear()
@@ -114,6 +137,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         /** Re-check cadence while waiting for MobileAds.initialize() to complete. */
         private const val INIT_CHECK_INTERVAL_MS = 250L
 
+        /** Assumed load time for return prediction until real loads were measured. */
+        private const val DEFAULT_EXPECTED_LOAD_MS = 5_000L
+
         // Thread-safe static state
         private val isShowingAd = AtomicBoolean(false)
         private val isShownAd = AtomicBoolean(false)
@@ -530,7 +556,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             return
         }
 
-        AdDebugUtils.logEvent(adUnitId, "showCachedAd", "Showing cached app open ad", true)
+        AdDebugUtils.logEvent(adUnitId, "showCachedAd", true) { "Showing cached app open ad" }
         // Claim the showing slot immediately to close the double-show window during the dialog delay
         isShowingAd.set(true)
         // Show welcome dialog first, then show ad on top
@@ -551,6 +577,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
 
             appOpenAd?.apply {
                 adEventCallback = eventCallback
+                traceShowStage("show", AdProvider.ADMOB.name)
                 show(activity)
             } ?: run {
                 isShowingAd.set(false)
@@ -647,7 +674,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                     isFetchingWithDialog = false
                     val loadedCallback = dialogFetchCallback
                     dialogFetchCallback = null
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open ad loaded by in-flight fetch (dialog)", true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                        "App open ad loaded by in-flight fetch (dialog)"
+                    }
 
                     if (!isAppInForeground.get()) {
                         Log.d(LOG_TAG, "App in background, saving ad for when user returns")
@@ -676,7 +705,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                     isFetchingWithDialog = false
                     val failedCallback = dialogFetchCallback
                     dialogFetchCallback = null
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "In-flight app open ad fetch failed (dialog): ${error?.message}", false)
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                        "In-flight app open ad fetch failed (dialog): ${error?.message}"
+                    }
                     animateDialogDismissal(dialogViews) {
                         failedCallback?.onFailedToLoad(error)
                         failedCallback?.onNextAction()
@@ -701,88 +732,95 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             return
         }
 
-        AdDebugUtils.logEvent(adUnitId, "loading", "App open ad loading with dialog", true)
+        AdDebugUtils.logEvent(adUnitId, "loading", true) { "App open ad loading with dialog" }
         val request = getAdRequest()
-        AppOpenAd.load(
-            request,
-            object : GmaAdLoadCallback<AppOpenAd> {
-                override fun onAdLoaded(ad: AppOpenAd) {
-                    Handler(Looper.getMainLooper()).post {
-                        if (!hasTimedOut) {
-                            cancelTimeout(timeoutRunnable)
-                            isLoading.set(false)
-                            isFetchingWithDialog = false
-                            val loadedCallback = dialogFetchCallback
-                            dialogFetchCallback = null
-                            appOpenAd = ad
-                            adLoadTime = System.currentTimeMillis()
-                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open ad loaded with dialog", true)
-
-                            // Notify any pending fetch callback attached to this in-flight load
-                            val pending = pendingFetchCallback
-                            pendingFetchCallback = null
-                            pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                            pendingFetchTimeoutRunnable = null
-                            pending?.onAdLoaded()
+        // The user is waiting behind the welcome dialog
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            AppOpenAd.load(
+                request,
+                object : GmaAdLoadCallback<AppOpenAd> {
+                    override fun onAdLoaded(ad: AppOpenAd) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            if (!hasTimedOut) {
+                                cancelTimeout(timeoutRunnable)
+                                isLoading.set(false)
+                                isFetchingWithDialog = false
+                                val loadedCallback = dialogFetchCallback
+                                dialogFetchCallback = null
+                                appOpenAd = ad
+                                adLoadTime = System.currentTimeMillis()
+                                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "App open ad loaded with dialog" }
+
+                                // Notify any pending fetch callback attached to this in-flight load
+                                val pending = pendingFetchCallback
+                                pendingFetchCallback = null
+                                pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                                pendingFetchTimeoutRunnable = null
+                                pending?.onAdLoaded()
+
+                                Log.d(LOG_TAG, "Ad loaded, isAppInForeground=${isAppInForeground.get()}")
+
+                                // Check if app is in foreground before showing ad
+                                if (!isAppInForeground.get()) {
+                                    // App is in background - save ad for later, dismiss dialog
+                                    Log.d(LOG_TAG, "App in background, saving ad for when user returns")
+                                    pendingAdToShow.set(true)
+                                    pendingAdCallback = loadedCallback
+                                    animateDialogDismissal(dialogViews) {
+                                        currentWelcomeDialog = null
+                                    }
+                                    return@post
+                                }
 
-                            Log.d(LOG_TAG, "Ad loaded, isAppInForeground=${isAppInForeground.get()}")
+                                // Keep dialog showing - ad will be displayed on top
+                                // Dialog will be dismissed after ad is closed with delay
+                                currentWelcomeDialog = dialogViews
+                                Log.d(LOG_TAG, "Ad loaded, showing on top of welcome dialog")
 
-                            // Check if app is in foreground before showing ad
-                            if (!isAppInForeground.get()) {
-                                // App is in background - save ad for later, dismiss dialog
-                                Log.d(LOG_TAG, "App in background, saving ad for when user returns")
-                                pendingAdToShow.set(true)
-                                pendingAdCallback = loadedCallback
-                                animateDialogDismissal(dialogViews) {
+                                if (!activity.isFinishing && !activity.isDestroyed) {
+                                    showLoadedAd(activity, loadedCallback)
+                                } else {
+                                    Log.d(LOG_TAG, "Activity not in valid state after ad load")
+                                    dismissWelcomeDialogWithDelay(dialogViews)
                                     currentWelcomeDialog = null
+                                    loadedCallback?.onNextAction()
                                 }
-                                return@post
-                            }
-
-                            // Keep dialog showing - ad will be displayed on top
-                            // Dialog will be dismissed after ad is closed with delay
-                            currentWelcomeDialog = dialogViews
-                            Log.d(LOG_TAG, "Ad loaded, showing on top of welcome dialog")
-
-                            if (!activity.isFinishing && !activity.isDestroyed) {
-                                showLoadedAd(activity, loadedCallback)
-                            } else {
-                                Log.d(LOG_TAG, "Activity not in valid state after ad load")
-                                dismissWelcomeDialogWithDelay(dialogViews)
-                                currentWelcomeDialog = null
-                                loadedCallback?.onNextAction()
                             }
                         }
                     }
-                }
 
-                override fun onAdFailedToLoad(error: LoadAdError) {
-                    Handler(Looper.getMainLooper()).post {
-                        if (!hasTimedOut) {
-                            cancelTimeout(timeoutRunnable)
-                            isLoading.set(false)
-                            isFetchingWithDialog = false
-                            val failedCallback = dialogFetchCallback
-                            dialogFetchCallback = null
-                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open ad failed with dialog: ${error.message}", false)
-                            logFailedToLoadEvent(error)
+                    override fun onAdFailedToLoad(error: LoadAdError) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            if (!hasTimedOut) {
+                                cancelTimeout(timeoutRunnable)
+                                isLoading.set(false)
+                                isFetchingWithDialog = false
+                                val failedCallback = dialogFetchCallback
+                                dialogFetchCallback = null
+                                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                                    "App open ad failed with dialog: ${error.message}"
+                                }
+                                logFailedToLoadEvent(error)
 
-                            // Notify any pending fetch callback attached to this in-flight load
-                            val pending = pendingFetchCallback
-                            pendingFetchCallback = null
-                            pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                            pendingFetchTimeoutRunnable = null
-                            pending?.onFailedToLoad(error)
+                                // Notify any pending fetch callback attached to this in-flight load
+                                val pending = pendingFetchCallback
+                                pendingFetchCallback = null
+                                pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                                pendingFetchTimeoutRunnable = null
+                                pending?.onFailedToLoad(error)
 
-                            animateDialogDismissal(dialogViews) {
-                                failedCallback?.onFailedToLoad(error)
-                                failedCallback?.onNextAction()
+                                animateDialogDismissal(dialogViews) {
+                                    failedCallback?.onFailedToLoad(error)
+                                    failedCallback?.onNextAction()
+                                }
                             }
                         }
                     }
                 }
-            }
-        )
+            )
+        }
     }
 
     /**
@@ -794,33 +832,42 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             return
         }
 
-        AdDebugUtils.logEvent(adUnitId, "loading", "App open ad loading fresh (no dialog)", true)
+        AdDebugUtils.logEvent(adUnitId, "loading", true) { "App open ad loading fresh (no dialog)" }
         val request = getAdRequest()
-        AppOpenAd.load(
-            request,
-            object : GmaAdLoadCallback<AppOpenAd> {
-                override fun onAdLoaded(ad: AppOpenAd) {
-                    Handler(Looper.getMainLooper()).post {
-                        appOpenAd = ad
-                            adLoadTime = System.currentTimeMillis()
-                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open ad loaded (fresh, no dialog)", true)
-                        if (!activity.isFinishing) {
-                            showLoadedAd(activity, callback)
-                        } else {
-                            callback?.onNextAction()
+        // The user is waiting for this ad
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            AppOpenAd.load(
+                request,
+                object : GmaAdLoadCallback<AppOpenAd> {
+                    override fun onAdLoaded(ad: AppOpenAd) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            appOpenAd = ad
+                                adLoadTime = System.currentTimeMillis()
+                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                                "App open ad loaded (fresh, no dialog)"
+                            }
+                            if (!activity.isFinishing) {
+                                showLoadedAd(activity, callback)
+                            } else {
+                                callback?.onNextAction()
+                            }
                         }
                     }
-                }
 
-                override fun onAdFailedToLoad(error: LoadAdError) {
-                    Handler(Looper.getMainLooper()).post {
-                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open ad failed (fresh, no dialog): ${error.message}", false)
-                        logFailedToLoadEvent(error)
-                        callback?.onNextAction()
+                    override fun onAdFailedToLoad(error: LoadAdError) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                                "App open ad failed (fresh, no dialog): ${error.message}"
+                            }
+                            logFailedToLoadEvent(error)
+                            callback?.onNextAction()
+                        }
                     }
                 }
-            }
-        )
+            )
+        }
     }
 
     /**
@@ -859,6 +906,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
 
         appOpenAd?.apply {
             adEventCallback = eventCallback
+            traceShowStage("show", AdProvider.ADMOB.name)
             show(activity)
         } ?: run {
             // Ad became null (shouldn't happen but handle it)
@@ -935,7 +983,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
 
         // If cached ad is available, use it
         if (!isShowingAd.get() && isAdAvailable()) {
-            AdDebugUtils.logEvent(adUnitId, "showCachedAd", "Showing cached app open ad (forced)", true)
+            AdDebugUtils.logEvent(adUnitId, "showCachedAd", true) { "Showing cached app open ad (forced)" }
             showLoadedAd(activity, adManagerCallback)
         } else if (!isAdAvailable()) {
             if (isFetchingWithDialog) {
@@ -1030,6 +1078,14 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         return false
     }
 
+    /**
+     * Ends the current [showSlice] and, unless [stage] is null, begins the next one.
+     */
+    private fun traceShowStage(stage: String?, provider: String?, success: Boolean = true) {
+        showSlice?.end(success)
+        showSlice = stage?.let { AdSystrace.beginAsync(AdSystrace.FORMAT_APP_OPEN, it, provider, adUnitId) }
+    }
+
     /**
      * Create reusable ad event callback (full screen content events + paid events).
      * All callbacks are posted to main thread to ensure UI operations are safe.
@@ -1037,6 +1093,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     private fun createAdEventCallback(type: String, callback: AdManagerCallback?): AppOpenAdEventCallback {
         return object : AppOpenAdEventCallback {
             override fun onAdDismissedFullScreenContent() {
+                traceShowStage(null, null)
                 Handler(Looper.getMainLooper()).post {
                     appOpenAd = null
                     isShowingAd.set(false)
@@ -1044,7 +1101,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                         "forced" -> "App open ad dismissed (forced)"
                         else -> "App open ad dismissed"
                     }
-                    AdDebugUtils.logEvent(adUnitId, "onAdDismissed", logMessage, true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdDismissed", true) { logMessage }
 
                     // Clear dialog reference if still set
                     currentWelcomeDialog = null
@@ -1061,6 +1118,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             }
 
             override fun onAdFailedToShowFullScreenContent(adError: FullScreenContentError) {
+                traceShowStage(null, null, success = false)
                 Handler(Looper.getMainLooper()).post {
                     // Reset isShowingAd since we set it to true before show()
                     isShowingAd.set(false)
@@ -1070,7 +1128,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                         "forced" -> "App open ad failed to show (forced): ${adError.message}"
                         else -> "App open ad failed to show: ${adError.message}"
                     }
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToShow", logMessage, false)
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToShow", false) { logMessage }
                     logFailedToLoadEvent(adError)
 
                     // Dismiss dialog immediately if ad fails to show
@@ -1084,6 +1142,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             }
 
             override fun onAdShowedFullScreenContent() {
+                traceShowStage("display", AdProvider.ADMOB.name)
                 Handler(Looper.getMainLooper()).post {
                     isShowingAd.set(true)
                     isShownAd.set(true)
@@ -1094,7 +1153,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                         "forced" -> "App open ad shown (forced)"
                         else -> "App open ad shown"
                     }
-                    AdDebugUtils.logEvent(adUnitId, "onAdImpression", logMessage, true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) { logMessage }
 
                     if (type == "forced") {
                         callback?.onAdLoaded()
@@ -1186,7 +1245,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             override fun onAdLoaded() {
                 isLoading.set(false)
                 adLoadTime = System.currentTimeMillis()
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open waterfall ad loaded", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "App open waterfall ad loaded" }
 
                 // Notify any pending callback (e.g. splash fetchAd that arrived while this load was running)
                 val pending = pendingFetchCallback
@@ -1199,7 +1258,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             override fun onAdFailedToLoad(error: AdKitAdError) {
                 isLoading.set(false)
                 appOpenWaterfall = null
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                    "App open waterfall failed: ${error.message}"
+                }
                 logFailedToLoadEvent(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null))
 
                 // Notify any pending callback
@@ -1274,45 +1335,52 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         val waterfall = createAppOpenWaterfall()
         appOpenWaterfall = waterfall
 
-        waterfall.load(myApplication, object : AppOpenAdProvider.AppOpenAdCallback {
-            override fun onAdLoaded() {
-                isLoading.set(false)
-                adLoadTime = System.currentTimeMillis()
+        // The caller is waiting on this fetch, e.g. behind a splash
+        AdRequestGovernor.withPriority(AdRequestPriority.SHOW_BLOCKING) {
+            waterfall.load(myApplication, object : AppOpenAdProvider.AppOpenAdCallback {
+                override fun onAdLoaded() {
+                    isLoading.set(false)
+                    adLoadTime = System.currentTimeMillis()
 
-                // Notify any pending callback attached by a later fetchViaWaterfall call
-                val pending = pendingFetchCallback
-                pendingFetchCallback = null
-                pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                pendingFetchTimeoutRunnable = null
-                pending?.onAdLoaded()
+                    // Notify any pending callback attached by a later fetchViaWaterfall call
+                    val pending = pendingFetchCallback
+                    pendingFetchCallback = null
+                    pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                    pendingFetchTimeoutRunnable = null
+                    pending?.onAdLoaded()
 
-                if (!hasTimedOut) {
-                    cancelTimeout(timeoutRunnable)
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open waterfall ad loaded with timeout", true)
-                    adLoadCallback.onAdLoaded()
+                    if (!hasTimedOut) {
+                        cancelTimeout(timeoutRunnable)
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                            "App open waterfall ad loaded with timeout"
+                        }
+                        adLoadCallback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                isLoading.set(false)
-                appOpenWaterfall = null
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    isLoading.set(false)
+                    appOpenWaterfall = null
 
-                // Notify any pending callback
-                val pending = pendingFetchCallback
-                pendingFetchCallback = null
-                pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                pendingFetchTimeoutRunnable = null
-                pending?.onFailedToLoad(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null))
+                    // Notify any pending callback
+                    val pending = pendingFetchCallback
+                    pendingFetchCallback = null
+                    pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                    pendingFetchTimeoutRunnable = null
+                    pending?.onFailedToLoad(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null))
 
-                if (!hasTimedOut) {
-                    cancelTimeout(timeoutRunnable)
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open waterfall failed with timeout: ${error.message}", false)
-                    adLoadCallback.onFailedToLoad(
-                        LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
-                    )
+                    if (!hasTimedOut) {
+                        cancelTimeout(timeoutRunnable)
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "App open waterfall failed with timeout: ${error.message}"
+                        }
+                        adLoadCallback.onFailedToLoad(
+                            LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
+                        )
+                    }
                 }
-            }
-        })
+            })
+        }
     }
 
     private fun showWaterfallCachedAd(activity: Activity) {
@@ -1343,25 +1411,28 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         }
 
         isShowingAd.set(true)
+        traceShowStage("show", null)
 
         waterfall.show(activity, object : AppOpenAdProvider.AppOpenShowCallback {
             override fun onAdShowed() {
+                traceShowStage("display", null)
                 Handler(Looper.getMainLooper()).post {
                     isShowingAd.set(true)
                     isShownAd.set(true)
                     dismissWelcomeDialogWithDelay(currentWelcomeDialog)
-                    AdDebugUtils.logEvent(adUnitId, "onAdImpression", "App open waterfall ad shown", true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) { "App open waterfall ad shown" }
                     logAdImpressionEvent()
                     callback?.onAdLoaded()
                 }
             }
 
             override fun onAdDismissed() {
+                traceShowStage(null, null)
                 Handler(Looper.getMainLooper()).post {
                     appOpenWaterfall = null
                     isShowingAd.set(false)
                     currentWelcomeDialog = null
-                    AdDebugUtils.logEvent(adUnitId, "onAdDismissed", "App open waterfall ad dismissed", true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdDismissed", true) { "App open waterfall ad dismissed" }
                     if (AdManageKitConfig.appOpenAutoReload) {
                         fetchViaWaterfall()
                     }
@@ -1370,10 +1441,13 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             }
 
             override fun onAdFailedToShow(error: AdKitAdError) {
+                traceShowStage(null, null, success = false)
                 Handler(Looper.getMainLooper()).post {
                     isShowingAd.set(false)
                     appOpenWaterfall = null
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToShow", "App open waterfall failed to show: ${error.message}", false)
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToShow", false) {
+                        "App open waterfall failed to show: ${error.message}"
+                    }
                     currentWelcomeDialog?.let { dv ->
                         dismissDialogSafely(dv.dialog)
                         currentWelcomeDialog = null
@@ -1448,7 +1522,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                     isFetchingWithDialog = false
                     val loadedCallback = dialogFetchCallback
                     dialogFetchCallback = null
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open waterfall ad loaded by in-flight fetch (dialog)", true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                        "App open waterfall ad loaded by in-flight fetch (dialog)"
+                    }
 
                     if (!isAppInForeground.get()) {
                         Log.d(LOG_TAG, "App in background, saving waterfall ad for when user returns")
@@ -1474,7 +1550,9 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
                     isFetchingWithDialog = false
                     val failedCallback = dialogFetchCallback
                     dialogFetchCallback = null
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "In-flight app open waterfall fetch failed (dialog): ${error?.message}", false)
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                        "In-flight app open waterfall fetch failed (dialog): ${error?.message}"
+                    }
                     animateDialogDismissal(dialogViews) {
                         failedCallback?.onFailedToLoad(error)
                         failedCallback?.onNextAction()
@@ -1502,57 +1580,64 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         val waterfall = createAppOpenWaterfall()
         appOpenWaterfall = waterfall
 
-        waterfall.load(myApplication, object : AppOpenAdProvider.AppOpenAdCallback {
-            override fun onAdLoaded() {
-                Handler(Looper.getMainLooper()).post {
-                    if (!hasTimedOut) {
-                        cancelTimeout(timeoutRunnable)
-                        isLoading.set(false)
-                        isFetchingWithDialog = false
-                        adLoadTime = System.currentTimeMillis()
-                        val loadedCallback = dialogFetchCallback
-                        dialogFetchCallback = null
-                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open waterfall ad loaded with dialog", true)
-
-                        if (!isAppInForeground.get()) {
-                            pendingAdToShow.set(true)
-                            pendingAdCallback = loadedCallback
-                            animateDialogDismissal(dialogViews) { currentWelcomeDialog = null }
-                            return@post
-                        }
+        // The user is waiting behind the welcome dialog
+        AdRequestGovernor.withPriority(AdRequestPriority.SHOW_BLOCKING) {
+            waterfall.load(myApplication, object : AppOpenAdProvider.AppOpenAdCallback {
+                override fun onAdLoaded() {
+                    Handler(Looper.getMainLooper()).post {
+                        if (!hasTimedOut) {
+                            cancelTimeout(timeoutRunnable)
+                            isLoading.set(false)
+                            isFetchingWithDialog = false
+                            adLoadTime = System.currentTimeMillis()
+                            val loadedCallback = dialogFetchCallback
+                            dialogFetchCallback = null
+                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                                "App open waterfall ad loaded with dialog"
+                            }
 
-                        currentWelcomeDialog = dialogViews
-                        if (!activity.isFinishing && !activity.isDestroyed) {
-                            showWaterfallLoadedAd(activity, loadedCallback)
-                        } else {
-                            dismissWelcomeDialogWithDelay(dialogViews)
-                            currentWelcomeDialog = null
-                            loadedCallback?.onNextAction()
+                            if (!isAppInForeground.get()) {
+                                pendingAdToShow.set(true)
+                                pendingAdCallback = loadedCallback
+                                animateDialogDismissal(dialogViews) { currentWelcomeDialog = null }
+                                return@post
+                            }
+
+                            currentWelcomeDialog = dialogViews
+                            if (!activity.isFinishing && !activity.isDestroyed) {
+                                showWaterfallLoadedAd(activity, loadedCallback)
+                            } else {
+                                dismissWelcomeDialogWithDelay(dialogViews)
+                                currentWelcomeDialog = null
+                                loadedCallback?.onNextAction()
+                            }
                         }
                     }
                 }
-            }
 
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    appOpenWaterfall = null
-                    if (!hasTimedOut) {
-                        cancelTimeout(timeoutRunnable)
-                        isLoading.set(false)
-                        isFetchingWithDialog = false
-                        val failedCallback = dialogFetchCallback
-                        dialogFetchCallback = null
-                        val adError = LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
-                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open waterfall failed with dialog: ${error.message}", false)
-                        logFailedToLoadEvent(adError)
-                        animateDialogDismissal(dialogViews) {
-                            failedCallback?.onFailedToLoad(adError)
-                            failedCallback?.onNextAction()
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    Handler(Looper.getMainLooper()).post {
+                        appOpenWaterfall = null
+                        if (!hasTimedOut) {
+                            cancelTimeout(timeoutRunnable)
+                            isLoading.set(false)
+                            isFetchingWithDialog = false
+                            val failedCallback = dialogFetchCallback
+                            dialogFetchCallback = null
+                            val adError = LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
+                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                                "App open waterfall failed with dialog: ${error.message}"
+                            }
+                            logFailedToLoadEvent(adError)
+                            animateDialogDismissal(dialogViews) {
+                                failedCallback?.onFailedToLoad(adError)
+                                failedCallback?.onNextAction()
+                            }
                         }
                     }
                 }
-            }
-        })
+            })
+        }
     }
 
     /**
@@ -1620,13 +1705,16 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     }
 
     /**
-     * Cancel a scheduled timeout
+     * Cancel a scheduled timeout.
+     * @return true if it was still pending (not yet fired or cleared)
      */
-    private fun cancelTimeout(timeoutRunnable: Runnable) {
+    private fun cancelTimeout(timeoutRunnable: Runnable): Boolean {
         synchronized(pendingTimeouts) {
             if (pendingTimeouts.remove(timeoutRunnable)) {
                 timeoutHandler.removeCallbacks(timeoutRunnable)
+                return true
             }
+            return false
         }
     }
 
@@ -1651,7 +1739,11 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             return true
         }
         return try {
-            MobileAds.isInitialized
+            MobileAds.isInitialized.also { ready ->
+                // Apps that initialize MobileAds themselves publish nothing; record
+                // it here so waterfalls and other managers see it too.
+                if (ready) AdProviderReadiness.markReady(AdProvider.ADMOB)
+            }
         } catch (t: Throwable) {
             // Defensive: a broken readiness check must never permanently block ads;
             // worst case is the pre-guard behavior.
@@ -1661,11 +1753,17 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
     }
 
     /**
-     * Re-checks [isMobileAdsReady] every [INIT_CHECK_INTERVAL_MS] until it flips
-     * true (→ [onReady]) or [deadlineAtMillis] passes (→ [onTimedOut]), so
-     * callback-driven flows started before MobileAds.initialize() completed are
-     * replayed instead of crashing, and are never stranded if it never completes.
-     * Steps run through [scheduleTimeout], so [cleanup] cancels any pending wait.
+     * Waits until [isMobileAdsReady] (→ [onReady]) or [deadlineAtMillis] passes
+     * (→ [onTimedOut]), so callback-driven flows started before
+     * MobileAds.initialize() completed are replayed instead of crashing, and are
+     * never stranded if it never completes.
+     *
+     * When AdManageKit started the SDK itself ([AdProviderReadiness] reports
+     * ADMOB initializing), the wait parks on the readiness signal and the only
+     * timer is the deadline. Otherwise the app initializes MobileAds on its own
+     * and this falls back to re-checking every [INIT_CHECK_INTERVAL_MS].
+     * Either way the deadline runs through [scheduleTimeout], so [cleanup]
+     * cancels any pending wait.
      */
     private fun awaitMobileAdsReady(
         deadlineAtMillis: Long,
@@ -1681,6 +1779,21 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             onTimedOut()
             return
         }
+        if (AdProviderReadiness.isInitializing(AdProvider.ADMOB)) {
+            var subscription: AdProviderReadiness.Subscription? = null
+            val deadline = scheduleTimeout(deadlineAtMillis - System.currentTimeMillis()) {
+                subscription?.cancel()
+                Log.w(LOG_TAG, "MobileAds not initialized within wait window; giving up this attempt")
+                onTimedOut()
+            }
+            subscription = AdProviderReadiness.whenReady(AdProvider.ADMOB) {
+                timeoutHandler.post {
+                    // Gone from pendingTimeouts: already timed out, or cleanup() ran
+                    if (cancelTimeout(deadline)) onReady()
+                }
+            }
+            return
+        }
         scheduleTimeout(INIT_CHECK_INTERVAL_MS) {
             awaitMobileAdsReady(deadlineAtMillis, onTimedOut, onReady)
         }
@@ -1767,7 +1880,7 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         }
 
         Log.d(LOG_TAG, "Prefetching next app open ad...")
-        AdDebugUtils.logEvent(adUnitId, "prefetch", "Prefetching next app open ad", true)
+        AdDebugUtils.logEvent(adUnitId, "prefetch", true) { "Prefetching next app open ad" }
         onPrefetchStarted?.invoke(true)
         fetchAd()
     }
@@ -1806,80 +1919,92 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
 
         if (retryCount >= AdManageKitConfig.maxRetryAttempts) {
             isLoading.set(false)  // Reset loading state
-            AdDebugUtils.logEvent(adUnitId, "maxRetriesExceeded", "App open ad max retry attempts exceeded", false)
+            AdDebugUtils.logEvent(adUnitId, "maxRetriesExceeded", false) { "App open ad max retry attempts exceeded" }
             return
         }
 
-        AdDebugUtils.logEvent(adUnitId, "loading", "App open ad loading (retry: $retryCount)", true)
+        AdDebugUtils.logEvent(adUnitId, "loading", true) { "App open ad loading (retry: $retryCount)" }
 
         if (AdManageKitConfig.testMode) {
-            AdDebugUtils.logEvent(adUnitId, "testMode", "Using test mode for app open ads (retry: $retryCount)", true)
+            AdDebugUtils.logEvent(adUnitId, "testMode", true) {
+                "Using test mode for app open ads (retry: $retryCount)"
+            }
         }
 
-        lastLoadStartTime = System.currentTimeMillis()
         val request = getAdRequest()
 
-        AppOpenAd.load(
-            request,
-            object : GmaAdLoadCallback<AppOpenAd> {
-                override fun onAdLoaded(ad: AppOpenAd) {
-                    // Next-Gen SDK callbacks are not guaranteed main-thread; this can cascade
-                    // into dialog UI work via pendingFetchCallback (e.g. a dialogPendingCallback
-                    // attached by showAdWithWelcomeDialog's in-flight-load path), so post to main.
-                    Handler(Looper.getMainLooper()).post {
-                        isLoading.set(false)  // Reset loading state
-                        appOpenAd = ad
-                                adLoadTime = System.currentTimeMillis()
-
-                        // Track loading performance
-                        val loadTime = System.currentTimeMillis() - lastLoadStartTime
-                        synchronized(loadTimes) {
-                            loadTimes.add(loadTime)
-                            if (loadTimes.size > 100) {
-                                loadTimes.removeAt(0)
+        // Retries keep their retry class once AdRetryManager lets them run
+        val priority = if (retryCount == 0) AdRequestPriority.PREFETCH else AdRequestPriority.RETRY
+        AdRequestGovernor.submit(adUnitId, priority) { ticket ->
+            lastLoadStartTime = System.currentTimeMillis()
+            AppOpenAd.load(
+                request,
+                object : GmaAdLoadCallback<AppOpenAd> {
+                    override fun onAdLoaded(ad: AppOpenAd) {
+                        ticket.finish()
+                        // Next-Gen SDK callbacks are not guaranteed main-thread; this can cascade
+                        // into dialog UI work via pendingFetchCallback (e.g. a dialogPendingCallback
+                        // attached by showAdWithWelcomeDialog's in-flight-load path), so post to main.
+                        Handler(Looper.getMainLooper()).post {
+                            isLoading.set(false)  // Reset loading state
+                            appOpenAd = ad
+                                    adLoadTime = System.currentTimeMillis()
+
+                            // Track loading performance
+                            val loadTime = System.currentTimeMillis() - lastLoadStartTime
+                            synchronized(loadTimes) {
+                                loadTimes.add(loadTime)
+                                if (loadTimes.size > 100) {
+                                    loadTimes.removeAt(0)
+                                }
                             }
-                        }
-
-                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "App open ad loaded successfully (${loadTime}ms, retry: $retryCount)", true)
-
-                        // Notify any pending callback (e.g. splash fetchAd that arrived while this load was running)
-                        val pending = pendingFetchCallback
-                        pendingFetchCallback = null
-                        pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                        pendingFetchTimeoutRunnable = null
-                        pending?.onAdLoaded()
-                    }
-                }
 
-                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                    Handler(Looper.getMainLooper()).post {
-                        Log.e(LOG_TAG, "onAdFailedToLoad: failed to load (retry: $retryCount)")
-                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "App open ad failed to load: ${loadAdError.message} (retry: $retryCount)", false)
-
-                        logFailedToLoadEvent(loadAdError)
-
-                        // Determine if we should retry based on error type and config
-                        if (AdManageKitConfig.autoRetryFailedAds && shouldRetryForError(loadAdError) && retryCount < AdManageKitConfig.maxRetryAttempts) {
-                            AdRetryManager.getInstance().scheduleRetry(
-                                adUnitId = adUnitId,
-                                attempt = retryCount,
-                                maxAttempts = AdManageKitConfig.maxRetryAttempts
-                            ) {
-                                fetchAdWithRetry(retryCount + 1)
+                            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                                "App open ad loaded successfully (${loadTime}ms, retry: $retryCount)"
                             }
-                        } else {
-                            isLoading.set(false)  // Reset loading state only if not retrying
 
-                            // Notify any pending callback
+                            // Notify any pending callback (e.g. splash fetchAd that arrived while this load was running)
                             val pending = pendingFetchCallback
                             pendingFetchCallback = null
                             pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
                             pendingFetchTimeoutRunnable = null
-                            pending?.onFailedToLoad(loadAdError)
+                            pending?.onAdLoaded()
                         }
                     }
-                }
-            })
+
+                    override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            Log.e(LOG_TAG, "onAdFailedToLoad: failed to load (retry: $retryCount)")
+                            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                                "App open ad failed to load: ${loadAdError.message} (retry: $retryCount)"
+                            }
+
+                            logFailedToLoadEvent(loadAdError)
+
+                            // Determine if we should retry based on error type and config
+                            if (AdManageKitConfig.autoRetryFailedAds && shouldRetryForError(loadAdError) && retryCount < AdManageKitConfig.maxRetryAttempts) {
+                                AdRetryManager.getInstance().scheduleRetry(
+                                    adUnitId = adUnitId,
+                                    attempt = retryCount,
+                                    maxAttempts = AdManageKitConfig.maxRetryAttempts
+                                ) {
+                                    fetchAdWithRetry(retryCount + 1)
+                                }
+                            } else {
+                                isLoading.set(false)  // Reset loading state only if not retrying
+
+                                // Notify any pending callback
+                                val pending = pendingFetchCallback
+                                pendingFetchCallback = null
+                                pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                                pendingFetchTimeoutRunnable = null
+                                pending?.onFailedToLoad(loadAdError)
+                            }
+                        }
+                    }
+                })
+        }
     }
 
     /**
@@ -1961,10 +2086,12 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             return
         }
 
-        AdDebugUtils.logEvent(effectiveAdUnitId, "loading", "App open ad loading with timeout", true)
+        AdDebugUtils.logEvent(effectiveAdUnitId, "loading", true) { "App open ad loading with timeout" }
 
         if (AdManageKitConfig.testMode) {
-            AdDebugUtils.logEvent(effectiveAdUnitId, "testMode", "Using test mode for app open ads with timeout", true)
+            AdDebugUtils.logEvent(effectiveAdUnitId, "testMode", true) {
+                "Using test mode for app open ads with timeout"
+            }
         }
 
         lastLoadStartTime = System.currentTimeMillis()
@@ -1984,67 +2111,77 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
             adLoadCallback.onFailedToLoad(loadAdError)
         }
 
-        AppOpenAd.load(
-            request,
-            object : GmaAdLoadCallback<AppOpenAd> {
-                override fun onAdLoaded(ad: AppOpenAd) {
-                    // Next-Gen SDK callbacks are not guaranteed main-thread; this can cascade
-                    // into dialog UI work via pendingFetchCallback / the caller-supplied
-                    // adLoadCallback, so post to main (mirrors showAdWithWelcomeDialog's own load).
-                    Handler(Looper.getMainLooper()).post {
-                        // Always keep the ad for later use, even if timed out
-                        appOpenAd = ad
-                        adLoadTime = System.currentTimeMillis()
-                        isLoading.set(false)
-
-                        // Notify any pending callback attached to this in-flight load
-                        val pending = pendingFetchCallback
-                        pendingFetchCallback = null
-                        pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                        pendingFetchTimeoutRunnable = null
-                        pending?.onAdLoaded()
-
-                        // Track loading performance
-                        val loadTime = System.currentTimeMillis() - lastLoadStartTime
-                        synchronized(loadTimes) {
-                            loadTimes.add(loadTime)
-                            if (loadTimes.size > 100) { // Keep last 100 load times
-                                loadTimes.removeAt(0)
+        AdRequestGovernor.submit(effectiveAdUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            AppOpenAd.load(
+                request,
+                object : GmaAdLoadCallback<AppOpenAd> {
+                    override fun onAdLoaded(ad: AppOpenAd) {
+                        ticket.finish()
+                        // Next-Gen SDK callbacks are not guaranteed main-thread; this can cascade
+                        // into dialog UI work via pendingFetchCallback / the caller-supplied
+                        // adLoadCallback, so post to main (mirrors showAdWithWelcomeDialog's own load).
+                        Handler(Looper.getMainLooper()).post {
+                            // Always keep the ad for later use, even if timed out
+                            appOpenAd = ad
+                            adLoadTime = System.currentTimeMillis()
+                            isLoading.set(false)
+
+                            // Notify any pending callback attached to this in-flight load
+                            val pending = pendingFetchCallback
+                            pendingFetchCallback = null
+                            pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                            pendingFetchTimeoutRunnable = null
+                            pending?.onAdLoaded()
+
+                            // Track loading performance
+                            val loadTime = System.currentTimeMillis() - lastLoadStartTime
+                            synchronized(loadTimes) {
+                                loadTimes.add(loadTime)
+                                if (loadTimes.size > 100) { // Keep last 100 load times
+                                    loadTimes.removeAt(0)
+                                }
                             }
-                        }
 
-                        if (!hasTimedOut) {
-                            cancelTimeout(timeoutRunnable)
-                            AdDebugUtils.logEvent(effectiveAdUnitId, "onAdLoaded", "App open ad loaded with timeout (${loadTime}ms)", true)
-                            adLoadCallback.onAdLoaded()
-                        } else {
-                            AdDebugUtils.logEvent(effectiveAdUnitId, "onAdLoaded", "App open ad loaded after timeout (${loadTime}ms), cached for later use", true)
+                            if (!hasTimedOut) {
+                                cancelTimeout(timeoutRunnable)
+                                AdDebugUtils.logEvent(effectiveAdUnitId, "onAdLoaded", true) {
+                                    "App open ad loaded with timeout (${loadTime}ms)"
+                                }
+                                adLoadCallback.onAdLoaded()
+                            } else {
+                                AdDebugUtils.logEvent(effectiveAdUnitId, "onAdLoaded", true) {
+                                    "App open ad loaded after timeout (${loadTime}ms), cached for later use"
+                                }
+                            }
                         }
                     }
-                }
 
-                override fun onAdFailedToLoad(loadAdError: LoadAdError) {
-                    Handler(Looper.getMainLooper()).post {
-                        isLoading.set(false)
+                    override fun onAdFailedToLoad(loadAdError: LoadAdError) {
+                        ticket.finish()
+                        Handler(Looper.getMainLooper()).post {
+                            isLoading.set(false)
 
-                        // Notify any pending callback attached to this in-flight load
-                        val pending = pendingFetchCallback
-                        pendingFetchCallback = null
-                        pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
-                        pendingFetchTimeoutRunnable = null
-                        pending?.onFailedToLoad(loadAdError)
+                            // Notify any pending callback attached to this in-flight load
+                            val pending = pendingFetchCallback
+                            pendingFetchCallback = null
+                            pendingFetchTimeoutRunnable?.let { cancelTimeout(it) }
+                            pendingFetchTimeoutRunnable = null
+                            pending?.onFailedToLoad(loadAdError)
 
-                        if (!hasTimedOut) {
-                            cancelTimeout(timeoutRunnable)
-                            Log.e(LOG_TAG, "onAdFailedToLoad: failed to load")
-                            AdDebugUtils.logEvent(effectiveAdUnitId, "onFailedToLoad", "App open ad failed with timeout: ${loadAdError.message}", false)
-                            logFailedToLoadEvent(loadAdError)
-                            adLoadCallback.onFailedToLoad(loadAdError)
+                            if (!hasTimedOut) {
+                                cancelTimeout(timeoutRunnable)
+                                Log.e(LOG_TAG, "onAdFailedToLoad: failed to load")
+                                AdDebugUtils.logEvent(effectiveAdUnitId, "onFailedToLoad", false) {
+                                    "App open ad failed with timeout: ${loadAdError.message}"
+                                }
+                                logFailedToLoadEvent(loadAdError)
+                                adLoadCallback.onFailedToLoad(loadAdError)
+                            }
                         }
                     }
                 }
-            }
-        )
+            )
+        }
     }
 
 
@@ -2082,6 +2219,22 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         return adAge < threshold
     }
 
+    /**
+     * Drops the loaded ad to release memory, unless it is showing. With [staleOnly],
+     * only an ad past [AdManageKitConfig.appOpenAdFreshnessThreshold] is dropped.
+     *
+     * @return true if an ad was dropped
+     */
+    internal fun releaseLoadedAd(staleOnly: Boolean): Boolean {
+        if (isShowingAd.get() || !isAdAvailable()) return false
+        if (staleOnly && isCachedAdFresh()) return false
+        appOpenAd = null
+        appOpenWaterfall?.destroy()
+        appOpenWaterfall = null
+        adLoadTime = 0L
+        return true
+    }
+
     /**
      * Get the age of the cached ad in milliseconds.
      * @return age in ms, or -1 if no ad cached
@@ -2098,7 +2251,8 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         return synchronized(loadTimes) {
             mapOf(
                 "averageLoadTime" to if (loadTimes.isNotEmpty()) loadTimes.average() else 0.0,
-                "totalLoads" to loadTimes.size
+                "totalLoads" to loadTimes.size,
+                "returnIntervalSamples" to if (usesReturnPredictor) returnPredictor.sampleCount else 0
             )
         }
     }
@@ -2204,6 +2358,10 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
 
     override fun onStart(owner: LifecycleOwner) {
         isAppInForeground.set(true)
+        // Back before the predicted refresh: showAdIfAvailable loads on demand instead
+        predictedRefresh?.let { cancelTimeout(it) }
+        predictedRefresh = null
+        if (usesReturnPredictor) returnPredictor.onForeground(System.currentTimeMillis())
 
         val purchaseProvider = BillingConfig.getPurchaseProvider()
         // Use isAdOrDialogShowing() to also check for interstitial loading dialog
@@ -2316,29 +2474,80 @@ class AppOpenManager(private val myApplication: Application, private var adUnitI
         hasBeenBackgrounded.set(true)
         Log.d(LOG_TAG, "onStop - app went to background")
 
+        if (usesReturnPredictor) returnPredictor.onBackground(System.currentTimeMillis())
+
         // Prefetch ad in background so it's ready when user returns
         // Only when appOpenFetchFreshAd is false (not fetching fresh on start).
         // Also refreshes a cached ad that has gone stale (appOpenAdFreshnessThreshold).
-        if (!AdManageKitConfig.appOpenFetchFreshAd &&
-            !BillingConfig.getPurchaseProvider().isPurchased() &&
-            !isCachedAdFresh() && !isLoading.get()
+        if (AdManageKitConfig.appOpenFetchFreshAd ||
+            BillingConfig.getPurchaseProvider().isPurchased() || isLoading.get()
         ) {
-            // Discard a stale cached ad so the prefetch actually replaces it
-            // (the fetch paths skip loading while an ad is present)
-            if (isAdAvailable()) {
-                if (useWaterfall) {
-                    appOpenWaterfall?.destroy()
-                    appOpenWaterfall = null
-                } else {
-                    appOpenAd = null
+            return
+        }
+        val freshnessMillis = AdManageKitConfig.appOpenAdFreshnessThreshold.inWholeMilliseconds
+        if (usesReturnPredictor && freshnessMillis > 0 && returnPredictor.hasEnoughHistory()) {
+            schedulePredictedRefresh(freshnessMillis)
+        } else if (!isCachedAdFresh()) {
+            Log.d(LOG_TAG, "onStop - prefetching ad for next foreground")
+            refreshAdInBackground()
+        }
+    }
+
+    /**
+     * Times the background refresh so the ad is fresh when this user usually comes
+     * back: e.g. a user who returns after ~5 hours gets an ad loaded ~5 hours in
+     * rather than one prefetched now and discarded as stale on return. The timer
+     * counts uptime, so deep sleep can push it past the return; that return then
+     * takes the normal on-demand load.
+     */
+    private fun schedulePredictedRefresh(freshnessMillis: Long) {
+        val coveredMillis = if (isCachedAdFresh()) {
+            adLoadTime + freshnessMillis - System.currentTimeMillis()
+        } else {
+            0L
+        }
+        val delay = returnPredictor.refreshDelay(expectedLoadTimeMs(), freshnessMillis, coveredMillis)
+        when {
+            delay == null ->
+                Log.d(LOG_TAG, "onStop - predicted return needs no background refresh")
+            delay == 0L -> {
+                Log.d(LOG_TAG, "onStop - prefetching ad for predicted return")
+                refreshAdInBackground()
+            }
+            else -> {
+                Log.d(LOG_TAG, "onStop - refreshing ad in ${delay}ms for predicted return")
+                AdDebugUtils.logEvent(adUnitId, "predictedPrefetch", true) { "Refresh scheduled in ${delay}ms" }
+                predictedRefresh = scheduleTimeout(delay) {
+                    predictedRefresh = null
+                    if (!isAppInForeground.get() && !isLoading.get() &&
+                        !BillingConfig.getPurchaseProvider().isPurchased()
+                    ) {
+                        refreshAdInBackground()
+                    }
                 }
-                adLoadTime = 0L
             }
-            Log.d(LOG_TAG, "onStop - prefetching ad for next foreground")
-            fetchAd()
         }
     }
 
+    private fun refreshAdInBackground() {
+        // Discard any cached ad so the prefetch actually replaces it
+        // (the fetch paths skip loading while an ad is present)
+        if (isAdAvailable()) {
+            if (useWaterfall) {
+                appOpenWaterfall?.destroy()
+                appOpenWaterfall = null
+            } else {
+                appOpenAd = null
+            }
+            adLoadTime = 0L
+        }
+        fetchAd()
+    }
+
+    private fun expectedLoadTimeMs(): Long = synchronized(loadTimes) {
+        if (loadTimes.isEmpty()) DEFAULT_EXPECTED_LOAD_MS else loadTimes.average().toLong()
+    }
+
     // =================== SCREEN/FRAGMENT TAG EXCLUSIONS (v3.2.0+) ===================
 
     /**
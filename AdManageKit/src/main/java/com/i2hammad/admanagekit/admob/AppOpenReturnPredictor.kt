@@ -0,0 +1,113 @@
+package com.i2hammad.admanagekit.admob
+
+import android.content.SharedPreferences
+
+/**
+ * Learns how long this user stays away between backgrounding the app and coming
+ * back, and picks when to refresh the app open ad so it is fresh on their likely
+ * return.
+ *
+ * Keeps the last [maxSamples] background-to-foreground intervals in
+ * [SharedPreferences]. The background timestamp is persisted too, so a return
+ * after the process was killed (common for long absences) is still counted.
+ *
+ * A load started `S` ms after backgrounding covers returns between `S + load`
+ * and `S + freshness` (`appOpenAdFreshnessThreshold`). [refreshDelay] picks the
+ * `S` that covers the most past returns, and only when that beats keeping the
+ * ad already cached.
+ *
+ * Not thread-safe: used from the main thread by [AppOpenManager].
+ */
+internal class AppOpenReturnPredictor(
+    private val prefs: SharedPreferences,
+    private val maxSamples: Int = MAX_SAMPLES
+) {
+    private val samples = ArrayDeque<Long>()
+
+    init {
+        prefs.getString(KEY_SAMPLES, null)
+            ?.split(',')
+            ?.mapNotNull { it.toLongOrNull() }
+            ?.takeLast(maxSamples)
+            ?.let { samples.addAll(it) }
+    }
+
+    val sampleCount: Int get() = samples.size
+
+    /** True once enough returns were seen for [refreshDelay] to be meaningful. */
+    fun hasEnoughHistory(): Boolean = samples.size >= MIN_SAMPLES
+
+    /** Call when the app goes to background. */
+    fun onBackground(nowMillis: Long) {
+        prefs.edit().putLong(KEY_BACKGROUND_AT, nowMillis).apply()
+    }
+
+    /** Call when the app comes to foreground; records the interval if one was pending. */
+    fun onForeground(nowMillis: Long) {
+        val backgroundAt = prefs.getLong(KEY_BACKGROUND_AT, 0L)
+        if (backgroundAt == 0L) return
+        prefs.edit().remove(KEY_BACKGROUND_AT).apply()
+        record(nowMillis - backgroundAt)
+    }
+
+    fun record(intervalMillis: Long) {
+        // Negative or huge intervals come from wall-clock changes, not from the user
+        if (intervalMillis <= 0L || intervalMillis > MAX_INTERVAL_MS) return
+        samples.addLast(intervalMillis)
+        while (samples.size > maxSamples) samples.removeFirst()
+        prefs.edit().putString(KEY_SAMPLES, samples.joinToString(",")).apply()
+    }
+
+    /**
+     * When to refresh the ad, in ms after backgrounding, or null to keep what is
+     * cached (or, with nothing cached, to load on return instead).
+     *
+     * @param loadMillis Expected time for a load to complete
+     * @param freshnessMillis How long a loaded ad stays showable
+     * @param coveredMillis How long the currently cached ad stays fresh; 0 if none
+     */
+    fun refreshDelay(loadMillis: Long, freshnessMillis: Long, coveredMillis: Long): Long? {
+        if (samples.isEmpty() || freshnessMillis <= loadMillis) return null
+        val sorted = samples.sorted()
+        var best = countIn(sorted, 0L, coveredMillis)
+        var bestDelay: Long? = null
+        // The optimal window starts at some observed return, so only those delays
+        // need checking. Ascending order keeps the earliest delay on ties.
+        for (candidate in sequenceOf(0L) + sorted.asSequence().map { (it - loadMillis).coerceAtLeast(0L) }) {
+            // The cached ad is discarded when the refresh starts
+            val covered = countIn(sorted, 0L, minOf(coveredMillis, candidate)) +
+                countIn(sorted, candidate + loadMillis, candidate + freshnessMillis)
+            if (covered > best) {
+                best = covered
+                bestDelay = candidate
+            }
+        }
+        return bestDelay
+    }
+
+    /** Number of values in [sorted] within [from, to). */
+    private fun countIn(sorted: List<Long>, from: Long, to: Long): Int {
+        if (to <= from) return 0
+        return lowerBound(sorted, to) - lowerBound(sorted, from)
+    }
+
+    private fun lowerBound(sorted: List<Long>, value: Long): Int {
+        var low = 0
+        var high = sorted.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (sorted[mid] < value) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    companion object {
+        const val PREFS_NAME = "admanagekit_app_open_returns"
+
+        private const val KEY_SAMPLES = "return_intervals"
+        private const val KEY_BACKGROUND_AT = "background_at"
+        private const val MAX_SAMPLES = 50
+        private const val MIN_SAMPLES = 8
+        private const val MAX_INTERVAL_MS = 7L * 24 * 60 * 60 * 1000
+    }
+}
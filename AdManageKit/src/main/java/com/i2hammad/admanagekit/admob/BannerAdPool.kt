@@ -0,0 +1,345 @@
+package com.i2hammad.admanagekit.admob
+
+import android.app.Activity
+import android.content.Context
+import android.content.MutableContextWrapper
+import android.os.Build
+import android.os.Bundle
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import android.view.ViewGroup
+import android.view.WindowManager
+import com.google.android.libraries.ads.mobile.sdk.banner.AdSize
+import com.google.android.libraries.ads.mobile.sdk.banner.AdView
+import com.google.android.libraries.ads.mobile.sdk.banner.BannerAd
+import com.google.android.libraries.ads.mobile.sdk.banner.BannerAdRequest
+import com.google.android.libraries.ads.mobile.sdk.common.AdLoadCallback
+import com.google.android.libraries.ads.mobile.sdk.common.LoadAdError
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.config.BannerAdSize
+import com.i2hammad.admanagekit.config.CollapsibleBannerPlacement
+import com.i2hammad.admanagekit.core.BillingConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.utils.AdDebugUtils
+
+/**
+ * Pool of loaded banners ready to attach, so the next screen shows its banner
+ * immediately instead of a 1-3s shimmer.
+ *
+ * Banners are pooled per ad unit, [BannerAdSize] and collapsible placement. A
+ * [BannerAdView] loading a matching banner takes a pooled one instead of issuing
+ * a request, and the pool refills that slot in the background. Unused banners are
+ * destroyed after [AdManageKitConfig.bannerPoolExpiry] and are not replaced until
+ * the next take, so an unused slot costs at most [preload]'s `count` requests per
+ * expiry period.
+ *
+ * Pooled banners are created on the application context and moved onto the
+ * taking Activity, so the pool never retains an Activity. Only the direct AdMob
+ * path uses the pool; waterfall banners always load on demand. Pool loads are
+ * prefetches in the [AdRequestGovernor] queue.
+ *
+ * Usage:
+ * ```kotlin
+ * // On the screen before the one that shows the banner
+ * BannerAdPool.preload(this, "ca-app-pub-xxx/yyy")
+ *
+ * // Next screen: shown immediately if a pooled banner matches
+ * bannerAdView.loadBanner(this, "ca-app-pub-xxx/yyy")
+ * ```
+ *
+ * All methods must be called on the main thread.
+ */
+object BannerAdPool {
+
+    private const val TAG = "BannerAdPool"
+
+    internal data class Key(
+        val adUnitId: String,
+        val size: BannerAdSize,
+        val collapsible: Boolean,
+        val placement: CollapsibleBannerPlacement
+    )
+
+    /** A loaded banner handed to a [BannerAdView]. */
+    internal class PooledBanner(
+        val adView: AdView,
+        val bannerAd: BannerAd,
+        val contextWrapper: MutableContextWrapper,
+        val loadedAt: Long
+    )
+
+    private class Slot(var target: Int, val adSize: AdSize, val appContext: Context) {
+        val ready = ArrayDeque<PooledBanner>()
+        var loading = 0
+    }
+
+    private val slots = HashMap<Key, Slot>()
+    private val mainHandler = Handler(Looper.getMainLooper())
+    private val pruneRunnable = Runnable {
+        pruneExpired()
+        schedulePrune()
+    }
+
+    // Replaced in tests, which cannot build a real AdView
+    internal var createAdView: (Context) -> AdView = { AdView(it) }
+
+    private var hits = 0L
+    private var misses = 0L
+    private var expired = 0L
+
+    /**
+     * Load up to [count] banners for this ad unit and size and keep them ready.
+     * Calling again for the same key only tops the slot up to the new count.
+     *
+     * @param activity Used to resolve the adaptive width; not retained
+     * @param count Banners to keep ready, clamped to 1..[AdManageKitConfig.maxPooledBannersPerKey]
+     */
+    @JvmOverloads
+    fun preload(
+        activity: Activity,
+        adUnitId: String,
+        adSize: BannerAdSize = BannerAdSize.ADAPTIVE,
+        collapsible: Boolean = false,
+        placement: CollapsibleBannerPlacement = CollapsibleBannerPlacement.BOTTOM,
+        count: Int = 1
+    ) {
+        if (BillingConfig.getPurchaseProvider().isPurchased()) {
+            AdDebugUtils.logDebug(TAG) { "Skipping preload for $adUnitId: user has purchased" }
+            return
+        }
+        val key = keyOf(adUnitId, adSize, collapsible, placement)
+        val target = count.coerceIn(1, maxOf(1, AdManageKitConfig.maxPooledBannersPerKey))
+        val slot = slots.getOrPut(key) {
+            Slot(target, resolveAdSize(activity, adSize), activity.applicationContext)
+        }
+        slot.target = target
+        pruneExpired()
+        fill(key, slot)
+    }
+
+    /** True if a fresh banner is ready for this ad unit and size. */
+    @JvmOverloads
+    fun hasBanner(
+        adUnitId: String,
+        adSize: BannerAdSize = BannerAdSize.ADAPTIVE,
+        collapsible: Boolean = false,
+        placement: CollapsibleBannerPlacement = CollapsibleBannerPlacement.BOTTOM
+    ): Boolean {
+        val slot = slots[keyOf(adUnitId, adSize, collapsible, placement)] ?: return false
+        return slot.ready.any { !isExpired(it) }
+    }
+
+    /**
+     * Takes a fresh pooled banner, moving it onto [activity], and refills its slot.
+     * Returns null on a miss.
+     */
+    internal fun take(
+        activity: Activity,
+        adUnitId: String,
+        adSize: BannerAdSize,
+        collapsible: Boolean,
+        placement: CollapsibleBannerPlacement
+    ): PooledBanner? {
+        val key = keyOf(adUnitId, adSize, collapsible, placement)
+        val slot = slots[key]
+        if (slot == null) {
+            return null
+        }
+        if (BillingConfig.getPurchaseProvider().isPurchased()) {
+            clearAll()
+            return null
+        }
+        pruneExpired()
+        val banner = slot.ready.removeFirstOrNull()
+        if (banner == null) {
+            misses++
+            fill(key, slot)
+            return null
+        }
+        hits++
+        banner.contextWrapper.baseContext = activity
+        AdDebugUtils.logEvent(adUnitId, "PoolHit", true) {
+            "Using pooled banner (age ${SystemClock.elapsedRealtime() - banner.loadedAt}ms)"
+        }
+        fill(key, slot)
+        return banner
+    }
+
+    /** Destroy pooled banners for one ad unit and stop refilling them. */
+    fun clear(adUnitId: String) {
+        val iterator = slots.entries.iterator()
+        while (iterator.hasNext()) {
+            val (key, slot) = iterator.next()
+            if (key.adUnitId == adUnitId) {
+                slot.ready.forEach { destroy(it) }
+                iterator.remove()
+            }
+        }
+    }
+
+    /** Destroy every pooled banner and stop refilling. */
+    fun clearAll() {
+        slots.values.forEach { slot -> slot.ready.forEach { destroy(it) } }
+        slots.clear()
+        mainHandler.removeCallbacks(pruneRunnable)
+    }
+
+    /**
+     * Destroy pooled banners to release memory: expired ones, or every ready one with
+     * [all]. Slots are kept and refill on their next take.
+     *
+     * @return Number of banners destroyed
+     */
+    internal fun release(all: Boolean): Int {
+        if (!all) return pruneExpired()
+        var released = 0
+        for (slot in slots.values) {
+            slot.ready.forEach { destroy(it) }
+            released += slot.ready.size
+            slot.ready.clear()
+        }
+        return released
+    }
+
+    /**
+     * Get pool statistics for debugging.
+     */
+    fun getPoolStats(): Map<String, Any> = mapOf(
+        "pool_hits" to hits,
+        "pool_misses" to misses,
+        "expired_destroyed" to expired,
+        "ready_banners" to slots.values.sumOf { it.ready.size },
+        "loading_banners" to slots.values.sumOf { it.loading },
+        "pooled_keys" to slots.size
+    )
+
+    // Collapsible-by-default requests carry the collapsible extra too, so they
+    // must share a key with explicitly collapsible ones.
+    private fun keyOf(
+        adUnitId: String,
+        adSize: BannerAdSize,
+        collapsible: Boolean,
+        placement: CollapsibleBannerPlacement
+    ): Key {
+        val effectiveCollapsible = collapsible || AdManageKitConfig.enableCollapsibleBannersByDefault
+        return Key(
+            adUnitId,
+            adSize,
+            effectiveCollapsible,
+            if (effectiveCollapsible) placement else CollapsibleBannerPlacement.BOTTOM
+        )
+    }
+
+    private fun fill(key: Key, slot: Slot) {
+        while (slot.ready.size + slot.loading < slot.target) {
+            if (!loadOne(key, slot)) return
+        }
+    }
+
+    private fun loadOne(key: Key, slot: Slot): Boolean {
+        val wrapper = MutableContextWrapper(slot.appContext)
+        val adView = try {
+            createAdView(wrapper)
+        } catch (e: Exception) {
+            AdDebugUtils.logError(TAG, "Could not create pooled AdView: ${e.message}", e)
+            return false
+        }
+        val requestBuilder = BannerAdRequest.Builder(key.adUnitId, slot.adSize)
+        if (key.collapsible) {
+            requestBuilder.setGoogleExtrasBundle(Bundle().apply {
+                putString("collapsible", key.placement.value)
+            })
+        }
+        slot.loading++
+        AdRequestGovernor.submit(key.adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            if (slots[key] !== slot) {
+                // Cleared while queued
+                ticket.finish()
+                slot.loading--
+                adView.destroy()
+                return@submit
+            }
+            adView.loadAd(requestBuilder.build(), object : AdLoadCallback<BannerAd> {
+                override fun onAdLoaded(ad: BannerAd) {
+                    ticket.finish()
+                    mainHandler.post {
+                        slot.loading--
+                        if (slots[key] !== slot) {
+                            // Cleared while loading
+                            adView.destroy()
+                            return@post
+                        }
+                        slot.ready.addLast(PooledBanner(adView, ad, wrapper, SystemClock.elapsedRealtime()))
+                        schedulePrune()
+                        AdDebugUtils.logEvent(key.adUnitId, "PoolLoaded", true) {
+                            "Pooled banner ready (${slot.ready.size}/${slot.target})"
+                        }
+                    }
+                }
+
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    mainHandler.post {
+                        slot.loading--
+                        adView.destroy()
+                        // No retry: the next take() or preload() refills the slot.
+                        AdDebugUtils.logEvent(key.adUnitId, "PoolLoadFailed", false) { adError.message }
+                    }
+                }
+            })
+        }
+        return true
+    }
+
+    private fun pruneExpired(): Int {
+        var pruned = 0
+        for (slot in slots.values) {
+            val iterator = slot.ready.iterator()
+            while (iterator.hasNext()) {
+                val banner = iterator.next()
+                if (isExpired(banner)) {
+                    iterator.remove()
+                    destroy(banner)
+                    expired++
+                    pruned++
+                }
+            }
+        }
+        return pruned
+    }
+
+    // One pending prune, for whenever the oldest ready banner expires
+    private fun schedulePrune() {
+        mainHandler.removeCallbacks(pruneRunnable)
+        val oldest = slots.values.mapNotNull { it.ready.firstOrNull()?.loadedAt }.minOrNull() ?: return
+        val expiresIn = oldest + AdManageKitConfig.bannerPoolExpiry.inWholeMilliseconds - SystemClock.elapsedRealtime()
+        mainHandler.postDelayed(pruneRunnable, expiresIn.coerceAtLeast(0))
+    }
+
+    private fun isExpired(banner: PooledBanner): Boolean =
+        SystemClock.elapsedRealtime() - banner.loadedAt >= AdManageKitConfig.bannerPoolExpiry.inWholeMilliseconds
+
+    private fun destroy(banner: PooledBanner) {
+        (banner.adView.parent as? ViewGroup)?.removeView(banner.adView)
+        banner.adView.destroy()
+    }
+
+    // Mirrors BannerAdView.getAdSize() before layout: fixed sizes as-is, adaptive
+    // sizes for the full window width.
+    private fun resolveAdSize(activity: Activity, adSize: BannerAdSize): AdSize {
+        adSize.toFixedAdMobAdSize()?.let { return it }
+        val widthPixels = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            activity.getSystemService(WindowManager::class.java).currentWindowMetrics.bounds.width()
+        } else {
+            activity.resources.displayMetrics.widthPixels
+        }
+        val adWidth = (widthPixels / activity.resources.displayMetrics.density).toInt()
+        return if (adSize == BannerAdSize.ADAPTIVE_LARGE) {
+            AdSize.getLargeAnchoredAdaptiveBannerAdSize(activity, adWidth)
+        } else {
+            AdSize.getCurrentOrientationAnchoredAdaptiveBannerAdSize(activity, adWidth)
+        }
+    }
+}
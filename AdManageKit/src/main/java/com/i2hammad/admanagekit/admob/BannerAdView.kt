@@ -2,6 +2,7 @@ package com.i2hammad.admanagekit.admob
 
 import android.app.Activity
 import android.content.Context
+import android.graphics.Rect
 import android.os.Build
 import android.os.Bundle
 import android.os.Handler
@@ -11,6 +12,7 @@ import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
+import android.view.ViewTreeObserver
 import android.view.WindowManager
 import android.view.WindowMetrics
 import android.view.Gravity
@@ -33,12 +35,16 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.config.BannerAdSize
 import com.i2hammad.admanagekit.config.CollapsibleBannerPlacement
 import com.i2hammad.admanagekit.utils.AdDebugUtils
+import com.i2hammad.admanagekit.utils.AdSystrace
 import com.i2hammad.admanagekit.waterfall.BannerWaterfall
 import java.lang.ref.WeakReference
 import java.util.concurrent.atomic.AtomicBoolean
@@ -77,8 +83,12 @@ class BannerAdView @JvmOverloads constructor(
     private var currentBannerSize: BannerAdSize = BannerAdSize.ADAPTIVE
     private var isAdLoading = AtomicBoolean(false)
     private var loadAttempt = AtomicInteger(0)
-    private var refreshHandler: Handler? = null
-    private var refreshRunnable: Runnable? = null
+    // Counts down only while the banner is actually viewable; see isRefreshVisible().
+    private var refreshTimer: BannerRefreshTimer? = null
+    // The auto-refresh waiting for a slot of AdRequestGovernor; main thread only
+    private var refreshRequest: AdRequestScheduler.Ticket? = null
+    // The AdMob load waiting in or holding a slot of AdRequestGovernor; main thread only
+    private var loadRequest: AdRequestScheduler.Ticket? = null
     private var autoRefreshEnabled = false
     private var customRefreshIntervalSeconds: Int? = null // Per-view interval set via enableAutoRefresh()
     private val refreshIntervalSeconds get() = customRefreshIntervalSeconds
@@ -94,8 +104,20 @@ class BannerAdView @JvmOverloads constructor(
     // a still-living activity would otherwise be retained by it.
     private var registeredLifecycle: Lifecycle? = null
 
+    // Host lifecycle is RESUMED (true when the host is not a LifecycleOwner).
+    private var hostResumed = true
+    private val visibleRect = Rect()
+    // Scrolling and layout are the only ways a banner moves in or out of view
+    // without a callback on the view itself.
+    private val visibilityChangeListener = ViewTreeObserver.OnScrollChangedListener { updateRefreshTimer() }
+    private val layoutChangeListener = ViewTreeObserver.OnGlobalLayoutListener { updateRefreshTimer() }
+
     // Performance tracking
     private var loadStartTime: Long = 0
+
+    /** The in-flight AdMob load in system traces; ended when it settles or the view is cleaned up. */
+    @Volatile
+    private var loadSlice: AdSystrace.Slice? = null
     private val maxRetryAttempts get() = AdManageKitConfig.maxRetryAttempts
 
     init {
@@ -116,12 +138,12 @@ class BannerAdView @JvmOverloads constructor(
         if (!isInEditMode) {
             shimmerFrameLayout.startShimmer()
             firebaseAnalytics = FirebaseAnalytics.getInstance(context)
-            refreshHandler = Handler(Looper.getMainLooper())
+            refreshTimer = BannerRefreshTimer(onFire = ::onRefreshDue)
         }
     }
 
     /**
-     * Stop the auto-refresh loop as soon as this view leaves the window.
+     * Pause the auto-refresh countdown as soon as this view leaves the window.
      *
      * Without this, a pending refresh Runnable keeps the view (and therefore its
      * Activity context) reachable from the main-thread Handler, and each refresh
@@ -130,36 +152,60 @@ class BannerAdView @JvmOverloads constructor(
      * ON_DESTROY only covers the case where the whole Activity goes away; views
      * inside a RecyclerView/ViewPager/fragment are detached long before that,
      * and a non-LifecycleOwner context gets no lifecycle callbacks at all.
+     *
+     * Pausing removes the Runnable just as stopping did, but keeps the remaining
+     * time so a re-attached banner picks up where it left off.
      */
     override fun onDetachedFromWindow() {
-        stopAutoRefresh()
+        refreshTimer?.pause()
+        viewTreeObserver.removeOnScrollChangedListener(visibilityChangeListener)
+        viewTreeObserver.removeOnGlobalLayoutListener(layoutChangeListener)
         super.onDetachedFromWindow()
     }
 
     /**
-     * Resume the refresh loop when the view comes back on screen (e.g. a recycled
-     * RecyclerView row or a returning ViewPager page). [autoRefreshEnabled] is the
-     * user's intent and survives detach, so honoring it here restores the previous
-     * behavior for views that are merely detached rather than destroyed.
+     * Resume the refresh countdown when the view comes back on screen (e.g. a
+     * recycled RecyclerView row or a returning ViewPager page). [autoRefreshEnabled]
+     * is the user's intent and survives detach, so honoring it here restores the
+     * previous behavior for views that are merely detached rather than destroyed.
      */
     override fun onAttachedToWindow() {
         super.onAttachedToWindow()
-        if (autoRefreshEnabled && currentAdUnitId != null) {
+        if (isInEditMode) return
+        viewTreeObserver.addOnScrollChangedListener(visibilityChangeListener)
+        viewTreeObserver.addOnGlobalLayoutListener(layoutChangeListener)
+        if (autoRefreshEnabled && currentAdUnitId != null && refreshTimer?.isArmed != true) {
             scheduleNextRefresh()
+        } else {
+            updateRefreshTimer()
         }
     }
 
+    override fun onWindowFocusChanged(hasWindowFocus: Boolean) {
+        super.onWindowFocusChanged(hasWindowFocus)
+        updateRefreshTimer()
+    }
+
+    override fun onVisibilityAggregated(isVisible: Boolean) {
+        super.onVisibilityAggregated(isVisible)
+        updateRefreshTimer()
+    }
+
     override fun onStateChanged(source: LifecycleOwner, event: Lifecycle.Event) {
         when (event) {
             Lifecycle.Event.ON_RESUME -> {
                 resumeAd()
-                if (autoRefreshEnabled) {
+                hostResumed = true
+                if (autoRefreshEnabled && refreshTimer?.isArmed != true) {
                     startAutoRefresh()
+                } else {
+                    updateRefreshTimer()
                 }
             }
             Lifecycle.Event.ON_PAUSE -> {
                 pauseAd()
-                stopAutoRefresh()
+                hostResumed = false
+                updateRefreshTimer()
             }
             Lifecycle.Event.ON_DESTROY -> {
                 cleanup()
@@ -274,10 +320,9 @@ class BannerAdView @JvmOverloads constructor(
         if (collapsible && !currentBannerSize.isAdaptive) {
             // AdMob only serves collapsible banners for anchored adaptive requests;
             // a fixed size would silently drop the collapsible behavior.
-            AdDebugUtils.logDebug(
-                "BannerAdView",
+            AdDebugUtils.logDebug("BannerAdView") {
                 "Collapsible banners require ADAPTIVE size; requested $currentBannerSize may not collapse"
-            )
+            }
         }
 
         // Register lifecycle observer if possible. Note this is best-effort: the context
@@ -287,10 +332,38 @@ class BannerAdView @JvmOverloads constructor(
         if (context is LifecycleOwner) {
             registeredLifecycle = context.lifecycle
             context.lifecycle.addObserver(this)
+            hostResumed = context.lifecycle.currentState.isAtLeast(Lifecycle.State.RESUMED)
         }
 
+        if (showPooledBanner(context, adUnitId, collapsible, placement, callback)) return
+
         loadBannerInternal(adUnitId, collapsible, placement, callback)
     }
+
+    /**
+     * Shows a banner preloaded by [BannerAdPool], if one matches this request.
+     * Only the initial load is served from the pool; refreshes and retries always
+     * request a new ad.
+     */
+    private fun showPooledBanner(
+        activity: Activity,
+        adUnitId: String,
+        collapsible: Boolean,
+        placement: CollapsibleBannerPlacement,
+        callback: AdLoadCallback?
+    ): Boolean {
+        if (useWaterfall || isAdLoading.get()) return false
+        val pooled = BannerAdPool.take(activity, adUnitId, currentBannerSize, collapsible, placement) ?: return false
+
+        isAdLoading.set(true)
+        adView?.destroy()
+        adView = pooled.adView
+        loadStartTime = System.currentTimeMillis()
+        pooled.bannerAd.adEventCallback = createBannerEventCallback(adUnitId, callback)
+        callback?.onAdLoadStarted()
+        handleAdLoadSuccess(adUnitId, callback)
+        return true
+    }
     
     /**
      * Internal method that handles the actual ad loading with enhanced features.
@@ -305,7 +378,7 @@ class BannerAdView @JvmOverloads constructor(
 
         // Prevent concurrent loads
         if (!isAdLoading.compareAndSet(false, true)) {
-            AdDebugUtils.logDebug("BannerAdView", "Ad loading already in progress for $adUnitId")
+            AdDebugUtils.logDebug("BannerAdView") { "Ad loading already in progress for $adUnitId" }
             return
         }
         
@@ -342,46 +415,53 @@ class BannerAdView @JvmOverloads constructor(
         }
         
         try {
-            // Make sure the banner is visible during loading
-            visibility = View.VISIBLE
-            shimmerFrameLayout.visibility = View.VISIBLE
-            shimmerFrameLayout.startShimmer()
+            AdSystrace.section(AdSystrace.FORMAT_BANNER, "request", AdProvider.ADMOB.name, adUnitId) {
+                // Make sure the banner is visible during loading
+                visibility = View.VISIBLE
+                shimmerFrameLayout.visibility = View.VISIBLE
+                shimmerFrameLayout.startShimmer()
             
-            // Destroy the previous AdView (if any) before replacing it to avoid
-            // leaking a WebView-backed view on every reload/auto-refresh
-            adView?.destroy()
-
-            // Create AdView (Next-Gen SDK: ad unit id and size are no longer set
-            // on the AdView itself - setAdUnitId()/setAdSize() are gone - both are
-            // now supplied via the request below)
-            val calculatedAdSize = getAdSize()
-            adView = AdView(activity)
-
-            // Build ad request
-            val requestBuilder = BannerAdRequest.Builder(adUnitId, calculatedAdSize)
+                // Destroy the previous AdView (if any) before replacing it to avoid
+                // leaking a WebView-backed view on every reload/auto-refresh
+                adView?.destroy()
+
+                // Create AdView (Next-Gen SDK: ad unit id and size are no longer set
+                // on the AdView itself - setAdUnitId()/setAdSize() are gone - both are
+                // now supplied via the request below)
+                val calculatedAdSize = getAdSize()
+                adView = AdView(activity)
+
+                // Build ad request
+                val requestBuilder = BannerAdRequest.Builder(adUnitId, calculatedAdSize)
+
+                // Add collapsible extras if needed
+                if (collapsible || AdManageKitConfig.enableCollapsibleBannersByDefault) {
+                    val extras = Bundle()
+                    extras.putString("collapsible", placement.value)
+                    requestBuilder.setGoogleExtrasBundle(extras)
+
+                    AdDebugUtils.logDebug("BannerAdView") { "Loading collapsible banner with placement: ${placement.value}" }
+                }
 
-            // Add collapsible extras if needed
-            if (collapsible || AdManageKitConfig.enableCollapsibleBannersByDefault) {
-                val extras = Bundle()
-                extras.putString("collapsible", placement.value)
-                requestBuilder.setGoogleExtrasBundle(extras)
+                // Adjust shimmer to match ad size
+                adjustShimmerLayout()
+
+                // Load the ad. Click/impression/open/close/paid events are wired onto
+                // the BannerAd handed back in onAdLoaded (see createEnhancedAdLoadCallback) -
+                // Next-Gen SDK exposes them there, not on the AdView and not via a
+                // separate AdListener/OnPaidEventListener.
+                val adRequest = requestBuilder.build()
+                loadSlice?.end()
+                loadSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_BANNER, "load", AdProvider.ADMOB.name, adUnitId)
+                // A prefetch, or a refresh when onRefreshDue is reloading
+                loadRequest?.cancel()
+                loadRequest = AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) {
+                    adView?.loadAd(adRequest, createEnhancedAdLoadCallback(adUnitId, callback))
+                }
 
-                AdDebugUtils.logDebug("BannerAdView", "Loading collapsible banner with placement: ${placement.value}")
+                // Notify callback of load start
+                callback?.onAdLoadStarted()
             }
-
-            // Adjust shimmer to match ad size
-            adjustShimmerLayout()
-
-            // Load the ad. Click/impression/open/close/paid events are wired onto
-            // the BannerAd handed back in onAdLoaded (see createEnhancedAdLoadCallback) -
-            // Next-Gen SDK exposes them there, not on the AdView and not via a
-            // separate AdListener/OnPaidEventListener.
-            val adRequest = requestBuilder.build()
-            adView?.loadAd(adRequest, createEnhancedAdLoadCallback(adUnitId, callback))
-
-            // Notify callback of load start
-            callback?.onAdLoadStarted()
-
         } catch (e: Exception) {
             handleAdLoadFailure(
                 adUnitId,
@@ -424,7 +504,7 @@ class BannerAdView @JvmOverloads constructor(
     } catch (e: Exception) {
         // Never let placeholder sizing (e.g. an SDK call in the design preview before
         // MobileAds is initialized) break rendering; the shimmer keeps its XML height.
-        AdDebugUtils.logDebug("BannerAdView", "adjustShimmerLayout skipped: ${e.message}")
+        AdDebugUtils.logDebug("BannerAdView") { "adjustShimmerLayout skipped: ${e.message}" }
     }
 
     /**
@@ -442,60 +522,68 @@ class BannerAdView @JvmOverloads constructor(
     ): com.google.android.libraries.ads.mobile.sdk.common.AdLoadCallback<BannerAd> {
         return object : com.google.android.libraries.ads.mobile.sdk.common.AdLoadCallback<BannerAd> {
             override fun onAdLoaded(bannerAd: BannerAd) {
-                // Wire click/open/close/impression/paid events on the BannerAd -
-                // Next-Gen SDK callbacks fire on a background thread, so each
-                // dispatch to the (possibly UI-touching) external callback is
-                // wrapped on the main thread, matching the old SDK's guarantee.
-                bannerAd.adEventCallback = object : BannerAdEventCallback {
-                    override fun onAdClicked() {
-                        ensureMainThread {
-                            AdDebugUtils.logEvent(adUnitId, "onAdClicked", "Banner ad clicked", true)
-                            callback?.onAdClicked()
-                        }
-                    }
+                // Wire click/open/close/impression/paid events on the BannerAd
+                bannerAd.adEventCallback = createBannerEventCallback(adUnitId, callback)
 
-                    override fun onAdDismissedFullScreenContent() {
-                        ensureMainThread {
-                            AdDebugUtils.logEvent(adUnitId, "onAdClosed", "Banner ad closed", true)
-                            callback?.onAdClosed()
-                        }
-                    }
+                handleAdLoadSuccess(adUnitId, callback)
+            }
 
-                    override fun onAdShowedFullScreenContent() {
-                        ensureMainThread {
-                            AdDebugUtils.logEvent(adUnitId, "onAdOpened", "Banner ad opened", true)
-                            callback?.onAdOpened()
-                        }
-                    }
+            override fun onAdFailedToLoad(adError: LoadAdError) {
+                handleAdLoadFailure(adUnitId, adError, callback, "AdMob load failure")
+            }
+        }
+    }
+    
+    /**
+     * Click/open/close/impression/paid events for a loaded [BannerAd].
+     *
+     * Next-Gen SDK callbacks fire on a background thread, so each dispatch to the
+     * (possibly UI-touching) external callback is wrapped on the main thread,
+     * matching the old SDK's guarantee.
+     */
+    private fun createBannerEventCallback(adUnitId: String, callback: AdLoadCallback?): BannerAdEventCallback {
+        return object : BannerAdEventCallback {
+            override fun onAdClicked() {
+                ensureMainThread {
+                    AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) { "Banner ad clicked" }
+                    callback?.onAdClicked()
+                }
+            }
+
+            override fun onAdDismissedFullScreenContent() {
+                ensureMainThread {
+                    AdDebugUtils.logEvent(adUnitId, "onAdClosed", true) { "Banner ad closed" }
+                    callback?.onAdClosed()
+                }
+            }
 
-                    override fun onAdImpression() {
-                        ensureMainThread {
-                            val loadTime = System.currentTimeMillis() - loadStartTime
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                                if (AdManageKitConfig.enablePerformanceMetrics) {
-                                    putLong("load_time_ms", loadTime)
-                                    putInt("attempt_number", loadAttempt.get())
-                                }
-                            }
-                            firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
-
-                            AdDebugUtils.logEvent(adUnitId, "onAdImpression", "Banner ad impression (load time: ${loadTime}ms)", true)
-                            AdDebugUtils.logPerformance(adUnitId, "AdImpression", loadTime)
-                            callback?.onAdImpression()
+            override fun onAdShowedFullScreenContent() {
+                ensureMainThread {
+                    AdDebugUtils.logEvent(adUnitId, "onAdOpened", true) { "Banner ad opened" }
+                    callback?.onAdOpened()
+                }
+            }
+
+            override fun onAdImpression() {
+                ensureMainThread {
+                    val loadTime = System.currentTimeMillis() - loadStartTime
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putLong("load_time_ms", loadTime)
+                            putInt("attempt_number", loadAttempt.get())
                         }
                     }
+                    firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
 
-                    override fun onAdPaid(value: AdValue) {
-                        handlePaidEvent(adUnitId, value, callback)
-                    }
+                    AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) { "Banner ad impression (load time: ${loadTime}ms)" }
+                    AdDebugUtils.logPerformance(adUnitId, "AdImpression", loadTime)
+                    callback?.onAdImpression()
                 }
-
-                handleAdLoadSuccess(adUnitId, callback)
             }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                handleAdLoadFailure(adUnitId, adError, callback, "AdMob load failure")
+            override fun onAdPaid(value: AdValue) {
+                handlePaidEvent(adUnitId, value, callback)
             }
         }
     }
@@ -504,6 +592,7 @@ class BannerAdView @JvmOverloads constructor(
      * Handles successful ad loading with enhanced features.
      */
     private fun handleAdLoadSuccess(adUnitId: String, callback: AdLoadCallback?) {
+        loadSlice?.end()
         ensureMainThread {
             // Update UI
             layBannerAd.removeAllViews()
@@ -517,6 +606,7 @@ class BannerAdView @JvmOverloads constructor(
             
             // Update state
             isAdLoading.set(false)
+            finishLoadRequest()
             loadAttempt.set(0) // Reset attempt counter on success
             
             // Make sure the banner is visible after successful load
@@ -528,7 +618,7 @@ class BannerAdView @JvmOverloads constructor(
             }
             
             val loadTime = System.currentTimeMillis() - loadStartTime
-            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Banner ad loaded successfully in ${loadTime}ms", true)
+            AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Banner ad loaded successfully in ${loadTime}ms" }
             AdDebugUtils.logPerformance(adUnitId, "AdLoad", loadTime)
             
             callback?.onAdLoaded()
@@ -545,6 +635,7 @@ class BannerAdView @JvmOverloads constructor(
         reason: String,
         isPurchaseBlocked: Boolean = false
     ) {
+        loadSlice?.end(success = false)
         ensureMainThread {
             // Update UI - stop shimmer but keep view visible for retries
             shimmerFrameLayout.stopShimmer()
@@ -552,6 +643,7 @@ class BannerAdView @JvmOverloads constructor(
             
             // Update state
             isAdLoading.set(false)
+            finishLoadRequest()
             val attempt = loadAttempt.incrementAndGet()
             
             // Log failure analytics
@@ -565,7 +657,7 @@ class BannerAdView @JvmOverloads constructor(
             }
             firebaseAnalytics?.logEvent("ad_failed_to_load", params)
             
-            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "$reason (attempt $attempt)", false)
+            AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "$reason (attempt $attempt)" }
 
             // Purchase-blocked loads should fail fast - retrying can never succeed for premium users.
             // Next-Gen SDK's LoadAdError.ErrorCode is a closed enum with no purchase-blocked
@@ -588,12 +680,12 @@ class BannerAdView @JvmOverloads constructor(
                 }
                 
                 Handler(Looper.getMainLooper()).postDelayed({
-                    AdDebugUtils.logEvent(adUnitId, "RetryAttempt", "Retrying ad load (attempt $attempt) after ${retryDelay}ms", true)
+                    AdDebugUtils.logEvent(adUnitId, "RetryAttempt", true) { "Retrying ad load (attempt $attempt) after ${retryDelay}ms" }
                     loadBannerInternal(adUnitId, false, CollapsibleBannerPlacement.BOTTOM, callback) // Retry without collapsible
                 }, retryDelay)
             } else {
                 // Max retries reached or retry disabled - hide the entire banner view
-                AdDebugUtils.logEvent(adUnitId, "MaxRetriesReached", "Max retries reached for $adUnitId", false)
+                AdDebugUtils.logEvent(adUnitId, "MaxRetriesReached", false) { "Max retries reached for $adUnitId" }
                 visibility = View.GONE
                 callback?.onFailedToLoad(error)
             }
@@ -619,7 +711,7 @@ class BannerAdView @JvmOverloads constructor(
             }
             firebaseAnalytics?.logEvent("ad_paid_event", params)
 
-            AdDebugUtils.logEvent(adUnitId, "onPaidEvent", "Ad revenue: $adValueInStandardUnits ${adValue.currencyCode}", true)
+            AdDebugUtils.logEvent(adUnitId, "onPaidEvent", true) { "Ad revenue: $adValueInStandardUnits ${adValue.currencyCode}" }
 
             callback?.onPaidEvent(adValue)
         }
@@ -750,7 +842,7 @@ class BannerAdView @JvmOverloads constructor(
                     if (autoRefreshEnabled) { scheduleNextRefresh() }
 
                     val loadTime = System.currentTimeMillis() - loadStartTime
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Banner waterfall ad loaded in ${loadTime}ms", true)
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Banner waterfall ad loaded in ${loadTime}ms" }
                     callback?.onAdLoaded()
                 }
             }
@@ -763,7 +855,7 @@ class BannerAdView @JvmOverloads constructor(
                     bannerWaterfall = null
                     visibility = View.GONE
 
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Banner waterfall failed: ${error.message}", false)
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "Banner waterfall failed: ${error.message}" }
                     val params = Bundle().apply {
                         putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                         putString("ad_error_code", error.code.toString())
@@ -830,7 +922,7 @@ class BannerAdView @JvmOverloads constructor(
         val configuredInterval = maxOf(intervalSeconds, 30) // Minimum 30 seconds per AdMob policy
         this.customRefreshIntervalSeconds = configuredInterval
 
-        AdDebugUtils.logDebug("BannerAdView", "Auto-refresh enabled with ${configuredInterval}s interval")
+        AdDebugUtils.logDebug("BannerAdView") { "Auto-refresh enabled with ${configuredInterval}s interval" }
         scheduleNextRefresh()
     }
     
@@ -851,27 +943,75 @@ class BannerAdView @JvmOverloads constructor(
     }
     
     private fun stopAutoRefresh() {
-        refreshRunnable?.let { runnable ->
-            refreshHandler?.removeCallbacks(runnable)
-        }
-        refreshRunnable = null
+        refreshTimer?.cancel()
     }
     
     private fun scheduleNextRefresh() {
         if (!autoRefreshEnabled) return
-        
-        stopAutoRefresh() // Clear any existing scheduled refresh
-        
-        refreshRunnable = Runnable {
-            currentAdUnitId?.let { adUnitId ->
-                AdDebugUtils.logEvent(adUnitId, "AutoRefresh", "Auto-refreshing banner ad", true)
-                // Reuse the original collapsible configuration so refreshes don't silently
-                // convert a collapsible banner into a regular one
+
+        // Replaces any pending countdown; it starts paused and only runs while visible
+        refreshTimer?.start(refreshIntervalSeconds * 1000L)
+        updateRefreshTimer()
+    }
+
+    private fun onRefreshDue() {
+        if (!isRefreshVisible()) {
+            // Missed a hide event: hold the refresh until the banner is viewable again
+            refreshTimer?.recordSuppressed()
+            refreshTimer?.start(0L)
+            return
+        }
+        val adUnitId = currentAdUnitId ?: return
+        refreshRequest?.cancel()
+        // A refresh that cannot start within one interval is skipped, not stacked
+        refreshRequest = AdRequestGovernor.submit(
+            adUnitId,
+            AdRequestPriority.REFRESH,
+            deadlineMillis = refreshIntervalSeconds * 1000L,
+            onExpired = { post { scheduleNextRefresh() } }
+        ) { ticket ->
+            // The slot only orders refresh starts; the reload takes its own at REFRESH
+            ticket.finish()
+            if (!isAttachedToWindow) return@submit
+            AdDebugUtils.logEvent(adUnitId, "AutoRefresh", true) { "Auto-refreshing banner ad" }
+            // Reuse the original collapsible configuration so refreshes don't silently
+            // convert a collapsible banner into a regular one
+            AdRequestGovernor.withPriority(AdRequestPriority.REFRESH) {
                 loadBannerInternal(adUnitId, currentCollapsible, currentPlacement, callback)
             }
         }
-        
-        refreshHandler?.postDelayed(refreshRunnable!!, refreshIntervalSeconds * 1000L)
+    }
+
+    private fun finishLoadRequest() {
+        loadRequest?.finish()
+        loadRequest = null
+    }
+
+    /**
+     * Runs the refresh countdown while the banner is viewable and pauses it otherwise.
+     * Called on every event that can change viewability; cheap when nothing is armed.
+     */
+    private fun updateRefreshTimer() {
+        val timer = refreshTimer ?: return
+        if (!timer.isArmed) return
+        if (isRefreshVisible()) timer.resume() else timer.pause()
+    }
+
+    /**
+     * Whether a refresh now could produce a viewable impression: attached, host
+     * resumed, window focused, shown, and at least
+     * [AdManageKitConfig.bannerRefreshVisibilityThreshold] of the banner's area on
+     * screen. With [AdManageKitConfig.pauseBannerRefreshWhenHidden] off only the
+     * attach and lifecycle checks apply, as before.
+     */
+    private fun isRefreshVisible(): Boolean {
+        if (!isAttachedToWindow || !hostResumed) return false
+        if (!AdManageKitConfig.pauseBannerRefreshWhenHidden) return true
+        if (!hasWindowFocus() || !isShown) return false
+        val area = width.toLong() * height
+        if (area <= 0L || !getGlobalVisibleRect(visibleRect)) return false
+        val visibleArea = visibleRect.width().toLong() * visibleRect.height()
+        return visibleArea >= area * AdManageKitConfig.bannerRefreshVisibilityThreshold
     }
     
     // =================== LIFECYCLE METHODS ===================
@@ -879,14 +1019,20 @@ class BannerAdView @JvmOverloads constructor(
     private fun cleanup() {
         try {
             stopAutoRefresh()
+            refreshRequest?.cancel()
+            refreshRequest = null
+            // A destroyed AdView never reports, so free its slot here
+            loadRequest?.cancel()
+            loadRequest = null
             adView?.destroy()
+            loadSlice?.end()
 
             // Unregister from the host lifecycle - it holds a strong reference to this
             // view, which would otherwise outlive the view itself on a long-lived host
             registeredLifecycle?.removeObserver(this)
             registeredLifecycle = null
 
-            AdDebugUtils.logDebug("BannerAdView", "Cleanup completed for ad: $currentAdUnitId")
+            AdDebugUtils.logDebug("BannerAdView") { "Cleanup completed for ad: $currentAdUnitId" }
         } catch (e: Exception) {
             AdDebugUtils.logError("BannerAdView", "Error during cleanup: ${e.message}", e)
         }
@@ -938,7 +1084,7 @@ class BannerAdView @JvmOverloads constructor(
      */
     fun refreshAd() {
         currentAdUnitId?.let { adUnitId ->
-            AdDebugUtils.logEvent(adUnitId, "ManualRefresh", "Manual refresh triggered", true)
+            AdDebugUtils.logEvent(adUnitId, "ManualRefresh", true) { "Manual refresh triggered" }
             // Reuse the original collapsible configuration so manual refreshes don't silently
             // convert a collapsible banner into a regular one
             loadBannerInternal(adUnitId, currentCollapsible, currentPlacement, callback)
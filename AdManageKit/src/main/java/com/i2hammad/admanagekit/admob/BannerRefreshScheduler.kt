@@ -0,0 +1,226 @@
+package com.i2hammad.admanagekit.admob
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+
+/**
+ * Shared refresh clock for every [BannerAdView].
+ *
+ * Each banner used to post its own refresh Runnable, so 5-8 banners across tabs
+ * refreshed at scattered times, each with its own layout pass and radio wakeup.
+ * All refresh countdowns now run on one [BannerRefreshWheel]: deadlines are rounded
+ * up to shared [AdManageKitConfig.bannerRefreshBatchWindow] boundaries so refreshes
+ * that fall due close together fire from a single wakeup, and the refreshes within
+ * one wakeup are staggered by [AdManageKitConfig.bannerRefreshStagger] so they do
+ * not all hit the network at once. Rounding is always up, so no banner refreshes
+ * sooner than its interval (and never below AdMob's 30-second minimum).
+ *
+ * Usage:
+ * ```kotlin
+ * val stats = BannerRefreshScheduler.getRefreshStats()
+ * Log.d("Ads", "batched=${stats["refreshes_batched"]} suppressed=${stats["refreshes_suppressed"]}")
+ * ```
+ */
+object BannerRefreshScheduler {
+
+    internal val wheel: BannerRefreshWheel by lazy { BannerRefreshWheel() }
+
+    /**
+     * Get refresh scheduling statistics since process start or the last [resetRefreshStats].
+     *
+     * - `refreshes_fired`: refreshes handed to a banner
+     * - `refreshes_batched`: refreshes that shared a wakeup with at least one other
+     * - `refreshes_suppressed`: due refreshes skipped because the banner was not viewable
+     * - `refreshes_deferred`: running countdowns paused because the banner left view
+     * - `wakeups`: times the shared clock woke up
+     * - `pending_refreshes`: countdowns currently running
+     */
+    fun getRefreshStats(): Map<String, Any> = wheel.stats()
+
+    /** Reset the counters reported by [getRefreshStats]. */
+    fun resetRefreshStats() {
+        wheel.resetStats()
+    }
+}
+
+/**
+ * Hashed timer wheel behind [BannerRefreshScheduler]. Main thread only.
+ *
+ * Slots are one batch window wide and aligned to absolute [clock] time, so every
+ * banner shares the same boundaries. Only one Runnable is ever posted for the
+ * whole wheel, at the earliest occupied slot.
+ *
+ * @param handler Handler the wheel ticks on.
+ * @param clock Monotonic time source in milliseconds.
+ * @param windowMs Slot width; values below 1 ms are treated as 1 ms (no batching).
+ * @param staggerMs Gap between refreshes that fall due in the same slot.
+ */
+internal class BannerRefreshWheel(
+    private val handler: Handler = Handler(Looper.getMainLooper()),
+    val clock: () -> Long = SystemClock::uptimeMillis,
+    private val windowMs: () -> Long = { AdManageKitConfig.bannerRefreshBatchWindow.inWholeMilliseconds },
+    private val staggerMs: () -> Long = { AdManageKitConfig.bannerRefreshStagger.inWholeMilliseconds }
+) {
+    /** One scheduled countdown. Owned by a single [BannerRefreshTimer]. */
+    class Entry(internal val onFire: () -> Unit) {
+        internal var deadline = 0L
+        internal var targetTick = 0L
+        internal var inWheel = false
+    }
+
+    private val slots = Array(WHEEL_SIZE) { ArrayList<Entry>(2) }
+    private var size = 0
+    private var tickMs = 0L
+    private var lastTick = -1L
+    private var armedTick = Long.MAX_VALUE
+    private val tickRunnable = Runnable { onTick() }
+
+    // Due entries waiting for their staggered turn.
+    private val firing = ArrayDeque<Entry>()
+    private var firePosted = false
+    private val fireRunnable = Runnable {
+        firePosted = false
+        fireNext()
+    }
+
+    private var fired = 0L
+    private var batched = 0L
+    private var suppressed = 0L
+    private var deferred = 0L
+    private var wakeups = 0L
+
+    /** Schedules [entry] to fire no sooner than [delayMs] from now, replacing any pending schedule. */
+    fun schedule(entry: Entry, delayMs: Long) {
+        cancel(entry)
+        ensureGranularity()
+        entry.deadline = clock() + maxOf(0L, delayMs)
+        insert(entry)
+    }
+
+    /** Removes [entry] from the wheel, including a staggered fire that has not run yet. */
+    fun cancel(entry: Entry) {
+        if (entry.inWheel) {
+            slots[slotOf(entry.targetTick)].remove(entry)
+            entry.inWheel = false
+            size--
+        }
+        firing.remove(entry)
+    }
+
+    fun isScheduled(entry: Entry): Boolean = entry.inWheel || entry in firing
+
+    fun recordSuppressed() {
+        suppressed++
+    }
+
+    fun recordDeferred() {
+        deferred++
+    }
+
+    fun stats(): Map<String, Any> = mapOf(
+        "refreshes_fired" to fired,
+        "refreshes_batched" to batched,
+        "refreshes_suppressed" to suppressed,
+        "refreshes_deferred" to deferred,
+        "wakeups" to wakeups,
+        "pending_refreshes" to size + firing.size,
+        "batch_window_ms" to tickMs
+    )
+
+    fun resetStats() {
+        fired = 0
+        batched = 0
+        suppressed = 0
+        deferred = 0
+        wakeups = 0
+    }
+
+    private fun insert(entry: Entry) {
+        // Round up to the next shared boundary: never early, and neighbours coincide.
+        // A slot already processed can't be revisited, so fall into the next one.
+        val tick = maxOf((entry.deadline + tickMs - 1) / tickMs, lastTick + 1)
+        entry.targetTick = tick
+        entry.inWheel = true
+        slots[slotOf(tick)].add(entry)
+        size++
+        if (tick < armedTick) arm(tick)
+    }
+
+    private fun ensureGranularity() {
+        val window = maxOf(1L, windowMs())
+        if (window == tickMs) return
+        // Window changed at runtime: re-slot everything on the new boundaries.
+        val pending = slots.flatMap { it }
+        slots.forEach { it.clear() }
+        size = 0
+        tickMs = window
+        lastTick = -1L
+        disarm()
+        pending.forEach { it.inWheel = false; insert(it) }
+    }
+
+    private fun arm(tick: Long) {
+        handler.removeCallbacks(tickRunnable)
+        armedTick = tick
+        handler.postDelayed(tickRunnable, maxOf(0L, tick * tickMs - clock()))
+    }
+
+    private fun disarm() {
+        handler.removeCallbacks(tickRunnable)
+        armedTick = Long.MAX_VALUE
+    }
+
+    private fun onTick() {
+        armedTick = Long.MAX_VALUE
+        wakeups++
+        val current = clock() / tickMs
+        val due = ArrayList<Entry>()
+        if (lastTick < 0 || current - lastTick >= WHEEL_SIZE) {
+            slots.forEach { collectDue(it, current, due) }
+        } else {
+            for (tick in lastTick + 1..current) collectDue(slots[slotOf(tick)], current, due)
+        }
+        lastTick = maxOf(lastTick, current)
+
+        if (due.size > 1) batched += due.size
+        due.sortBy { it.deadline }
+        firing.addAll(due)
+
+        var next = Long.MAX_VALUE
+        if (size > 0) slots.forEach { slot -> slot.forEach { next = minOf(next, it.targetTick) } }
+        if (next != Long.MAX_VALUE) arm(next)
+
+        if (!firePosted) fireNext()
+    }
+
+    private fun collectDue(slot: ArrayList<Entry>, current: Long, into: MutableList<Entry>) {
+        val iterator = slot.iterator()
+        while (iterator.hasNext()) {
+            val entry = iterator.next()
+            if (entry.targetTick <= current) {
+                iterator.remove()
+                entry.inWheel = false
+                size--
+                into.add(entry)
+            }
+        }
+    }
+
+    private fun fireNext() {
+        val entry = firing.removeFirstOrNull() ?: return
+        fired++
+        if (firing.isNotEmpty()) {
+            firePosted = true
+            handler.postDelayed(fireRunnable, maxOf(0L, staggerMs()))
+        }
+        entry.onFire()
+    }
+
+    private fun slotOf(tick: Long): Int = (tick % WHEEL_SIZE).toInt()
+
+    private companion object {
+        const val WHEEL_SIZE = 64
+    }
+}
@@ -0,0 +1,80 @@
+package com.i2hammad.admanagekit.admob
+
+/**
+ * Pausable countdown behind [BannerAdView]'s auto-refresh.
+ *
+ * [start] arms the timer paused; it only counts down between [resume] and [pause].
+ * Pausing keeps the remaining time, so a banner that spends 40s of a 60s interval
+ * on screen, scrolls away and comes back refreshes 20s later instead of restarting
+ * the full interval. The countdown itself runs on the shared [BannerRefreshWheel],
+ * so it may fire up to one batch window late. Main thread only.
+ *
+ * @param wheel Shared clock the countdown is scheduled on.
+ * @param onFire Invoked on the main thread when the remaining time reaches zero.
+ */
+internal class BannerRefreshTimer(
+    private val wheel: BannerRefreshWheel = BannerRefreshScheduler.wheel,
+    private val onFire: () -> Unit
+) {
+    // -1 when idle; otherwise the time left as of the last pause/start.
+    private var remainingMs = IDLE
+    private var deadline = 0L
+
+    /** True while the countdown is actually running. */
+    var isRunning = false
+        private set
+
+    private val entry = BannerRefreshWheel.Entry {
+        isRunning = false
+        remainingMs = IDLE
+        onFire()
+    }
+
+    /** True when armed, whether running or paused. */
+    val isArmed: Boolean get() = isRunning || remainingMs != IDLE
+
+    /** Time left before the timer fires, or -1 when idle. */
+    fun remainingMillis(): Long = when {
+        isRunning -> maxOf(0L, deadline - wheel.clock())
+        else -> remainingMs
+    }
+
+    /** Arms the timer for [durationMs], paused. Replaces any pending countdown. */
+    fun start(durationMs: Long) {
+        cancel()
+        remainingMs = maxOf(0L, durationMs)
+    }
+
+    /** Continues the countdown from where it was paused. No-op when idle or running. */
+    fun resume() {
+        if (isRunning || remainingMs == IDLE) return
+        deadline = wheel.clock() + remainingMs
+        isRunning = true
+        wheel.schedule(entry, remainingMs)
+    }
+
+    /** Stops the countdown, keeping the remaining time. No-op unless running. */
+    fun pause() {
+        if (!isRunning) return
+        wheel.cancel(entry)
+        wheel.recordDeferred()
+        remainingMs = maxOf(0L, deadline - wheel.clock())
+        isRunning = false
+    }
+
+    /** Disarms the timer. */
+    fun cancel() {
+        wheel.cancel(entry)
+        isRunning = false
+        remainingMs = IDLE
+    }
+
+    /** Counts a due refresh that was skipped because the banner wasn't viewable. */
+    fun recordSuppressed() {
+        wheel.recordSuppressed()
+    }
+
+    private companion object {
+        const val IDLE = -1L
+    }
+}
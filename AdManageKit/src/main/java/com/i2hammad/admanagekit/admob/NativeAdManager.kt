@@ -1,5 +1,10 @@
 package com.i2hammad.admanagekit.admob
 
+import android.app.Activity
+import android.app.Application
+import android.content.Context
+import android.content.ContextWrapper
+import android.os.Bundle
 import android.os.Handler
 import android.os.Looper
 import android.util.Log
@@ -7,7 +12,18 @@ import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAd
 import com.google.firebase.analytics.FirebaseAnalytics
 import com.i2hammad.admanagekit.utils.AdDebugUtils
 import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.AdKitAdValue
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdUnitMapping
+import com.i2hammad.admanagekit.core.ad.CachedNativeAd
+import com.i2hammad.admanagekit.core.ad.NativeAdInventory
+import com.i2hammad.admanagekit.core.ad.NativeAdProvider
+import com.i2hammad.admanagekit.core.ad.NativeAdSize
+import com.i2hammad.admanagekit.waterfall.NativeWaterfall
 import java.util.Collections
+import java.util.WeakHashMap
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.Executors
 import java.util.concurrent.ScheduledExecutorService
@@ -37,6 +53,9 @@ object NativeAdManager {
     // and scheduleWithFixedDelay(..., 0, 0, MINUTES) throws inside the init block
     val cleanupIntervalMinutes: Long get() = AdManageKitConfig.cacheCleanupInterval.inWholeMinutes.coerceAtLeast(1)
     val enableAnalytics: Boolean get() = AdManageKitConfig.enablePerformanceMetrics
+
+    /** Rough estimate of the memory one cached native ad holds (images, text, metadata). */
+    const val ESTIMATED_AD_SIZE_BYTES = 50 * 1024L
     
     // Thread-safe cache storage
     private val cachedAds = ConcurrentHashMap<String, MutableList<CachedAd>>()
@@ -80,10 +99,7 @@ object NativeAdManager {
         val source: String = "network"
     ) {
         companion object {
-            private fun estimateAdSize(): Long {
-                // Rough estimate: 50KB per native ad (images, text, metadata)
-                return 50 * 1024L // 50KB
-            }
+            private fun estimateAdSize(): Long = ESTIMATED_AD_SIZE_BYTES
         }
         
         /**
@@ -116,7 +132,7 @@ object NativeAdManager {
      */
     fun initialize(analytics: FirebaseAnalytics? = null) {
         this.firebaseAnalytics = analytics
-        logDebug("NativeAdManager initialized with analytics: ${analytics != null}")
+        logDebug { "NativeAdManager initialized with analytics: ${analytics != null}" }
     }
     
     // =================== UTILITY METHODS ===================
@@ -131,8 +147,8 @@ object NativeAdManager {
     /**
      * Logs debug information if debug mode is enabled.
      */
-    private fun logDebug(message: String) {
-        AdDebugUtils.logDebug("NativeAdManager", message)
+    private inline fun logDebug(message: () -> String) {
+        AdDebugUtils.logDebug("NativeAdManager") { message }
     }
     
     /**
@@ -162,7 +178,7 @@ object NativeAdManager {
      */
     fun setCachedNativeAd(adUnitId: String, ad: NativeAd) {
         if (!enableCachingNativeAds) {
-            logDebug("Caching disabled, not caching ad for $adUnitId")
+            logDebug { "Caching disabled, not caching ad for $adUnitId" }
             return
         }
         
@@ -184,7 +200,7 @@ object NativeAdManager {
                     evictedCount++
                     totalMemoryFreed.addAndGet(oldestAd.approximateSize)
                     
-                    logDebug("Evicted LRU ad for $adUnitId (cache size: ${adList.size})")
+                    logDebug { "Evicted LRU ad for $adUnitId (cache size: ${adList.size})" }
                 } else {
                     break
                 }
@@ -194,7 +210,7 @@ object NativeAdManager {
             val cachedAd = CachedAd(ad, currentTime, source = "network")
             adList.add(cachedAd)
             
-            logDebug("Cached ad for $adUnitId (size: ${adList.size}, expired: $expiredCount, evicted: $evictedCount)")
+            logDebug { "Cached ad for $adUnitId (size: ${adList.size}, expired: $expiredCount, evicted: $evictedCount)" }
             
             // Track analytics
             trackEvent("native_ad_cached", mapOf(
@@ -236,7 +252,7 @@ object NativeAdManager {
         val primaryAd: NativeAd? = synchronized(getLockForAdUnit(adUnitId)) {
             val adList = cachedAds[adUnitId]
             if (adList == null || adList.isEmpty()) {
-                logDebug("Cache miss for $adUnitId: no cached ads")
+                logDebug { "Cache miss for $adUnitId: no cached ads" }
                 null
             } else {
                 val currentTime = System.currentTimeMillis()
@@ -260,7 +276,7 @@ object NativeAdManager {
                     totalAdsServed.incrementAndGet()
 
                     val ageMs = validAd.getAgeMs(currentTime)
-                    logDebug("Cache hit for $adUnitId: served ad aged ${ageMs}ms, access count: ${validAd.accessCount}")
+                    logDebug { "Cache hit for $adUnitId: served ad aged ${ageMs}ms, access count: ${validAd.accessCount}" }
 
                     // Track analytics
                     trackEvent("native_ad_served", mapOf(
@@ -272,7 +288,7 @@ object NativeAdManager {
 
                     validAd.ad
                 } else {
-                    logDebug("Cache miss for $adUnitId: no valid ads after cleanup")
+                    logDebug { "Cache miss for $adUnitId: no valid ads after cleanup" }
                     null
                 }
             }
@@ -302,7 +318,7 @@ object NativeAdManager {
     private fun getFallbackCachedAd(requestedAdUnitId: String): NativeAd? {
         val requestedBaseId = extractBaseAdUnitId(requestedAdUnitId)
 
-        logDebug("Attempting fallback for $requestedAdUnitId (base: $requestedBaseId)")
+        logDebug { "Attempting fallback for $requestedAdUnitId (base: $requestedBaseId)" }
 
         val currentTime = System.currentTimeMillis()
         val availableAdUnits = cachedAds.keys.toList()
@@ -339,7 +355,7 @@ object NativeAdManager {
                         totalAdsServed.incrementAndGet()
 
                         val ageMs = validAd.getAgeMs(currentTime)
-                        logDebug("Fallback cache hit: requested $requestedAdUnitId, served from $fallbackAdUnitId (age: ${ageMs}ms)")
+                        logDebug { "Fallback cache hit: requested $requestedAdUnitId, served from $fallbackAdUnitId (age: ${ageMs}ms)" }
 
                         // Track analytics with fallback flag
                         trackEvent("native_ad_served", mapOf(
@@ -358,12 +374,12 @@ object NativeAdManager {
 
         // No cached ads found for the same ad unit - try cross-ad-unit fallback if enabled
         if (AdManageKitConfig.enableCrossAdUnitFallback) {
-            logDebug("Same ad unit fallback failed, trying cross-ad-unit fallback for $requestedAdUnitId")
+            logDebug { "Same ad unit fallback failed, trying cross-ad-unit fallback for $requestedAdUnitId" }
             return getCrossAdUnitFallback(requestedAdUnitId)
         }
 
         cacheMisses.incrementAndGet()
-        logDebug("Fallback failed for $requestedAdUnitId: no cached ads available for the same ad unit")
+        logDebug { "Fallback failed for $requestedAdUnitId: no cached ads available for the same ad unit" }
         return null
     }
 
@@ -406,7 +422,7 @@ object NativeAdManager {
                         totalAdsServed.incrementAndGet()
 
                         val ageMs = validAd.getAgeMs(currentTime)
-                        logDebug("Cross-ad-unit fallback hit: requested $requestedAdUnitId, served from $fallbackAdUnitId (age: ${ageMs}ms)")
+                        logDebug { "Cross-ad-unit fallback hit: requested $requestedAdUnitId, served from $fallbackAdUnitId (age: ${ageMs}ms)" }
 
                         // Track analytics with cross-fallback flag
                         trackEvent("native_ad_served", mapOf(
@@ -424,7 +440,7 @@ object NativeAdManager {
         }
 
         cacheMisses.incrementAndGet()
-        logDebug("Cross-ad-unit fallback failed for $requestedAdUnitId: no cached ads available in any ad unit")
+        logDebug { "Cross-ad-unit fallback failed for $requestedAdUnitId: no cached ads available in any ad unit" }
         return null
     }
 
@@ -473,7 +489,7 @@ object NativeAdManager {
         }
         
         if (removedCount > 0) {
-            logDebug("Cleaned up $removedCount expired ads for $adUnitId")
+            logDebug { "Cleaned up $removedCount expired ads for $adUnitId" }
         }
         
         return removedCount
@@ -492,6 +508,7 @@ object NativeAdManager {
             }
             cachedAds.remove(adUnitId)
         }
+        waterfallInventory.clear(adUnitId)
     }
     
     /**
@@ -511,6 +528,7 @@ object NativeAdManager {
                 }
             }
         }
+        waterfallInventory.clearAll()
     }
     
     /**
@@ -533,8 +551,48 @@ object NativeAdManager {
                 }
             }
         }
+        waterfallInventory.performCleanup()
     }
-    
+
+    /**
+     * Destroys expired ads, then the least recently used ads of each ad unit beyond
+     * [maxPerUnit], to release memory; 0 empties the cache. Covers the ads served by
+     * [getCachedNativeAd]; see [trimWaterfallCache] for preloaded waterfall ads.
+     *
+     * @return Number of ads removed
+     */
+    internal fun trimCache(maxPerUnit: Int): Int {
+        val currentTime = System.currentTimeMillis()
+        var removed = 0
+
+        for (adUnitId in cachedAds.keys.toList()) {
+            synchronized(getLockForAdUnit(adUnitId)) {
+                val adList = cachedAds[adUnitId]
+                if (adList != null) {
+                    removed += cleanupExpiredAds(adUnitId, adList, currentTime)
+                    while (adList.size > maxPerUnit) {
+                        val lruAd = adList.minByOrNull { it.lastAccessTime } ?: break
+                        lruAd.ad.destroy()
+                        adList.remove(lruAd)
+                        totalMemoryFreed.addAndGet(lruAd.approximateSize)
+                        removed++
+                    }
+                    if (adList.isEmpty()) {
+                        cachedAds.remove(adUnitId)
+                    }
+                }
+            }
+        }
+        return removed
+    }
+
+    /**
+     * [trimCache] for the rendered ads preloaded by [preloadWaterfallNativeAd].
+     *
+     * @return Number of ads removed
+     */
+    internal fun trimWaterfallCache(maxPerUnit: Int): Int = waterfallInventory.trimTo(maxPerUnit)
+
     /**
      * Gets cache statistics for debugging purposes.
      * 
@@ -563,6 +621,27 @@ object NativeAdManager {
         return stats.toMap()
     }
     
+    /**
+     * Ages in milliseconds of the unexpired AdMob ads cached per ad unit, oldest first.
+     * Ads preloaded through the provider waterfall are in [waterfallInventory].
+     */
+    fun getCachedAdAges(): Map<String, List<Long>> {
+        val ages = mutableMapOf<String, List<Long>>()
+        val currentTime = System.currentTimeMillis()
+
+        for ((adUnitId, _) in cachedAds) {
+            synchronized(getLockForAdUnit(adUnitId)) {
+                cachedAds[adUnitId]
+                    ?.filterNot { it.isExpired(currentTime, cacheExpiryMs) }
+                    ?.map { it.getAgeMs(currentTime) }
+                    ?.takeIf { it.isNotEmpty() }
+                    ?.let { ages[adUnitId] = it.sortedDescending() }
+            }
+        }
+
+        return ages
+    }
+
     // =================== BACKGROUND CLEANUP ===================
     
     /**
@@ -579,11 +658,11 @@ object NativeAdManager {
             try {
                 performCleanup()
             } catch (e: Exception) {
-                logDebug("Error during background cleanup: ${e.message}")
+                logDebug { "Error during background cleanup: ${e.message}" }
             }
         }, cleanupIntervalMinutes, cleanupIntervalMinutes, TimeUnit.MINUTES)
         
-        logDebug("Background cleanup started with ${cleanupIntervalMinutes}min interval")
+        logDebug { "Background cleanup started with ${cleanupIntervalMinutes}min interval" }
     }
     
     /**
@@ -592,7 +671,7 @@ object NativeAdManager {
     fun stopBackgroundCleanup() {
         cleanupExecutor?.shutdown()
         cleanupExecutor = null
-        logDebug("Background cleanup stopped")
+        logDebug { "Background cleanup stopped" }
     }
     
     // =================== PERFORMANCE MONITORING ===================
@@ -616,7 +695,8 @@ object NativeAdManager {
             "total_cached_ads" to getTotalCacheSize(),
             "cache_expiry_ms" to cacheExpiryMs,
             "max_ads_per_unit" to maxCachedAdsPerUnit,
-            "background_cleanup_enabled" to enableBackgroundCleanup
+            "background_cleanup_enabled" to enableBackgroundCleanup,
+            "waterfall_inventory" to waterfallInventory.getStats()
         )
     }
     
@@ -628,7 +708,7 @@ object NativeAdManager {
         cacheMisses.set(0)
         totalAdsServed.set(0)
         totalMemoryFreed.set(0)
-        logDebug("Performance stats reset")
+        logDebug { "Performance stats reset" }
     }
     
     // =================== CACHE WARMING & PRELOADING ===================
@@ -656,12 +736,12 @@ object NativeAdManager {
         onFailure: ((String) -> Unit)? = null
     ) {
         if (!enableCachingNativeAds) {
-            logDebug("Preload skipped for $adUnitId: caching disabled")
+            logDebug { "Preload skipped for $adUnitId: caching disabled" }
             onFailure?.invoke("Caching is disabled")
             return
         }
 
-        logDebug("🔄 Preloading native ad for $adUnitId (size: $size)")
+        logDebug { "🔄 Preloading native ad for $adUnitId (size: $size)" }
 
         // Raw preload: load the NativeAd directly WITHOUT inflating/binding a throwaway
         // NativeAdView. Binding at preload time would leave the cached ad registered to
@@ -673,11 +753,11 @@ object NativeAdManager {
             onLoaded = { nativeAd ->
                 // Manually cache the ad for later retrieval (preloading purpose)
                 setCachedNativeAd(adUnitId, nativeAd)
-                logDebug("✅ Preloaded and cached native ad for $adUnitId (cache size: ${getCacheSize(adUnitId)})")
+                logDebug { "✅ Preloaded and cached native ad for $adUnitId (cache size: ${getCacheSize(adUnitId)})" }
                 onSuccess?.invoke()
             },
             onFailed = { error ->
-                logDebug("❌ Failed to preload native ad for $adUnitId: ${error.message}")
+                logDebug { "❌ Failed to preload native ad for $adUnitId: ${error.message}" }
                 onFailure?.invoke(error.message)
             }
         )
@@ -703,12 +783,12 @@ object NativeAdManager {
         onComplete: ((successCount: Int, failureCount: Int) -> Unit)? = null
     ) {
         if (!enableCachingNativeAds) {
-            logDebug("Multiple preload skipped: caching disabled")
+            logDebug { "Multiple preload skipped: caching disabled" }
             onComplete?.invoke(0, count)
             return
         }
 
-        logDebug("🔄 Preloading $count native ads for $adUnitId")
+        logDebug { "🔄 Preloading $count native ads for $adUnitId" }
 
         var completed = 0
         var successCount = 0
@@ -725,7 +805,7 @@ object NativeAdManager {
                         successCount++
                         completed++
                         if (completed == count) {
-                            logDebug("✅ Preloaded $successCount/$count native ads for $adUnitId")
+                            logDebug { "✅ Preloaded $successCount/$count native ads for $adUnitId" }
                             onComplete?.invoke(successCount, failureCount)
                         }
                     },
@@ -733,7 +813,7 @@ object NativeAdManager {
                         failureCount++
                         completed++
                         if (completed == count) {
-                            logDebug("⚠️ Preloaded $successCount/$count native ads for $adUnitId ($failureCount failed)")
+                            logDebug { "⚠️ Preloaded $successCount/$count native ads for $adUnitId ($failureCount failed)" }
                             onComplete?.invoke(successCount, failureCount)
                         }
                     }
@@ -757,7 +837,7 @@ object NativeAdManager {
     )
     fun warmCache(adUnits: Map<String, Int>, onComplete: ((Int, Int) -> Unit)? = null) {
         if (!enableCachingNativeAds) {
-            logDebug("Cache warming skipped: caching disabled")
+            logDebug { "Cache warming skipped: caching disabled" }
             onComplete?.invoke(0, 0)
             return
         }
@@ -765,14 +845,14 @@ object NativeAdManager {
         val totalUnits = adUnits.size
         var warmedUnits = 0
 
-        logDebug("Starting cache warming for $totalUnits ad units")
+        logDebug { "Starting cache warming for $totalUnits ad units" }
 
         adUnits.forEach { (adUnitId, count) ->
             val currentSize = getCacheSize(adUnitId)
             val neededAds = maxOf(0, count - currentSize)
 
             if (neededAds > 0) {
-                logDebug("Cache warming: $adUnitId needs $neededAds more ads (current: $currentSize)")
+                logDebug { "Cache warming: $adUnitId needs $neededAds more ads (current: $currentSize)" }
                 // NOTE: This method only logs. Use preloadNativeAd() or preloadMultipleNativeAds()
                 // to actually load and cache ads
             }
@@ -780,7 +860,7 @@ object NativeAdManager {
             warmedUnits++
         }
 
-        logDebug("Cache warming completed: $warmedUnits units processed")
+        logDebug { "Cache warming completed: $warmedUnits units processed" }
         onComplete?.invoke(warmedUnits, totalUnits)
     }
     
@@ -810,6 +890,152 @@ object NativeAdManager {
         }
     }
 
+    // =================== WATERFALL INVENTORY ===================
+
+    /**
+     * Cache for native ads loaded through the provider waterfall (AdMob, Yandex or any
+     * other [NativeAdProvider]). Uses the same expiry, per-unit limit and fallback
+     * settings as the AdMob cache, and is likewise off unless [enableCachingNativeAds].
+     *
+     * `NativeBannerSmall`, `NativeBannerMedium`, `NativeLarge` and `NativeTemplateView`
+     * serve from it before running the waterfall.
+     */
+    val waterfallInventory = NativeAdInventory(
+        expiryMillis = { cacheExpiryMs },
+        maxAdsPerUnit = { maxCachedAdsPerUnit },
+        crossUnitFallback = { AdManageKitConfig.enableCrossAdUnitFallback }
+    )
+
+    // Activities whose destruction evicts the waterfall ads rendered with them
+    private val waterfallAdActivities = Collections.newSetFromMap(WeakHashMap<Activity, Boolean>())
+
+    /**
+     * Loads a native ad through the provider waterfall and caches it in
+     * [waterfallInventory] without displaying it.
+     *
+     * Unlike [preloadNativeAd], the ad is cached rendered, so it is only served to
+     * slots with the same [sizeHint] and [templateLayoutResId]. Its view holds [context],
+     * so when that is an Activity the ad is evicted once the Activity is destroyed.
+     *
+     * @param context The context the ad view is built with; use the Activity that will show it
+     * @param adUnitId The logical ad unit id, mapped per provider through [AdUnitMapping]
+     * @param sizeHint The native layout size to render
+     * @param templateLayoutResId The AdMob template to render with, or 0
+     */
+    @JvmOverloads
+    fun preloadWaterfallNativeAd(
+        context: Context,
+        adUnitId: String,
+        sizeHint: NativeAdSize = NativeAdSize.LARGE,
+        templateLayoutResId: Int = 0,
+        onSuccess: (() -> Unit)? = null,
+        onFailure: ((String) -> Unit)? = null
+    ) {
+        if (!enableCachingNativeAds) {
+            logDebug { "Waterfall preload skipped for $adUnitId: caching disabled" }
+            onFailure?.invoke("Caching is disabled")
+            return
+        }
+
+        val waterfall = NativeWaterfall(
+            providers = AdProviderConfig.getNativeChain(),
+            adUnitResolver = { provider ->
+                AdUnitMapping.getAdUnitId(adUnitId, provider) ?: adUnitId.takeIf { provider == AdProvider.ADMOB }
+            }
+        )
+        var cached: CachedNativeAd? = null
+        waterfall.load(context, callback = object : NativeAdProvider.NativeAdCallback {
+            override fun onNativeAdLoaded(adView: android.view.View, nativeAdRef: Any) {
+                val ad = CachedNativeAd(
+                    adView = adView,
+                    nativeAdRef = nativeAdRef,
+                    provider = waterfall.loadedAdProvider ?: AdProvider.ADMOB,
+                    sizeHint = sizeHint,
+                    templateLayoutResId = templateLayoutResId,
+                    onDestroy = { (nativeAdRef as? NativeAd)?.destroy() }
+                )
+                cached = ad
+                val activity = hostActivity(context)
+                if (activity != null && activity.isDestroyed) {
+                    // Nothing would evict it; its view would keep the dead Activity for the cache lifetime
+                    ad.destroy()
+                    logDebug { "Dropped waterfall native ad for $adUnitId: its Activity was destroyed" }
+                    onFailure?.invoke("Activity was destroyed")
+                    return
+                }
+                waterfallInventory.put(adUnitId, ad)
+                activity?.let { evictWaterfallAdsOnDestroy(it) }
+                logDebug { "Preloaded ${ad.provider.displayName} native ad for $adUnitId (cache size: ${waterfallInventory.size(adUnitId)})" }
+                onSuccess?.invoke()
+            }
+
+            override fun onNativeAdFailedToLoad(error: AdKitAdError) {
+                logDebug { "Failed to preload waterfall native ad for $adUnitId: ${error.message}" }
+                onFailure?.invoke(error.message)
+            }
+
+            override fun onNativeAdClicked() { cached?.events?.onNativeAdClicked() }
+            override fun onNativeAdImpression() { cached?.events?.onNativeAdImpression() }
+            override fun onPaidEvent(adValue: AdKitAdValue) { cached?.events?.onPaidEvent(adValue) }
+            override fun onNativeAdOpened() { cached?.events?.onNativeAdOpened() }
+            override fun onNativeAdClosed() { cached?.events?.onNativeAdClosed() }
+        }, sizeHint = sizeHint, templateLayoutResId = templateLayoutResId)
+    }
+
+    /**
+     * Evicts the waterfall ads rendered with [activity] once it is destroyed, including
+     * for a configuration change: their views hold it, and can't be shown in another one.
+     */
+    private fun evictWaterfallAdsOnDestroy(activity: Activity) {
+        synchronized(waterfallAdActivities) {
+            if (!waterfallAdActivities.add(activity)) return
+        }
+        val application = activity.application
+        application.registerActivityLifecycleCallbacks(object : Application.ActivityLifecycleCallbacks {
+            override fun onActivityDestroyed(destroyed: Activity) {
+                if (destroyed !== activity) return
+                application.unregisterActivityLifecycleCallbacks(this)
+                synchronized(waterfallAdActivities) { waterfallAdActivities.remove(activity) }
+                val evicted = waterfallInventory.removeAll { hostActivity(it.adView.context) === activity }
+                logDebug { "Evicted $evicted waterfall native ads rendered with ${activity.javaClass.simpleName}" }
+            }
+
+            override fun onActivityCreated(created: Activity, savedInstanceState: Bundle?) {}
+            override fun onActivityStarted(started: Activity) {}
+            override fun onActivityResumed(resumed: Activity) {}
+            override fun onActivityPaused(paused: Activity) {}
+            override fun onActivityStopped(stopped: Activity) {}
+            override fun onActivitySaveInstanceState(saved: Activity, outState: Bundle) {}
+        })
+    }
+
+    private fun hostActivity(context: Context?): Activity? {
+        var ctx = context
+        while (ctx is ContextWrapper) {
+            if (ctx is Activity) return ctx
+            ctx = ctx.baseContext
+        }
+        return null
+    }
+
+    /**
+     * Takes a waterfall-loaded ad from [waterfallInventory] (destructive read).
+     *
+     * @return The freshest ad rendered for [sizeHint] and [templateLayoutResId], or null.
+     *         Show it with [CachedNativeAd.deliverTo]; the caller then owns it.
+     */
+    @JvmOverloads
+    fun getCachedWaterfallNativeAd(
+        adUnitId: String,
+        sizeHint: NativeAdSize,
+        templateLayoutResId: Int = 0,
+        enableFallbackToAnyAd: Boolean = false
+    ): CachedNativeAd? {
+        if (!enableCachingNativeAds) return null
+        return waterfallInventory.take(adUnitId, sizeHint, templateLayoutResId, enableFallbackToAnyAd)
+            ?.also { logDebug { "Waterfall cache hit for $adUnitId: ${it.provider.displayName} ad aged ${it.ageMillis()}ms" } }
+    }
+
     // =================== PROGRAMMATIC LOADING ===================
 
     /**
@@ -27,6 +27,9 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
@@ -48,6 +51,14 @@ class NativeBannerMedium @JvmOverloads constructor(
     // Currently displayed native ad, destroyed when replaced or via destroy()
     private var currentNativeAd: NativeAd? = null
 
+    // Bumped by each network load and by destroy(). A load delivers its ad and callbacks
+    // only while the generation it started with is current, so one still running when
+    // the view is destroyed or reloaded cannot bind into it.
+    private var loadGeneration = 0
+
+    // Request of the latest network load; cancelled by destroy() so a queued one never starts
+    private var loadTicket: AdRequestScheduler.Ticket? = null
+
     // Waterfall support
     private var nativeWaterfall: NativeWaterfall? = null
     private var waterfallNativeAdRef: Any? = null
@@ -213,7 +224,9 @@ class NativeBannerMedium @JvmOverloads constructor(
             // 🔧 FIX: Check if integration manager found a cached ad and display it
             val temporaryCachedAd = com.i2hammad.admanagekit.utils.NativeAdIntegrationManager.getAndClearTemporaryCachedAd(screenKey)
             if (temporaryCachedAd != null) {
-                AdDebugUtils.logEvent(adUnitId, "foundCachedAd", "Found cached ad from integration manager - displaying it", true)
+                AdDebugUtils.logEvent(adUnitId, "foundCachedAd", true) {
+                    "Found cached ad from integration manager - displaying it"
+                }
                 displayAd(temporaryCachedAd)
             }
         } else {
@@ -231,12 +244,14 @@ class NativeBannerMedium @JvmOverloads constructor(
         callback: AdLoadCallback?,
         useCachedAd: Boolean = false
     ) {
-        AdDebugUtils.logEvent(adUnitId, "loadNewAdInternal", "Loading new ad - useCachedAd: $useCachedAd", true)
+        AdDebugUtils.logEvent(adUnitId, "loadNewAdInternal", true) { "Loading new ad - useCachedAd: $useCachedAd" }
         val shimmerFrameLayout: ShimmerFrameLayout = binding.shimmerContainerNative
         shimmerFrameLayout.visibility = View.VISIBLE
         val adPlaceholder: FrameLayout = binding.flAdplaceholder
 
-        AdDebugUtils.logDebug("ViewStates", "Before loading - Root: ${binding.root.visibility}, Placeholder: ${adPlaceholder.visibility}, Children: ${adPlaceholder.childCount}")
+        AdDebugUtils.logDebug("ViewStates") {
+            "Before loading - Root: ${binding.root.visibility}, Placeholder: ${adPlaceholder.visibility}, Children: ${adPlaceholder.childCount}"
+        }
         val nativeAdView = LayoutInflater.from(context)
             .inflate(R.layout.layout_native_banner_medium, null) as NativeAdView
         nativeAdView.headlineView = nativeAdView.findViewById(R.id.ad_headline)
@@ -248,104 +263,129 @@ class NativeBannerMedium @JvmOverloads constructor(
 
         val nativeAdRequest = NativeAdRequest.Builder(adUnitId, listOf(NativeAd.NativeAdType.NATIVE)).build()
 
-        NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
-            override fun onNativeAdLoaded(nativeAd: NativeAd) {
-                // Next-Gen SDK callbacks fire on a background thread; everything below
-                // touches views, so it must run on the main thread.
-                Handler(Looper.getMainLooper()).post {
-                    AdDebugUtils.logEvent(adUnitId, "forNativeAd", "Ad callback triggered - Headline: '${nativeAd.headline}', CTA: '${nativeAd.callToAction}', AdChoices: ${if (nativeAd.adChoicesInfo == null) "null" else "present"}", true)
-
-                    trackDisplayedAd(nativeAd)
-                    adPlaceholder.removeAllViews()
-                    AdDebugUtils.logDebug("AdDisplay", "Cleared placeholder views")
+        val generation = ++loadGeneration
+        loadTicket?.cancel()
+        // Fills this view's slot; nobody is blocked on it
+        loadTicket = AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
+                override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    ticket.finish()
+                    // Next-Gen SDK callbacks fire on a background thread; everything below
+                    // touches views, so it must run on the main thread.
+                    Handler(Looper.getMainLooper()).post {
+                        if (generation != loadGeneration) {
+                            // The view was destroyed or reloaded while this ad was loading
+                            nativeAd.destroy()
+                            return@post
+                        }
+                        AdDebugUtils.logEvent(adUnitId, "forNativeAd", true) {
+                            "Ad callback triggered - Headline: '${nativeAd.headline}', CTA: '${nativeAd.callToAction}', AdChoices: ${if (nativeAd.adChoicesInfo == null) "null" else "present"}"
+                        }
 
-                    adPlaceholder.addView(nativeAdView)
-                    AdDebugUtils.logDebug("AdDisplay", "Added NativeAdView to placeholder")
+                        trackDisplayedAd(nativeAd)
+                        adPlaceholder.removeAllViews()
+                        AdDebugUtils.logDebug("AdDisplay", "Cleared placeholder views")
 
-                    binding.root.visibility = View.VISIBLE
-                    adPlaceholder.visibility = View.VISIBLE
-                    AdDebugUtils.logDebug("AdDisplay", "Set views visible")
+                        adPlaceholder.addView(nativeAdView)
+                        AdDebugUtils.logDebug("AdDisplay", "Added NativeAdView to placeholder")
 
-                    // NOTE: Do NOT cache ad here - it's being displayed immediately
-                    // Caching is only for preloaded ads that will be shown later
-                    // Ads expire after 1 hour, so caching displayed ads wastes memory
+                        binding.root.visibility = View.VISIBLE
+                        adPlaceholder.visibility = View.VISIBLE
+                        AdDebugUtils.logDebug("AdDisplay", "Set views visible")
 
-                    AdDebugUtils.logDebug("AdDisplay", "About to populate native ad view")
-                    populateNativeAdView(nativeAd, nativeAdView)
+                        // NOTE: Do NOT cache ad here - it's being displayed immediately
+                        // Caching is only for preloaded ads that will be shown later
+                        // Ads expire after 1 hour, so caching displayed ads wastes memory
 
-                    AdDebugUtils.logDebug("ViewStates", "After population - Root: ${binding.root.visibility}, Placeholder: ${adPlaceholder.visibility}, Children: ${adPlaceholder.childCount}, Attached: ${nativeAdView.parent != null}")
+                        AdDebugUtils.logDebug("AdDisplay", "About to populate native ad view")
+                        populateNativeAdView(nativeAd, nativeAdView)
 
-                    shimmerFrameLayout.visibility = View.GONE
-                    AdDebugUtils.logEvent(adUnitId, "displayComplete", "Ad display pipeline completed successfully", true)
-
-                    // Click/impression/paid reporting is no longer a separate AdListener -
-                    // it is delivered through the loaded NativeAd's own adEventCallback.
-                    // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and
-                    // are no longer forwarded (see migration report).
-                    nativeAd.adEventCallback = object : NativeAdEventCallback {
-                        override fun onAdImpression() {
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                            }
-                            firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
-                            AdDebugUtils.logEvent(adUnitId, "onAdImpression", "NativeBannerMedium impression", true)
-                            callback?.onAdImpression()
+                        AdDebugUtils.logDebug("ViewStates") {
+                            "After population - Root: ${binding.root.visibility}, Placeholder: ${adPlaceholder.visibility}, Children: ${adPlaceholder.childCount}, Attached: ${nativeAdView.parent != null}"
                         }
 
-                        override fun onAdClicked() {
-                            AdDebugUtils.logEvent(adUnitId, "onAdClicked", "NativeBannerMedium clicked", true)
-                            callback?.onAdClicked()
+                        shimmerFrameLayout.visibility = View.GONE
+                        AdDebugUtils.logEvent(adUnitId, "displayComplete", true) {
+                            "Ad display pipeline completed successfully"
                         }
 
-                        override fun onAdPaid(value: AdValue) {
-                            val adValueInStandardUnits = value.valueMicros / 1_000_000.0
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                                putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
-                                putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                        // Click/impression/paid reporting is no longer a separate AdListener -
+                        // it is delivered through the loaded NativeAd's own adEventCallback.
+                        // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and
+                        // are no longer forwarded (see migration report).
+                        nativeAd.adEventCallback = object : NativeAdEventCallback {
+                            override fun onAdImpression() {
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                }
+                                firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
+                                AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) {
+                                    "NativeBannerMedium impression"
+                                }
+                                callback?.onAdImpression()
                             }
-                            firebaseAnalytics!!.logEvent("ad_paid_event", params)
-                        }
-                    }
 
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "NativeBannerMedium loaded successfully", true)
-                    callback?.onAdLoaded()
-                }
-            }
+                            override fun onAdClicked() {
+                                AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) { "NativeBannerMedium clicked" }
+                                callback?.onAdClicked()
+                            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    // Try to use cached ad if available and not explicitly requesting a new ad
-                    if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
-                        // First try specific ad unit, then fallback to any cached ad
-                        val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
-                        if (cachedAd != null) {
-                            AdDebugUtils.logEvent(adUnitId, "usedFallbackCache", "Used fallback cached ad after network failure", true)
-                            displayAd(cachedAd)
-                            callback?.onAdLoaded()
-                            return@post
+                            override fun onAdPaid(value: AdValue) {
+                                val adValueInStandardUnits = value.valueMicros / 1_000_000.0
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                    putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
+                                    putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                                }
+                                firebaseAnalytics!!.logEvent("ad_paid_event", params)
+                            }
                         }
+
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "NativeBannerMedium loaded successfully" }
+                        callback?.onAdLoaded()
                     }
+                }
 
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "NativeBannerMedium failed: ${adError.message}", false)
-                    adPlaceholder.visibility = View.GONE
-                    shimmerFrameLayout.visibility = View.GONE
-                    // Collapse the whole view, not just its children: the root keeps its
-                    // padding/background otherwise and leaves a blank gap in the layout.
-                    binding.root.visibility = View.GONE
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        if (generation != loadGeneration) return@post
+                        // Try to use cached ad if available and not explicitly requesting a new ad
+                        if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
+                            // First try specific ad unit, then fallback to any cached ad
+                            val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
+                            if (cachedAd != null) {
+                                AdDebugUtils.logEvent(adUnitId, "usedFallbackCache", true) {
+                                    "Used fallback cached ad after network failure"
+                                }
+                                displayAd(cachedAd)
+                                callback?.onAdLoaded()
+                                return@post
+                            }
+                        }
 
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", adError.code.toString())
-                        if (AdManageKitConfig.enablePerformanceMetrics) {
-                            putString("error_message", adError.message)
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "NativeBannerMedium failed: ${adError.message}"
+                        }
+                        adPlaceholder.visibility = View.GONE
+                        shimmerFrameLayout.visibility = View.GONE
+                        // Collapse the whole view, not just its children: the root keeps its
+                        // padding/background otherwise and leaves a blank gap in the layout.
+                        binding.root.visibility = View.GONE
+
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", adError.code.toString())
+                            if (AdManageKitConfig.enablePerformanceMetrics) {
+                                putString("error_message", adError.message)
+                            }
                         }
+                        firebaseAnalytics?.logEvent("ad_failed_to_load", params)
+                        callback?.onFailedToLoad(adError)
                     }
-                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
-                    callback?.onFailedToLoad(adError)
                 }
-            }
-        })
+            })
+        }
     }
 
     // =================== WATERFALL METHODS ===================
@@ -377,7 +417,7 @@ class NativeBannerMedium @JvmOverloads constructor(
         )
         nativeWaterfall = waterfall
 
-        waterfall.load(context, callback = object : NativeAdProvider.NativeAdCallback {
+        waterfall.load(context, cacheKey = adUnitId, callback = object : NativeAdProvider.NativeAdCallback {
             override fun onNativeAdLoaded(adView: android.view.View, nativeAdRef: Any) {
                 waterfallNativeAdRef = nativeAdRef
 
@@ -399,7 +439,7 @@ class NativeBannerMedium @JvmOverloads constructor(
                     shimmerFrameLayout.visibility = View.GONE
                 }
 
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "NativeBannerMedium waterfall loaded", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "NativeBannerMedium waterfall loaded" }
                 callback?.onAdLoaded()
             }
 
@@ -408,7 +448,9 @@ class NativeBannerMedium @JvmOverloads constructor(
                 adPlaceholder.visibility = View.GONE
                 shimmerFrameLayout.visibility = View.GONE
 
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "NativeBannerMedium waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                    "NativeBannerMedium waterfall failed: ${error.message}"
+                }
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                     putString("ad_error_code", error.code.toString())
@@ -440,7 +482,9 @@ class NativeBannerMedium @JvmOverloads constructor(
     }
 
     private fun populateNativeAdView(nativeAd: NativeAd, nativeAdView: NativeAdView) {
-        AdDebugUtils.logDebug("AdPopulate", "Populating native ad view - AdChoices: ${nativeAd.adChoicesInfo ?: "null (normal for test ads)"}")
+        AdDebugUtils.logDebug("AdPopulate") {
+            "Populating native ad view - AdChoices: ${nativeAd.adChoicesInfo ?: "null (normal for test ads)"}"
+        }
 
         nativeAdView.headlineView?.let { headlineView ->
             (headlineView as TextView).text = nativeAd.headline ?: ""
@@ -494,14 +538,16 @@ class NativeBannerMedium @JvmOverloads constructor(
     }
 
     fun displayAd(preloadedAd: NativeAd) {
-        AdDebugUtils.logEvent(adUnitId, "displayCachedAd", "Displaying cached/preloaded ad", true)
+        AdDebugUtils.logEvent(adUnitId, "displayCachedAd", true) { "Displaying cached/preloaded ad" }
         val shimmerFrameLayout: ShimmerFrameLayout = binding.shimmerContainerNative
         val purchaseProvider = BillingConfig.getPurchaseProvider()
 
-        AdDebugUtils.logDebug("CacheDisplay", "Initial check - Purchased: ${purchaseProvider.isPurchased()}, Root: ${binding.root.visibility}, Children: ${binding.flAdplaceholder.childCount}")
+        AdDebugUtils.logDebug("CacheDisplay") {
+            "Initial check - Purchased: ${purchaseProvider.isPurchased()}, Root: ${binding.root.visibility}, Children: ${binding.flAdplaceholder.childCount}"
+        }
 
         if (purchaseProvider.isPurchased()) {
-            AdDebugUtils.logEvent(adUnitId, "adBlocked", "User has purchased - hiding ad", true)
+            AdDebugUtils.logEvent(adUnitId, "adBlocked", true) { "User has purchased - hiding ad" }
             shimmerFrameLayout.visibility = View.GONE
             // Premium user: collapse the slot entirely so no blank gap is left behind.
             binding.root.visibility = View.GONE
@@ -519,10 +565,10 @@ class NativeBannerMedium @JvmOverloads constructor(
         firebaseAnalytics = FirebaseAnalytics.getInstance(context)
 
         if (!displayCachedAdSafely(preloadedAd)) {
-            AdDebugUtils.logEvent(adUnitId, "cacheDisplayFailed", "Failed to display cached ad", false)
+            AdDebugUtils.logEvent(adUnitId, "cacheDisplayFailed", false) { "Failed to display cached ad" }
             callback?.onFailedToLoad(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, "Failed to display cached ad", null))
         } else {
-            AdDebugUtils.logEvent(adUnitId, "cacheDisplaySuccess", "Successfully initiated cached ad display", true)
+            AdDebugUtils.logEvent(adUnitId, "cacheDisplaySuccess", true) { "Successfully initiated cached ad display" }
         }
     }
 
@@ -570,7 +616,9 @@ class NativeBannerMedium @JvmOverloads constructor(
             // Verify the ad is actually visible
             verifyAdVisibility(nativeAdView, cachedAd)
         } catch (e: Exception) {
-            AdDebugUtils.logEvent(adUnitId, "cacheDisplayException", "Failed to display cached ad: ${e.message}", false)
+            AdDebugUtils.logEvent(adUnitId, "cacheDisplayException", false) {
+                "Failed to display cached ad: ${e.message}"
+            }
             false
         }
     }
@@ -590,11 +638,15 @@ class NativeBannerMedium @JvmOverloads constructor(
         val hasVisibleContent = !headline.isNullOrEmpty()
 
         if (!hasVisibleContent) {
-            AdDebugUtils.logEvent(adUnitId, "cacheContentMissing", "Cached ad has no visible content - headline: '$headline'", false)
+            AdDebugUtils.logEvent(adUnitId, "cacheContentMissing", false) {
+                "Cached ad has no visible content - headline: '$headline'"
+            }
             return false
         }
 
-        AdDebugUtils.logDebug("DisplayVerify", "Verification - Headline: '${nativeAd.headline}', Body: '${nativeAd.body}', CTA: '${nativeAd.callToAction}', Container visible: ${binding.flAdplaceholder.visibility == View.VISIBLE}, Root visible: ${binding.root.visibility == View.VISIBLE}")
+        AdDebugUtils.logDebug("DisplayVerify") {
+            "Verification - Headline: '${nativeAd.headline}', Body: '${nativeAd.body}', CTA: '${nativeAd.callToAction}', Container visible: ${binding.flAdplaceholder.visibility == View.VISIBLE}, Root visible: ${binding.root.visibility == View.VISIBLE}"
+        }
 
         return true
     }
@@ -632,6 +684,11 @@ class NativeBannerMedium @JvmOverloads constructor(
      * RecyclerView detach/reattach cycles with its ad intact.
      */
     fun destroy() {
+        // Loads still running deliver nothing to this view from now on
+        loadGeneration++
+        loadTicket?.cancel()
+        loadTicket = null
+
         val displayedAd = currentNativeAd
         currentNativeAd = null
         displayedAd?.destroy()
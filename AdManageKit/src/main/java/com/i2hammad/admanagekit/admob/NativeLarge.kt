@@ -28,6 +28,9 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
@@ -51,6 +54,14 @@ class NativeLarge @JvmOverloads constructor(
     // Currently displayed native ad, destroyed when replaced or via destroy()
     private var currentNativeAd: NativeAd? = null
 
+    // Bumped by each network load and by destroy(). A load delivers its ad and callbacks
+    // only while the generation it started with is current, so one still running when
+    // the view is destroyed or reloaded cannot bind into it.
+    private var loadGeneration = 0
+
+    // Request of the latest network load; cancelled by destroy() so a queued one never starts
+    private var loadTicket: AdRequestScheduler.Ticket? = null
+
     // Waterfall support
     private var nativeWaterfall: NativeWaterfall? = null
     private var waterfallNativeAdRef: Any? = null
@@ -219,7 +230,9 @@ class NativeLarge @JvmOverloads constructor(
             // 🔧 FIX: Check if integration manager found a cached ad and display it
             val temporaryCachedAd = com.i2hammad.admanagekit.utils.NativeAdIntegrationManager.getAndClearTemporaryCachedAd(screenKey)
             if (temporaryCachedAd != null) {
-                AdDebugUtils.logEvent(adUnitId, "foundCachedAd", "Found cached ad from integration manager - displaying it", true)
+                AdDebugUtils.logEvent(adUnitId, "foundCachedAd", true) {
+                    "Found cached ad from integration manager - displaying it"
+                }
                 displayAd(temporaryCachedAd)
             }
         } else {
@@ -255,91 +268,108 @@ class NativeLarge @JvmOverloads constructor(
             .applyMediaConfig(NativeMediaAspect.LANDSCAPE)
             .build()
 
-        NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
-            override fun onNativeAdLoaded(nativeAd: NativeAd) {
-                // Next-Gen SDK callbacks fire on a background thread; everything below
-                // touches views, so it must run on the main thread.
-                Handler(Looper.getMainLooper()).post {
-                    trackDisplayedAd(nativeAd)
-                    // Remove any provider view left over from a previous waterfall load
-                    removeWaterfallProviderViews()
-                    viewGroup.visibility = View.VISIBLE
-                    nativeAdView.visibility = View.VISIBLE
-                    shimmerFrameLayout.visibility = View.GONE
-                    binding.root.visibility = View.VISIBLE
-
-                    // NOTE: Do NOT cache ad here - it's being displayed immediately
-                    // Caching is only for preloaded ads that will be shown later
-                    // Ads expire after 1 hour, so caching displayed ads wastes memory
-
-                    populateNativeAdView(nativeAd, nativeAdView)
-
-                    // Click/impression/paid reporting is no longer a separate AdListener -
-                    // it is delivered through the loaded NativeAd's own adEventCallback.
-                    // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and
-                    // are no longer forwarded (see migration report).
-                    nativeAd.adEventCallback = object : NativeAdEventCallback {
-                        override fun onAdImpression() {
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                            }
-                            firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
-                            AdDebugUtils.logEvent(adUnitId, "onAdImpression", "NativeLarge impression", true)
-                            callback?.onAdImpression()
+        val generation = ++loadGeneration
+        loadTicket?.cancel()
+        // Fills this view's slot; nobody is blocked on it
+        loadTicket = AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
+                override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    ticket.finish()
+                    // Next-Gen SDK callbacks fire on a background thread; everything below
+                    // touches views, so it must run on the main thread.
+                    Handler(Looper.getMainLooper()).post {
+                        if (generation != loadGeneration) {
+                            // The view was destroyed or reloaded while this ad was loading
+                            nativeAd.destroy()
+                            return@post
                         }
+                        trackDisplayedAd(nativeAd)
+                        // Remove any provider view left over from a previous waterfall load
+                        removeWaterfallProviderViews()
+                        viewGroup.visibility = View.VISIBLE
+                        nativeAdView.visibility = View.VISIBLE
+                        shimmerFrameLayout.visibility = View.GONE
+                        binding.root.visibility = View.VISIBLE
+
+                        // NOTE: Do NOT cache ad here - it's being displayed immediately
+                        // Caching is only for preloaded ads that will be shown later
+                        // Ads expire after 1 hour, so caching displayed ads wastes memory
+
+                        populateNativeAdView(nativeAd, nativeAdView)
+
+                        // Click/impression/paid reporting is no longer a separate AdListener -
+                        // it is delivered through the loaded NativeAd's own adEventCallback.
+                        // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and
+                        // are no longer forwarded (see migration report).
+                        nativeAd.adEventCallback = object : NativeAdEventCallback {
+                            override fun onAdImpression() {
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                }
+                                firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
+                                AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) { "NativeLarge impression" }
+                                callback?.onAdImpression()
+                            }
 
-                        override fun onAdClicked() {
-                            AdDebugUtils.logEvent(adUnitId, "onAdClicked", "NativeLarge clicked", true)
-                            callback?.onAdClicked()
-                        }
+                            override fun onAdClicked() {
+                                AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) { "NativeLarge clicked" }
+                                callback?.onAdClicked()
+                            }
 
-                        override fun onAdPaid(value: AdValue) {
-                            val adValueInStandardUnits = value.valueMicros / 1_000_000.0
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                                putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
-                                putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                            override fun onAdPaid(value: AdValue) {
+                                val adValueInStandardUnits = value.valueMicros / 1_000_000.0
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                    putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
+                                    putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                                }
+                                firebaseAnalytics!!.logEvent("ad_paid_event", params)
                             }
-                            firebaseAnalytics!!.logEvent("ad_paid_event", params)
                         }
-                    }
 
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "NativeLarge loaded successfully", true)
-                    callback?.onAdLoaded()
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "NativeLarge loaded successfully" }
+                        callback?.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    // Try to use cached ad if available and not explicitly requesting a new ad
-                    if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
-                        // First try specific ad unit, then fallback to any cached ad
-                        val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
-                        if (cachedAd != null) {
-                            AdDebugUtils.logEvent(adUnitId, "usedFallbackCache", "Used fallback cached ad after network failure", true)
-                            displayAd(cachedAd)
-                            callback?.onAdLoaded()
-                            return@post
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        if (generation != loadGeneration) return@post
+                        // Try to use cached ad if available and not explicitly requesting a new ad
+                        if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
+                            // First try specific ad unit, then fallback to any cached ad
+                            val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
+                            if (cachedAd != null) {
+                                AdDebugUtils.logEvent(adUnitId, "usedFallbackCache", true) {
+                                    "Used fallback cached ad after network failure"
+                                }
+                                displayAd(cachedAd)
+                                callback?.onAdLoaded()
+                                return@post
+                            }
                         }
-                    }
 
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "NativeLarge failed: ${adError.message}", false)
-                    viewGroup.visibility = View.GONE
-                    nativeAdView.visibility = View.GONE
-                    shimmerFrameLayout.visibility = View.GONE
-
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", adError.code.toString())
-                        if (AdManageKitConfig.enablePerformanceMetrics) {
-                            putString("error_message", adError.message)
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "NativeLarge failed: ${adError.message}"
+                        }
+                        viewGroup.visibility = View.GONE
+                        nativeAdView.visibility = View.GONE
+                        shimmerFrameLayout.visibility = View.GONE
+
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", adError.code.toString())
+                            if (AdManageKitConfig.enablePerformanceMetrics) {
+                                putString("error_message", adError.message)
+                            }
                         }
+                        firebaseAnalytics?.logEvent("ad_failed_to_load", params)
+                        callback?.onFailedToLoad(adError)
                     }
-                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
-                    callback?.onFailedToLoad(adError)
                 }
-            }
-        })
+            })
+        }
     }
 
     fun displayAd(preloadedNativeAd: NativeAd) {
@@ -472,7 +502,7 @@ class NativeLarge @JvmOverloads constructor(
         )
         nativeWaterfall = waterfall
 
-        waterfall.load(context, callback = object : NativeAdProvider.NativeAdCallback {
+        waterfall.load(context, cacheKey = adUnitId, callback = object : NativeAdProvider.NativeAdCallback {
             override fun onNativeAdLoaded(adView: android.view.View, nativeAdRef: Any) {
                 waterfallNativeAdRef = nativeAdRef
 
@@ -497,7 +527,7 @@ class NativeLarge @JvmOverloads constructor(
                     shimmerFrameLayout.visibility = View.GONE
                 }
 
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "NativeLarge waterfall loaded", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "NativeLarge waterfall loaded" }
                 callback?.onAdLoaded()
             }
 
@@ -507,7 +537,9 @@ class NativeLarge @JvmOverloads constructor(
                 binding.nativeAdView.visibility = View.GONE
                 shimmerFrameLayout.visibility = View.GONE
 
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "NativeLarge waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                    "NativeLarge waterfall failed: ${error.message}"
+                }
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                     putString("ad_error_code", error.code.toString())
@@ -586,6 +618,11 @@ class NativeLarge @JvmOverloads constructor(
      * RecyclerView detach/reattach cycles with its ad intact.
      */
     fun destroy() {
+        // Loads still running deliver nothing to this view from now on
+        loadGeneration++
+        loadTicket?.cancel()
+        loadTicket = null
+
         val displayedAd = currentNativeAd
         currentNativeAd = null
         displayedAd?.destroy()
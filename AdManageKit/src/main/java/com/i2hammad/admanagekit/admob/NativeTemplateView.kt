@@ -38,6 +38,9 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
@@ -46,6 +49,7 @@ import com.i2hammad.admanagekit.config.AdLoadingStrategy
 import com.i2hammad.admanagekit.config.NativeMediaAspect
 import com.i2hammad.admanagekit.databinding.LayoutNativeTemplatePreviewBinding
 import com.i2hammad.admanagekit.utils.AdDebugUtils
+import com.i2hammad.admanagekit.utils.AdSystrace
 import com.i2hammad.admanagekit.utils.NativeAdIntegrationManager
 import com.i2hammad.admanagekit.waterfall.NativeWaterfall
 import kotlinx.coroutines.CoroutineScope
@@ -118,6 +122,17 @@ class NativeTemplateView @JvmOverloads constructor(
     // Currently displayed native ad, destroyed when replaced or via destroy()
     private var currentNativeAd: NativeAd? = null
 
+    // Last inflated ad layout; the next AdMob ad with the same layout is bound into it
+    private var reusableAdView: NativeAdView? = null
+    private var reusableAdViewLayoutResId = 0
+
+    // Bumped by loadAd() and destroy(), and so by resetForReuse(). A load delivers its ad
+    // and callbacks only while the generation it started with is current, so a load still
+    // running when a pooled or recycled view is handed to another item cannot bind into it.
+    private var loadGeneration = 0
+
+    private fun isCurrentLoad(generation: Int) = generation == loadGeneration
+
     // Waterfall support
     private var nativeWaterfall: NativeWaterfall? = null
     private var waterfallNativeAdRef: Any? = null
@@ -437,6 +452,7 @@ class NativeTemplateView @JvmOverloads constructor(
         loadingStrategy: AdLoadingStrategy? = null
     ) {
         this.adUnitId = adUnitId
+        val generation = ++loadGeneration
 
         if (adUnitId.isEmpty()) {
             Log.w(TAG, "adUnitId is empty, cannot load ad")
@@ -449,7 +465,7 @@ class NativeTemplateView @JvmOverloads constructor(
         // Reset root visibility in case a previous error hid it
         binding.root.visibility = VISIBLE
 
-        if (useWaterfall) { loadViaWaterfall(context, adUnitId, callback); return }
+        if (useWaterfall) { loadViaWaterfall(context, adUnitId, callback, generation); return }
 
         val shimmerFrameLayout: ShimmerFrameLayout = binding.shimmerContainer
         val purchaseProvider = BillingConfig.getPurchaseProvider()
@@ -484,49 +500,54 @@ class NativeTemplateView @JvmOverloads constructor(
                 loadingStrategy = loadingStrategy,
                 callback = object : AdLoadCallback() {
                     override fun onAdLoaded() {
-                        callback?.onAdLoaded()
+                        if (isCurrentLoad(generation)) callback?.onAdLoaded()
                     }
 
                     override fun onFailedToLoad(error: LoadAdError?) {
+                        if (!isCurrentLoad(generation)) return
                         binding.shimmerContainer.visibility = GONE
                         binding.root.visibility = GONE
                         callback?.onFailedToLoad(error)
                     }
 
                     override fun onAdClicked() {
-                        callback?.onAdClicked()
+                        if (isCurrentLoad(generation)) callback?.onAdClicked()
                     }
 
                     override fun onAdClosed() {
-                        callback?.onAdClosed()
+                        if (isCurrentLoad(generation)) callback?.onAdClosed()
                     }
 
                     override fun onAdImpression() {
-                        callback?.onAdImpression()
+                        if (isCurrentLoad(generation)) callback?.onAdImpression()
                     }
 
                     override fun onAdOpened() {
-                        callback?.onAdOpened()
+                        if (isCurrentLoad(generation)) callback?.onAdOpened()
                     }
 
                     override fun onPaidEvent(adValue: AdValue) {
-                        callback?.onPaidEvent(adValue)
+                        if (isCurrentLoad(generation)) callback?.onPaidEvent(adValue)
                     }
                 }
             ) { enhancedAdUnitId, enhancedCallback ->
-                loadNewAdInternal(context, enhancedAdUnitId, enhancedCallback, useCachedAd, loadingStrategy)
+                // Retries land here too; skip them once the view has moved on
+                if (isCurrentLoad(generation)) {
+                    loadNewAdInternal(context, enhancedAdUnitId, enhancedCallback, generation, useCachedAd, loadingStrategy)
+                }
             }
 
             // Check for cached ad from integration manager
             val temporaryCachedAd = NativeAdIntegrationManager.getAndClearTemporaryCachedAd(screenKey)
             if (temporaryCachedAd != null) {
-                AdDebugUtils.logEvent(adUnitId, "foundCachedAd",
-                    "Found cached ad for template ${currentTemplate.name} - displaying it", true)
+                AdDebugUtils.logEvent(adUnitId, "foundCachedAd", true) {
+                    "Found cached ad for template ${currentTemplate.name} - displaying it"
+                }
                 displayAd(temporaryCachedAd)
             }
         } else {
             // Fallback for non-Activity contexts
-            loadNewAdInternal(context, adUnitId, callback, useCachedAd)
+            loadNewAdInternal(context, adUnitId, callback, generation, useCachedAd)
         }
     }
 
@@ -669,11 +690,13 @@ class NativeTemplateView @JvmOverloads constructor(
         context: Context,
         adUnitId: String,
         callback: AdLoadCallback?,
+        generation: Int,
         useCachedAd: Boolean = false,
         loadingStrategy: AdLoadingStrategy? = null
     ) {
         val adPlaceholder: FrameLayout = binding.flAdPlaceholder
         val shimmerFrameLayout: ShimmerFrameLayout = binding.shimmerContainer
+        val loadSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", AdProvider.ADMOB.name, adUnitId)
 
         // Build the request on background thread as recommended by Google
         CoroutineScope(Dispatchers.IO).launch {
@@ -684,29 +707,37 @@ class NativeTemplateView @JvmOverloads constructor(
                 .applyMediaConfig(mediaAspectForTemplate())
                 .build()
 
+            var loadTicket: AdRequestScheduler.Ticket? = null
             val nativeAdLoaderCallback = object : NativeAdLoaderCallback {
                 override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    loadTicket?.finish()
+                    loadSlice?.end()
                     // UI operations on main thread
                     CoroutineScope(Dispatchers.Main).launch {
-                        trackDisplayedAd(nativeAd)
+                        if (!isCurrentLoad(generation)) {
+                            // The view was reset or reloaded while this ad was loading
+                            nativeAd.destroy()
+                            return@launch
+                        }
+                        AdSystrace.section(AdSystrace.FORMAT_NATIVE, "bind", AdProvider.ADMOB.name, adUnitId) {
+                            trackDisplayedAd(nativeAd)
 
-                        val nativeAdView = LayoutInflater.from(context)
-                            .inflate(effectiveLayoutResId, null) as NativeAdView
+                            val nativeAdView = obtainNativeAdView()
 
-                        // Setup view references based on template
-                        setupNativeAdViewReferences(nativeAdView)
+                            // Setup view references based on template
+                            setupNativeAdViewReferences(nativeAdView)
 
-                        adPlaceholder.removeAllViews()
-                        adPlaceholder.addView(nativeAdView)
-                        binding.root.visibility = VISIBLE
-                        adPlaceholder.visibility = VISIBLE
+                            attachNativeAdView(nativeAdView)
+                            binding.root.visibility = VISIBLE
+                            adPlaceholder.visibility = VISIBLE
 
-                        // NOTE: Do NOT cache ad here - it's being displayed immediately
-                        // Caching is only for preloaded ads that will be shown later
-                        // Ads expire after 1 hour, so caching displayed ads wastes memory
+                            // NOTE: Do NOT cache ad here - it's being displayed immediately
+                            // Caching is only for preloaded ads that will be shown later
+                            // Ads expire after 1 hour, so caching displayed ads wastes memory
 
-                        populateNativeAdView(nativeAd, nativeAdView)
-                        shimmerFrameLayout.visibility = GONE
+                            populateNativeAdView(nativeAd, nativeAdView)
+                            shimmerFrameLayout.visibility = GONE
+                        }
 
                         // Click/impression/paid reporting is no longer a separate AdListener -
                         // it is delivered through the loaded NativeAd's own adEventCallback.
@@ -718,15 +749,17 @@ class NativeTemplateView @JvmOverloads constructor(
                                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                                 }
                                 firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
-                                AdDebugUtils.logEvent(adUnitId, "onAdImpression",
-                                    "NativeTemplateView (${currentTemplate.name}) impression", true)
-                                callback?.onAdImpression()
+                                AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) {
+                                    "NativeTemplateView (${currentTemplate.name}) impression"
+                                }
+                                if (isCurrentLoad(generation)) callback?.onAdImpression()
                             }
 
                             override fun onAdClicked() {
-                                AdDebugUtils.logEvent(adUnitId, "onAdClicked",
-                                    "NativeTemplateView (${currentTemplate.name}) clicked", true)
-                                callback?.onAdClicked()
+                                AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) {
+                                    "NativeTemplateView (${currentTemplate.name}) clicked"
+                                }
+                                if (isCurrentLoad(generation)) callback?.onAdClicked()
                             }
 
                             override fun onAdPaid(value: AdValue) {
@@ -740,43 +773,49 @@ class NativeTemplateView @JvmOverloads constructor(
                             }
                         }
 
-                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded",
-                            "NativeTemplateView (${currentTemplate.name}) loaded successfully", true)
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                            "NativeTemplateView (${currentTemplate.name}) loaded successfully"
+                        }
                         callback?.onAdLoaded()
                     }
                 }
 
                 override fun onAdFailedToLoad(adError: LoadAdError) {
-                    // Try cached ad fallback
-                    if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
-                        val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
-                        if (cachedAd != null) {
-                            AdDebugUtils.logEvent(adUnitId, "usedFallbackCache",
-                                "Used fallback cached ad for ${currentTemplate.name} after network failure", true)
-                            CoroutineScope(Dispatchers.Main).launch {
+                    loadTicket?.finish()
+                    loadSlice?.end(success = false)
+                    // NativeAdLoader delivers this callback on a background thread. Handle it on
+                    // the main thread: onFailedToLoad handlers commonly touch views (hide a
+                    // spinner/container), and the generation is only read there.
+                    CoroutineScope(Dispatchers.Main).launch {
+                        // The view was reset or reloaded: leave the cache and the new item alone
+                        if (!isCurrentLoad(generation)) return@launch
+
+                        // Try cached ad fallback
+                        if (NativeAdManager.enableCachingNativeAds && !useCachedAd) {
+                            val cachedAd = NativeAdManager.getCachedNativeAd(adUnitId, enableFallbackToAnyAd = true)
+                            if (cachedAd != null) {
+                                AdDebugUtils.logEvent(adUnitId, "usedFallbackCache", true) {
+                                    "Used fallback cached ad for ${currentTemplate.name} after network failure"
+                                }
                                 displayAd(cachedAd)
                                 callback?.onAdLoaded()
+                                return@launch
                             }
-                            return
                         }
-                    }
 
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad",
-                        "NativeTemplateView (${currentTemplate.name}) failed: ${adError.message}", false)
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "NativeTemplateView (${currentTemplate.name}) failed: ${adError.message}"
+                        }
 
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", adError.code.toString())
-                        if (AdManageKitConfig.enablePerformanceMetrics) {
-                            putString("error_message", adError.message)
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", adError.code.toString())
+                            if (AdManageKitConfig.enablePerformanceMetrics) {
+                                putString("error_message", adError.message)
+                            }
                         }
-                    }
-                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
+                        firebaseAnalytics?.logEvent("ad_failed_to_load", params)
 
-                    // UI ops AND the app callback on the main thread: onFailedToLoad handlers
-                    // commonly touch views (hide a spinner/container). NativeAdLoader delivers
-                    // this callback on a background thread, so deliver onFailedToLoad here too.
-                    CoroutineScope(Dispatchers.Main).launch {
                         adPlaceholder.visibility = GONE
                         shimmerFrameLayout.visibility = GONE
                         callback?.onFailedToLoad(adError)
@@ -786,7 +825,17 @@ class NativeTemplateView @JvmOverloads constructor(
 
             // Load ad on main thread (required by AdMob)
             withContext(Dispatchers.Main) {
-                NativeAdLoader.load(nativeAdRequest, nativeAdLoaderCallback)
+                // Fills this view's slot; nobody is blocked on it
+                AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+                    // The view was reset or reloaded while the request was queued
+                    if (!isCurrentLoad(generation)) {
+                        ticket.finish()
+                        loadSlice?.end(success = false)
+                        return@submit
+                    }
+                    loadTicket = ticket
+                    NativeAdLoader.load(nativeAdRequest, nativeAdLoaderCallback)
+                }
             }
         }
     }
@@ -929,6 +978,30 @@ class NativeTemplateView @JvmOverloads constructor(
         }
     }
 
+    /**
+     * The ad layout to bind the next ad into: the one already inflated if the layout
+     * has not changed, so replacing an ad (or reusing this view for another slot) does
+     * not inflate the template again. Every asset's visibility is reset on bind.
+     */
+    private fun obtainNativeAdView(): NativeAdView {
+        reusableAdView?.let { if (reusableAdViewLayoutResId == effectiveLayoutResId) return it }
+        val inflated = AdSystrace.section(AdSystrace.FORMAT_NATIVE, "inflate") {
+            LayoutInflater.from(context).inflate(effectiveLayoutResId, null) as NativeAdView
+        }
+        return inflated.also {
+            reusableAdView = it
+            reusableAdViewLayoutResId = effectiveLayoutResId
+        }
+    }
+
+    private fun attachNativeAdView(nativeAdView: NativeAdView) {
+        val adPlaceholder: FrameLayout = binding.flAdPlaceholder
+        if (nativeAdView.parent === adPlaceholder && adPlaceholder.childCount == 1) return
+        (nativeAdView.parent as? android.view.ViewGroup)?.removeView(nativeAdView)
+        adPlaceholder.removeAllViews()
+        adPlaceholder.addView(nativeAdView)
+    }
+
     /**
      * Display a preloaded native ad
      */
@@ -950,14 +1023,12 @@ class NativeTemplateView @JvmOverloads constructor(
 
         trackDisplayedAd(preloadedAd)
 
-        val nativeAdView = LayoutInflater.from(context)
-            .inflate(effectiveLayoutResId, null) as NativeAdView
+        val nativeAdView = obtainNativeAdView()
         val adPlaceholder: FrameLayout = binding.flAdPlaceholder
 
         setupNativeAdViewReferences(nativeAdView)
 
-        adPlaceholder.removeAllViews()
-        adPlaceholder.addView(nativeAdView)
+        attachNativeAdView(nativeAdView)
         binding.root.visibility = VISIBLE
         adPlaceholder.visibility = VISIBLE
         firebaseAnalytics = FirebaseAnalytics.getInstance(context)
@@ -995,7 +1066,7 @@ class NativeTemplateView @JvmOverloads constructor(
             ?: logicalName.takeIf { provider == AdProvider.ADMOB }
     }
 
-    private fun loadViaWaterfall(context: Context, adUnitId: String, callback: AdLoadCallback?) {
+    private fun loadViaWaterfall(context: Context, adUnitId: String, callback: AdLoadCallback?, generation: Int) {
         val shimmerFrameLayout: ShimmerFrameLayout = binding.shimmerContainer
         val adPlaceholder: FrameLayout = binding.flAdPlaceholder
         val purchaseProvider = BillingConfig.getPurchaseProvider()
@@ -1015,8 +1086,14 @@ class NativeTemplateView @JvmOverloads constructor(
         )
         nativeWaterfall = waterfall
 
-        waterfall.load(context, callback = object : NativeAdProvider.NativeAdCallback {
+        waterfall.load(context, cacheKey = adUnitId, callback = object : NativeAdProvider.NativeAdCallback {
             override fun onNativeAdLoaded(adView: android.view.View, nativeAdRef: Any) {
+                if (!isCurrentLoad(generation)) {
+                    // The view was reset or reloaded while the chain ran. Non-AdMob refs
+                    // expose no destroy API; dropping them is enough.
+                    (nativeAdRef as? NativeAd)?.destroy()
+                    return
+                }
                 waterfallNativeAdRef = nativeAdRef
 
                 // AdMob returns raw NativeAd — use existing template layout and population logic
@@ -1028,6 +1105,7 @@ class NativeTemplateView @JvmOverloads constructor(
                     currentNativeAd?.destroy()
                     currentNativeAd = null
                     adPlaceholder.removeAllViews()
+                    reusableAdView = null
                     val parent = adView.parent as? android.view.ViewGroup
                     parent?.removeView(adView)
                     adPlaceholder.addView(adView)
@@ -1036,16 +1114,17 @@ class NativeTemplateView @JvmOverloads constructor(
                     shimmerFrameLayout.visibility = GONE
                 }
 
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "NativeTemplateView (${currentTemplate.name}) waterfall loaded", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "NativeTemplateView (${currentTemplate.name}) waterfall loaded" }
                 callback?.onAdLoaded()
             }
 
             override fun onNativeAdFailedToLoad(error: AdKitAdError) {
+                if (!isCurrentLoad(generation)) return
                 nativeWaterfall = null
                 adPlaceholder.visibility = GONE
                 shimmerFrameLayout.visibility = GONE
 
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "NativeTemplateView (${currentTemplate.name}) waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) { "NativeTemplateView (${currentTemplate.name}) waterfall failed: ${error.message}" }
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                     putString("ad_error_code", error.code.toString())
@@ -1054,13 +1133,15 @@ class NativeTemplateView @JvmOverloads constructor(
                 callback?.onFailedToLoad(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null))
             }
 
-            override fun onNativeAdClicked() { callback?.onAdClicked() }
+            override fun onNativeAdClicked() { if (isCurrentLoad(generation)) callback?.onAdClicked() }
             override fun onNativeAdImpression() {
+                if (!isCurrentLoad(generation)) return
                 val params = Bundle().apply { putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId) }
                 firebaseAnalytics?.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
                 callback?.onAdImpression()
             }
             override fun onPaidEvent(adValue: AdKitAdValue) {
+                if (!isCurrentLoad(generation)) return
                 val adValueInStandardUnits = adValue.valueMicros / 1_000_000.0
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
@@ -1113,6 +1194,9 @@ class NativeTemplateView @JvmOverloads constructor(
      * RecyclerView detach/reattach cycles with its ad intact.
      */
     fun destroy() {
+        // Loads still running deliver nothing to this view from now on
+        loadGeneration++
+
         val displayedAd = currentNativeAd
         currentNativeAd = null
         displayedAd?.destroy()
@@ -1131,6 +1215,20 @@ class NativeTemplateView @JvmOverloads constructor(
         nativeWaterfall = null
     }
 
+    /**
+     * Destroys the displayed ad and returns the view to its loading state, keeping the
+     * inflated template so the next ad is bound into it. For view pools and recycled
+     * list items: call before loading a different ad into this view. Loads still running
+     * for the previous ad are dropped when they complete, without binding or calling back.
+     */
+    fun resetForReuse() {
+        destroy()
+        callback = null
+        binding.flAdPlaceholder.visibility = GONE
+        binding.shimmerContainer.visibility = VISIBLE
+        binding.root.visibility = VISIBLE
+    }
+
     override fun onDetachedFromWindow() {
         super.onDetachedFromWindow()
         // Auto-destroy only when the host Activity is going away. A plain detach
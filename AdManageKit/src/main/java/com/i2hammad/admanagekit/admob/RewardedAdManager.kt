@@ -20,6 +20,8 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
 import com.i2hammad.admanagekit.utils.AdDebugUtils
@@ -190,21 +192,21 @@ object RewardedAdManager {
         // Guard: Skip loading for premium users
         val purchaseProvider = BillingConfig.getPurchaseProvider()
         if (purchaseProvider.isPurchased()) {
-            AdDebugUtils.logEvent(adUnitId, "skipLoad", "Skipping ad load - user is premium", true)
+            AdDebugUtils.logEvent(adUnitId, "skipLoad", true) { "Skipping ad load - user is premium" }
             return
         }
 
         // Guard: Prevent duplicate concurrent load requests
         if (isLoading) {
             Log.d(TAG, "Ad already loading, skipping duplicate request")
-            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", "Ad already loading", true)
+            AdDebugUtils.logEvent(adUnitId, "skipDuplicateLoad", true) { "Ad already loading" }
             return
         }
 
         // Guard: Skip if ad is already loaded
         if (rewardedAd != null) {
             Log.d(TAG, "Ad already loaded, skipping load request")
-            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", "Ad already loaded", true)
+            AdDebugUtils.logEvent(adUnitId, "skipAlreadyLoaded", true) { "Ad already loaded" }
             return
         }
 
@@ -220,60 +222,66 @@ object RewardedAdManager {
 
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        AdDebugUtils.logEvent(adUnitId, "loadStarted", "Starting rewarded ad load", true)
+        AdDebugUtils.logEvent(adUnitId, "loadStarted", true) { "Starting rewarded ad load" }
 
-        RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
-            override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
-                isLoading = false
-                rewardedAd = null
-                Log.d(TAG, "Ad failed to load: ${adError.message}")
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Rewarded ad failed: ${adError.message}", false)
-
-                // Log Firebase event for ad failed to load
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", "${adError.code}")
-                    if (AdManageKitConfig.enablePerformanceMetrics) {
-                        putString("error_message", adError.message)
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
+                override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = null
+                    Log.d(TAG, "Ad failed to load: ${adError.message}")
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                        "Rewarded ad failed: ${adError.message}"
                     }
-                }
-                firebaseAnalytics?.logEvent("ad_failed_to_load", params)
 
-                // Notify callbacks that attached to this in-flight load
-                notifyPendingLoadFailure(adError)
+                    // Log Firebase event for ad failed to load
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", "${adError.code}")
+                        if (AdManageKitConfig.enablePerformanceMetrics) {
+                            putString("error_message", adError.message)
+                        }
+                    }
+                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
 
-                // Attempt automatic retry if enabled
-                if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry()) {
-                    retryAttempts++
-                    // Use the application context: the retry closure is parked on the main
-                    // Handler for up to maxRetryDelay and re-arms across attempts, so
-                    // capturing the Activity passed to showAd()/loadRewardedAd() would keep
-                    // it alive off this process-lifetime singleton.
-                    val appContext = context.applicationContext
-                    AdRetryManager.getInstance().scheduleRetry(
-                        adUnitId = adUnitId,
-                        attempt = retryAttempts - 1,
-                        maxAttempts = AdManageKitConfig.maxRetryAttempts
-                    ) {
-                        loadRewardedAd(appContext)
+                    // Notify callbacks that attached to this in-flight load
+                    notifyPendingLoadFailure(adError)
+
+                    // Attempt automatic retry if enabled
+                    if (AdManageKitConfig.autoRetryFailedAds && shouldAttemptRetry()) {
+                        retryAttempts++
+                        // Use the application context: the retry closure is parked on the main
+                        // Handler for up to maxRetryDelay and re-arms across attempts, so
+                        // capturing the Activity passed to showAd()/loadRewardedAd() would keep
+                        // it alive off this process-lifetime singleton.
+                        val appContext = context.applicationContext
+                        AdRetryManager.getInstance().scheduleRetry(
+                            adUnitId = adUnitId,
+                            attempt = retryAttempts - 1,
+                            maxAttempts = AdManageKitConfig.maxRetryAttempts
+                        ) {
+                            loadRewardedAd(appContext)
+                        }
                     }
                 }
-            }
 
-            override fun onAdLoaded(ad: RewardedAd) = runOnMain {
-                isLoading = false
-                rewardedAd = ad
-                retryAttempts = 0 // Reset retry count on success
-                Log.d(TAG, "Ad was loaded.")
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Rewarded ad loaded successfully", true)
+                override fun onAdLoaded(ad: RewardedAd) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = ad
+                    retryAttempts = 0 // Reset retry count on success
+                    Log.d(TAG, "Ad was loaded.")
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Rewarded ad loaded successfully" }
 
-                // Log ad fill for analytics
-                logAdFill()
+                    // Log ad fill for analytics
+                    logAdFill()
 
-                // Notify callbacks that attached to this in-flight load
-                notifyPendingLoadSuccess()
-            }
-        })
+                    // Notify callbacks that attached to this in-flight load
+                    notifyPendingLoadSuccess()
+                }
+            })
+        }
     }
 
     /**
@@ -322,35 +330,41 @@ object RewardedAdManager {
 
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
-            override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
-                isLoading = false
-                rewardedAd = null
-                Log.d(TAG, "Ad failed to load: ${adError.message}")
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Rewarded ad failed: ${adError.message}", false)
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
+                override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = null
+                    Log.d(TAG, "Ad failed to load: ${adError.message}")
+                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                        "Rewarded ad failed: ${adError.message}"
+                    }
 
-                val params = Bundle().apply {
-                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                    putString("ad_error_code", "${adError.code}")
-                }
-                firebaseAnalytics?.logEvent("ad_failed_to_load", params)
+                    val params = Bundle().apply {
+                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                        putString("ad_error_code", "${adError.code}")
+                    }
+                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
 
-                callback.onAdFailedToLoad(adError)
-                notifyPendingLoadFailure(adError)
-            }
+                    callback.onAdFailedToLoad(adError)
+                    notifyPendingLoadFailure(adError)
+                }
 
-            override fun onAdLoaded(ad: RewardedAd) = runOnMain {
-                isLoading = false
-                rewardedAd = ad
-                retryAttempts = 0
-                Log.d(TAG, "Ad was loaded.")
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Rewarded ad loaded with callback", true)
-                logAdFill()
+                override fun onAdLoaded(ad: RewardedAd) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = ad
+                    retryAttempts = 0
+                    Log.d(TAG, "Ad was loaded.")
+                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Rewarded ad loaded with callback" }
+                    logAdFill()
 
-                callback.onAdLoaded()
-                notifyPendingLoadSuccess()
-            }
-        })
+                    callback.onAdLoaded()
+                    notifyPendingLoadSuccess()
+                }
+            })
+        }
     }
 
     /**
@@ -433,51 +447,58 @@ object RewardedAdManager {
 
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
-            // Both callbacks post to main BEFORE touching callbackCalled/isLoading, so those
-            // flags are main-thread-confined and cannot race the (main-thread) timeout below.
-            override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
-                isLoading = false
-                rewardedAd = null
+        // The caller is waiting on this load, e.g. behind a splash
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.SHOW_BLOCKING) { ticket ->
+            RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
+                // Both callbacks post to main BEFORE touching callbackCalled/isLoading, so those
+                // flags are main-thread-confined and cannot race the (main-thread) timeout below.
+                override fun onAdFailedToLoad(adError: LoadAdError) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = null
 
-                // Notify callbacks that attached to this in-flight load
-                notifyPendingLoadFailure(adError)
+                    // Notify callbacks that attached to this in-flight load
+                    notifyPendingLoadFailure(adError)
 
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    Log.d(TAG, "Ad failed to load: ${adError.message}")
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Rewarded ad failed with timeout: ${adError.message}", false)
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        Log.d(TAG, "Ad failed to load: ${adError.message}")
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "Rewarded ad failed with timeout: ${adError.message}"
+                        }
 
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", "${adError.code}")
-                    }
-                    firebaseAnalytics?.logEvent("ad_failed_to_load", params)
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", "${adError.code}")
+                        }
+                        firebaseAnalytics?.logEvent("ad_failed_to_load", params)
 
-                    callback.onAdFailedToLoad(adError)
+                        callback.onAdFailedToLoad(adError)
+                    }
                 }
-            }
 
-            override fun onAdLoaded(ad: RewardedAd) = runOnMain {
-                isLoading = false
-                rewardedAd = ad
-                retryAttempts = 0
+                override fun onAdLoaded(ad: RewardedAd) = runOnMain {
+                    ticket.finish()
+                    isLoading = false
+                    rewardedAd = ad
+                    retryAttempts = 0
 
-                // Notify callbacks that attached to this in-flight load
-                notifyPendingLoadSuccess()
+                    // Notify callbacks that attached to this in-flight load
+                    notifyPendingLoadSuccess()
 
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    Log.d(TAG, "Ad was loaded within timeout.")
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Rewarded ad loaded within timeout", true)
-                    logAdFill()
-                    callback.onAdLoaded()
-                } else {
-                    // Ad loaded after timeout - saved for next use
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoadedAfterTimeout", "Ad saved for next show", true)
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        Log.d(TAG, "Ad was loaded within timeout.")
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Rewarded ad loaded within timeout" }
+                        logAdFill()
+                        callback.onAdLoaded()
+                    } else {
+                        // Ad loaded after timeout - saved for next use
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoadedAfterTimeout", true) { "Ad saved for next show" }
+                    }
                 }
-            }
-        })
+            })
+        }
 
         // Timeout handler
         Handler(Looper.getMainLooper()).postDelayed({
@@ -485,7 +506,7 @@ object RewardedAdManager {
                 callbackCalled = true
                 isLoading = false
                 Log.d(TAG, "Ad loading timed out")
-                AdDebugUtils.logEvent(adUnitId, "onTimeout", "Rewarded ad loading timed out", false)
+                AdDebugUtils.logEvent(adUnitId, "onTimeout", false) { "Rewarded ad loading timed out" }
 
                 callback.onAdFailedToLoad(
                     LoadAdError(LoadAdError.ErrorCode.TIMEOUT, "Ad loading timed out", null)
@@ -517,7 +538,7 @@ object RewardedAdManager {
         // post-ad flow of what is typically a duplicate request (e.g. double-tap).
         if (isShowingAd) {
             Log.w(TAG, "Ad is already showing, ignoring duplicate show request")
-            AdDebugUtils.logEvent(adUnitId, "skipShow", "Ad already showing", false)
+            AdDebugUtils.logEvent(adUnitId, "skipShow", false) { "Ad already showing" }
             return
         }
 
@@ -525,14 +546,14 @@ object RewardedAdManager {
 
         val purchaseProvider = BillingConfig.getPurchaseProvider()
         if (purchaseProvider.isPurchased()) {
-            AdDebugUtils.logEvent(adUnitId, "skipShow", "Skipping ad show - user is premium", true)
+            AdDebugUtils.logEvent(adUnitId, "skipShow", true) { "Skipping ad show - user is premium" }
             callback.onAdDismissed()
             return
         }
 
         val ad = rewardedAd
         if (ad == null) {
-            AdDebugUtils.logEvent(adUnitId, "showFailed", "No ad loaded to show", false)
+            AdDebugUtils.logEvent(adUnitId, "showFailed", false) { "No ad loaded to show" }
             loadRewardedAd(activity)
             callback.onAdDismissed()
             return
@@ -544,13 +565,13 @@ object RewardedAdManager {
         ad.adEventCallback = object : RewardedAdEventCallback {
             override fun onAdClicked() = runOnMain {
                 Log.d(TAG, "Ad was clicked.")
-                AdDebugUtils.logEvent(adUnitId, "onAdClicked", "Rewarded ad clicked", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) { "Rewarded ad clicked" }
                 callback.onAdClicked()
             }
 
             override fun onAdDismissedFullScreenContent() = runOnMain {
                 Log.d(TAG, "Ad dismissed fullscreen content.")
-                AdDebugUtils.logEvent(adUnitId, "onAdDismissed", "Rewarded ad dismissed", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdDismissed", true) { "Rewarded ad dismissed" }
                 isShowingAd = false
                 rewardedAd = null
 
@@ -568,7 +589,9 @@ object RewardedAdManager {
 
             override fun onAdFailedToShowFullScreenContent(adError: FullScreenContentError) = runOnMain {
                 Log.e(TAG, "Ad failed to show fullscreen content: ${adError.message}")
-                AdDebugUtils.logEvent(adUnitId, "onFailedToShow", "Rewarded ad failed to show: ${adError.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToShow", false) {
+                    "Rewarded ad failed to show: ${adError.message}"
+                }
                 // Only reset state owned by this ad - don't clobber a different ad that is showing
                 if (rewardedAd === ad) {
                     isShowingAd = false
@@ -593,7 +616,7 @@ object RewardedAdManager {
 
             override fun onAdImpression() = runOnMain {
                 Log.d(TAG, "Ad recorded an impression.")
-                AdDebugUtils.logEvent(adUnitId, "onAdImpression", "Rewarded ad impression", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) { "Rewarded ad impression" }
 
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
@@ -605,7 +628,7 @@ object RewardedAdManager {
 
             override fun onAdShowedFullScreenContent() = runOnMain {
                 Log.d(TAG, "Ad showed fullscreen content.")
-                AdDebugUtils.logEvent(adUnitId, "onAdShowed", "Rewarded ad showing", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdShowed", true) { "Rewarded ad showing" }
                 isShowingAd = true
                 callback.onAdShowed()
             }
@@ -629,7 +652,9 @@ object RewardedAdManager {
             // app grants the reward (typically a UI/state update)
             runOnMain {
                 Log.d(TAG, "User earned reward: ${rewardItem.amount} ${rewardItem.type}")
-                AdDebugUtils.logEvent(adUnitId, "onRewardEarned", "Reward: ${rewardItem.amount} ${rewardItem.type}", true)
+                AdDebugUtils.logEvent(adUnitId, "onRewardEarned", true) {
+                    "Reward: ${rewardItem.amount} ${rewardItem.type}"
+                }
 
                 // Log reward event to Firebase
                 val params = Bundle().apply {
@@ -644,6 +669,26 @@ object RewardedAdManager {
         }
     }
 
+    /**
+     * Drops the loaded rewarded ad to release memory, unless it is showing. The next
+     * [loadRewardedAd] or show request loads a new one.
+     *
+     * @return true if an ad was dropped
+     */
+    internal fun releaseLoadedAd(): Boolean {
+        if (isShowingAd) return false
+        if (useWaterfall) {
+            val waterfall = rewardedWaterfall ?: return false
+            if (!waterfall.isAdReady()) return false
+            waterfall.destroy()
+            rewardedWaterfall = null
+            return true
+        }
+        if (rewardedAd == null) return false
+        rewardedAd = null
+        return true
+    }
+
     /**
      * Check if a rewarded ad is loaded and ready to show.
      * Returns false if user has purchased premium.
@@ -687,7 +732,7 @@ object RewardedAdManager {
             return
         }
         if (!isAdLoaded() && !isLoading) {
-            AdDebugUtils.logEvent(adUnitId, "preload", "Preloading rewarded ad", true)
+            AdDebugUtils.logEvent(adUnitId, "preload", true) { "Preloading rewarded ad" }
             if (useWaterfall) { loadViaWaterfall(context) } else { loadRewardedAd(context) }
         }
     }
@@ -744,7 +789,7 @@ object RewardedAdManager {
     private fun loadViaWaterfall(context: Context) {
         val purchaseProvider = BillingConfig.getPurchaseProvider()
         if (purchaseProvider.isPurchased()) {
-            AdDebugUtils.logEvent(adUnitId, "skipLoad", "Skipping waterfall load - user is premium", true)
+            AdDebugUtils.logEvent(adUnitId, "skipLoad", true) { "Skipping waterfall load - user is premium" }
             return
         }
         if (isLoading) return
@@ -761,7 +806,7 @@ object RewardedAdManager {
             override fun onAdLoaded() {
                 isLoading = false
                 retryAttempts = 0
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Rewarded waterfall ad loaded", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Rewarded waterfall ad loaded" }
                 logAdFill()
                 notifyPendingLoadSuccess()
             }
@@ -769,7 +814,9 @@ object RewardedAdManager {
             override fun onAdFailedToLoad(error: AdKitAdError) {
                 isLoading = false
                 rewardedWaterfall = null
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Rewarded waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                    "Rewarded waterfall failed: ${error.message}"
+                }
 
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
@@ -827,7 +874,7 @@ object RewardedAdManager {
             override fun onAdLoaded() {
                 isLoading = false
                 retryAttempts = 0
-                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Rewarded waterfall ad loaded with callback", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Rewarded waterfall ad loaded with callback" }
                 logAdFill()
                 callback.onAdLoaded()
                 notifyPendingLoadSuccess()
@@ -836,7 +883,9 @@ object RewardedAdManager {
             override fun onAdFailedToLoad(error: AdKitAdError) {
                 isLoading = false
                 rewardedWaterfall = null
-                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Rewarded waterfall failed: ${error.message}", false)
+                AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                    "Rewarded waterfall failed: ${error.message}"
+                }
 
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
@@ -874,29 +923,32 @@ object RewardedAdManager {
         val waterfall = createWaterfall()
         rewardedWaterfall = waterfall
 
-        waterfall.load(context, object : RewardedAdProvider.RewardedAdCallback {
-            override fun onAdLoaded() {
-                isLoading = false
-                retryAttempts = 0
-                notifyPendingLoadSuccess()
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    logAdFill()
-                    callback.onAdLoaded()
+        // The caller is waiting on this load, e.g. behind a splash
+        AdRequestGovernor.withPriority(AdRequestPriority.SHOW_BLOCKING) {
+            waterfall.load(context, object : RewardedAdProvider.RewardedAdCallback {
+                override fun onAdLoaded() {
+                    isLoading = false
+                    retryAttempts = 0
+                    notifyPendingLoadSuccess()
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        logAdFill()
+                        callback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(error: AdKitAdError) {
-                isLoading = false
-                rewardedWaterfall = null
-                val loadAdError = LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
-                notifyPendingLoadFailure(loadAdError)
-                if (!callbackCalled) {
-                    callbackCalled = true
-                    callback.onAdFailedToLoad(loadAdError)
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    isLoading = false
+                    rewardedWaterfall = null
+                    val loadAdError = LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, error.message, null)
+                    notifyPendingLoadFailure(loadAdError)
+                    if (!callbackCalled) {
+                        callbackCalled = true
+                        callback.onAdFailedToLoad(loadAdError)
+                    }
                 }
-            }
-        })
+            })
+        }
 
         Handler(Looper.getMainLooper()).postDelayed({
             if (!callbackCalled && isLoading) {
@@ -933,7 +985,7 @@ object RewardedAdManager {
         waterfall.show(activity, object : RewardedAdProvider.RewardedShowCallback {
             override fun onAdShowed() = runOnMain {
                 isShowingAd = true
-                AdDebugUtils.logEvent(adUnitId, "onAdShowed", "Rewarded waterfall ad showing", true)
+                AdDebugUtils.logEvent(adUnitId, "onAdShowed", true) { "Rewarded waterfall ad showing" }
                 logAdImpression()
                 callback.onAdShowed()
             }
@@ -978,7 +1030,9 @@ object RewardedAdManager {
             }
 
             override fun onRewardEarned(rewardType: String, rewardAmount: Int) = runOnMain {
-                AdDebugUtils.logEvent(adUnitId, "onRewardEarned", "Waterfall reward: $rewardAmount $rewardType", true)
+                AdDebugUtils.logEvent(adUnitId, "onRewardEarned", true) {
+                    "Waterfall reward: $rewardAmount $rewardType"
+                }
                 val params = Bundle().apply {
                     putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
                     putString("reward_type", rewardType)
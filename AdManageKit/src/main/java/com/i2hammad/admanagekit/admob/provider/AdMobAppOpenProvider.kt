@@ -15,6 +15,7 @@ import com.google.android.libraries.ads.mobile.sdk.common.LoadAdError
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
 import java.util.concurrent.ConcurrentHashMap
 
@@ -67,24 +68,29 @@ class AdMobAppOpenProvider : AppOpenAdProvider {
     ) {
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        AppOpenAd.load(adRequest, object : AdLoadCallback<AppOpenAd> {
-            override fun onAdLoaded(ad: AppOpenAd) {
-                Handler(Looper.getMainLooper()).post {
-                    loadedAds[adUnitId] = TimedAppOpenAd(ad, System.currentTimeMillis())
-                    Log.d(TAG, "App open ad loaded: $adUnitId")
-                    callback.onAdLoaded()
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { ticket ->
+            AppOpenAd.load(adRequest, object : AdLoadCallback<AppOpenAd> {
+                override fun onAdLoaded(ad: AppOpenAd) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        loadedAds[adUnitId] = TimedAppOpenAd(ad, System.currentTimeMillis())
+                        Log.d(TAG, "App open ad loaded: $adUnitId")
+                        callback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    // Do NOT discard a previously loaded ad for this (or any other) unit:
-                    // the failure only concerns this load request.
-                    Log.e(TAG, "App open ad failed to load: ${adError.message}")
-                    callback.onAdFailedToLoad(adError.toAdKitError())
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        // Do NOT discard a previously loaded ad for this (or any other) unit:
+                        // the failure only concerns this load request.
+                        Log.e(TAG, "App open ad failed to load: ${adError.message}")
+                        callback.onAdFailedToLoad(adError.toAdKitError())
+                    }
                 }
-            }
-        })
+            })
+        }
     }
 
     override fun showAd(activity: Activity, callback: AppOpenAdProvider.AppOpenShowCallback) {
@@ -22,6 +22,7 @@ import com.i2hammad.admanagekit.config.CollapsibleBannerPlacement
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
 
 /**
@@ -121,48 +122,61 @@ class AdMobBannerProvider(
             requestBuilder.setGoogleExtrasBundle(extras)
         }
 
-        bannerView.loadAd(requestBuilder.build(), object : AdLoadCallback<BannerAd> {
-            override fun onAdLoaded(bannerAd: BannerAd) {
-                if (!pendingViews.remove(bannerView)) {
-                    // destroy() already destroyed this in-flight view; do not hand it out.
-                    Log.d(TAG, "Banner ad loaded after destroy, discarding: $adUnitId")
-                    return
-                }
-                Log.d(TAG, "Banner ad loaded: $adUnitId")
-                // Do NOT destroy the previously stored view: it was handed to a
-                // consumer on its own onBannerLoaded and the consumer owns it.
-                adView = bannerView
-
-                // Next-Gen SDK exposes click/impression/paid events on the loaded
-                // BannerAd via adEventCallback, not on the AdView and not via a
-                // separate AdListener/OnPaidEventListener.
-                bannerAd.adEventCallback = object : BannerAdEventCallback {
-                    override fun onAdClicked() {
-                        callback.onBannerClicked()
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { ticket ->
+            if (bannerView !in pendingViews) {
+                // destroy() destroyed the view while the request was queued
+                ticket.finish()
+                callback.onBannerFailedToLoad(
+                    AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "Provider destroyed", provider.name)
+                )
+                return@submit
+            }
+            bannerView.loadAd(requestBuilder.build(), object : AdLoadCallback<BannerAd> {
+                override fun onAdLoaded(bannerAd: BannerAd) {
+                    ticket.finish()
+                    if (!pendingViews.remove(bannerView)) {
+                        // destroy() already destroyed this in-flight view; do not hand it out.
+                        Log.d(TAG, "Banner ad loaded after destroy, discarding: $adUnitId")
+                        return
                     }
-
-                    override fun onAdImpression() {
-                        callback.onBannerImpression()
+                    Log.d(TAG, "Banner ad loaded: $adUnitId")
+                    // Do NOT destroy the previously stored view: it was handed to a
+                    // consumer on its own onBannerLoaded and the consumer owns it.
+                    adView = bannerView
+
+                    // Next-Gen SDK exposes click/impression/paid events on the loaded
+                    // BannerAd via adEventCallback, not on the AdView and not via a
+                    // separate AdListener/OnPaidEventListener.
+                    bannerAd.adEventCallback = object : BannerAdEventCallback {
+                        override fun onAdClicked() {
+                            callback.onBannerClicked()
+                        }
+
+                        override fun onAdImpression() {
+                            callback.onBannerImpression()
+                        }
+
+                        override fun onAdPaid(value: AdValue) {
+                            callback.onPaidEvent(value.toAdKitValue())
+                        }
                     }
 
-                    override fun onAdPaid(value: AdValue) {
-                        callback.onPaidEvent(value.toAdKitValue())
-                    }
+                    callback.onBannerLoaded(bannerView)
                 }
 
-                callback.onBannerLoaded(bannerView)
-            }
-
-            override fun onAdFailedToLoad(error: LoadAdError) {
-                Log.e(TAG, "Banner ad failed to load: ${error.message}")
-                // The view was never handed out — destroy it to release the
-                // underlying WebView and the captured context.
-                if (pendingViews.remove(bannerView)) {
-                    bannerView.destroy()
+                override fun onAdFailedToLoad(error: LoadAdError) {
+                    ticket.finish()
+                    Log.e(TAG, "Banner ad failed to load: ${error.message}")
+                    // The view was never handed out — destroy it to release the
+                    // underlying WebView and the captured context.
+                    if (pendingViews.remove(bannerView)) {
+                        bannerView.destroy()
+                    }
+                    callback.onBannerFailedToLoad(error.toAdKitError())
                 }
-                callback.onBannerFailedToLoad(error.toAdKitError())
-            }
-        })
+            })
+        }
     }
 
     override fun pause() {
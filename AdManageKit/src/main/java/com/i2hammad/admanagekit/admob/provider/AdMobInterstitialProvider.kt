@@ -14,6 +14,7 @@ import com.google.android.libraries.ads.mobile.sdk.interstitial.InterstitialAd
 import com.google.android.libraries.ads.mobile.sdk.interstitial.InterstitialAdEventCallback
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
 import java.util.concurrent.ConcurrentHashMap
 
@@ -43,24 +44,29 @@ class AdMobInterstitialProvider : InterstitialAdProvider {
     ) {
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
-            override fun onAdLoaded(ad: InterstitialAd) {
-                Handler(Looper.getMainLooper()).post {
-                    loadedAds[adUnitId] = ad
-                    Log.d(TAG, "Interstitial ad loaded: $adUnitId")
-                    callback.onAdLoaded()
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { ticket ->
+            InterstitialAd.load(adRequest, object : AdLoadCallback<InterstitialAd> {
+                override fun onAdLoaded(ad: InterstitialAd) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        loadedAds[adUnitId] = ad
+                        Log.d(TAG, "Interstitial ad loaded: $adUnitId")
+                        callback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    // Do NOT discard a previously loaded ad for this (or any other) unit:
-                    // the failure only concerns this load request.
-                    Log.e(TAG, "Interstitial ad failed to load: ${adError.message}")
-                    callback.onAdFailedToLoad(adError.toAdKitError())
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        // Do NOT discard a previously loaded ad for this (or any other) unit:
+                        // the failure only concerns this load request.
+                        Log.e(TAG, "Interstitial ad failed to load: ${adError.message}")
+                        callback.onAdFailedToLoad(adError.toAdKitError())
+                    }
                 }
-            }
-        })
+            })
+        }
     }
 
     override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
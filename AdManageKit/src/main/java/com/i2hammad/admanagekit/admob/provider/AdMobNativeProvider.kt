@@ -19,6 +19,7 @@ import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAdRequest
 import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAdView
 import com.i2hammad.admanagekit.R
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
 import com.i2hammad.admanagekit.admob.applyMediaConfig
@@ -60,49 +61,54 @@ class AdMobNativeProvider : NativeAdProvider {
             .applyMediaConfig()
             .build()
 
-        NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
-            override fun onNativeAdLoaded(nativeAd: NativeAd) {
-                // Next-Gen SDK callbacks fire on a background thread; all the work below
-                // touches views, so it must run on the main thread.
-                Handler(Looper.getMainLooper()).post {
-                    // Click/impression/paid reporting is no longer a separate AdListener -
-                    // it is delivered through the loaded NativeAd's own adEventCallback.
-                    nativeAd.adEventCallback = object : NativeAdEventCallback {
-                        override fun onAdClicked() {
-                            callback.onNativeAdClicked()
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { ticket ->
+            NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
+                override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    ticket.finish()
+                    // Next-Gen SDK callbacks fire on a background thread; all the work below
+                    // touches views, so it must run on the main thread.
+                    Handler(Looper.getMainLooper()).post {
+                        // Click/impression/paid reporting is no longer a separate AdListener -
+                        // it is delivered through the loaded NativeAd's own adEventCallback.
+                        nativeAd.adEventCallback = object : NativeAdEventCallback {
+                            override fun onAdClicked() {
+                                callback.onNativeAdClicked()
+                            }
+
+                            override fun onAdImpression() {
+                                callback.onNativeAdImpression()
+                            }
+
+                            override fun onAdPaid(value: AdValue) {
+                                callback.onPaidEvent(value.toAdKitValue())
+                            }
+                            // NOTE: Next-Gen's NativeAdEventCallback has no onAdOpened()/onAdClosed()
+                            // equivalent for native ads (those were legacy AdListener callbacks tied
+                            // to full-screen content). callback.onNativeAdOpened()/onNativeAdClosed()
+                            // are therefore never invoked from this provider anymore.
                         }
 
-                        override fun onAdImpression() {
-                            callback.onNativeAdImpression()
-                        }
+                        // Build a real template view and bind the ad's assets to it before
+                        // activating tracking via registerNativeAd(). Consumers that prefer their
+                        // own layout can re-bind the raw nativeAdRef instead.
+                        val adView = createBoundAdView(context, nativeAd, sizeHint)
 
-                        override fun onAdPaid(value: AdValue) {
-                            callback.onPaidEvent(value.toAdKitValue())
-                        }
-                        // NOTE: Next-Gen's NativeAdEventCallback has no onAdOpened()/onAdClosed()
-                        // equivalent for native ads (those were legacy AdListener callbacks tied
-                        // to full-screen content). callback.onNativeAdOpened()/onNativeAdClosed()
-                        // are therefore never invoked from this provider anymore.
+                        Log.d(TAG, "Native ad loaded: $adUnitId")
+                        // Ownership of nativeAd transfers to the consumer here.
+                        callback.onNativeAdLoaded(adView, nativeAd)
                     }
-
-                    // Build a real template view and bind the ad's assets to it before
-                    // activating tracking via registerNativeAd(). Consumers that prefer their
-                    // own layout can re-bind the raw nativeAdRef instead.
-                    val adView = createBoundAdView(context, nativeAd, sizeHint)
-
-                    Log.d(TAG, "Native ad loaded: $adUnitId")
-                    // Ownership of nativeAd transfers to the consumer here.
-                    callback.onNativeAdLoaded(adView, nativeAd)
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    Log.e(TAG, "Native ad failed to load: ${adError.message}")
-                    callback.onNativeAdFailedToLoad(adError.toAdKitError())
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        Log.e(TAG, "Native ad failed to load: ${adError.message}")
+                        callback.onNativeAdFailedToLoad(adError.toAdKitError())
+                    }
                 }
-            }
-        })
+            })
+        }
     }
 
     /** Inflate the template for [sizeHint], populate its asset views and bind [nativeAd]. */
@@ -1,11 +1,23 @@
 package com.i2hammad.admanagekit.admob.provider
 
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import com.google.android.libraries.ads.mobile.sdk.MobileAds
 import com.google.android.libraries.ads.mobile.sdk.banner.AdSize
+import com.google.android.libraries.ads.mobile.sdk.initialization.InitializationConfig
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
 import com.i2hammad.admanagekit.core.ad.AdProviderRegistration
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyAppOpenAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyBannerAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyInterstitialAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyNativeAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyRewardedAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
 
@@ -29,20 +41,52 @@ class AdMobProviderRegistration private constructor(
     override val adProvider: AdProvider = AdProvider.ADMOB
 
     companion object {
+        private const val TAG = "AdMobProviderRegistration"
+
+        /**
+         * Initialize the Google Mobile Ads SDK on a background thread and publish
+         * its readiness through [AdProviderReadiness], so AdManageKit managers and
+         * waterfalls wait for the signal instead of polling. Apps that call
+         * `MobileAds.initialize` themselves still work; they just lose the signal.
+         *
+         * @param onComplete Invoked on the main thread once initialization finishes
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun initialize(context: Context, config: InitializationConfig, onComplete: (() -> Unit)? = null) {
+            val appContext = context.applicationContext
+            AdProviderReadiness.markInitializing(AdProvider.ADMOB)
+            // initialize() blocks and must not run on the main thread
+            Thread({
+                try {
+                    MobileAds.initialize(appContext, config)
+                } catch (t: Throwable) {
+                    Log.e(TAG, "MobileAds.initialize failed: ${t.message}", t)
+                }
+                // Published even on failure: waiters then fail on their own requests
+                // instead of parking until their timeouts.
+                AdProviderReadiness.markReady(AdProvider.ADMOB)
+                onComplete?.let { Handler(Looper.getMainLooper()).post(it) }
+            }, "AdManageKit-MobileAdsInit").start()
+        }
+
         /**
          * Create an AdMob provider registration with all ad types.
+         * Each format's provider is created on its first request; call [AdProviderRegistration.prewarm]
+         * (or [com.i2hammad.admanagekit.core.ad.AdProviderPrewarmer]) to create them earlier.
          *
          * @param bannerAdSize AdMob banner size, or null for adaptive full-width banner (default).
          */
         @JvmStatic
         @JvmOverloads
         fun create(bannerAdSize: AdSize? = null): AdMobProviderRegistration {
+            val admob = AdProvider.ADMOB
             return AdMobProviderRegistration(
-                interstitialProvider = AdMobInterstitialProvider(),
-                bannerProvider = AdMobBannerProvider(bannerAdSize),
-                nativeProvider = AdMobNativeProvider(),
-                appOpenProvider = AdMobAppOpenProvider(),
-                rewardedProvider = AdMobRewardedProvider()
+                interstitialProvider = LazyInterstitialAdProvider(admob) { AdMobInterstitialProvider() },
+                bannerProvider = LazyBannerAdProvider(admob) { AdMobBannerProvider(bannerAdSize) },
+                nativeProvider = LazyNativeAdProvider(admob) { AdMobNativeProvider() },
+                appOpenProvider = LazyAppOpenAdProvider(admob) { AdMobAppOpenProvider() },
+                rewardedProvider = LazyRewardedAdProvider(admob) { AdMobRewardedProvider() }
             )
         }
     }
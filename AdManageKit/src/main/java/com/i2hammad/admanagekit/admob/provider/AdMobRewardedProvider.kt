@@ -14,6 +14,7 @@ import com.google.android.libraries.ads.mobile.sdk.rewarded.RewardedAd
 import com.google.android.libraries.ads.mobile.sdk.rewarded.RewardedAdEventCallback
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
 import java.util.concurrent.ConcurrentHashMap
 
@@ -43,24 +44,29 @@ class AdMobRewardedProvider : RewardedAdProvider {
     ) {
         val adRequest = AdRequest.Builder(adUnitId).build()
 
-        RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
-            override fun onAdLoaded(ad: RewardedAd) {
-                Handler(Looper.getMainLooper()).post {
-                    loadedAds[adUnitId] = ad
-                    Log.d(TAG, "Rewarded ad loaded: $adUnitId")
-                    callback.onAdLoaded()
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { ticket ->
+            RewardedAd.load(adRequest, object : AdLoadCallback<RewardedAd> {
+                override fun onAdLoaded(ad: RewardedAd) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        loadedAds[adUnitId] = ad
+                        Log.d(TAG, "Rewarded ad loaded: $adUnitId")
+                        callback.onAdLoaded()
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    // Do NOT discard a previously loaded ad for this (or any other) unit:
-                    // the failure only concerns this load request.
-                    Log.e(TAG, "Rewarded ad failed to load: ${adError.message}")
-                    callback.onAdFailedToLoad(adError.toAdKitError())
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        // Do NOT discard a previously loaded ad for this (or any other) unit:
+                        // the failure only concerns this load request.
+                        Log.e(TAG, "Rewarded ad failed to load: ${adError.message}")
+                        callback.onAdFailedToLoad(adError.toAdKitError())
+                    }
                 }
-            }
-        })
+            })
+        }
     }
 
     override fun showAd(activity: Activity, callback: RewardedAdProvider.RewardedShowCallback) {
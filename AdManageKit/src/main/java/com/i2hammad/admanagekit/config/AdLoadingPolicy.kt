@@ -0,0 +1,83 @@
+package com.i2hammad.admanagekit.config
+
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import kotlin.math.min
+import kotlin.math.pow
+
+/**
+ * The decisions behind [AdLoadingStrategy], the interstitial interval and automatic
+ * retries, as pure functions with no Android or ad SDK state. `NativeAdIntegrationManager`,
+ * `AdManager.forceShowInterstitial` and `AdRetryManager` act on them, and offline tools
+ * such as the strategy simulator call the same functions, so both follow the same rules.
+ */
+object AdLoadingPolicy {
+
+    /** What to do with an ad opportunity. */
+    enum class Decision {
+        /** Show the cached ad that [decide] just took. */
+        SHOW_CACHED,
+
+        /** Load a fresh ad and show it. */
+        LOAD_FRESH,
+
+        /** Load a fresh ad, and show a cached one if that load fails. */
+        LOAD_FRESH_WITH_CACHE_FALLBACK,
+
+        /** Show nothing and make no request. */
+        SKIP
+    }
+
+    /**
+     * Decides how to serve an ad opportunity under [strategy].
+     *
+     * [takeCached] is asked only by [AdLoadingStrategy.ONLY_CACHE] and
+     * [AdLoadingStrategy.HYBRID], at most once. It returns whether a cached ad was
+     * available, and the caller keeps the ad it took for [Decision.SHOW_CACHED].
+     *
+     * @param strategy Loading strategy in effect for the opportunity
+     * @param takeCached Takes a cached ad if one is available
+     */
+    @JvmStatic
+    fun decide(strategy: AdLoadingStrategy, takeCached: () -> Boolean): Decision = when (strategy) {
+        AdLoadingStrategy.ON_DEMAND -> Decision.LOAD_FRESH
+        AdLoadingStrategy.ONLY_CACHE -> if (takeCached()) Decision.SHOW_CACHED else Decision.SKIP
+        AdLoadingStrategy.HYBRID -> if (takeCached()) Decision.SHOW_CACHED else Decision.LOAD_FRESH
+        AdLoadingStrategy.FRESH_WITH_CACHE_FALLBACK -> Decision.LOAD_FRESH_WITH_CACHE_FALLBACK
+    }
+
+    /**
+     * Whether more than [intervalMillis] has passed between [lastShownAtMillis] and
+     * [nowMillis], so another interstitial may show.
+     */
+    @JvmStatic
+    fun isIntervalElapsed(lastShownAtMillis: Long, nowMillis: Long, intervalMillis: Long): Boolean =
+        nowMillis - lastShownAtMillis > intervalMillis
+
+    /**
+     * Whether a load that failed with [errorCode] (an [AdKitAdError] code) is worth
+     * retrying. Network and internal errors are; no fill and invalid requests are not.
+     */
+    @JvmStatic
+    fun isRetryable(errorCode: Int): Boolean =
+        errorCode == AdKitAdError.ERROR_CODE_NETWORK || errorCode == AdKitAdError.ERROR_CODE_INTERNAL
+
+    /**
+     * Whether a load that failed with [errorCode] on retry [attempt] (0-based) should be
+     * retried, given whether retries are [enabled] and the [maxAttempts] allowed.
+     */
+    @JvmStatic
+    fun shouldRetry(errorCode: Int, attempt: Int, enabled: Boolean, maxAttempts: Int): Boolean =
+        enabled && attempt < maxAttempts && isRetryable(errorCode)
+
+    /**
+     * Backoff before retry [attempt] (0-based): [baseMillis], doubled per attempt
+     * when [exponential], capped at [maxMillis].
+     */
+    @JvmStatic
+    fun retryDelayMillis(attempt: Int, baseMillis: Long, maxMillis: Long, exponential: Boolean): Long {
+        if (!exponential) return baseMillis
+
+        // Exponential backoff: baseDelay * (2^attempt), capped at the maximum delay
+        return min(baseMillis * (2.0.pow(attempt.toDouble())).toLong(), maxMillis)
+    }
+}
@@ -1,7 +1,10 @@
 package com.i2hammad.admanagekit.config
 
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import kotlin.time.Duration
 import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.minutes
 import kotlin.time.Duration.Companion.seconds
 
 /**
@@ -59,6 +62,19 @@ object AdManageKitConfig {
      */
     var enableCrossAdUnitFallback: Boolean = false
 
+    /**
+     * Maximum ad requests in flight at once across all formats and networks. Further
+     * prefetch, refresh and retry requests queue by priority in
+     * [com.i2hammad.admanagekit.core.ad.AdRequestGovernor]; show-blocking loads such as
+     * the splash interstitial never wait. 0 disables the limit.
+     * Default: 4
+     */
+    var maxConcurrentAdRequests: Int = AdRequestGovernor.DEFAULT_MAX_CONCURRENT_REQUESTS
+        set(value) {
+            field = value
+            AdRequestGovernor.maxConcurrentRequests = value
+        }
+
     // =================== RELIABILITY FEATURES ===================
     
     /**
@@ -107,7 +123,9 @@ object AdManageKitConfig {
     var enablePerformanceMetrics: Boolean = false
     
     /**
-     * Enable automatic cache cleanup on low memory conditions.
+     * Enable automatic cache cleanup on low memory conditions: periodic cleanup of
+     * expired ads, and [com.i2hammad.admanagekit.utils.AdMemoryGovernor] trims when the
+     * system reports memory pressure.
      * Default: true
      */
     var enableAutoCacheCleanup: Boolean = true
@@ -141,6 +159,23 @@ object AdManageKitConfig {
      * Default: false
      */
     var enableDebugOverlay: Boolean = false
+
+    /**
+     * Record ad events and timings into [com.i2hammad.admanagekit.utils.AdTrace], a
+     * fixed-size in-memory buffer that can be dumped on demand. Recording allocates
+     * nothing, so it can stay on in release builds to diagnose field issues.
+     * Default: false
+     */
+    var enableAdTracing: Boolean = false
+
+    /**
+     * Emit [android.os.Trace] sections and async slices for ad loads, waterfall steps,
+     * template binds and shows, named by format, provider and ad unit (see
+     * [com.i2hammad.admanagekit.utils.AdSystrace]). Sections are only written while a
+     * Perfetto or systrace capture is recording. Can be toggled at any time.
+     * Default: false
+     */
+    var enableSystemTracing: Boolean = false
     
     // =================== AD-SPECIFIC SETTINGS ===================
     
@@ -185,6 +220,55 @@ object AdManageKitConfig {
      * Default: 60 seconds
      */
     var defaultBannerRefreshInterval: Duration = 60.seconds
+
+    /**
+     * Pause the banner auto-refresh countdown while the banner is not viewable:
+     * scrolled off screen, covered by a dialog (window focus lost), hidden, or with
+     * less than [bannerRefreshVisibilityThreshold] of its area on screen. The
+     * countdown resumes with its remaining time once the banner is viewable again,
+     * so refreshes only ever replace an ad that could have been seen.
+     * When false, only detach and host pause stop the countdown.
+     * Default: true
+     */
+    var pauseBannerRefreshWhenHidden: Boolean = true
+
+    /**
+     * Fraction of a banner's area (0.0-1.0) that must be on screen for its
+     * refresh countdown to run. Only used when [pauseBannerRefreshWhenHidden] is true.
+     * Default: 0.5 (the IAB viewability threshold for display ads)
+     */
+    var bannerRefreshVisibilityThreshold: Float = 0.5f
+
+    /**
+     * Width of the shared windows banner refreshes are batched into. Every banner's
+     * refresh is rounded up to the next window boundary, so banners that fall due
+     * close together refresh from one wakeup and one layout pass. A refresh is
+     * delayed by at most this much, never brought forward. Zero disables batching.
+     * See [com.i2hammad.admanagekit.admob.BannerRefreshScheduler].
+     * Default: 5 seconds
+     */
+    var bannerRefreshBatchWindow: Duration = 5.seconds
+
+    /**
+     * Gap between banner refreshes that land in the same batch window, so they
+     * don't all hit the network at the same instant.
+     * Default: 250 milliseconds
+     */
+    var bannerRefreshStagger: Duration = 250.milliseconds
+
+    /**
+     * How long a banner preloaded by [com.i2hammad.admanagekit.admob.BannerAdPool]
+     * stays usable. Unused banners are destroyed once this elapses.
+     * Default: 30 minutes
+     */
+    var bannerPoolExpiry: Duration = 30.minutes
+
+    /**
+     * Maximum number of banners [com.i2hammad.admanagekit.admob.BannerAdPool] keeps
+     * ready per ad unit, size and collapsible placement.
+     * Default: 2
+     */
+    var maxPooledBannersPerKey: Int = 2
     
     /**
      * Enable collapsible banner ads by default.
@@ -269,6 +353,20 @@ object AdManageKitConfig {
      */
     var appOpenAdFreshnessThreshold: Duration = 4.hours
 
+    /**
+     * Time the background refresh of the app open ad to this user's return habits.
+     *
+     * AppOpenManager learns how long the user usually stays away. Once it has seen
+     * enough returns, the onStop refresh is scheduled so the ad is within
+     * [appOpenAdFreshnessThreshold] when the user is likely to come back, instead of
+     * prefetching immediately and going stale during a long absence. A return before
+     * the scheduled refresh falls back to the normal on-return load. Has no effect
+     * when [appOpenFetchFreshAd] is true.
+     *
+     * Default: true
+     */
+    var appOpenPredictivePrefetch: Boolean = true
+
     /**
      * App icon resource ID to display in the welcome back dialog.
      * Set this to your app's launcher icon resource.
@@ -517,6 +615,7 @@ object AdManageKitConfig {
         nativeCacheExpiry = 1.hours
         maxCachedAdsPerUnit = 3
         enableCrossAdUnitFallback = false
+        maxConcurrentAdRequests = AdRequestGovernor.DEFAULT_MAX_CONCURRENT_REQUESTS
         autoRetryFailedAds = false
         maxRetryAttempts = 3
         circuitBreakerThreshold = 5
@@ -529,17 +628,26 @@ object AdManageKitConfig {
         testMode = false
         privacyCompliantMode = true
         enableDebugOverlay = false
+        enableAdTracing = false
+        enableSystemTracing = false
         defaultInterstitialInterval = 15.seconds
         interstitialAutoReload = true
         appOpenAutoReload = true
         rewardedAutoReload = true
         defaultBannerRefreshInterval = 60.seconds
+        pauseBannerRefreshWhenHidden = true
+        bannerRefreshVisibilityThreshold = 0.5f
+        bannerRefreshBatchWindow = 5.seconds
+        bannerRefreshStagger = 250.milliseconds
+        bannerPoolExpiry = 30.minutes
+        maxPooledBannersPerKey = 2
         enableCollapsibleBannersByDefault = false
         defaultCollapsiblePlacement = CollapsibleBannerPlacement.BOTTOM
         appOpenAdTimeout = 10.seconds
         appOpenAdFreshnessThreshold = 4.hours
         enableWelcomeBackDialog = false
         appOpenFetchFreshAd = false
+        appOpenPredictivePrefetch = true
         welcomeDialogAppIcon = 0
         welcomeDialogDismissDelay = 0.8.seconds
         dialogBackgroundColor = 0
@@ -585,13 +693,34 @@ object AdManageKitConfig {
             isValid = false
         }
         
+        if (maxConcurrentAdRequests < 0) {
+            if (debugMode) {
+                android.util.Log.w("AdManageKitConfig", "maxConcurrentAdRequests should be 0 (no limit) or more, current: $maxConcurrentAdRequests")
+            }
+            isValid = false
+        }
+
         if (defaultBannerRefreshInterval.inWholeSeconds < 30) {
             if (debugMode) {
                 android.util.Log.w("AdManageKitConfig", "defaultBannerRefreshInterval should be at least 30 seconds per AdMob policy")
             }
             isValid = false
         }
+
+        if (bannerRefreshVisibilityThreshold !in 0f..1f) {
+            if (debugMode) {
+                android.util.Log.w("AdManageKitConfig", "bannerRefreshVisibilityThreshold should be between 0.0-1.0, current: $bannerRefreshVisibilityThreshold")
+            }
+            isValid = false
+        }
         
+        if (bannerRefreshBatchWindow.isNegative() || bannerRefreshBatchWindow > 30.seconds) {
+            if (debugMode) {
+                android.util.Log.w("AdManageKitConfig", "bannerRefreshBatchWindow should be between 0-30 seconds, current: $bannerRefreshBatchWindow")
+            }
+            isValid = false
+        }
+
         if (maxCacheMemoryMB < 10 || maxCacheMemoryMB > 200) {
             if (debugMode) {
                 android.util.Log.w("AdManageKitConfig", "maxCacheMemoryMB should be between 10-200 MB, current: $maxCacheMemoryMB")
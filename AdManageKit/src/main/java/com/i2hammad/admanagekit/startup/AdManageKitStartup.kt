@@ -0,0 +1,409 @@
+package com.i2hammad.admanagekit.startup
+
+import android.app.Activity
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.google.android.libraries.ads.mobile.sdk.MobileAds
+import com.google.android.libraries.ads.mobile.sdk.initialization.InitializationConfig
+import com.i2hammad.admanagekit.core.BillingConfig
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
+import com.i2hammad.admanagekit.ump.AdsConsentManager
+import com.i2hammad.admanagekit.utils.AdDebugUtils
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Runs the independent startup stages of an ad-supported app concurrently under one
+ * splash deadline, and reports how long each took.
+ *
+ * Splash screens typically chain billing connect, then the UMP consent update, then
+ * poll for MobileAds readiness, then request the first ad - so splash time is the
+ * sum of all four. Here every stage starts as soon as its own prerequisites are met:
+ *
+ * - [billing], [consent], [mobileAds] and any custom [stage] start immediately
+ * - [firstAd] starts once MobileAds and billing are done and ads may be requested.
+ *   When consent from a previous session already allows ads it does not wait for
+ *   the consent update; when the user has purchased it is skipped
+ *
+ * [start] reports once every stage has finished or the deadline passes, whichever
+ * comes first; stages still running keep running in the background. The consent
+ * stage is the exception: a consent form may be on screen, so the report waits for
+ * it even past the deadline.
+ *
+ * Usage:
+ * ```kotlin
+ * AdManageKitStartup.Builder()
+ *     .deadline(6.seconds)
+ *     .billing { stage ->
+ *         AppPurchase.getInstance().setBillingListener({ stage.complete() }, 5_000)
+ *     }
+ *     .consent(this)
+ *     .mobileAds(this, initializationConfig)
+ *     .stage("yandex") { stage -> YandexProviderRegistration.initialize(this) { stage.complete() } }
+ *     .firstAd { stage ->
+ *         appOpenManager.fetchAd(object : AdLoadCallback() {
+ *             override fun onAdLoaded() = stage.complete()
+ *             override fun onFailedToLoad(error: LoadAdError?) = stage.fail(error?.message)
+ *         })
+ *     }
+ *     .start { report ->
+ *         Log.d("Splash", report.summary())
+ *         goToMain()
+ *     }
+ * ```
+ *
+ * Stage actions and the [Listener] run on the main thread. [StageHandle] methods may
+ * be called from any thread; only the first call counts.
+ */
+class AdManageKitStartup private constructor(
+    private val stages: List<Stage>,
+    private val deadlineMs: Long,
+    private val handler: Handler,
+    private val clock: () -> Long
+) {
+
+    /** Final state of a stage in a [StartupReport]. */
+    enum class StageStatus {
+        /** Never started: its prerequisites weren't met before the report. */
+        PENDING,
+        /** Started but hadn't finished when the deadline passed. */
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        /** Not needed, e.g. first ad for a premium user. */
+        SKIPPED
+    }
+
+    /**
+     * Timing of one stage.
+     *
+     * @property startOffsetMillis When the stage started, relative to [start]; -1 if it never did
+     * @property durationMillis How long it ran; for a running stage, how long until the report
+     */
+    data class StageTiming(
+        val name: String,
+        val status: StageStatus,
+        val startOffsetMillis: Long,
+        val durationMillis: Long,
+        val message: String? = null
+    )
+
+    /**
+     * Outcome of a startup run.
+     *
+     * @property totalMillis Time from [start] to the report
+     * @property timedOut True when the deadline passed before every stage finished
+     */
+    data class StartupReport(
+        val totalMillis: Long,
+        val timedOut: Boolean,
+        val stages: List<StageTiming>
+    ) {
+        fun stage(name: String): StageTiming? = stages.firstOrNull { it.name == name }
+
+        /** One line per stage, for logging. */
+        fun summary(): String = buildString {
+            append("Startup ${totalMillis}ms")
+            if (timedOut) append(" (deadline reached)")
+            stages.forEach { timing ->
+                append("\n- ${timing.name}: ${timing.status}")
+                if (timing.startOffsetMillis >= 0) {
+                    append(" at +${timing.startOffsetMillis}ms, took ${timing.durationMillis}ms")
+                }
+                timing.message?.let { append(" ($it)") }
+            }
+        }
+    }
+
+    /** Completion handle passed to a stage action. */
+    interface StageHandle {
+        fun complete()
+        fun fail(message: String?)
+        fun skip(reason: String?)
+    }
+
+    /** Work for one stage. Call exactly one [StageHandle] method when done. */
+    fun interface StageAction {
+        fun run(stage: StageHandle)
+    }
+
+    fun interface Listener {
+        fun onStartupFinished(report: StartupReport)
+    }
+
+    internal enum class Gate { WAIT, RUN, SKIP }
+
+    internal class Stage(
+        val name: String,
+        val dependsOn: List<String>,
+        val action: StageAction,
+        // Consent may be showing a form; the report never cuts it short.
+        val waitsPastDeadline: Boolean = false,
+        val gate: (Map<String, Stage>) -> Pair<Gate, String?> = { Gate.RUN to null }
+    ) {
+        var status = StageStatus.PENDING
+        var startedAt = -1L
+        var finishedAt = -1L
+        var message: String? = null
+    }
+
+    private val byName = stages.associateBy { it.name }
+    private val started = AtomicBoolean(false)
+    private var startTime = 0L
+    private var deadlinePassed = false
+    private var reported = false
+    private var listener: Listener? = null
+    private val deadlineRunnable = Runnable {
+        deadlinePassed = true
+        maybeReport()
+    }
+
+    /**
+     * Starts every stage whose prerequisites are met. Can only be called once.
+     * Call on the main thread.
+     */
+    fun start(listener: Listener) {
+        check(started.compareAndSet(false, true)) { "AdManageKitStartup can only be started once" }
+        this.listener = listener
+        startTime = clock()
+        handler.postDelayed(deadlineRunnable, deadlineMs)
+        AdDebugUtils.logDebug(TAG) { "Starting ${stages.size} stages with ${deadlineMs}ms deadline" }
+        pump()
+        maybeReport()
+    }
+
+    private fun pump() {
+        var progressed = true
+        while (progressed) {
+            progressed = false
+            for (stage in stages) {
+                if (stage.status != StageStatus.PENDING) continue
+                val depsDone = stage.dependsOn.all { dep -> byName[dep]?.let { it.isTerminal() } ?: true }
+                if (!depsDone) continue
+                val (gate, reason) = stage.gate(byName)
+                when (gate) {
+                    Gate.WAIT -> continue
+                    Gate.SKIP -> {
+                        stage.status = StageStatus.SKIPPED
+                        stage.message = reason
+                        progressed = true
+                    }
+                    Gate.RUN -> {
+                        run(stage)
+                        progressed = true
+                    }
+                }
+            }
+        }
+    }
+
+    private fun run(stage: Stage) {
+        stage.status = StageStatus.RUNNING
+        stage.startedAt = clock()
+        val handle = object : StageHandle {
+            private val done = AtomicBoolean(false)
+            override fun complete() = finish(StageStatus.COMPLETED, null)
+            override fun fail(message: String?) = finish(StageStatus.FAILED, message)
+            override fun skip(reason: String?) = finish(StageStatus.SKIPPED, reason)
+
+            private fun finish(status: StageStatus, message: String?) {
+                if (!done.compareAndSet(false, true)) return
+                onMain { onStageFinished(stage, status, message) }
+            }
+        }
+        try {
+            stage.action.run(handle)
+        } catch (e: Exception) {
+            AdDebugUtils.logError(TAG, "Stage ${stage.name} threw: ${e.message}", e)
+            handle.fail(e.message)
+        }
+    }
+
+    private fun onStageFinished(stage: Stage, status: StageStatus, message: String?) {
+        stage.status = status
+        stage.message = message
+        stage.finishedAt = clock()
+        AdDebugUtils.logDebug(TAG) { "Stage ${stage.name} $status in ${stage.finishedAt - stage.startedAt}ms" }
+        pump()
+        maybeReport()
+    }
+
+    private fun maybeReport() {
+        if (reported) return
+        val allDone = stages.all { it.isTerminal() }
+        val blocked = stages.any { it.waitsPastDeadline && !it.isTerminal() }
+        if (!allDone && !(deadlinePassed && !blocked)) return
+        reported = true
+        handler.removeCallbacks(deadlineRunnable)
+        val now = clock()
+        val report = StartupReport(
+            totalMillis = now - startTime,
+            timedOut = !allDone,
+            stages = stages.map { it.timing(now) }
+        )
+        AdDebugUtils.logDebug(TAG) { report.summary() }
+        listener?.onStartupFinished(report)
+        listener = null
+    }
+
+    private fun Stage.isTerminal(): Boolean =
+        status == StageStatus.COMPLETED || status == StageStatus.FAILED || status == StageStatus.SKIPPED
+
+    private fun Stage.timing(now: Long): StageTiming = StageTiming(
+        name = name,
+        status = status,
+        startOffsetMillis = if (startedAt >= 0) startedAt - startTime else -1L,
+        durationMillis = when {
+            startedAt < 0 -> 0L
+            finishedAt >= 0 -> finishedAt - startedAt
+            else -> now - startedAt
+        },
+        message = message
+    )
+
+    private fun onMain(action: () -> Unit) {
+        if (Looper.myLooper() == handler.looper) action() else handler.post(action)
+    }
+
+    /**
+     * Builds an [AdManageKitStartup]. Every stage is optional.
+     */
+    class Builder internal constructor(
+        private val handler: Handler,
+        private val clock: () -> Long
+    ) {
+        constructor() : this(Handler(Looper.getMainLooper()), SystemClock::elapsedRealtime)
+
+        private val stages = LinkedHashMap<String, Stage>()
+        private var deadline: Duration = DEFAULT_DEADLINE
+        private var firstAdAction: StageAction? = null
+        private var consentActivity: Activity? = null
+
+        /** Total time the splash is willing to wait. Default: 5 seconds. */
+        fun deadline(deadline: Duration) = apply { this.deadline = deadline }
+
+        /** Java-friendly overload of [deadline]. */
+        fun deadlineMillis(deadlineMs: Long) = apply { this.deadline = deadlineMs.milliseconds }
+
+        /**
+         * Billing connect and entitlement read. Complete it once the purchase state
+         * is known, e.g. from `BillingListener.onInitBillingFinished`; [firstAd]
+         * waits for it so premium users never get an ad request.
+         */
+        fun billing(action: StageAction) = apply { add(Stage(BILLING, emptyList(), action)) }
+
+        /**
+         * UMP consent info update (and form, if required) via [AdsConsentManager].
+         *
+         * @param activity Host for the consent form
+         * @param testDeviceHashedId Non-null enables EEA debug geography for this device
+         */
+        @JvmOverloads
+        fun consent(activity: Activity, testDeviceHashedId: String? = null) = apply {
+            consentActivity = activity
+            add(Stage(CONSENT, emptyList(), StageAction { stage ->
+                AdsConsentManager.getInstance(activity).requestUMP(
+                    activity, testDeviceHashedId != null, testDeviceHashedId.orEmpty(), false
+                ) { stage.complete() }
+            }, waitsPastDeadline = true))
+        }
+
+        /**
+         * `MobileAds.initialize` on a background thread. Completes immediately if the
+         * SDK is already initialized.
+         */
+        fun mobileAds(context: Context, config: InitializationConfig) = apply {
+            val appContext = context.applicationContext
+            add(Stage(MOBILE_ADS, emptyList(), StageAction { stage ->
+                if (isMobileAdsInitialized()) {
+                    AdProviderReadiness.markReady(AdProvider.ADMOB)
+                    stage.complete()
+                    return@StageAction
+                }
+                AdProviderReadiness.markInitializing(AdProvider.ADMOB)
+                // initialize() blocks and must not run on the main thread
+                Thread({
+                    val error = try {
+                        MobileAds.initialize(appContext, config)
+                        null
+                    } catch (t: Throwable) {
+                        t
+                    }
+                    // Before completing, so the first ad sees the SDK as ready
+                    AdProviderReadiness.markReady(AdProvider.ADMOB)
+                    if (error == null) stage.complete() else stage.fail(error.message)
+                }, "AdManageKit-MobileAdsInit").start()
+            }))
+        }
+
+        /**
+         * Any other startup work, e.g. a secondary ad network's SDK init.
+         *
+         * @param dependsOn Stage names that must finish (in any state) first
+         */
+        @JvmOverloads
+        fun stage(name: String, dependsOn: List<String> = emptyList(), action: StageAction) = apply {
+            require(name != FIRST_AD) { "Use firstAd() for the first ad request" }
+            add(Stage(name, dependsOn, action))
+        }
+
+        /**
+         * The first ad request (e.g. splash app open or interstitial). Runs after
+         * [MOBILE_ADS] and [BILLING] (when configured) as soon as ads may be requested;
+         * skipped for purchased users or when consent doesn't allow ads.
+         */
+        fun firstAd(action: StageAction) = apply { firstAdAction = action }
+
+        fun build(): AdManageKitStartup {
+            val all = ArrayList(stages.values)
+            firstAdAction?.let { action ->
+                val deps = listOf(MOBILE_ADS, BILLING).filter { it in stages }
+                val activity = consentActivity
+                all.add(Stage(FIRST_AD, deps, action, gate = { byName -> firstAdGate(byName, activity) }))
+            }
+            return AdManageKitStartup(all, deadline.inWholeMilliseconds.coerceAtLeast(0L), handler, clock)
+        }
+
+        /** Shorthand for `build().start(listener)`. */
+        fun start(listener: Listener): AdManageKitStartup = build().also { it.start(listener) }
+
+        private fun add(stage: Stage) {
+            require(stage.name !in stages) { "Duplicate startup stage: ${stage.name}" }
+            stages[stage.name] = stage
+        }
+
+        private fun firstAdGate(byName: Map<String, Stage>, activity: Activity?): Pair<Gate, String?> {
+            if (BillingConfig.getPurchaseProvider().isPurchased()) return Gate.SKIP to "user has purchased"
+            val consentStage = byName[CONSENT]
+            if (consentStage == null || activity == null) return Gate.RUN to null
+            // Consent from a previous session lets the ad start without the update
+            val canRequest = AdsConsentManager.getInstance(activity).canRequestAds()
+            if (canRequest) return Gate.RUN to null
+            val consentDone = consentStage.status == StageStatus.COMPLETED ||
+                consentStage.status == StageStatus.FAILED || consentStage.status == StageStatus.SKIPPED
+            return if (consentDone) Gate.SKIP to "consent does not allow ads" else Gate.WAIT to null
+        }
+
+        private fun isMobileAdsInitialized(): Boolean = try {
+            MobileAds.isInitialized
+        } catch (t: Throwable) {
+            false
+        }
+    }
+
+    companion object {
+        private const val TAG = "AdManageKitStartup"
+
+        const val BILLING = "billing"
+        const val CONSENT = "consent"
+        const val MOBILE_ADS = "mobile_ads"
+        const val FIRST_AD = "first_ad"
+
+        private val DEFAULT_DEADLINE = 5.seconds
+    }
+}
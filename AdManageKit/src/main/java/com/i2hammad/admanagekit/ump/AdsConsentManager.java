@@ -2,6 +2,7 @@ package com.i2hammad.admanagekit.ump;
 
 import android.app.Activity;
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.util.Log;
 
 import com.google.android.ump.ConsentDebugSettings;
@@ -15,6 +16,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages user consent for ads using the User Messaging Platform (UMP).
+ * <p>
+ * The IAB TCF signals are kept parsed in memory as a {@link ConsentState} and
+ * re-parsed only when the CMP changes a TCF key, so {@link #canRequestAds()},
+ * {@link #canShowPersonalizedAds()} and {@link #getConsentState()} are cheap
+ * enough to call before every ad request.
  */
 public class AdsConsentManager {
 
@@ -28,6 +34,19 @@ public class AdsConsentManager {
     private final List<UMPResultListener> pendingListeners = new ArrayList<>();
     private static volatile AdsConsentManager instance;
 
+    private final SharedPreferences tcfPreferences;
+    private volatile ConsentState consentState;
+    // Sticky once true: UMP only revokes it through reset() or a TCF change, both of
+    // which clear it. While false, canRequestAds() asks UMP again.
+    private volatile boolean cachedCanRequestAds = false;
+    // Held as a field: SharedPreferences only keeps a weak reference to listeners.
+    private final SharedPreferences.OnSharedPreferenceChangeListener tcfListener = (prefs, key) -> {
+        // key is null when the file was cleared
+        if (key == null || key.startsWith(ConsentState.KEY_PREFIX)) {
+            refreshConsentState();
+        }
+    };
+
     /**
      * Private constructor to initialize AdsConsentManager with context.
      *
@@ -36,6 +55,9 @@ public class AdsConsentManager {
     private AdsConsentManager(Context context) {
         this.consentInformation = UserMessagingPlatform.getConsentInformation(context);
         this.canRequestAds.set(false);
+        this.tcfPreferences = getTcfPreferences(context);
+        this.consentState = ConsentState.parse(tcfPreferences);
+        tcfPreferences.registerOnSharedPreferenceChangeListener(tcfListener);
     }
 
     /**
@@ -62,10 +84,19 @@ public class AdsConsentManager {
      * @return True if the user has consented to ads, false otherwise.
      */
     public static boolean getConsentResult(Context context) {
-        String consentString = context.getSharedPreferences(context.getPackageName() + "_preferences", 0)
-                .getString("IABTCF_PurposeConsents", "");
-        Log.d(TAG, "getConsentResult: Consent string = " + consentString);
-        return consentString.isEmpty() || consentString.charAt(0) == '1';
+        AdsConsentManager manager = instance;
+        ConsentState state = manager != null ? manager.consentState : ConsentState.parse(getTcfPreferences(context));
+        return state.getConsentResult();
+    }
+
+    private static SharedPreferences getTcfPreferences(Context context) {
+        return context.getSharedPreferences(context.getPackageName() + "_preferences", 0);
+    }
+
+    private void refreshConsentState() {
+        consentState = ConsentState.parse(tcfPreferences);
+        cachedCanRequestAds = false;
+        Log.d(TAG, "Consent state updated: " + consentState);
     }
 
     /**
@@ -106,6 +137,7 @@ public class AdsConsentManager {
         if (resetData) {
             Log.d(TAG, "requestUMP: Resetting consent data");
             consentInformation.reset();
+            cachedCanRequestAds = false;
         }
 
         // Check if ads can already be requested
@@ -151,6 +183,8 @@ public class AdsConsentManager {
 
                         // Update canRequestAds and always notify listener (state update must not gate the callback)
                         canRequestAds.set(consentInformation.canRequestAds());
+                        // The form may have just written TCF keys; don't wait for the listener
+                        refreshConsentState();
                         boolean consentResult = getConsentResult(activity);
                         finishConsentRequest(consentResult);
                         if (hasNotified.compareAndSet(false, true)) {
@@ -163,6 +197,8 @@ public class AdsConsentManager {
                     Log.e(TAG, "requestUMP: Consent info update failed: " + requestConsentError.getMessage());
                     // Update canRequestAds and always notify listener (state update must not gate the callback)
                     canRequestAds.set(consentInformation.canRequestAds());
+                    // Pick up any TCF keys UMP wrote before failing
+                    refreshConsentState();
                     boolean consentResult = getConsentResult(activity);
                     finishConsentRequest(consentResult);
                     if (hasNotified.compareAndSet(false, true)) {
@@ -208,21 +244,48 @@ public class AdsConsentManager {
             } else {
                 Log.d(TAG, "showPrivacyOption: Privacy options form shown");
             }
+            refreshConsentState();
             umpResultListener.onCheckUMPSuccess(getConsentResult(activity));
         });
     }
 
     /**
      * Checks if ads can be requested based on the user's consent.
+     * Answers from memory once UMP has allowed ad requests; safe to call on hot paths.
      *
      * @return True if ads can be requested, false otherwise.
      */
     public boolean canRequestAds() {
+        if (cachedCanRequestAds) {
+            return true;
+        }
         boolean canRequest = consentInformation.canRequestAds();
-        Log.d(TAG, "canRequestAds: Returning " + canRequest);
+        if (canRequest) {
+            Log.d(TAG, "canRequestAds: UMP now allows ad requests");
+        }
+        cachedCanRequestAds = canRequest;
         return canRequest;
     }
 
+    /**
+     * Checks if Google may serve personalized ads under the stored TCF consent.
+     * O(1): see {@link ConsentState#canShowPersonalizedAds()}.
+     *
+     * @return True if personalized ads are allowed, false otherwise.
+     */
+    public boolean canShowPersonalizedAds() {
+        return consentState.canShowPersonalizedAds();
+    }
+
+    /**
+     * Gets the current parsed TCF consent state. Kept up to date as the CMP writes it.
+     *
+     * @return The current consent state, never null.
+     */
+    public ConsentState getConsentState() {
+        return consentState;
+    }
+
     /**
      * Checks if privacy options are required.
      *
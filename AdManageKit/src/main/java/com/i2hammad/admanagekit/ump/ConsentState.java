@@ -0,0 +1,169 @@
+package com.i2hammad.admanagekit.ump;
+
+import android.content.SharedPreferences;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the IAB TCF v2 consent signals a CMP (such as UMP) stores
+ * in the default SharedPreferences.
+ * <p>
+ * The {@code IABTCF_*} binary strings are decoded once into bit sets, so purpose and
+ * vendor lookups, and the derived {@link #canShowPersonalizedAds()}, are O(1).
+ * {@link AdsConsentManager} keeps the current snapshot and re-parses it only when
+ * a TCF key changes.
+ */
+public final class ConsentState {
+
+    /** Google Advertising Products' vendor id in the IAB Global Vendor List. */
+    public static final int GOOGLE_VENDOR_ID = 755;
+
+    static final String KEY_PREFIX = "IABTCF_";
+    static final String KEY_GDPR_APPLIES = "IABTCF_gdprApplies";
+    static final String KEY_PURPOSE_CONSENTS = "IABTCF_PurposeConsents";
+    static final String KEY_PURPOSE_LEGITIMATE_INTERESTS = "IABTCF_PurposeLegitimateInterests";
+    static final String KEY_VENDOR_CONSENTS = "IABTCF_VendorConsents";
+    static final String KEY_VENDOR_LEGITIMATE_INTERESTS = "IABTCF_VendorLegitimateInterests";
+
+    /** No TCF data stored (consent not collected, or GDPR does not apply). */
+    public static final ConsentState EMPTY = new ConsentState(null, "", "", "", "");
+
+    private final Boolean gdprApplies;
+    private final boolean purposeConsentsStored;
+    private final BitSet purposeConsents;
+    private final BitSet purposeLegitimateInterests;
+    private final BitSet vendorConsents;
+    private final BitSet vendorLegitimateInterests;
+    private final boolean personalizedAds;
+
+    private ConsentState(Boolean gdprApplies, String purposeConsents, String purposeLegitimateInterests,
+                         String vendorConsents, String vendorLegitimateInterests) {
+        this.gdprApplies = gdprApplies;
+        this.purposeConsentsStored = !purposeConsents.isEmpty();
+        this.purposeConsents = decode(purposeConsents);
+        this.purposeLegitimateInterests = decode(purposeLegitimateInterests);
+        this.vendorConsents = decode(vendorConsents);
+        this.vendorLegitimateInterests = decode(vendorLegitimateInterests);
+        this.personalizedAds = computePersonalizedAds();
+    }
+
+    /**
+     * Parses the TCF keys from {@code prefs} in one pass.
+     *
+     * @param prefs The default SharedPreferences the CMP writes to.
+     * @return The parsed state, or {@link #EMPTY} if nothing is stored.
+     */
+    public static ConsentState parse(SharedPreferences prefs) {
+        Map<String, ?> all = prefs.getAll();
+        Object gdpr = all.get(KEY_GDPR_APPLIES);
+        String purposeConsents = stringValue(all.get(KEY_PURPOSE_CONSENTS));
+        if (gdpr == null && purposeConsents.isEmpty()) {
+            return EMPTY;
+        }
+        return new ConsentState(
+                parseGdprApplies(gdpr),
+                purposeConsents,
+                stringValue(all.get(KEY_PURPOSE_LEGITIMATE_INTERESTS)),
+                stringValue(all.get(KEY_VENDOR_CONSENTS)),
+                stringValue(all.get(KEY_VENDOR_LEGITIMATE_INTERESTS))
+        );
+    }
+
+    /**
+     * @return {@code Boolean.TRUE}/{@code FALSE} from {@code IABTCF_gdprApplies}, or null
+     * when the CMP has not determined it yet.
+     */
+    public Boolean getGdprApplies() {
+        return gdprApplies;
+    }
+
+    /** @return True if the user consented to TCF purpose {@code purpose} (1-based). */
+    public boolean hasPurposeConsent(int purpose) {
+        return purpose > 0 && purposeConsents.get(purpose);
+    }
+
+    /** @return True if legitimate interest is established for purpose {@code purpose} (1-based). */
+    public boolean hasPurposeLegitimateInterest(int purpose) {
+        return purpose > 0 && purposeLegitimateInterests.get(purpose);
+    }
+
+    /** @return True if the user consented to vendor {@code vendorId}. */
+    public boolean hasVendorConsent(int vendorId) {
+        return vendorId > 0 && vendorConsents.get(vendorId);
+    }
+
+    /** @return True if legitimate interest is established for vendor {@code vendorId}. */
+    public boolean hasVendorLegitimateInterest(int vendorId) {
+        return vendorId > 0 && vendorLegitimateInterests.get(vendorId);
+    }
+
+    /**
+     * The result {@link AdsConsentManager#getConsentResult(android.content.Context)} has
+     * always returned: true when no purpose consents are stored, otherwise whether
+     * purpose 1 (store and access information on a device) was consented to.
+     */
+    public boolean getConsentResult() {
+        return !purposeConsentsStored || hasPurposeConsent(1);
+    }
+
+    /**
+     * True if Google may serve personalized ads: GDPR does not apply, or the user gave
+     * Google (vendor 755) consent and purposes 1, 3 and 4 consent, with consent or
+     * legitimate interest for purposes 2, 7, 9 and 10.
+     */
+    public boolean canShowPersonalizedAds() {
+        return personalizedAds;
+    }
+
+    private boolean computePersonalizedAds() {
+        if (!Boolean.TRUE.equals(gdprApplies)) {
+            return true;
+        }
+        if (!hasVendorConsent(GOOGLE_VENDOR_ID)) {
+            return false;
+        }
+        for (int purpose : new int[]{1, 3, 4}) {
+            if (!hasPurposeConsent(purpose)) return false;
+        }
+        for (int purpose : new int[]{2, 7, 9, 10}) {
+            if (!hasPurposeConsent(purpose) && !hasPurposeLegitimateInterest(purpose)) return false;
+        }
+        return true;
+    }
+
+    /** Decodes a TCF "0101..." string; character i (0-based) sets bit i + 1. */
+    private static BitSet decode(String binary) {
+        BitSet bits = new BitSet(binary.length() + 1);
+        for (int i = 0; i < binary.length(); i++) {
+            if (binary.charAt(i) == '1') {
+                bits.set(i + 1);
+            }
+        }
+        return bits;
+    }
+
+    private static String stringValue(Object value) {
+        return value instanceof String ? (String) value : "";
+    }
+
+    // The spec stores an int, but some CMPs write a string
+    private static Boolean parseGdprApplies(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value == 1;
+        }
+        if (value instanceof String) {
+            if ("1".equals(value)) return Boolean.TRUE;
+            if ("0".equals(value)) return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsentState{gdprApplies=" + gdprApplies
+                + ", purposeConsents=" + purposeConsents
+                + ", googleVendorConsent=" + hasVendorConsent(GOOGLE_VENDOR_ID)
+                + ", personalizedAds=" + personalizedAds + '}';
+    }
+}
@@ -0,0 +1,163 @@
+package com.i2hammad.admanagekit.utils
+
+import android.app.Activity
+import android.graphics.Color
+import android.graphics.Typeface
+import android.os.Handler
+import android.os.Looper
+import android.util.TypedValue
+import android.view.Gravity
+import android.view.View
+import android.widget.FrameLayout
+import android.widget.TextView
+import com.i2hammad.admanagekit.admob.AdManager
+import com.i2hammad.admanagekit.admob.BannerAdPool
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+
+/**
+ * Text overlay on an Activity's content showing, live: in-flight ad requests per
+ * provider, cached ads per unit with their ages, recent waterfall outcomes, failing
+ * ad units against the circuit breaker threshold, active retries and load latency
+ * percentiles.
+ *
+ * Refreshes every [REFRESH_INTERVAL_MS] while attached, and only sets the text when it
+ * changed, so the overlay lays out at most twice a second. It ignores touches.
+ * Main thread only.
+ */
+internal class AdDebugOverlay(activity: Activity) {
+
+    private val handler = Handler(Looper.getMainLooper())
+    private val text = StringBuilder()
+
+    private val view = TextView(activity).apply {
+        typeface = Typeface.MONOSPACE
+        setTextSize(TypedValue.COMPLEX_UNIT_SP, 9f)
+        setTextColor(Color.WHITE)
+        setBackgroundColor(0xB3000000.toInt())
+        val padding = (4 * resources.displayMetrics.density).toInt()
+        setPadding(padding, padding, padding, padding)
+        isClickable = false
+        isFocusable = false
+        importantForAccessibility = View.IMPORTANT_FOR_ACCESSIBILITY_NO
+    }
+
+    private val refresh = object : Runnable {
+        override fun run() {
+            update()
+            handler.postDelayed(this, REFRESH_INTERVAL_MS)
+        }
+    }
+
+    init {
+        view.addOnAttachStateChangeListener(object : View.OnAttachStateChangeListener {
+            override fun onViewAttachedToWindow(v: View) {
+                handler.post(refresh)
+            }
+
+            override fun onViewDetachedFromWindow(v: View) {
+                handler.removeCallbacks(refresh)
+            }
+        })
+        activity.findViewById<FrameLayout>(android.R.id.content)?.addView(
+            view,
+            FrameLayout.LayoutParams(
+                FrameLayout.LayoutParams.WRAP_CONTENT,
+                FrameLayout.LayoutParams.WRAP_CONTENT,
+                Gravity.TOP or Gravity.START
+            )
+        )
+    }
+
+    fun remove() {
+        handler.removeCallbacks(refresh)
+        (view.parent as? FrameLayout)?.removeView(view)
+    }
+
+    private fun update() {
+        text.setLength(0)
+        appendTo(text, System.nanoTime())
+        if (!view.text.contentEquals(text)) view.text = text.toString()
+    }
+
+    companion object {
+        const val REFRESH_INTERVAL_MS = 500L
+
+        /** Writes the overlay text; separate from the view so it can run without one. */
+        internal fun appendTo(out: StringBuilder, nowNanos: Long) {
+            out.append("AdManageKit\n")
+
+            val inFlight = AdOverlayStats.inFlight()
+            out.append("In flight (").append(inFlight.size).append(")\n")
+            inFlight.groupBy { it.provider ?: "-" }.forEach { (provider, slices) ->
+                out.append(' ').append(provider).append('\n')
+                slices.forEach { slice ->
+                    out.append("  ").append(slice.format).append(' ').append(slice.stage)
+                    appendUnit(out, slice.adUnitId)
+                    out.append(' ').append((nowNanos - slice.startNanos) / 1_000_000).append("ms\n")
+                }
+            }
+
+            out.append("Cache\n")
+            appendAges(out, "native", NativeAdManager.getCachedAdAges())
+            appendAges(out, "native*", NativeAdManager.waterfallInventory.getAdAges())
+            AdManager.getInstance().getReadyAdUnits().forEach { adUnitId ->
+                out.append(" interstitial")
+                appendUnit(out, adUnitId)
+                out.append(" ready\n")
+            }
+            val banners = BannerAdPool.getPoolStats()
+            out.append(" banner pool ready=").append(banners["ready_banners"])
+                .append(" loading=").append(banners["loading_banners"]).append('\n')
+
+            out.append("Recent\n")
+            AdOverlayStats.recentOutcomes().asReversed().forEach { outcome ->
+                out.append(if (outcome.success) " OK   " else " FAIL ")
+                out.append(outcome.format).append(' ').append(outcome.stage)
+                outcome.provider?.let { out.append(':').append(it) }
+                appendUnit(out, outcome.adUnitId)
+                out.append(' ').append(outcome.durationNanos / 1_000_000).append("ms ")
+                out.append((nowNanos - outcome.endedAtNanos) / 1_000_000_000).append("s ago\n")
+            }
+
+            val threshold = AdManageKitConfig.circuitBreakerThreshold
+            val resetNanos = AdManageKitConfig.circuitBreakerResetTimeout.inWholeNanoseconds
+            val failing = AdOverlayStats.consecutiveFailures()
+            val retries = AdRetryManager.getInstance().getActiveRetriesSummary()
+            if (failing.isNotEmpty() || retries.isNotEmpty()) {
+                out.append("Failing (breaker at ").append(threshold).append(")\n")
+                failing.forEach { (adUnitId, failures) ->
+                    val open = failures.count >= threshold && nowNanos - failures.lastFailureNanos < resetNanos
+                    out.append(if (open) " OPEN" else " ")
+                    appendUnit(out, adUnitId)
+                    out.append(" x").append(failures.count).append('\n')
+                }
+                retries.forEach { (adUnitId, attempt) ->
+                    out.append(" retry")
+                    appendUnit(out, adUnitId)
+                    out.append(" #").append(attempt).append('\n')
+                }
+            }
+
+            out.append("Load ms p50/p90/p99")
+            AdOverlayStats.loadLatencies().forEach { (format, latency) ->
+                out.append('\n').append(' ').append(format).append(' ')
+                    .append(latency.p50).append('/').append(latency.p90).append('/').append(latency.p99)
+                    .append(" n=").append(latency.count)
+            }
+        }
+
+        private fun appendAges(out: StringBuilder, label: String, ages: Map<String, List<Long>>) {
+            ages.forEach { (adUnitId, unitAges) ->
+                out.append(' ').append(label)
+                appendUnit(out, adUnitId)
+                unitAges.forEach { out.append(' ').append(it / 1_000).append('s') }
+                out.append('\n')
+            }
+        }
+
+        private fun appendUnit(out: StringBuilder, adUnitId: String?) {
+            if (!adUnitId.isNullOrEmpty()) out.append(" [").append(adUnitId.takeLast(8)).append(']')
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.i2hammad.admanagekit.utils
 
 import android.app.Activity
+import android.app.Application
 import android.content.Context
+import android.os.Bundle
 import android.widget.Toast
 import android.util.Log
 import com.i2hammad.admanagekit.config.AdManageKitConfig
@@ -14,14 +16,21 @@ import com.i2hammad.admanagekit.config.AdManageKitConfig
  * - Test ad unit management
  * - Mock ad response injection
  * - Performance monitoring
+ * - Structured tracing through [AdTrace]
+ * 
+ * Messages that interpolate values should use the lambda overloads of [logDebug] and
+ * [logEvent], so they are only built in debug mode.
  * 
  * @since 2.1.0
  */
 object AdDebugUtils {
     
-    private const val TAG = "AdManageKit"
+    @PublishedApi
+    internal const val TAG = "AdManageKit"
     private val testAdUnits = mutableMapOf<String, String>()
     private val mockAdResponses = mutableListOf<MockAdResponse>()
+    // An overlay's view holds its activity, so entries go when the activity is destroyed
+    private val overlays = HashMap<Activity, AdDebugOverlay>()
     
     /**
      * Data class representing a mock ad response for testing.
@@ -47,6 +56,14 @@ object AdDebugUtils {
     
     /**
      * Enable or disable debug overlay showing real-time ad statistics.
+     *
+     * The overlay lists in-flight requests per provider with their elapsed time, cached
+     * ads per ad unit with their ages, recent waterfall step outcomes, failing ad units
+     * against [AdManageKitConfig.circuitBreakerThreshold], active retries, and p50/p90/p99
+     * load latency per format. Requests are only tracked while it is enabled. It
+     * refreshes twice a second. Disabling removes it from every activity, and each
+     * activity's overlay is dropped when that activity is destroyed.
+     * Call on the main thread.
      * 
      * @param activity The activity to show overlay on
      * @param enable Whether to enable the overlay
@@ -60,12 +77,38 @@ object AdDebugUtils {
         AdManageKitConfig.enableDebugOverlay = enable
         
         if (enable) {
-            logDebug("DebugOverlay", "Debug overlay enabled for ${activity.javaClass.simpleName}")
+            if (!overlays.containsKey(activity)) {
+                overlays[activity] = AdDebugOverlay(activity)
+                removeOverlayOnDestroy(activity)
+            }
+            logDebug("DebugOverlay") { "Debug overlay enabled for ${activity.javaClass.simpleName}" }
         } else {
+            overlays.values.forEach { it.remove() }
+            overlays.clear()
+            AdOverlayStats.clear()
             logDebug("DebugOverlay", "Debug overlay disabled")
         }
     }
     
+    /** Drops [overlayActivity]'s overlay once it is destroyed, so the overlay map doesn't keep it alive. */
+    private fun removeOverlayOnDestroy(overlayActivity: Activity) {
+        val application = overlayActivity.application
+        application.registerActivityLifecycleCallbacks(object : Application.ActivityLifecycleCallbacks {
+            override fun onActivityDestroyed(destroyed: Activity) {
+                if (destroyed !== overlayActivity) return
+                application.unregisterActivityLifecycleCallbacks(this)
+                overlays.remove(overlayActivity)?.remove()
+            }
+
+            override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {}
+            override fun onActivityStarted(activity: Activity) {}
+            override fun onActivityResumed(activity: Activity) {}
+            override fun onActivityPaused(activity: Activity) {}
+            override fun onActivityStopped(activity: Activity) {}
+            override fun onActivitySaveInstanceState(activity: Activity, outState: Bundle) {}
+        })
+    }
+
     /**
      * Set test ad units to replace production ad units during testing.
      * 
@@ -75,9 +118,9 @@ object AdDebugUtils {
         testAdUnits.clear()
         testAdUnits.putAll(testUnits)
         
-        logDebug("TestAdUnits", "Set ${testUnits.size} test ad units")
+        logDebug("TestAdUnits") { "Set ${testUnits.size} test ad units" }
         testUnits.forEach { (prod, test) ->
-            logDebug("TestAdUnits", "  $prod -> $test")
+            logDebug("TestAdUnits") { "  $prod -> $test" }
         }
     }
     
@@ -104,9 +147,9 @@ object AdDebugUtils {
         mockAdResponses.clear()
         mockAdResponses.addAll(responses)
         
-        logDebug("MockAds", "Injected ${responses.size} mock ad responses")
+        logDebug("MockAds") { "Injected ${responses.size} mock ad responses" }
         responses.forEach { response ->
-            logDebug("MockAds", "  ${response.adUnitId}: success=${response.shouldSucceed}, delay=${response.delayMs}ms")
+            logDebug("MockAds") { "  ${response.adUnitId}: success=${response.shouldSucceed}, delay=${response.delayMs}ms" }
         }
     }
     
@@ -131,6 +174,19 @@ object AdDebugUtils {
             Log.d("$TAG-$tag", message)
         }
     }
+
+    /**
+     * Logs a debug message built by [message], which only runs in debug mode. Use this
+     * form for interpolated messages, so release builds never build them.
+     *
+     * @param tag The log tag
+     * @param message Builds the message to log
+     */
+    inline fun logDebug(tag: String, message: () -> String) {
+        if (AdManageKitConfig.debugMode) {
+            Log.d("$TAG-$tag", message())
+        }
+    }
     
     /**
      * Enhanced logging for events with success/failure indication.
@@ -140,13 +196,39 @@ object AdDebugUtils {
      * @param message Event message
      * @param isSuccess Whether the event was successful
      */
+    @Deprecated(
+        "Builds the message even when debug logging is off; pass it as a lambda",
+        ReplaceWith("logEvent(adUnitId, event, isSuccess) { message }")
+    )
     fun logEvent(adUnitId: String, event: String, message: String, isSuccess: Boolean) {
+        AdTrace.event(adUnitId, event, isSuccess)
         if (AdManageKitConfig.debugMode) {
-            val prefix = if (isSuccess) "✅" else "❌"
-            val shortAdUnit = adUnitId.takeLast(8) // Show last 8 chars for readability
-            Log.d("$TAG-Event", "$prefix [$shortAdUnit] $event: $message")
+            printEvent(adUnitId, event, message, isSuccess)
         }
     }
+
+    /**
+     * Like [logEvent], with the message built by [message] only in debug mode. The event
+     * is recorded in [AdTrace] either way, without building any text.
+     *
+     * @param adUnitId Ad unit ID
+     * @param event Event name
+     * @param isSuccess Whether the event was successful
+     * @param message Builds the event message
+     */
+    inline fun logEvent(adUnitId: String, event: String, isSuccess: Boolean, message: () -> String) {
+        AdTrace.event(adUnitId, event, isSuccess)
+        if (AdManageKitConfig.debugMode) {
+            printEvent(adUnitId, event, message(), isSuccess)
+        }
+    }
+
+    @PublishedApi
+    internal fun printEvent(adUnitId: String, event: String, message: String, isSuccess: Boolean) {
+        val prefix = if (isSuccess) "✅" else "❌"
+        val shortAdUnit = adUnitId.takeLast(8) // Show last 8 chars for readability
+        Log.d("$TAG-Event", "$prefix [$shortAdUnit] $event: $message")
+    }
     
     /**
      * Log performance metrics.
@@ -157,6 +239,7 @@ object AdDebugUtils {
      * @param additionalInfo Additional information
      */
     fun logPerformance(adUnitId: String, operation: String, durationMs: Long, additionalInfo: String = "") {
+        AdTrace.spanNanos(adUnitId, operation, durationMs * 1_000_000)
         if (AdManageKitConfig.debugMode && AdManageKitConfig.enablePerformanceMetrics) {
             val shortAdUnit = adUnitId.takeLast(8)
             val info = if (additionalInfo.isNotEmpty()) " - $additionalInfo" else ""
@@ -230,7 +313,8 @@ object AdDebugUtils {
     }
     
     /**
-     * Measure execution time of a block of code.
+     * Measure execution time of a block of code, on the monotonic clock.
+     * Recorded in [AdTrace] at nanosecond resolution and logged in milliseconds.
      * 
      * @param operation Operation name for logging
      * @param adUnitId Ad unit ID for context
@@ -238,11 +322,15 @@ object AdDebugUtils {
      * @return Result of the block execution
      */
     inline fun <T> measureTime(operation: String, adUnitId: String, block: () -> T): T {
-        val startTime = System.currentTimeMillis()
+        if (!AdManageKitConfig.debugMode && !AdTrace.isEnabled) return block()
+        val startNanos = System.nanoTime()
         val result = block()
-        val duration = System.currentTimeMillis() - startTime
-        
-        logPerformance(adUnitId, operation, duration)
+        val durationNanos = System.nanoTime() - startNanos
+
+        AdTrace.spanNanos(adUnitId, operation, durationNanos)
+        if (AdManageKitConfig.debugMode && AdManageKitConfig.enablePerformanceMetrics) {
+            Log.d("$TAG-Performance", "⏱️ [${adUnitId.takeLast(8)}] $operation: ${durationNanos / 1_000_000}ms")
+        }
         return result
     }
     
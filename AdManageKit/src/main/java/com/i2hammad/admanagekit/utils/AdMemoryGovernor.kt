@@ -0,0 +1,151 @@
+package com.i2hammad.admanagekit.utils
+
+import android.content.ComponentCallbacks2
+import android.content.Context
+import android.content.res.Configuration
+import android.util.Log
+import com.i2hammad.admanagekit.admob.AdManager
+import com.i2hammad.admanagekit.admob.AppOpenManager
+import com.i2hammad.admanagekit.admob.BannerAdPool
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.admob.RewardedAdManager
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdMemoryTrimmers
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Releases memory held by ad caches when the system reports memory pressure, so
+ * preloaded ads are not what gets the process killed in the background.
+ *
+ * Each trim level maps to an [AdMemoryTier]; a tier also applies everything below it:
+ *
+ * - [AdMemoryTier.EXPIRED] (`RUNNING_MODERATE`, `UI_HIDDEN`): expired native ads,
+ *   expired pooled banners and an app open ad past its freshness threshold
+ * - [AdMemoryTier.SHRINK] (`RUNNING_LOW`, `BACKGROUND`): native caches shrink to one ad
+ *   per unit
+ * - [AdMemoryTier.RELEASE] (`RUNNING_CRITICAL`, `MODERATE`): preloaded native template
+ *   views, pooled banners and unclaimed hand-off ads are destroyed
+ * - [AdMemoryTier.CLEAR] (`COMPLETE`, [onLowMemory]): every cached native ad and the
+ *   loaded interstitial, rewarded and app open ads are dropped
+ *
+ * `UI_HIDDEN` only means the UI left the screen, and from API 34 `BACKGROUND` is sent
+ * to every app as it goes to the background, so neither destroys preloaded ads that
+ * the app will want when the user comes back.
+ *
+ * Caches outside AdManageKit's managers, such as the Yandex ad pools and the Compose
+ * template view pool, are trimmed through [AdMemoryTrimmers].
+ *
+ * Ads on screen are never touched. Each trim logs the bytes it freed per cache,
+ * estimated per item, and is kept in [lastReport].
+ *
+ * [AppOpenManager] registers the governor on its Application; apps without one call
+ * [register] once from `Application.onCreate()`. Trims only run while
+ * [AdManageKitConfig.enableAutoCacheCleanup] is on.
+ */
+object AdMemoryGovernor : ComponentCallbacks2 {
+
+    private const val TAG = "AdMemoryGovernor"
+
+    private const val AD_VIEW_BYTES = AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES
+    private const val FULL_SCREEN_AD_BYTES = AdMemoryTrimmers.ESTIMATED_FULL_SCREEN_AD_BYTES
+
+    /**
+     * What one trim released.
+     *
+     * @param freedBytes Estimated bytes freed per cache, for caches that released anything
+     */
+    data class TrimReport(val tier: AdMemoryTier, val freedBytes: Map<String, Long>) {
+        val totalFreedBytes: Long get() = freedBytes.values.sum()
+    }
+
+    private val registered = AtomicBoolean(false)
+    private val appOpenManagers: MutableSet<AppOpenManager> =
+        Collections.synchronizedSet(Collections.newSetFromMap(WeakHashMap()))
+
+    /** The most recent trim, or null before the first. */
+    @Volatile
+    var lastReport: TrimReport? = null
+        private set
+
+    /** Starts listening for trim callbacks on [context]'s application. Only the first call has an effect. */
+    @JvmStatic
+    fun register(context: Context) {
+        if (registered.compareAndSet(false, true)) {
+            context.applicationContext.registerComponentCallbacks(this)
+        }
+    }
+
+    /** Includes [manager]'s loaded ad in trims for as long as it is reachable. */
+    internal fun track(manager: AppOpenManager) {
+        appOpenManagers.add(manager)
+    }
+
+    override fun onTrimMemory(level: Int) {
+        if (!AdManageKitConfig.enableAutoCacheCleanup) return
+        trim(tierFor(level))
+    }
+
+    override fun onLowMemory() {
+        if (!AdManageKitConfig.enableAutoCacheCleanup) return
+        trim(AdMemoryTier.CLEAR)
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) {}
+
+    @Suppress("DEPRECATION")
+    internal fun tierFor(level: Int): AdMemoryTier = when {
+        level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE -> AdMemoryTier.CLEAR
+        level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE -> AdMemoryTier.RELEASE
+        // Routine backgrounding on API 34+, where it is sent to every app leaving the foreground
+        level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND -> AdMemoryTier.SHRINK
+        // The UI is out of sight; not memory pressure
+        level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN -> AdMemoryTier.EXPIRED
+        level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL -> AdMemoryTier.RELEASE
+        level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW -> AdMemoryTier.SHRINK
+        else -> AdMemoryTier.EXPIRED
+    }
+
+    /** Applies [tier] to every cache and logs what was freed. Call on the main thread. */
+    internal fun trim(tier: AdMemoryTier): TrimReport {
+        val freed = LinkedHashMap<String, Long>()
+        fun record(cache: String, items: Int, bytesPerItem: Long) {
+            if (items > 0) freed[cache] = (freed[cache] ?: 0L) + items * bytesPerItem
+        }
+
+        val nativeDepth = when (tier) {
+            AdMemoryTier.EXPIRED -> Int.MAX_VALUE
+            AdMemoryTier.SHRINK, AdMemoryTier.RELEASE -> 1
+            AdMemoryTier.CLEAR -> 0
+        }
+        val viewDepth = if (tier >= AdMemoryTier.RELEASE) 0 else nativeDepth
+        record("native", NativeAdManager.trimCache(nativeDepth), NativeAdManager.ESTIMATED_AD_SIZE_BYTES)
+        record("nativeViews", NativeAdManager.trimWaterfallCache(viewDepth), AD_VIEW_BYTES)
+        record("banners", BannerAdPool.release(all = tier >= AdMemoryTier.RELEASE), AD_VIEW_BYTES)
+        if (tier >= AdMemoryTier.RELEASE) {
+            val handedOff = NativeAdIntegrationManager.releaseTemporaryCachedAds()
+            record("nativeHandoff", handedOff, NativeAdManager.ESTIMATED_AD_SIZE_BYTES)
+        }
+        val appOpenReleased = synchronized(appOpenManagers) {
+            appOpenManagers.count { it.releaseLoadedAd(staleOnly = tier < AdMemoryTier.CLEAR) }
+        }
+        record("appOpen", appOpenReleased, FULL_SCREEN_AD_BYTES)
+        if (tier == AdMemoryTier.CLEAR) {
+            record("interstitial", AdManager.getInstance().releasePooledAds(), FULL_SCREEN_AD_BYTES)
+            record("rewarded", if (RewardedAdManager.releaseLoadedAd()) 1 else 0, FULL_SCREEN_AD_BYTES)
+        }
+        AdMemoryTrimmers.trimAll(tier).forEach { (cache, bytes) -> freed[cache] = (freed[cache] ?: 0L) + bytes }
+
+        val report = TrimReport(tier, freed)
+        lastReport = report
+        if (freed.isNotEmpty()) {
+            Log.i(TAG, "Trim $tier freed ~${report.totalFreedBytes / 1024}KB: " +
+                freed.entries.joinToString { (cache, bytes) -> "$cache=${bytes / 1024}KB" })
+        } else if (AdManageKitConfig.debugMode) {
+            Log.d(TAG, "Trim $tier: nothing to free")
+        }
+        return report
+    }
+}
@@ -0,0 +1,106 @@
+package com.i2hammad.admanagekit.utils
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * What the debug overlay shows about ad requests: the [AdSystrace.Slice]s still open,
+ * the most recent ones to end, load latencies per format and consecutive failures
+ * per ad unit.
+ *
+ * Fed by every slice begun while the overlay is on
+ * ([AdManageKitConfig.enableDebugOverlay] with [AdManageKitConfig.debugMode]).
+ * Thread-safe.
+ */
+internal object AdOverlayStats {
+
+    /** A slice that has ended. */
+    data class Outcome(
+        val format: String,
+        val stage: String,
+        val provider: String?,
+        val adUnitId: String?,
+        val durationNanos: Long,
+        val success: Boolean,
+        val endedAtNanos: Long
+    )
+
+    /** Load latency percentiles for one format, in milliseconds. */
+    data class Latency(val count: Int, val p50: Long, val p90: Long, val p99: Long)
+
+    /** Consecutive failed loads of one ad unit. */
+    data class Failures(val count: Int, val lastFailureNanos: Long)
+
+    /** The stage whose durations are load latencies; waterfall steps and direct loads use it. */
+    private const val STAGE_LOAD = "load"
+    private const val MAX_OUTCOMES = 8
+    private const val MAX_LATENCIES = 50
+
+    private val lock = Any()
+    private val open = ConcurrentHashMap<AdSystrace.Slice, Unit>()
+    private val outcomes = ArrayDeque<Outcome>()
+    private val latencies = HashMap<String, ArrayDeque<Long>>()
+    private val failures = HashMap<String, Failures>()
+
+    val isRecording: Boolean
+        get() = AdManageKitConfig.enableDebugOverlay && AdManageKitConfig.debugMode
+
+    fun onSliceBegan(slice: AdSystrace.Slice) {
+        open[slice] = Unit
+    }
+
+    fun onSliceEnded(slice: AdSystrace.Slice, success: Boolean, endNanos: Long) {
+        if (open.remove(slice) == null) return
+        val duration = endNanos - slice.startNanos
+        synchronized(lock) {
+            outcomes.addLast(
+                Outcome(slice.format, slice.stage, slice.provider, slice.adUnitId, duration, success, endNanos)
+            )
+            if (outcomes.size > MAX_OUTCOMES) outcomes.removeFirst()
+
+            if (slice.stage != STAGE_LOAD) return
+            if (success) {
+                val samples = latencies.getOrPut(slice.format) { ArrayDeque() }
+                samples.addLast(duration / 1_000_000)
+                if (samples.size > MAX_LATENCIES) samples.removeFirst()
+            }
+            val adUnitId = slice.adUnitId ?: return
+            if (success) {
+                failures.remove(adUnitId)
+            } else {
+                failures[adUnitId] = Failures((failures[adUnitId]?.count ?: 0) + 1, endNanos)
+            }
+        }
+    }
+
+    /** Slices still open, oldest first. */
+    fun inFlight(): List<AdSystrace.Slice> = open.keys.sortedBy { it.startNanos }
+
+    /** The most recent slices to end, oldest first. */
+    fun recentOutcomes(): List<Outcome> = synchronized(lock) { outcomes.toList() }
+
+    /** Latency of the most recent successful loads, per format. */
+    fun loadLatencies(): Map<String, Latency> = synchronized(lock) {
+        latencies.filterValues { it.isNotEmpty() }.mapValues { (_, samples) ->
+            val sorted = samples.sorted()
+            Latency(sorted.size, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99))
+        }
+    }
+
+    /** Ad units whose most recent loads failed, with how many in a row. */
+    fun consecutiveFailures(): Map<String, Failures> = synchronized(lock) { failures.toMap() }
+
+    fun clear() {
+        open.clear()
+        synchronized(lock) {
+            outcomes.clear()
+            latencies.clear()
+            failures.clear()
+        }
+    }
+
+    internal fun percentile(sorted: List<Long>, percent: Int): Long {
+        val index = ((sorted.size - 1) * percent + 50) / 100
+        return sorted[index]
+    }
+}
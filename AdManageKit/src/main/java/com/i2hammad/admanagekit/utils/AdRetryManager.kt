@@ -2,10 +2,11 @@ package com.i2hammad.admanagekit.utils
 
 import android.os.Handler
 import android.os.Looper
+import com.i2hammad.admanagekit.config.AdLoadingPolicy
 import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import java.util.concurrent.ConcurrentHashMap
-import kotlin.math.min
-import kotlin.math.pow
 
 /**
  * Manages automatic retry logic with exponential backoff for ad loading failures.
@@ -14,6 +15,7 @@ import kotlin.math.pow
  * - Exponential backoff with configurable base and max delays
  * - Per-ad-unit retry tracking
  * - Automatic retry scheduling
+ * - Retries wait for a free [AdRequestGovernor] slot, after every other kind of load
  * - Integration with circuit breaker pattern
  * 
  * Usage:
@@ -94,51 +96,46 @@ class AdRetryManager private constructor() {
         retryAction: () -> Unit
     ) {
         if (!AdManageKitConfig.autoRetryFailedAds) {
-            AdDebugUtils.logEvent(adUnitId, "retryDisabled", "Automatic retry is disabled in config", false)
+            AdDebugUtils.logEvent(adUnitId, "retryDisabled", false) { "Automatic retry is disabled in config" }
             onDropped?.let { handler.post(it) }
             return
         }
 
         if (attempt >= maxAttempts) {
-            AdDebugUtils.logEvent(adUnitId, "retryLimitReached", "Maximum retry attempts ($maxAttempts) reached", false)
+            AdDebugUtils.logEvent(adUnitId, "retryLimitReached", false) {
+                "Maximum retry attempts ($maxAttempts) reached"
+            }
             onDropped?.let { handler.post(it) }
             return
         }
         
         val delay = calculateRetryDelay(attempt)
         
-        AdDebugUtils.logEvent(
-            adUnitId, 
-            "retryScheduled", 
-            "Retry attempt ${attempt + 1}/$maxAttempts scheduled in ${delay}ms", 
-            true
-        )
+        AdDebugUtils.logEvent(adUnitId, "retryScheduled", true) {
+            "Retry attempt ${attempt + 1}/$maxAttempts scheduled in ${delay}ms"
+        }
         
         var retryInfo: RetryInfo? = null
 
         val runnable = Runnable {
-            try {
-                // Remove from active retries only if the entry still belongs to this retry
-                // (it may have been replaced by a newer scheduleRetry for the same ad unit)
-                if (activeRetries[adUnitId] === retryInfo) {
+            // Wait for a free request slot; retries yield to every other kind of load
+            AdRequestGovernor.submit(adUnitId, AdRequestPriority.RETRY) { ticket ->
+                // The slot only orders retry starts; the reloaded ad takes its own
+                ticket.finish()
+                try {
+                    // Remove from active retries only if the entry still belongs to this retry.
+                    // If it was replaced or cancelled while queued, its owner was already told.
+                    if (activeRetries[adUnitId] !== retryInfo) return@submit
                     activeRetries.remove(adUnitId)
-                }
 
-                AdDebugUtils.logEvent(
-                    adUnitId,
-                    "retryExecuted",
-                    "Executing retry attempt ${attempt + 1}/$maxAttempts",
-                    true
-                )
+                    AdDebugUtils.logEvent(adUnitId, "retryExecuted", true) {
+                        "Executing retry attempt ${attempt + 1}/$maxAttempts"
+                    }
 
-                retryAction()
-            } catch (e: Exception) {
-                AdDebugUtils.logEvent(
-                    adUnitId,
-                    "retryException",
-                    "Retry execution failed: ${e.message}",
-                    false
-                )
+                    retryAction()
+                } catch (e: Exception) {
+                    AdDebugUtils.logEvent(adUnitId, "retryException", false) { "Retry execution failed: ${e.message}" }
+                }
             }
         }
 
@@ -148,12 +145,9 @@ class AdRetryManager private constructor() {
         retryInfo = newRetryInfo
         activeRetries.put(adUnitId, newRetryInfo)?.let { previous ->
             handler.removeCallbacks(previous.runnable)
-            AdDebugUtils.logEvent(
-                adUnitId,
-                "retryReplaced",
-                "Cancelled previously scheduled retry before scheduling a new one",
-                true
-            )
+            AdDebugUtils.logEvent(adUnitId, "retryReplaced", true) {
+                "Cancelled previously scheduled retry before scheduling a new one"
+            }
             // The replaced retry will never run. Tell its owner, or a caller waiting on
             // it (e.g. a native ad view holding its shimmer) waits forever.
             notifyDropped(previous)
@@ -164,23 +158,17 @@ class AdRetryManager private constructor() {
     }
     
     /**
-     * Calculate retry delay using exponential backoff
+     * Calculate retry delay using exponential backoff, see [AdLoadingPolicy.retryDelayMillis]
      * 
      * @param attempt Current attempt number (0-based)
      * @return Delay in milliseconds
      */
-    private fun calculateRetryDelay(attempt: Int): Long {
-        if (!AdManageKitConfig.enableExponentialBackoff) {
-            return AdManageKitConfig.baseRetryDelay.inWholeMilliseconds
-        }
-        
-        // Exponential backoff: baseDelay * (2^attempt)
-        val exponentialDelay = AdManageKitConfig.baseRetryDelay.inWholeMilliseconds * 
-                               (2.0.pow(attempt.toDouble())).toLong()
-        
-        // Cap at maximum delay
-        return min(exponentialDelay, AdManageKitConfig.maxRetryDelay.inWholeMilliseconds)
-    }
+    private fun calculateRetryDelay(attempt: Int): Long = AdLoadingPolicy.retryDelayMillis(
+        attempt,
+        AdManageKitConfig.baseRetryDelay.inWholeMilliseconds,
+        AdManageKitConfig.maxRetryDelay.inWholeMilliseconds,
+        AdManageKitConfig.enableExponentialBackoff
+    )
     
     /**
      * Cancel any pending retry for the specified ad unit
@@ -191,12 +179,7 @@ class AdRetryManager private constructor() {
         activeRetries.remove(adUnitId)?.let { retryInfo ->
             handler.removeCallbacks(retryInfo.runnable)
 
-            AdDebugUtils.logEvent(
-                adUnitId,
-                "retryCancelled",
-                "Retry cancelled for ad unit",
-                true
-            )
+            AdDebugUtils.logEvent(adUnitId, "retryCancelled", true) { "Retry cancelled for ad unit" }
             // Cancelled retries never run either - notify the owner so it can settle
             notifyDropped(retryInfo)
         }
@@ -215,12 +198,7 @@ class AdRetryManager private constructor() {
         }
         
         if (cancelledCount > 0) {
-            AdDebugUtils.logEvent(
-                "", 
-                "allRetriesCancelled", 
-                "Cancelled $cancelledCount pending retries", 
-                true
-            )
+            AdDebugUtils.logEvent("", "allRetriesCancelled", true) { "Cancelled $cancelledCount pending retries" }
         }
     }
     
@@ -0,0 +1,129 @@
+package com.i2hammad.admanagekit.utils
+
+import android.os.Build
+import android.os.Trace
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import java.util.Locale
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * [android.os.Trace] sections for ad work, so Perfetto and systrace captures show where
+ * loads, waterfall steps, template inflates, binds and shows land relative to frames.
+ *
+ * Names are stable, `AdKit:<format>:<stage>`, followed by `:<provider>` (the
+ * provider's [AdProvider.name], lowercased) and `@<ad unit>` (its last 8 characters)
+ * when known, e.g. `AdKit:Native:load:admob@12345678` for [AdProvider.ADMOB]. Work that stays on one thread is a [section];
+ * work that spans callbacks is an async [Slice] on its own track (API 29+).
+ *
+ * Only emits while [AdManageKitConfig.enableSystemTracing] is on and a capture is
+ * recording, and builds no names otherwise. Async slices also feed the debug overlay
+ * (see [AdDebugUtils.enableDebugOverlay]) while it is on. Thread-safe.
+ *
+ * ```kotlin
+ * AdManageKitConfig.enableSystemTracing = true
+ * // adb shell perfetto -o /data/misc/perfetto-traces/ads.pftrace -t 10s --app com.example
+ * ```
+ */
+object AdSystrace {
+
+    const val FORMAT_BANNER = "Banner"
+    const val FORMAT_INTERSTITIAL = "Interstitial"
+    const val FORMAT_NATIVE = "Native"
+    const val FORMAT_APP_OPEN = "AppOpen"
+
+    /** Longest section name [Trace] accepts. */
+    private const val MAX_NAME_LENGTH = 127
+
+    private val nextCookie = AtomicInteger(0)
+
+    /** True while sections would be written: tracing is enabled and a capture is recording. */
+    @JvmStatic
+    val isEnabled: Boolean
+        get() = AdManageKitConfig.enableSystemTracing &&
+            (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || Trace.isEnabled())
+
+    /**
+     * An async slice begun by [beginAsync]. [end] may be called from any thread and more
+     * than once; only the first call ends the slice.
+     */
+    class Slice internal constructor(
+        val format: String,
+        val stage: String,
+        val provider: String?,
+        val adUnitId: String?,
+        traced: Boolean,
+        private val monitored: Boolean
+    ) {
+        /** [System.nanoTime] when the slice began. */
+        val startNanos: Long = System.nanoTime()
+
+        private val name = if (traced) sectionName(format, stage, provider, adUnitId) else null
+        private val cookie = nextCookie.incrementAndGet()
+        private val ended = AtomicBoolean(false)
+
+        internal fun begin() {
+            if (name != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.beginAsyncSection(name, cookie)
+            }
+            if (monitored) AdOverlayStats.onSliceBegan(this)
+        }
+
+        /** Ends the slice; [success] is shown by the debug overlay. */
+        @JvmOverloads
+        fun end(success: Boolean = true) {
+            if (!ended.compareAndSet(false, true)) return
+            if (name != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.endAsyncSection(name, cookie)
+            }
+            if (monitored) AdOverlayStats.onSliceEnded(this, success, System.nanoTime())
+        }
+    }
+
+    /** Runs [block] inside a synchronous section. */
+    inline fun <T> section(
+        format: String,
+        stage: String,
+        provider: String? = null,
+        adUnitId: String? = null,
+        block: () -> T
+    ): T {
+        if (!isEnabled) return block()
+        beginSection(format, stage, provider, adUnitId)
+        try {
+            return block()
+        } finally {
+            Trace.endSection()
+        }
+    }
+
+    /**
+     * Begins an async slice, or returns null when neither tracing nor the debug overlay
+     * is on. Without the overlay, async sections need API 29.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun beginAsync(format: String, stage: String, provider: String? = null, adUnitId: String? = null): Slice? {
+        val traced = isEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+        val monitored = AdOverlayStats.isRecording
+        if (!traced && !monitored) return null
+        val slice = Slice(format, stage, provider, adUnitId, traced, monitored)
+        slice.begin()
+        return slice
+    }
+
+    @PublishedApi
+    internal fun beginSection(format: String, stage: String, provider: String?, adUnitId: String?) {
+        Trace.beginSection(sectionName(format, stage, provider, adUnitId))
+    }
+
+    internal fun sectionName(format: String, stage: String, provider: String?, adUnitId: String?): String {
+        val name = buildString {
+            append("AdKit:").append(format).append(':').append(stage)
+            if (!provider.isNullOrEmpty()) append(':').append(provider.lowercase(Locale.ROOT))
+            if (!adUnitId.isNullOrEmpty()) append('@').append(adUnitId.takeLast(8))
+        }
+        return if (name.length > MAX_NAME_LENGTH) name.substring(0, MAX_NAME_LENGTH) else name
+    }
+}
@@ -0,0 +1,140 @@
+package com.i2hammad.admanagekit.utils
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Structured trace of ad events, kept in a fixed-size ring buffer and dumped on demand.
+ *
+ * Each record is a timestamp from [System.nanoTime], a kind, a success flag, a value
+ * (a duration in nanoseconds for spans) and references to the event name and ad unit
+ * id the caller already holds. Recording writes primitive arrays and stores those
+ * references, so it allocates nothing; text is only built by [dump].
+ *
+ * Records only while [AdManageKitConfig.enableAdTracing] is on. [AdDebugUtils.logEvent],
+ * [AdDebugUtils.logPerformance] and [AdDebugUtils.measureTime] record here as well.
+ *
+ * ```kotlin
+ * AdManageKitConfig.enableAdTracing = true
+ * // ... reproduce the issue ...
+ * Log.d("Ads", AdTrace.dump())
+ * ```
+ *
+ * Thread-safe. Concurrent writers claim distinct slots; a dump taken while writers are
+ * active may show a record being overwritten.
+ */
+object AdTrace {
+
+    /** Records kept; older records are overwritten. */
+    const val CAPACITY = 1024
+
+    /** An [AdDebugUtils.logEvent] style event; the value is unused. */
+    const val KIND_EVENT = 0
+
+    /** A timed operation; the value is its duration in nanoseconds. */
+    const val KIND_SPAN = 1
+
+    private const val MASK = CAPACITY - 1
+
+    private val times = LongArray(CAPACITY)
+    private val values = LongArray(CAPACITY)
+    private val flags = IntArray(CAPACITY)
+    private val names = arrayOfNulls<String>(CAPACITY)
+    private val adUnits = arrayOfNulls<String>(CAPACITY)
+    private val cursor = AtomicLong(0)
+
+    /** A record from [snapshot]. */
+    data class Record(
+        val timeNanos: Long,
+        val kind: Int,
+        val name: String,
+        val adUnitId: String,
+        val success: Boolean,
+        val value: Long
+    )
+
+    @JvmStatic
+    val isEnabled: Boolean
+        get() = AdManageKitConfig.enableAdTracing
+
+    /** Monotonic timestamp for [span]. */
+    @JvmStatic
+    fun now(): Long = System.nanoTime()
+
+    @JvmStatic
+    fun event(adUnitId: String, name: String, success: Boolean) {
+        if (isEnabled) record(KIND_EVENT, adUnitId, name, success, 0L)
+    }
+
+    /** Records [name] as having run from [startNanos] (from [now]) until now. */
+    @JvmStatic
+    fun span(adUnitId: String, name: String, startNanos: Long, success: Boolean = true) {
+        if (isEnabled) record(KIND_SPAN, adUnitId, name, success, System.nanoTime() - startNanos)
+    }
+
+    /** Records a span whose duration was measured elsewhere. */
+    @JvmStatic
+    fun spanNanos(adUnitId: String, name: String, durationNanos: Long, success: Boolean = true) {
+        if (isEnabled) record(KIND_SPAN, adUnitId, name, success, durationNanos)
+    }
+
+    /** Records in the buffer, oldest first. */
+    @JvmStatic
+    fun snapshot(): List<Record> {
+        val end = cursor.get()
+        val start = maxOf(0L, end - CAPACITY)
+        val records = ArrayList<Record>((end - start).toInt())
+        for (sequence in start until end) {
+            val slot = (sequence and MASK.toLong()).toInt()
+            val name = names[slot] ?: continue
+            val flag = flags[slot]
+            records.add(
+                Record(
+                    timeNanos = times[slot],
+                    kind = flag shr 1,
+                    name = name,
+                    adUnitId = adUnits[slot].orEmpty(),
+                    success = flag and 1 == 1,
+                    value = values[slot]
+                )
+            )
+        }
+        return records
+    }
+
+    /** The buffer as text, one record per line, with times relative to the oldest record. */
+    @JvmStatic
+    fun dump(): String {
+        val records = snapshot()
+        val origin = records.firstOrNull()?.timeNanos ?: 0L
+        return buildString {
+            appendLine("=== AdManageKit Trace (${records.size} records) ===")
+            records.forEach { record ->
+                append("+").append((record.timeNanos - origin) / 1_000_000).append("ms ")
+                append(if (record.success) "OK   " else "FAIL ")
+                if (record.adUnitId.isNotEmpty()) append("[").append(record.adUnitId.takeLast(8)).append("] ")
+                append(record.name)
+                if (record.kind == KIND_SPAN) {
+                    append(" ").append(record.value / 1_000).append("us")
+                }
+                appendLine()
+            }
+        }
+    }
+
+    @JvmStatic
+    fun clear() {
+        cursor.set(0)
+        names.fill(null)
+        adUnits.fill(null)
+    }
+
+    private fun record(kind: Int, adUnitId: String, name: String, success: Boolean, value: Long) {
+        val slot = (cursor.getAndIncrement() and MASK.toLong()).toInt()
+        times[slot] = System.nanoTime()
+        values[slot] = value
+        flags[slot] = (kind shl 1) or (if (success) 1 else 0)
+        adUnits[slot] = adUnitId
+        names[slot] = name
+    }
+}
@@ -1,17 +1,22 @@
 package com.i2hammad.admanagekit.utils
 
 import android.app.Activity
+import android.os.Looper
 import android.util.Log
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.LifecycleEventObserver
+import androidx.lifecycle.LifecycleOwner
 import com.google.android.libraries.ads.mobile.sdk.common.AdValue
 import com.google.android.libraries.ads.mobile.sdk.common.LoadAdError
 import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAd
 import com.i2hammad.admanagekit.admob.AdLoadCallback
 import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdLoadingPolicy
 import com.i2hammad.admanagekit.config.AdLoadingStrategy
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.utils.AdRetryManager
+import java.lang.ref.WeakReference
 import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.atomic.AtomicLong
 
 /**
  * Enhanced integration manager for NativeBanner components with smart caching.
@@ -21,6 +26,12 @@ import java.util.concurrent.atomic.AtomicLong
  * - Managing ad distribution across different UI contexts
  * - Providing intelligent preloading strategies
  * - Preventing cache collisions between screens
+ *
+ * Screen tracking is bounded: a screen whose activity is a [LifecycleOwner] is
+ * forgotten when that activity is destroyed (not when it is recreated for a
+ * configuration change), along with any cached ad it never picked up. Other screens
+ * are forgotten after [SCREEN_IDLE_TTL_MS] without a request. At most
+ * [MAX_TRACKED_SCREENS] are kept, least recently used evicted first.
  * 
  * @since 2.1.0
  */
@@ -38,9 +49,18 @@ object NativeAdIntegrationManager {
     /** Error code for cache miss when using ONLY_CACHE strategy */
     const val ERROR_CODE_CACHE_MISS = 1002
 
-    // Ad request tracking
-    private val screenAdRequests = ConcurrentHashMap<String, AtomicLong>()
-    private val activeScreens = ConcurrentHashMap<String, ScreenContext>()
+    /** Most screens tracked at once; the least recently used is forgotten first. */
+    const val MAX_TRACKED_SCREENS = 32
+
+    /** How long a screen without a lifecycle stays tracked after its last request. */
+    const val SCREEN_IDLE_TTL_MS = 30 * 60 * 1000L
+
+    /** Only screens that requested an ad this recently are preloaded for. */
+    const val PRELOAD_RECENCY_MS = 5 * 60 * 1000L
+
+    // Ad request tracking, in access order so the eldest entry is the least recently used
+    private val screenLock = Any()
+    private val activeScreens = LinkedHashMap<String, ScreenContext>(16, 0.75f, true)
 
     // Thread-safe temporary cache for passing cached ads to callers
     // Uses ConcurrentHashMap to prevent race conditions in concurrent scenarios (e.g., RecyclerView)
@@ -77,16 +97,52 @@ object NativeAdIntegrationManager {
         temporarilyCachedAds.clear()
         logDebug("Cleared $count temporarily cached ads")
     }
+
+    /**
+     * Destroys temporarily cached ads no caller has picked up, to release memory.
+     *
+     * @return Number of ads destroyed
+     */
+    internal fun releaseTemporaryCachedAds(): Int {
+        var released = 0
+        for (screenKey in temporarilyCachedAds.keys.toList()) {
+            temporarilyCachedAds.remove(screenKey)?.let { ad ->
+                ad.destroy()
+                released++
+            }
+        }
+        if (released > 0) {
+            logDebug("Released $released temporarily cached ads")
+        }
+        return released
+    }
     
+    private fun releaseTemporaryCachedAd(screenKey: String) {
+        temporarilyCachedAds.remove(screenKey)?.let { ad ->
+            ad.destroy()
+            logDebug("Destroyed unclaimed cached ad for $screenKey")
+        }
+    }
+
     /**
-     * Context information for each screen using native ads.
+     * Context information for each screen using native ads. Guarded by [screenLock].
      */
-    private data class ScreenContext(
-        val screenType: ScreenType,
-        val adUnitId: String,
-        val lastRequestTime: Long = System.currentTimeMillis(),
-        var requestCount: Long = 0
+    private class ScreenContext(
+        var screenType: ScreenType,
+        var adUnitId: String,
+        var lastRequestTime: Long = System.currentTimeMillis(),
+        var requestCount: Long = 0,
+        var owner: WeakReference<LifecycleOwner>? = null
     )
+
+    /** Forgets its screen when the owner is destroyed for good. */
+    private class ScreenLifecycleObserver(private val screenKey: String) : LifecycleEventObserver {
+        override fun onStateChanged(source: LifecycleOwner, event: Lifecycle.Event) {
+            if (event != Lifecycle.Event.ON_DESTROY) return
+            source.lifecycle.removeObserver(this)
+            onScreenDestroyed(screenKey, source)
+        }
+    }
     
     /**
      * Enhanced ad loading with screen-aware caching and retry support.
@@ -114,39 +170,34 @@ object NativeAdIntegrationManager {
         val enhancedAdUnitId = createScreenSpecificAdUnitId(baseAdUnitId, screenType, screenKey)
         
         // Track screen usage
-        trackScreenUsage(screenKey, baseAdUnitId, screenType)
+        trackScreenUsage(screenKey, baseAdUnitId, screenType, activity as? LifecycleOwner)
 
         // Determine behavior based on loading strategy (use override if provided, otherwise use global config)
         val effectiveStrategy = loadingStrategy ?: AdManageKitConfig.nativeLoadingStrategy
         logDebug("Loading ad for screen: $screenKey, adUnit: $enhancedAdUnitId, strategy: $effectiveStrategy, useCachedAd: $useCachedAd")
 
-        when (effectiveStrategy) {
-            AdLoadingStrategy.ON_DEMAND -> {
-                // Always load fresh ad, skip cache check
-                logDebug("ON_DEMAND strategy: loading fresh ad for $screenKey")
-                val enhancedCallback = createEnhancedCallbackWithRetry(
-                    activity, baseAdUnitId, screenType, enhancedAdUnitId, screenKey,
-                    callback, loadNewAd, retryAttempt, loadingStrategy
-                )
-                loadNewAd(enhancedAdUnitId, enhancedCallback)
+        // A cache read consumes the ad, so the policy asks at most once and the ad is kept
+        var cachedAd: NativeAd? = null
+        val decision = AdLoadingPolicy.decide(effectiveStrategy) {
+            // ONLY_CACHE always reads the cache; HYBRID only when the caller allows it
+            val cacheAllowed = useCachedAd || effectiveStrategy == AdLoadingStrategy.ONLY_CACHE
+            if (cacheAllowed && NativeAdManager.enableCachingNativeAds) {
+                cachedAd = tryGetCachedAd(enhancedAdUnitId, baseAdUnitId, screenType)
             }
+            cachedAd != null
+        }
 
-            AdLoadingStrategy.ONLY_CACHE -> {
-                // Only show if cached, fail immediately if not (no network call)
-                // Ideal for smooth UX where showing nothing is better than waiting
-                if (NativeAdManager.enableCachingNativeAds) {
-                    val cachedAd = tryGetCachedAd(enhancedAdUnitId, baseAdUnitId, screenType)
-
-                    if (cachedAd != null) {
-                        logDebug("ONLY_CACHE strategy: cache hit for $screenKey, serving cached ad")
-                        setTemporaryCachedAd(screenKey, cachedAd)
-                        callback?.onAdLoaded()
-                        return
-                    }
-                }
+        when (decision) {
+            AdLoadingPolicy.Decision.SHOW_CACHED -> {
+                logDebug("$effectiveStrategy strategy: cache hit for $screenKey, serving cached ad")
+                setTemporaryCachedAd(screenKey, checkNotNull(cachedAd))
+                callback?.onAdLoaded() // Let the caller handle displaying the cached ad
+            }
 
-                // No cached ad - fail immediately (no network call)
-                logDebug("ONLY_CACHE strategy: cache miss for $screenKey, failing immediately (no network)")
+            AdLoadingPolicy.Decision.SKIP -> {
+                // ONLY_CACHE miss - fail immediately (no network call)
+                // Ideal for smooth UX where showing nothing is better than waiting
+                logDebug("$effectiveStrategy strategy: cache miss for $screenKey, failing immediately (no network)")
                 callback?.onFailedToLoad(
                     LoadAdError(
                         LoadAdError.ErrorCode.INTERNAL_ERROR,
@@ -156,22 +207,9 @@ object NativeAdIntegrationManager {
                 )
             }
 
-            AdLoadingStrategy.HYBRID -> {
-                // Try cache first, load fresh if not available
-                if (useCachedAd && NativeAdManager.enableCachingNativeAds) {
-                    val cachedAd = tryGetCachedAd(enhancedAdUnitId, baseAdUnitId, screenType)
-
-                    if (cachedAd != null) {
-                        logDebug("HYBRID strategy: cache hit for $screenKey, serving cached ad")
-                        setTemporaryCachedAd(screenKey, cachedAd)
-                        callback?.onAdLoaded()
-                        return // Let the caller handle displaying the cached ad
-                    } else {
-                        logDebug("HYBRID strategy: cache miss for $screenKey, loading new ad")
-                    }
-                }
-
-                // Load new ad with enhanced callback that includes retry logic
+            AdLoadingPolicy.Decision.LOAD_FRESH -> {
+                // ON_DEMAND, or a HYBRID cache miss: load new ad with retry logic
+                logDebug("$effectiveStrategy strategy: loading fresh ad for $screenKey")
                 val enhancedCallback = createEnhancedCallbackWithRetry(
                     activity, baseAdUnitId, screenType, enhancedAdUnitId, screenKey,
                     callback, loadNewAd, retryAttempt, loadingStrategy
@@ -179,10 +217,10 @@ object NativeAdIntegrationManager {
                 loadNewAd(enhancedAdUnitId, enhancedCallback)
             }
 
-            AdLoadingStrategy.FRESH_WITH_CACHE_FALLBACK -> {
+            AdLoadingPolicy.Decision.LOAD_FRESH_WITH_CACHE_FALLBACK -> {
                 // Load fresh ad first, fall back to cache if loading fails
                 // Ideal for RecyclerView scenarios
-                logDebug("FRESH_WITH_CACHE_FALLBACK strategy: loading fresh ad for $screenKey")
+                logDebug("$effectiveStrategy strategy: loading fresh ad for $screenKey")
                 val freshWithFallbackCallback = createFreshWithCacheFallbackCallback(
                     activity, baseAdUnitId, screenType, enhancedAdUnitId, screenKey,
                     callback, loadNewAd, retryAttempt, loadingStrategy
@@ -324,20 +362,15 @@ object NativeAdIntegrationManager {
                 // would leak. The views already perform their own cache fallback (with
                 // display) in their AdListener before propagating the failure here.
 
-                // Check if we should retry (only for network errors, not for no fill or invalid requests)
-                val isRetryableError = when (error) {
-                    is LoadAdError -> {
-                        // Retry for network errors and internal errors, but not for no fill or invalid requests
-                        error.code == LoadAdError.ErrorCode.INTERNAL_ERROR || error.code == LoadAdError.ErrorCode.NETWORK_ERROR
-                    }
-                    else -> false
-                }
-
+                // Retry only network and internal errors, not no fill or invalid requests.
                 // Mirror AdRetryManager's gating: if retries are disabled or attempts are
                 // exhausted, scheduleRetry() silently no-ops and the failure would be swallowed.
-                val shouldRetry = isRetryableError &&
-                        AdManageKitConfig.autoRetryFailedAds &&
-                        retryAttempt < AdManageKitConfig.maxRetryAttempts
+                val shouldRetry = error != null && AdLoadingPolicy.shouldRetry(
+                    errorCode = error.code.value,
+                    attempt = retryAttempt,
+                    enabled = AdManageKitConfig.autoRetryFailedAds,
+                    maxAttempts = AdManageKitConfig.maxRetryAttempts
+                )
 
                 if (shouldRetry) {
                     // Schedule retry using AdRetryManager
@@ -428,20 +461,15 @@ object NativeAdIntegrationManager {
                 // The views already perform the cache fallback (with display) in their
                 // AdListener before propagating the failure here.
 
-                // Check if we should retry (only for network errors, not for no fill or invalid requests)
-                val isRetryableError = when (error) {
-                    is LoadAdError -> {
-                        // Retry for network errors and internal errors
-                        error.code == LoadAdError.ErrorCode.INTERNAL_ERROR || error.code == LoadAdError.ErrorCode.NETWORK_ERROR
-                    }
-                    else -> false
-                }
-
+                // Retry only network and internal errors, not no fill or invalid requests.
                 // Mirror AdRetryManager's gating: if retries are disabled or attempts are
                 // exhausted, scheduleRetry() silently no-ops and the failure would be swallowed.
-                val shouldRetry = isRetryableError &&
-                        AdManageKitConfig.autoRetryFailedAds &&
-                        retryAttempt < AdManageKitConfig.maxRetryAttempts
+                val shouldRetry = error != null && AdLoadingPolicy.shouldRetry(
+                    errorCode = error.code.value,
+                    attempt = retryAttempt,
+                    enabled = AdManageKitConfig.autoRetryFailedAds,
+                    maxAttempts = AdManageKitConfig.maxRetryAttempts
+                )
 
                 if (shouldRetry) {
                     // Retries are keyed by ad unit id globally, and enhancedAdUnitId is just
@@ -525,19 +553,83 @@ object NativeAdIntegrationManager {
     }
     
     /**
-     * Tracks screen usage patterns for optimization.
+     * Tracks screen usage patterns for optimization, and ties the screen to [owner]'s
+     * lifecycle the first time that owner requests an ad.
      */
-    private fun trackScreenUsage(screenKey: String, baseAdUnitId: String, screenType: ScreenType) {
-        val requestCount = screenAdRequests.getOrPut(screenKey) { AtomicLong(0) }
-        val count = requestCount.incrementAndGet()
-        
-        activeScreens[screenKey] = ScreenContext(screenType, baseAdUnitId, requestCount = count)
-        
+    private fun trackScreenUsage(
+        screenKey: String,
+        baseAdUnitId: String,
+        screenType: ScreenType,
+        owner: LifecycleOwner?
+    ) {
+        val now = System.currentTimeMillis()
+        val pruned = ArrayList<String>()
+        var bindOwner = false
+        val count = synchronized(screenLock) {
+            pruneScreensLocked(now, pruned)
+            val context = activeScreens.getOrPut(screenKey) { ScreenContext(screenType, baseAdUnitId) }
+            context.screenType = screenType
+            context.adUnitId = baseAdUnitId
+            context.lastRequestTime = now
+            context.requestCount++
+            // addObserver must run on the main thread; off it the screen just ages out
+            if (owner != null && context.owner?.get() !== owner && Looper.myLooper() == Looper.getMainLooper()) {
+                context.owner = WeakReference(owner)
+                bindOwner = true
+            }
+            while (activeScreens.size > MAX_TRACKED_SCREENS) {
+                val eldest = activeScreens.keys.first()
+                activeScreens.remove(eldest)
+                pruned.add(eldest)
+            }
+            context.requestCount
+        }
+        if (bindOwner) {
+            owner?.lifecycle?.addObserver(ScreenLifecycleObserver(screenKey))
+        }
+        pruned.forEach { releaseTemporaryCachedAd(it) }
+
         logDebug("Screen usage: $screenKey has requested $count ads")
     }
+
+    /**
+     * Removes screens whose owner is gone, and unbound screens idle for longer than
+     * [SCREEN_IDLE_TTL_MS].
+     */
+    private fun pruneScreensLocked(now: Long, into: MutableList<String>) {
+        val iterator = activeScreens.entries.iterator()
+        while (iterator.hasNext()) {
+            val (screenKey, context) = iterator.next()
+            val owner = context.owner
+            val expired = if (owner != null) {
+                owner.get()?.lifecycle?.currentState.let { it == null || it == Lifecycle.State.DESTROYED }
+            } else {
+                now - context.lastRequestTime > SCREEN_IDLE_TTL_MS
+            }
+            if (expired) {
+                iterator.remove()
+                into.add(screenKey)
+            }
+        }
+    }
+
+    private fun onScreenDestroyed(screenKey: String, owner: LifecycleOwner) {
+        val recreating = (owner as? Activity)?.isChangingConfigurations == true
+        synchronized(screenLock) {
+            val context = activeScreens[screenKey]
+            if (context?.owner?.get() !== owner) return
+            // The recreated instance rebinds on its first request and keeps the usage history
+            context.owner = null
+            if (recreating) return
+            activeScreens.remove(screenKey)
+        }
+        releaseTemporaryCachedAd(screenKey)
+        logDebug("Screen destroyed, stopped tracking $screenKey")
+    }
     
     /**
-     * Preloads ads for active screens based on usage patterns.
+     * Preloads ads for active screens based on usage patterns. Only screens that
+     * requested an ad within the last [PRELOAD_RECENCY_MS] are considered.
      * Requires enableSmartPreloading = true in AdManageKitConfig.
      *
      * @suppress This is an advanced API for smart preloading scenarios.
@@ -549,7 +641,7 @@ object NativeAdIntegrationManager {
             return
         }
         
-        val activeScreensList = activeScreens.values.toList()
+        val activeScreensList = recentScreens(PRELOAD_RECENCY_MS).values.toList()
         val totalScreens = activeScreensList.size
         var preloadedScreens = 0
         
@@ -588,13 +680,40 @@ object NativeAdIntegrationManager {
         }
     }
     
+    /**
+     * Snapshot of the tracked screens that requested an ad within [withinMillis], after
+     * pruning idle and destroyed ones.
+     */
+    private fun recentScreens(withinMillis: Long = SCREEN_IDLE_TTL_MS): Map<String, ScreenSnapshot> {
+        val now = System.currentTimeMillis()
+        val pruned = ArrayList<String>()
+        val snapshot = synchronized(screenLock) {
+            pruneScreensLocked(now, pruned)
+            // Iterating an access-ordered map does not reorder it
+            activeScreens.entries
+                .filter { now - it.value.lastRequestTime <= withinMillis }
+                .associate { (key, context) ->
+                    key to ScreenSnapshot(context.screenType, context.adUnitId, context.lastRequestTime, context.requestCount)
+                }
+        }
+        pruned.forEach { releaseTemporaryCachedAd(it) }
+        return snapshot
+    }
+
+    private data class ScreenSnapshot(
+        val screenType: ScreenType,
+        val adUnitId: String,
+        val lastRequestTime: Long,
+        val requestCount: Long
+    )
+
     /**
      * Gets usage statistics for all active screens.
      */
     fun getScreenUsageStats(): Map<String, Map<String, Any>> {
         val stats = mutableMapOf<String, Map<String, Any>>()
         
-        activeScreens.forEach { (screenKey, context) ->
+        recentScreens().forEach { (screenKey, context) ->
             val screenSpecificKey = "${context.adUnitId}${context.screenType.suffix}"
             val cacheSize = NativeAdManager.getCacheSize(screenSpecificKey)
             val sharedCacheSize = NativeAdManager.getCacheSize(context.adUnitId)
@@ -619,12 +738,10 @@ object NativeAdIntegrationManager {
      */
     @Suppress("unused")
     fun clearScreenCache(screenKey: String) {
-        activeScreens[screenKey]?.let { context ->
+        synchronized(screenLock) { activeScreens.remove(screenKey) }?.let { context ->
             val screenSpecificKey = "${context.adUnitId}${context.screenType.suffix}"
             NativeAdManager.clearCachedAd(screenSpecificKey)
-            
-            activeScreens.remove(screenKey)
-            screenAdRequests.remove(screenKey)
+            releaseTemporaryCachedAd(screenKey)
             
             logDebug("Cleared cache and tracking for screen: $screenKey")
         }
@@ -660,6 +777,6 @@ object NativeAdIntegrationManager {
     }
     
     private fun logDebug(message: String) {
-        AdDebugUtils.logDebug("NativeAdIntegration", message)
+        AdDebugUtils.logDebug("NativeAdIntegration") { message }
     }
 }
\ No newline at end of file
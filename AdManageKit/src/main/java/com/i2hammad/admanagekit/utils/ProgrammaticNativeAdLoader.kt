@@ -34,6 +34,8 @@ import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.waterfall.NativeWaterfall
@@ -506,34 +508,46 @@ object ProgrammaticNativeAdLoader {
             .applyMediaConfig()
             .build()
 
-        NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
-            override fun onNativeAdLoaded(nativeAd: NativeAd) {
-                // Next-Gen SDK callbacks fire on a background thread.
-                Handler(Looper.getMainLooper()).post {
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Raw native ad loaded successfully", true)
-                    // No view inflation or registerNativeAd() here — the ad is handed off raw
-                    // and bound to a real NativeAdView when it is actually displayed
-                    setupPaidEventListener(nativeAd, adUnitId, activity)
-                    onLoaded(nativeAd)
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            // The request may have queued past the activity's lifetime
+            if (activity.isDestroyed) {
+                ticket.finish()
+                onFailed(LoadAdError(LoadAdError.ErrorCode.INTERNAL_ERROR, "Activity destroyed before the request started", null))
+                return@submit
+            }
+            NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
+                override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    ticket.finish()
+                    // Next-Gen SDK callbacks fire on a background thread.
+                    Handler(Looper.getMainLooper()).post {
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) { "Raw native ad loaded successfully" }
+                        // No view inflation or registerNativeAd() here — the ad is handed off raw
+                        // and bound to a real NativeAdView when it is actually displayed
+                        setupPaidEventListener(nativeAd, adUnitId, activity)
+                        onLoaded(nativeAd)
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Raw native ad failed: ${adError.message}", false)
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "Raw native ad failed: ${adError.message}"
+                        }
 
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", adError.code.toString())
-                        if (AdManageKitConfig.enablePerformanceMetrics) {
-                            putString("error_message", adError.message)
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", adError.code.toString())
+                            if (AdManageKitConfig.enablePerformanceMetrics) {
+                                putString("error_message", adError.message)
+                            }
                         }
+                        firebaseAnalytics.logEvent("ad_failed_to_load", params)
+                        onFailed(adError)
                     }
-                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
-                    onFailed(adError)
                 }
-            }
-        })
+            })
+        }
     }
 
     private fun loadNewNativeAd(
@@ -548,81 +562,98 @@ object ProgrammaticNativeAdLoader {
             .applyMediaConfig()
             .build()
 
-        NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
-            override fun onNativeAdLoaded(nativeAd: NativeAd) {
-                // Next-Gen SDK callbacks fire on a background thread; everything below
-                // touches views, so it must run on the main thread.
-                Handler(Looper.getMainLooper()).post {
-                    // NOTE: Do NOT cache ad here - it's passed to callback for immediate display
-                    // Caching is only for preloaded ads that will be shown later via getCachedNativeAd()
-                    // Ads expire after 1 hour, so caching displayed ads wastes memory
-
-                    // Cancelled while the request was in flight: drop and destroy to avoid pushing a
-                    // view into a dead hierarchy or leaking the ad.
-                    if (handle.isCancelled) {
-                        nativeAd.destroy()
-                        return@post
-                    }
-
-                    AdDebugUtils.logEvent(adUnitId, "onAdLoaded", "Programmatic native ad loaded successfully", true)
-
-                    // Click/impression/paid reporting is no longer a separate AdListener - it
-                    // is delivered through the loaded NativeAd's own adEventCallback. This
-                    // replaces the previous separate setupPaidEventListener() call for this path.
-                    // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and are
-                    // no longer forwarded (see migration report).
-                    nativeAd.adEventCallback = object : NativeAdEventCallback {
-                        override fun onAdImpression() {
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                            }
-                            firebaseAnalytics.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
-                            AdDebugUtils.logEvent(adUnitId, "onAdImpression", "Programmatic native ad impression", true)
-                            if (handle.isCancelled) return
-                            callback.onAdImpression()
+        AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+            // Cancelled while the request was queued: never start it
+            if (handle.isCancelled) {
+                ticket.finish()
+                return@submit
+            }
+            NativeAdLoader.load(nativeAdRequest, object : NativeAdLoaderCallback {
+                override fun onNativeAdLoaded(nativeAd: NativeAd) {
+                    ticket.finish()
+                    // Next-Gen SDK callbacks fire on a background thread; everything below
+                    // touches views, so it must run on the main thread.
+                    Handler(Looper.getMainLooper()).post {
+                        // NOTE: Do NOT cache ad here - it's passed to callback for immediate display
+                        // Caching is only for preloaded ads that will be shown later via getCachedNativeAd()
+                        // Ads expire after 1 hour, so caching displayed ads wastes memory
+
+                        // Cancelled while the request was in flight: drop and destroy to avoid pushing a
+                        // view into a dead hierarchy or leaking the ad.
+                        if (handle.isCancelled) {
+                            nativeAd.destroy()
+                            return@post
                         }
 
-                        override fun onAdClicked() {
-                            AdDebugUtils.logEvent(adUnitId, "onAdClicked", "Programmatic native ad clicked", true)
-                            if (handle.isCancelled) return
-                            callback.onAdClicked()
+                        AdDebugUtils.logEvent(adUnitId, "onAdLoaded", true) {
+                            "Programmatic native ad loaded successfully"
                         }
 
-                        override fun onAdPaid(value: AdValue) {
-                            val adValueInStandardUnits = value.valueMicros / 1_000_000.0
-                            val params = Bundle().apply {
-                                putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                                putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
-                                putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                        // Click/impression/paid reporting is no longer a separate AdListener - it
+                        // is delivered through the loaded NativeAd's own adEventCallback. This
+                        // replaces the previous separate setupPaidEventListener() call for this path.
+                        // NOTE: onAdOpened()/onAdClosed() have no Next-Gen native equivalent and are
+                        // no longer forwarded (see migration report).
+                        nativeAd.adEventCallback = object : NativeAdEventCallback {
+                            override fun onAdImpression() {
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                }
+                                firebaseAnalytics.logEvent(FirebaseAnalytics.Event.AD_IMPRESSION, params)
+                                AdDebugUtils.logEvent(adUnitId, "onAdImpression", true) {
+                                    "Programmatic native ad impression"
+                                }
+                                if (handle.isCancelled) return
+                                callback.onAdImpression()
+                            }
+
+                            override fun onAdClicked() {
+                                AdDebugUtils.logEvent(adUnitId, "onAdClicked", true) {
+                                    "Programmatic native ad clicked"
+                                }
+                                if (handle.isCancelled) return
+                                callback.onAdClicked()
+                            }
+
+                            override fun onAdPaid(value: AdValue) {
+                                val adValueInStandardUnits = value.valueMicros / 1_000_000.0
+                                val params = Bundle().apply {
+                                    putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                                    putDouble(FirebaseAnalytics.Param.VALUE, adValueInStandardUnits)
+                                    putString(FirebaseAnalytics.Param.CURRENCY, value.currencyCode)
+                                }
+                                firebaseAnalytics.logEvent("ad_paid_event", params)
                             }
-                            firebaseAnalytics.logEvent("ad_paid_event", params)
                         }
-                    }
 
-                    val nativeAdView = createNativeAdView(activity, size)
-                    populateNativeAdView(nativeAd, nativeAdView, size)
+                        val nativeAdView = createNativeAdView(activity, size)
+                        populateNativeAdView(nativeAd, nativeAdView, size)
 
-                    callback.onAdLoaded(nativeAdView, nativeAd)
+                        callback.onAdLoaded(nativeAdView, nativeAd)
+                    }
                 }
-            }
 
-            override fun onAdFailedToLoad(adError: LoadAdError) {
-                Handler(Looper.getMainLooper()).post {
-                    AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", "Programmatic native ad failed: ${adError.message}", false)
+                override fun onAdFailedToLoad(adError: LoadAdError) {
+                    ticket.finish()
+                    Handler(Looper.getMainLooper()).post {
+                        AdDebugUtils.logEvent(adUnitId, "onFailedToLoad", false) {
+                            "Programmatic native ad failed: ${adError.message}"
+                        }
 
-                    val params = Bundle().apply {
-                        putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
-                        putString("ad_error_code", adError.code.toString())
-                        if (AdManageKitConfig.enablePerformanceMetrics) {
-                            putString("error_message", adError.message)
+                        val params = Bundle().apply {
+                            putString(FirebaseAnalytics.Param.AD_UNIT_NAME, adUnitId)
+                            putString("ad_error_code", adError.code.toString())
+                            if (AdManageKitConfig.enablePerformanceMetrics) {
+                                putString("error_message", adError.message)
+                            }
                         }
+                        firebaseAnalytics.logEvent("ad_failed_to_load", params)
+                        if (handle.isCancelled) return@post
+                        callback.onAdFailedToLoad(adError)
                     }
-                    firebaseAnalytics.logEvent("ad_failed_to_load", params)
-                    if (handle.isCancelled) return@post
-                    callback.onAdFailedToLoad(adError)
                 }
-            }
-        })
+            })
+        }
     }
 
     private fun populateNativeAdView(nativeAd: NativeAd, nativeAdView: NativeAdView, size: NativeAdSize) {
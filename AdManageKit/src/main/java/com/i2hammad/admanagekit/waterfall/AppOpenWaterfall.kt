@@ -8,6 +8,8 @@ import android.util.Log
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicInteger
@@ -47,6 +49,14 @@ class AppOpenWaterfall @JvmOverloads constructor(
     /** Incremented on every load() and destroy(); stale callbacks no-op. */
     private val generation = AtomicInteger(0)
 
+    /** Priority of the current chain: the caller's [AdRequestGovernor.currentPriority]. */
+    @Volatile
+    private var loadPriority = AdRequestPriority.PREFETCH
+
+    /** Provider attempt of the current chain; cancelled when the chain is replaced or destroyed. */
+    @Volatile
+    private var currentAttempt: WaterfallAttempt? = null
+
     private val handler = Handler(Looper.getMainLooper())
 
     companion object {
@@ -59,6 +69,8 @@ class AppOpenWaterfall @JvmOverloads constructor(
      */
     fun load(context: Context, callback: AppOpenAdProvider.AppOpenAdCallback) {
         val token = generation.incrementAndGet()
+        loadPriority = AdRequestGovernor.currentPriority()
+        currentAttempt?.cancel()
         loadedProvider = null
         loadedAdUnitId = null
         loadNext(context, 0, token, callback)
@@ -92,25 +104,26 @@ class AppOpenWaterfall @JvmOverloads constructor(
             return
         }
 
+        val deferred = ProviderReadinessGate.deferIfInitializing(
+            providers.map { it.provider }, index, adUnitResolver, attemptTimeoutMillis, handler, TAG
+        ) { next -> loadNext(context, next, token, callback) }
+        if (deferred) return
+
         Log.d(TAG, "Trying ${provider.provider.displayName} ($adUnitId)")
 
-        // One-shot guard shared by the provider callback and the watchdog.
-        val settled = AtomicBoolean(false)
-        val watchdog = Runnable {
-            if (settled.compareAndSet(false, true)) {
-                Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
-                loadNext(context, index + 1, token, callback)
-            }
+        // Timed from when the request leaves the governor queue; the attempt cancels
+        // its requests if it times out or the chain is cancelled.
+        val attempt = WaterfallAttempt(handler, attemptTimeoutMillis) {
+            Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
+            loadNext(context, index + 1, token, callback)
         }
-        if (attemptTimeoutMillis > 0) handler.postDelayed(watchdog, attemptTimeoutMillis)
 
-        provider.loadAd(context, adUnitId, object : AppOpenAdProvider.AppOpenAdCallback {
+        val stepCallback = object : AppOpenAdProvider.AppOpenAdCallback {
             override fun onAdLoaded() {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} loaded after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} loaded after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
                 if (token != generation.get()) {
                     Log.d(TAG, "${provider.provider.displayName} loaded for a cancelled chain, ignoring")
                     return
@@ -122,15 +135,17 @@ class AppOpenWaterfall @JvmOverloads constructor(
             }
 
             override fun onAdFailedToLoad(error: AdKitAdError) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} failed after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} failed after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
                 Log.w(TAG, "${provider.provider.displayName} failed: ${error.message}")
                 loadNext(context, index + 1, token, callback)
             }
-        })
+        }
+        // The provider submits its request to AdRequestGovernor at the chain's priority
+        currentAttempt = attempt
+        attempt.run(loadPriority) { provider.loadAd(context, adUnitId, stepCallback) }
     }
 
     /**
@@ -193,6 +208,7 @@ class AppOpenWaterfall @JvmOverloads constructor(
      */
     fun destroy() {
         generation.incrementAndGet()
+        currentAttempt?.cancel()
         if (ownsProviders) providers.forEach { it.destroy() }
         loadedProvider = null
         loadedAdUnitId = null
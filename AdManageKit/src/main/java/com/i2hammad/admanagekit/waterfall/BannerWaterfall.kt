@@ -8,8 +8,9 @@ import android.view.View
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
-import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicInteger
 
 /**
@@ -41,6 +42,14 @@ class BannerWaterfall @JvmOverloads constructor(
     /** Incremented on every load() and destroy(); stale callbacks no-op. */
     private val generation = AtomicInteger(0)
 
+    /** Priority of the current chain: the caller's [AdRequestGovernor.currentPriority]. */
+    @Volatile
+    private var loadPriority = AdRequestPriority.PREFETCH
+
+    /** Provider attempt of the current chain; cancelled when the chain is replaced or destroyed. */
+    @Volatile
+    private var currentAttempt: WaterfallAttempt? = null
+
     private val handler = Handler(Looper.getMainLooper())
 
     companion object {
@@ -53,6 +62,8 @@ class BannerWaterfall @JvmOverloads constructor(
      */
     fun load(context: Context, callback: BannerAdProvider.BannerAdCallback) {
         val token = generation.incrementAndGet()
+        loadPriority = AdRequestGovernor.currentPriority()
+        currentAttempt?.cancel()
         loadedProvider = null
         loadNext(context, 0, token, callback)
     }
@@ -94,25 +105,26 @@ class BannerWaterfall @JvmOverloads constructor(
             return
         }
 
+        val deferred = ProviderReadinessGate.deferIfInitializing(
+            providers.map { it.provider }, index, adUnitResolver, attemptTimeoutMillis, handler, TAG
+        ) { next -> loadNext(context, next, token, callback) }
+        if (deferred) return
+
         Log.d(TAG, "Trying ${provider.provider.displayName} ($adUnitId)")
 
-        // One-shot guard shared by the provider callback and the watchdog.
-        val settled = AtomicBoolean(false)
-        val watchdog = Runnable {
-            if (settled.compareAndSet(false, true)) {
-                Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
-                loadNext(context, index + 1, token, callback)
-            }
+        // Timed from when the request leaves the governor queue; the attempt cancels
+        // its requests if it times out or the chain is cancelled.
+        val attempt = WaterfallAttempt(handler, attemptTimeoutMillis) {
+            Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
+            loadNext(context, index + 1, token, callback)
         }
-        if (attemptTimeoutMillis > 0) handler.postDelayed(watchdog, attemptTimeoutMillis)
 
-        provider.loadBanner(context, adUnitId, object : BannerAdProvider.BannerAdCallback {
+        val stepCallback = object : BannerAdProvider.BannerAdCallback {
             override fun onBannerLoaded(bannerView: View) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} loaded after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} loaded after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
                 if (token != generation.get()) {
                     Log.d(TAG, "${provider.provider.displayName} loaded for a cancelled chain, ignoring")
                     return
@@ -128,11 +140,10 @@ class BannerWaterfall @JvmOverloads constructor(
             }
 
             override fun onBannerFailedToLoad(error: AdKitAdError) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} failed after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} failed after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
                 Log.w(TAG, "${provider.provider.displayName} failed: ${error.message}")
                 loadNext(context, index + 1, token, callback)
             }
@@ -140,7 +151,10 @@ class BannerWaterfall @JvmOverloads constructor(
             override fun onBannerClicked() { callback.onBannerClicked() }
             override fun onBannerImpression() { callback.onBannerImpression() }
             override fun onPaidEvent(adValue: AdKitAdValue) { callback.onPaidEvent(adValue) }
-        })
+        }
+        // The provider submits its request to AdRequestGovernor at the chain's priority
+        currentAttempt = attempt
+        attempt.run(loadPriority) { provider.loadBanner(context, adUnitId, stepCallback) }
     }
 
     fun pause() { loadedProvider?.pause() }
@@ -153,6 +167,7 @@ class BannerWaterfall @JvmOverloads constructor(
      */
     fun destroy() {
         generation.incrementAndGet()
+        currentAttempt?.cancel()
         if (ownsProviders) providers.forEach { it.destroy() }
         loadedProvider = null
     }
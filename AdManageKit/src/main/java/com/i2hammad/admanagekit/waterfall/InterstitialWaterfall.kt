@@ -8,7 +8,10 @@ import android.util.Log
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.utils.AdSystrace
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicInteger
 
@@ -58,6 +61,18 @@ class InterstitialWaterfall @JvmOverloads constructor(
     /** Incremented on every load() and destroy(); stale callbacks no-op. */
     private val generation = AtomicInteger(0)
 
+    /** Priority of the current chain: the caller's [AdRequestGovernor.currentPriority]. */
+    @Volatile
+    private var loadPriority = AdRequestPriority.PREFETCH
+
+    /** Provider attempt of the current chain; cancelled when the chain is replaced or destroyed. */
+    @Volatile
+    private var currentAttempt: WaterfallAttempt? = null
+
+    /** Spans the current load chain in system traces, from [load] until it settles. */
+    @Volatile
+    private var chainSlice: AdSystrace.Slice? = null
+
     private val handler = Handler(Looper.getMainLooper())
 
     companion object {
@@ -71,8 +86,12 @@ class InterstitialWaterfall @JvmOverloads constructor(
      */
     fun load(context: Context, callback: InterstitialAdProvider.InterstitialAdCallback) {
         val token = generation.incrementAndGet()
+        loadPriority = AdRequestGovernor.currentPriority()
+        currentAttempt?.cancel()
         loadedProvider = null
         loadedAdUnitId = null
+        chainSlice?.end()
+        chainSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_INTERSTITIAL, "waterfall")
         loadNext(context, 0, token, callback)
     }
 
@@ -89,6 +108,7 @@ class InterstitialWaterfall @JvmOverloads constructor(
 
         if (index >= providers.size) {
             Log.e(TAG, "All providers exhausted")
+            chainSlice?.end(success = false)
             callback.onAdFailedToLoad(
                 AdKitAdError(AdKitAdError.ERROR_CODE_NO_FILL, "All providers exhausted", "waterfall")
             )
@@ -104,45 +124,53 @@ class InterstitialWaterfall @JvmOverloads constructor(
             return
         }
 
+        val deferred = ProviderReadinessGate.deferIfInitializing(
+            providers.map { it.provider }, index, adUnitResolver, attemptTimeoutMillis, handler, TAG
+        ) { next -> loadNext(context, next, token, callback) }
+        if (deferred) return
+
         Log.d(TAG, "Trying ${provider.provider.displayName} ($adUnitId)")
+        val stepSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_INTERSTITIAL, "load", provider.provider.name, adUnitId)
 
-        // One-shot guard shared by the provider callback and the watchdog.
-        val settled = AtomicBoolean(false)
-        val watchdog = Runnable {
-            if (settled.compareAndSet(false, true)) {
-                Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
-                loadNext(context, index + 1, token, callback)
-            }
+        // Timed from when the request leaves the governor queue; the attempt cancels
+        // its requests if it times out or the chain is cancelled.
+        val attempt = WaterfallAttempt(handler, attemptTimeoutMillis) {
+            stepSlice?.end(success = false)
+            Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
+            loadNext(context, index + 1, token, callback)
         }
-        if (attemptTimeoutMillis > 0) handler.postDelayed(watchdog, attemptTimeoutMillis)
 
-        provider.loadAd(context, adUnitId, object : InterstitialAdProvider.InterstitialAdCallback {
+        val stepCallback = object : InterstitialAdProvider.InterstitialAdCallback {
             override fun onAdLoaded() {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} loaded after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} loaded after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
+                stepSlice?.end()
                 if (token != generation.get()) {
                     Log.d(TAG, "${provider.provider.displayName} loaded for a cancelled chain, ignoring")
                     return
                 }
                 Log.d(TAG, "Loaded from ${provider.provider.displayName}")
+                chainSlice?.end()
                 loadedProvider = provider
                 loadedAdUnitId = adUnitId
                 callback.onAdLoaded()
             }
 
             override fun onAdFailedToLoad(error: AdKitAdError) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} failed after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} failed after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
+                stepSlice?.end(success = false)
                 Log.w(TAG, "${provider.provider.displayName} failed: ${error.message}")
                 loadNext(context, index + 1, token, callback)
             }
-        })
+        }
+        // The provider submits its request to AdRequestGovernor at the chain's priority
+        currentAttempt = attempt
+        attempt.run(loadPriority) { provider.loadAd(context, adUnitId, stepCallback) }
     }
 
     /**
@@ -168,10 +196,12 @@ class InterstitialWaterfall @JvmOverloads constructor(
         // Providers may emit both onAdFailedToShow and onAdDismissed on a failed
         // show; deliver only the first terminal event to the caller.
         val terminalDelivered = AtomicBoolean(false)
+        val showSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_INTERSTITIAL, "show", provider.provider.name, adUnitId)
 
         provider.showAd(activity, adUnitId, object : InterstitialAdProvider.InterstitialShowCallback {
             override fun onAdShowed() { callback.onAdShowed() }
             override fun onAdDismissed() {
+                showSlice?.end()
                 if (terminalDelivered.compareAndSet(false, true)) {
                     callback.onAdDismissed()
                 } else {
@@ -179,6 +209,7 @@ class InterstitialWaterfall @JvmOverloads constructor(
                 }
             }
             override fun onAdFailedToShow(error: AdKitAdError) {
+                showSlice?.end(success = false)
                 if (terminalDelivered.compareAndSet(false, true)) {
                     callback.onAdFailedToShow(error)
                 } else {
@@ -205,6 +236,8 @@ class InterstitialWaterfall @JvmOverloads constructor(
      */
     fun destroy() {
         generation.incrementAndGet()
+        currentAttempt?.cancel()
+        chainSlice?.end()
         if (ownsProviders) providers.forEach { it.destroy() }
         loadedProvider = null
         loadedAdUnitId = null
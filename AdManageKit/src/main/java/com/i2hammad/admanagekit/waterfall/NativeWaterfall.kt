@@ -5,12 +5,15 @@ import android.os.Handler
 import android.os.Looper
 import android.util.Log
 import android.view.View
+import com.i2hammad.admanagekit.admob.NativeAdManager
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdKitAdValue
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
-import java.util.concurrent.atomic.AtomicBoolean
+import com.i2hammad.admanagekit.utils.AdSystrace
 import java.util.concurrent.atomic.AtomicInteger
 
 /**
@@ -39,9 +42,25 @@ class NativeWaterfall @JvmOverloads constructor(
     @Volatile
     private var loadedProvider: NativeAdProvider? = null
 
+    /** The network that served the last successful load, or null. */
+    val loadedAdProvider: com.i2hammad.admanagekit.core.ad.AdProvider?
+        get() = loadedProvider?.provider
+
     /** Incremented on every load() and destroy(); stale callbacks no-op. */
     private val generation = AtomicInteger(0)
 
+    /** Priority of the current chain: the caller's [AdRequestGovernor.currentPriority]. */
+    @Volatile
+    private var loadPriority = AdRequestPriority.PREFETCH
+
+    /** Provider attempt of the current chain; cancelled when the chain is replaced or destroyed. */
+    @Volatile
+    private var currentAttempt: WaterfallAttempt? = null
+
+    /** Spans the current load chain in system traces, from [load] until it settles. */
+    @Volatile
+    private var chainSlice: AdSystrace.Slice? = null
+
     private val handler = Handler(Looper.getMainLooper())
 
     companion object {
@@ -59,10 +78,43 @@ class NativeWaterfall @JvmOverloads constructor(
         templateLayoutResId: Int = 0
     ) {
         val token = generation.incrementAndGet()
+        loadPriority = AdRequestGovernor.currentPriority()
+        currentAttempt?.cancel()
         loadedProvider = null
+        chainSlice?.end()
+        chainSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "waterfall")
         loadNext(context, 0, token, callback, sizeHint, templateLayoutResId)
     }
 
+    /**
+     * Like [load], but first serves an ad preloaded for [cacheKey] into
+     * [NativeAdManager.waterfallInventory] when one was rendered for the same
+     * [sizeHint] and [templateLayoutResId]. The chain only runs on a cache miss.
+     */
+    fun load(
+        context: Context,
+        cacheKey: String,
+        callback: NativeAdProvider.NativeAdCallback,
+        sizeHint: NativeAdSize = NativeAdSize.LARGE,
+        templateLayoutResId: Int = 0
+    ) {
+        val cached = NativeAdManager.getCachedWaterfallNativeAd(
+            cacheKey, sizeHint, templateLayoutResId, enableFallbackToAnyAd = true
+        ) ?: return load(context, callback, sizeHint, templateLayoutResId)
+
+        val token = generation.incrementAndGet()
+        currentAttempt?.cancel()
+        loadedProvider = providers.firstOrNull { it.provider == cached.provider }
+        Log.d(TAG, "Served ${cached.provider.displayName} ad from cache for $cacheKey")
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            cached.deliverTo(callback)
+        } else {
+            handler.post {
+                if (token == generation.get()) cached.deliverTo(callback) else cached.destroy()
+            }
+        }
+    }
+
     private fun loadNext(
         context: Context,
         index: Int,
@@ -86,6 +138,7 @@ class NativeWaterfall @JvmOverloads constructor(
 
         if (index >= providers.size) {
             Log.e(TAG, "All providers exhausted")
+            chainSlice?.end(success = false)
             callback.onNativeAdFailedToLoad(
                 AdKitAdError(AdKitAdError.ERROR_CODE_NO_FILL, "All providers exhausted", "waterfall")
             )
@@ -101,30 +154,35 @@ class NativeWaterfall @JvmOverloads constructor(
             return
         }
 
+        val deferred = ProviderReadinessGate.deferIfInitializing(
+            providers.map { it.provider }, index, adUnitResolver, attemptTimeoutMillis, handler, TAG
+        ) { next -> loadNext(context, next, token, callback, sizeHint, templateLayoutResId) }
+        if (deferred) return
+
         Log.d(TAG, "Trying ${provider.provider.displayName} ($adUnitId)")
+        val stepSlice = AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", provider.provider.name, adUnitId)
 
-        // One-shot guard shared by the provider callback and the watchdog.
-        val settled = AtomicBoolean(false)
-        val watchdog = Runnable {
-            if (settled.compareAndSet(false, true)) {
-                Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
-                loadNext(context, index + 1, token, callback, sizeHint, templateLayoutResId)
-            }
+        // Timed from when the request leaves the governor queue; the attempt cancels
+        // its requests if it times out or the chain is cancelled.
+        val attempt = WaterfallAttempt(handler, attemptTimeoutMillis) {
+            stepSlice?.end(success = false)
+            Log.w(TAG, "${provider.provider.displayName} timed out after ${attemptTimeoutMillis}ms (code ${AdKitAdError.ERROR_CODE_TIMEOUT})")
+            loadNext(context, index + 1, token, callback, sizeHint, templateLayoutResId)
         }
-        if (attemptTimeoutMillis > 0) handler.postDelayed(watchdog, attemptTimeoutMillis)
 
-        provider.loadNativeAd(context, adUnitId, callback = object : NativeAdProvider.NativeAdCallback {
+        val stepCallback = object : NativeAdProvider.NativeAdCallback {
             override fun onNativeAdLoaded(adView: View, nativeAdRef: Any) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} loaded after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} loaded after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
+                stepSlice?.end()
                 if (token != generation.get()) {
                     Log.d(TAG, "${provider.provider.displayName} loaded for a cancelled chain, ignoring")
                     return
                 }
                 Log.d(TAG, "Loaded from ${provider.provider.displayName}")
+                chainSlice?.end()
                 loadedProvider = provider
                 // Deliver on the main thread — the consumer inflates/adds the native View.
                 if (Looper.myLooper() == Looper.getMainLooper()) {
@@ -135,11 +193,11 @@ class NativeWaterfall @JvmOverloads constructor(
             }
 
             override fun onNativeAdFailedToLoad(error: AdKitAdError) {
-                if (!settled.compareAndSet(false, true)) {
-                    Log.d(TAG, "${provider.provider.displayName} failed after timeout, ignoring")
+                if (!attempt.settle()) {
+                    Log.d(TAG, "${provider.provider.displayName} failed after its attempt ended, ignoring")
                     return
                 }
-                handler.removeCallbacks(watchdog)
+                stepSlice?.end(success = false)
                 Log.w(TAG, "${provider.provider.displayName} failed: ${error.message}")
                 loadNext(context, index + 1, token, callback, sizeHint, templateLayoutResId)
             }
@@ -149,7 +207,10 @@ class NativeWaterfall @JvmOverloads constructor(
             override fun onPaidEvent(adValue: AdKitAdValue) { callback.onPaidEvent(adValue) }
             override fun onNativeAdOpened() { callback.onNativeAdOpened() }
             override fun onNativeAdClosed() { callback.onNativeAdClosed() }
-        }, sizeHint = sizeHint, templateLayoutResId = templateLayoutResId)
+        }
+        // The provider submits its request to AdRequestGovernor at the chain's priority
+        currentAttempt = attempt
+        attempt.run(loadPriority) { provider.loadNativeAd(context, adUnitId, stepCallback, sizeHint, templateLayoutResId) }
     }
 
     /**
@@ -159,6 +220,8 @@ class NativeWaterfall @JvmOverloads constructor(
      */
     fun destroy() {
         generation.incrementAndGet()
+        currentAttempt?.cancel()
+        chainSlice?.end()
         if (ownsProviders) providers.forEach { it.destroy() }
         loadedProvider = null
     }
@@ -0,0 +1,85 @@
+package com.i2hammad.admanagekit.waterfall
+
+import android.os.Handler
+import android.util.Log
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Readiness checks shared by the waterfalls.
+ *
+ * A provider whose SDK is still initializing ([AdProviderReadiness.isInitializing])
+ * would only burn its attempt timeout, so a waterfall passes over it when a later
+ * provider can serve, and otherwise waits for its ready signal instead of polling.
+ * Providers with no published state are treated as ready.
+ */
+internal object ProviderReadinessGate {
+
+    /** True if any provider after [index] is not initializing and has an ad unit. */
+    fun hasUsableAfter(
+        chain: List<AdProvider>,
+        index: Int,
+        adUnitResolver: (AdProvider) -> String?
+    ): Boolean = (index + 1 until chain.size).any { i ->
+        !AdProviderReadiness.isInitializing(chain[i]) && adUnitResolver(chain[i]) != null
+    }
+
+    /**
+     * Holds back the waterfall step at [index] while its provider is initializing.
+     *
+     * Returns false if the provider can be tried now. Otherwise returns true and calls
+     * [next] with the index to continue from: at once with `index + 1` when a later
+     * provider can serve, or once the provider is ready with [index], or with
+     * `index + 1` after [timeoutMillis].
+     */
+    fun deferIfInitializing(
+        chain: List<AdProvider>,
+        index: Int,
+        adUnitResolver: (AdProvider) -> String?,
+        timeoutMillis: Long,
+        handler: Handler,
+        tag: String,
+        next: (index: Int) -> Unit
+    ): Boolean {
+        val provider = chain[index]
+        if (!AdProviderReadiness.isInitializing(provider)) return false
+        if (hasUsableAfter(chain, index, adUnitResolver)) {
+            Log.d(tag, "${provider.displayName} still initializing, skipping")
+            next(index + 1)
+        } else {
+            Log.d(tag, "${provider.displayName} still initializing, waiting for it")
+            await(provider, timeoutMillis, handler) { ready -> next(if (ready) index else index + 1) }
+        }
+        return true
+    }
+
+    /**
+     * Calls [onSettled] on [handler]'s thread exactly once: with true when [provider]
+     * becomes ready, or false after [timeoutMillis] (no timeout when <= 0).
+     */
+    fun await(
+        provider: AdProvider,
+        timeoutMillis: Long,
+        handler: Handler,
+        onSettled: (ready: Boolean) -> Unit
+    ) {
+        val settled = AtomicBoolean(false)
+        var subscription: AdProviderReadiness.Subscription? = null
+        val timeout = Runnable {
+            if (settled.compareAndSet(false, true)) {
+                subscription?.cancel()
+                onSettled(false)
+            }
+        }
+        if (timeoutMillis > 0) handler.postDelayed(timeout, timeoutMillis)
+        subscription = AdProviderReadiness.whenReady(provider) {
+            handler.post {
+                if (settled.compareAndSet(false, true)) {
+                    handler.removeCallbacks(timeout)
+                    onSettled(true)
+                }
+            }
+        }
+    }
+}
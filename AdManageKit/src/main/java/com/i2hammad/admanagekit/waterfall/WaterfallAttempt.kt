@@ -0,0 +1,87 @@
+package com.i2hammad.admanagekit.waterfall
+
+import android.os.Handler
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * One provider attempt of a waterfall, with its timeout.
+ *
+ * The timeout runs from when the attempt's request leaves the [AdRequestGovernor]
+ * queue, so time spent waiting for a slot does not use it up. A provider that does
+ * not submit through the governor, or defers its request (e.g. until its SDK is
+ * initialized), is timed from [run].
+ *
+ * Once the attempt times out or is [cancel]led, its queued requests are dropped and
+ * its running ones free their slots, so an abandoned attempt never sends a request
+ * whose ad nobody takes.
+ *
+ * @param onTimeout Runs on [handler]'s thread if the provider has not reported first
+ */
+internal class WaterfallAttempt(
+    private val handler: Handler,
+    private val timeoutMillis: Long,
+    private val onTimeout: () -> Unit
+) : AdRequestGovernor.RequestObserver {
+
+    private val settled = AtomicBoolean(false)
+    private val timerStarted = AtomicBoolean(false)
+
+    @Volatile
+    private var abandoned = false
+    private val tickets = LinkedHashSet<AdRequestScheduler.Ticket>()
+
+    private val watchdog = Runnable {
+        if (settled.compareAndSet(false, true)) {
+            abandon()
+            onTimeout()
+        }
+    }
+
+    /** Runs [load], which calls the provider, at [priority]. */
+    fun run(priority: AdRequestPriority, load: () -> Unit) {
+        AdRequestGovernor.withPriority(priority, this, load)
+        if (synchronized(tickets) { tickets.isEmpty() }) startTimer()
+    }
+
+    /**
+     * Records the provider's result. Returns false if the attempt already timed out or
+     * was cancelled, and the result should be ignored.
+     */
+    fun settle(): Boolean {
+        if (!settled.compareAndSet(false, true)) return false
+        handler.removeCallbacks(watchdog)
+        return true
+    }
+
+    /** Abandons the attempt, e.g. because its chain was cancelled. */
+    fun cancel() {
+        if (settled.compareAndSet(false, true)) {
+            handler.removeCallbacks(watchdog)
+            abandon()
+        }
+    }
+
+    override fun onSubmitted(ticket: AdRequestScheduler.Ticket) {
+        synchronized(tickets) { tickets.add(ticket) }
+        if (abandoned) ticket.cancel()
+    }
+
+    override fun onStarted(ticket: AdRequestScheduler.Ticket) {
+        synchronized(tickets) { tickets.add(ticket) }
+        if (abandoned) ticket.cancel() else startTimer()
+    }
+
+    private fun startTimer() {
+        if (timeoutMillis > 0 && !settled.get() && timerStarted.compareAndSet(false, true)) {
+            handler.postDelayed(watchdog, timeoutMillis)
+        }
+    }
+
+    private fun abandon() {
+        abandoned = true
+        synchronized(tickets) { tickets.toList() }.forEach { it.cancel() }
+    }
+}
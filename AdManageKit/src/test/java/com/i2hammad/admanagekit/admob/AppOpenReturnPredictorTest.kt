@@ -0,0 +1,117 @@
+package com.i2hammad.admanagekit.admob
+
+import android.content.Context
+import android.content.SharedPreferences
+import androidx.test.core.app.ApplicationProvider
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for [AppOpenReturnPredictor]: interval recording and persistence, and the
+ * refresh delay chosen for a given return history.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class AppOpenReturnPredictorTest {
+
+    private lateinit var prefs: SharedPreferences
+
+    private val minute = 60_000L
+    private val hour = 60 * minute
+    private val load = 5_000L
+    private val freshness = 4 * hour
+
+    @Before
+    fun setUp() {
+        prefs = ApplicationProvider.getApplicationContext<Context>()
+            .getSharedPreferences(AppOpenReturnPredictor.PREFS_NAME, Context.MODE_PRIVATE)
+        prefs.edit().clear().commit()
+    }
+
+    private fun predictor(vararg intervals: Long) =
+        AppOpenReturnPredictor(prefs).apply { intervals.forEach { record(it) } }
+
+    @Test
+    fun `background to foreground interval is recorded and persisted`() {
+        val first = AppOpenReturnPredictor(prefs)
+        first.onBackground(1_000L)
+        first.onForeground(1_000L + 10 * minute)
+        first.onForeground(2_000_000L) // no pending background
+
+        assertEquals(1, first.sampleCount)
+        assertEquals(1, AppOpenReturnPredictor(prefs).sampleCount)
+    }
+
+    @Test
+    fun `return after process death is still counted`() {
+        AppOpenReturnPredictor(prefs).onBackground(1_000L)
+
+        val restarted = AppOpenReturnPredictor(prefs)
+        restarted.onForeground(1_000L + 6 * hour)
+
+        assertEquals(1, restarted.sampleCount)
+    }
+
+    @Test
+    fun `clock changes are ignored`() {
+        val predictor = predictor(-5L, 30L * 24 * hour)
+
+        assertEquals(0, predictor.sampleCount)
+    }
+
+    @Test
+    fun `history is bounded`() {
+        val predictor = AppOpenReturnPredictor(prefs, maxSamples = 3)
+        repeat(5) { predictor.record(minute) }
+
+        assertEquals(3, predictor.sampleCount)
+    }
+
+    @Test
+    fun `needs enough history`() {
+        assertFalse(predictor(*LongArray(7) { hour }).hasEnoughHistory())
+        assertTrue(predictor(*LongArray(8) { hour }).hasEnoughHistory())
+    }
+
+    @Test
+    fun `short returns prefetch immediately`() {
+        val predictor = predictor(*LongArray(10) { (it + 1) * 10 * minute })
+
+        assertEquals(0L, predictor.refreshDelay(load, freshness, coveredMillis = 0L))
+    }
+
+    @Test
+    fun `long absences delay the refresh until just before the return`() {
+        val predictor = predictor(*LongArray(10) { 5 * hour + it * minute })
+
+        assertEquals(5 * hour - load, predictor.refreshDelay(load, freshness, coveredMillis = 0L))
+    }
+
+    @Test
+    fun `fresh cached ad covering the likely return is kept`() {
+        val predictor = predictor(*LongArray(10) { (it + 1) * 10 * minute })
+
+        assertNull(predictor.refreshDelay(load, freshness, coveredMillis = 3 * hour))
+    }
+
+    @Test
+    fun `fresh cached ad that goes stale before the return is replaced`() {
+        val predictor = predictor(*LongArray(10) { 5 * hour + it * minute })
+
+        assertEquals(5 * hour - load, predictor.refreshDelay(load, freshness, coveredMillis = 3 * hour))
+    }
+
+    @Test
+    fun `returns faster than a load need no prefetch`() {
+        val predictor = predictor(*LongArray(10) { 1_000L })
+
+        assertNull(predictor.refreshDelay(load, freshness, coveredMillis = 0L))
+    }
+}
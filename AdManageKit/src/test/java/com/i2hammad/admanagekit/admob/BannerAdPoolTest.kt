@@ -0,0 +1,155 @@
+package com.i2hammad.admanagekit.admob
+
+import android.os.Looper
+import androidx.activity.ComponentActivity
+import com.google.android.libraries.ads.mobile.sdk.banner.AdView
+import com.google.android.libraries.ads.mobile.sdk.banner.BannerAd
+import com.google.android.libraries.ads.mobile.sdk.common.AdLoadCallback
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.config.BannerAdSize
+import com.i2hammad.admanagekit.config.CollapsibleBannerPlacement
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.time.Duration
+import kotlin.time.Duration.Companion.minutes
+
+/**
+ * Tests for [BannerAdPool]: take and refill, expiry pruning, the per-key limit and
+ * memory release. AdViews are mocks whose loads complete on demand.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class BannerAdPoolTest {
+
+    private val activity = Robolectric.buildActivity(ComponentActivity::class.java).setup().get()
+    private val adViews = ArrayList<AdView>()
+    private val pending = ArrayDeque<AdLoadCallback<BannerAd>>()
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        BannerAdPool.createAdView = {
+            mockk<AdView>(relaxed = true).also { adView ->
+                every { adView.loadAd(any(), any<AdLoadCallback<BannerAd>>()) } answers { pending.addLast(secondArg()) }
+                adViews += adView
+            }
+        }
+    }
+
+    @After
+    fun tearDown() {
+        // Settle the remaining loads so their request slots are freed
+        while (pending.isNotEmpty()) pending.removeFirst().onAdFailedToLoad(mockk(relaxed = true))
+        idle()
+        BannerAdPool.clearAll()
+        BannerAdPool.createAdView = { AdView(it) }
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    private fun idle() = shadowOf(Looper.getMainLooper()).idle()
+
+    private fun preload(unit: String = "unit", count: Int = 1) =
+        BannerAdPool.preload(activity, unit, BannerAdSize.BANNER, count = count)
+
+    private fun take(unit: String = "unit") =
+        BannerAdPool.take(activity, unit, BannerAdSize.BANNER, false, CollapsibleBannerPlacement.BOTTOM)
+
+    private fun completeNext() {
+        pending.removeFirst().onAdLoaded(mockk(relaxed = true))
+        idle()
+    }
+
+    @Test
+    fun `take returns a loaded banner and refills its slot`() {
+        preload()
+        assertNull(take())
+        completeNext()
+
+        val banner = take()
+
+        assertNotNull(banner)
+        assertSame(adViews[0], banner!!.adView)
+        assertSame(activity, banner.contextWrapper.baseContext)
+        assertEquals(1, pending.size)
+    }
+
+    @Test
+    fun `take misses for another ad unit or size`() {
+        preload()
+        completeNext()
+
+        assertNull(take("other"))
+        assertNull(BannerAdPool.take(activity, "unit", BannerAdSize.LARGE_BANNER, false, CollapsibleBannerPlacement.BOTTOM))
+        assertTrue(BannerAdPool.hasBanner("unit", BannerAdSize.BANNER))
+    }
+
+    @Test
+    fun `preload is clamped to the per-key limit`() {
+        AdManageKitConfig.maxPooledBannersPerKey = 2
+
+        preload(count = 5)
+
+        assertEquals(2, pending.size)
+        preload(count = 5)
+        assertEquals(2, pending.size)
+    }
+
+    @Test
+    fun `expired banners are destroyed and not handed out`() {
+        AdManageKitConfig.bannerPoolExpiry = 1.minutes
+        val expiredBefore = BannerAdPool.getPoolStats()["expired_destroyed"] as Long
+        preload()
+        completeNext()
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMinutes(1))
+
+        assertFalse(BannerAdPool.hasBanner("unit", BannerAdSize.BANNER))
+        verify { adViews[0].destroy() }
+        assertEquals(expiredBefore + 1, BannerAdPool.getPoolStats()["expired_destroyed"])
+    }
+
+    @Test
+    fun `prune is rescheduled for a banner loaded later`() {
+        AdManageKitConfig.bannerPoolExpiry = 1.minutes
+        preload(count = 2)
+        completeNext()
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(30))
+        completeNext()
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(30))
+        verify { adViews[0].destroy() }
+        assertTrue(BannerAdPool.hasBanner("unit", BannerAdSize.BANNER))
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(30))
+        verify { adViews[1].destroy() }
+        assertFalse(BannerAdPool.hasBanner("unit", BannerAdSize.BANNER))
+    }
+
+    @Test
+    fun `release destroys every ready banner but keeps the slot`() {
+        preload(count = 2)
+        completeNext()
+        completeNext()
+
+        assertEquals(2, BannerAdPool.release(all = true))
+
+        assertFalse(BannerAdPool.hasBanner("unit", BannerAdSize.BANNER))
+        assertNull(take())
+        assertEquals(2, pending.size)
+    }
+}
@@ -0,0 +1,123 @@
+package com.i2hammad.admanagekit.admob
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.time.Duration
+
+/**
+ * Tests for [BannerRefreshTimer]: the countdown only runs while resumed and keeps
+ * its remaining time across pauses.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class BannerRefreshTimerTest {
+
+    private var fired = 0
+    private lateinit var timer: BannerRefreshTimer
+
+    @Before
+    fun setUp() {
+        fired = 0
+        // 1 ms window: no batching, so the countdown is exact
+        val wheel = BannerRefreshWheel(
+            handler = Handler(Looper.getMainLooper()),
+            clock = SystemClock::uptimeMillis,
+            windowMs = { 1L },
+            staggerMs = { 0L }
+        )
+        timer = BannerRefreshTimer(wheel) { fired++ }
+    }
+
+    private fun advance(ms: Long) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms))
+    }
+
+    @Test
+    fun `start arms the timer paused`() {
+        timer.start(1_000)
+        advance(5_000)
+
+        assertEquals(0, fired)
+        assertTrue(timer.isArmed)
+        assertFalse(timer.isRunning)
+        assertEquals(1_000, timer.remainingMillis())
+    }
+
+    @Test
+    fun `resumed timer fires once after the duration`() {
+        timer.start(1_000)
+        timer.resume()
+
+        advance(999)
+        assertEquals(0, fired)
+        advance(1)
+        assertEquals(1, fired)
+        assertFalse(timer.isArmed)
+
+        advance(5_000)
+        assertEquals(1, fired)
+    }
+
+    @Test
+    fun `pause keeps the remaining time`() {
+        timer.start(1_000)
+        timer.resume()
+        advance(600)
+        timer.pause()
+
+        advance(10_000)
+        assertEquals(0, fired)
+        assertEquals(400, timer.remainingMillis())
+
+        timer.resume()
+        advance(399)
+        assertEquals(0, fired)
+        advance(1)
+        assertEquals(1, fired)
+    }
+
+    @Test
+    fun `cancel disarms the timer`() {
+        timer.start(1_000)
+        timer.resume()
+        timer.cancel()
+
+        advance(5_000)
+        assertEquals(0, fired)
+        assertFalse(timer.isArmed)
+        assertEquals(-1, timer.remainingMillis())
+    }
+
+    @Test
+    fun `start replaces a running countdown`() {
+        timer.start(1_000)
+        timer.resume()
+        advance(900)
+
+        timer.start(1_000)
+        timer.resume()
+        advance(500)
+        assertEquals(0, fired)
+        advance(500)
+        assertEquals(1, fired)
+    }
+
+    @Test
+    fun `resume is a no-op when idle`() {
+        timer.resume()
+        advance(5_000)
+
+        assertEquals(0, fired)
+        assertFalse(timer.isRunning)
+    }
+}
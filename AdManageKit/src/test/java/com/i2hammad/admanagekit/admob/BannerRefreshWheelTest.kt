@@ -0,0 +1,138 @@
+package com.i2hammad.admanagekit.admob
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.time.Duration
+
+/**
+ * Tests for [BannerRefreshWheel]: refreshes are batched onto shared window
+ * boundaries, never fire early, and are staggered within a batch.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class BannerRefreshWheelTest {
+
+    private val fired = mutableListOf<String>()
+    private lateinit var wheel: BannerRefreshWheel
+
+    @Before
+    fun setUp() {
+        fired.clear()
+        wheel = BannerRefreshWheel(
+            handler = Handler(Looper.getMainLooper()),
+            clock = SystemClock::uptimeMillis,
+            windowMs = { WINDOW },
+            staggerMs = { STAGGER }
+        )
+        // Start every test exactly on a window boundary
+        advance(WINDOW - SystemClock.uptimeMillis() % WINDOW)
+    }
+
+    private fun advance(ms: Long) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms))
+    }
+
+    private fun entry(name: String) = BannerRefreshWheel.Entry { fired.add(name) }
+
+    @Test
+    fun `refreshes due in the same window share one wakeup`() {
+        wheel.schedule(entry("a"), 100)
+        wheel.schedule(entry("b"), 300)
+
+        advance(WINDOW + STAGGER)
+
+        assertEquals(listOf("a", "b"), fired)
+        assertEquals(1L, wheel.stats()["wakeups"])
+        assertEquals(2L, wheel.stats()["refreshes_batched"])
+        assertEquals(2L, wheel.stats()["refreshes_fired"])
+    }
+
+    @Test
+    fun `refresh is rounded up to the window boundary, never early`() {
+        wheel.schedule(entry("a"), 100)
+
+        advance(WINDOW - 1)
+        assertTrue(fired.isEmpty())
+
+        advance(1)
+        assertEquals(listOf("a"), fired)
+    }
+
+    @Test
+    fun `refreshes in one batch are staggered`() {
+        wheel.schedule(entry("a"), 100)
+        wheel.schedule(entry("b"), 200)
+
+        advance(WINDOW)
+        assertEquals(listOf("a"), fired)
+
+        advance(STAGGER)
+        assertEquals(listOf("a", "b"), fired)
+    }
+
+    @Test
+    fun `cancel removes a staggered refresh that has not fired yet`() {
+        val b = entry("b")
+        wheel.schedule(entry("a"), 100)
+        wheel.schedule(b, 200)
+
+        advance(WINDOW)
+        assertTrue(wheel.isScheduled(b))
+        wheel.cancel(b)
+
+        advance(WINDOW)
+        assertEquals(listOf("a"), fired)
+        assertFalse(wheel.isScheduled(b))
+    }
+
+    @Test
+    fun `refreshes in different windows wake separately`() {
+        wheel.schedule(entry("a"), 100)
+        wheel.schedule(entry("b"), WINDOW + 100)
+
+        advance(3 * WINDOW)
+
+        assertEquals(listOf("a", "b"), fired)
+        assertEquals(2L, wheel.stats()["wakeups"])
+        assertEquals(0L, wheel.stats()["refreshes_batched"])
+    }
+
+    @Test
+    fun `rescheduling replaces the pending refresh`() {
+        val a = entry("a")
+        wheel.schedule(a, 100)
+        wheel.schedule(a, 3 * WINDOW)
+
+        advance(2 * WINDOW)
+        assertTrue(fired.isEmpty())
+
+        advance(WINDOW)
+        assertEquals(listOf("a"), fired)
+    }
+
+    @Test
+    fun `deadlines beyond one wheel turn still fire on time`() {
+        wheel.schedule(entry("a"), 70 * WINDOW)
+
+        advance(70 * WINDOW - 1)
+        assertTrue(fired.isEmpty())
+
+        advance(1)
+        assertEquals(listOf("a"), fired)
+    }
+
+    private companion object {
+        const val WINDOW = 1_000L
+        const val STAGGER = 100L
+    }
+}
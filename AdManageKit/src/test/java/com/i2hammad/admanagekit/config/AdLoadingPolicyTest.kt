@@ -0,0 +1,78 @@
+package com.i2hammad.admanagekit.config
+
+import com.i2hammad.admanagekit.config.AdLoadingPolicy.Decision
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Tests for [AdLoadingPolicy]: the decision per [AdLoadingStrategy], when the cache is
+ * asked, the interstitial interval, and which failures are retried after which delay.
+ */
+class AdLoadingPolicyTest {
+
+    private fun decide(strategy: AdLoadingStrategy, cached: Boolean): Pair<Decision, Int> {
+        var asked = 0
+        val decision = AdLoadingPolicy.decide(strategy) { asked++; cached }
+        return decision to asked
+    }
+
+    @Test
+    fun `on demand always loads fresh without reading the cache`() {
+        assertEquals(Decision.LOAD_FRESH to 0, decide(AdLoadingStrategy.ON_DEMAND, cached = true))
+    }
+
+    @Test
+    fun `only cache shows a cached ad or skips`() {
+        assertEquals(Decision.SHOW_CACHED to 1, decide(AdLoadingStrategy.ONLY_CACHE, cached = true))
+        assertEquals(Decision.SKIP to 1, decide(AdLoadingStrategy.ONLY_CACHE, cached = false))
+    }
+
+    @Test
+    fun `hybrid shows a cached ad or loads fresh`() {
+        assertEquals(Decision.SHOW_CACHED to 1, decide(AdLoadingStrategy.HYBRID, cached = true))
+        assertEquals(Decision.LOAD_FRESH to 1, decide(AdLoadingStrategy.HYBRID, cached = false))
+    }
+
+    @Test
+    fun `fresh with cache fallback loads fresh without reading the cache`() {
+        assertEquals(
+            Decision.LOAD_FRESH_WITH_CACHE_FALLBACK to 0,
+            decide(AdLoadingStrategy.FRESH_WITH_CACHE_FALLBACK, cached = true)
+        )
+    }
+
+    @Test
+    fun `interval elapses only strictly after it`() {
+        assertFalse(AdLoadingPolicy.isIntervalElapsed(lastShownAtMillis = 1_000, nowMillis = 1_500, intervalMillis = 500))
+        assertTrue(AdLoadingPolicy.isIntervalElapsed(lastShownAtMillis = 1_000, nowMillis = 1_501, intervalMillis = 500))
+    }
+
+    @Test
+    fun `only network and internal errors are retryable`() {
+        assertTrue(AdLoadingPolicy.isRetryable(AdKitAdError.ERROR_CODE_NETWORK))
+        assertTrue(AdLoadingPolicy.isRetryable(AdKitAdError.ERROR_CODE_INTERNAL))
+        assertFalse(AdLoadingPolicy.isRetryable(AdKitAdError.ERROR_CODE_NO_FILL))
+        assertFalse(AdLoadingPolicy.isRetryable(AdKitAdError.ERROR_CODE_INVALID_REQUEST))
+        assertFalse(AdLoadingPolicy.isRetryable(AdKitAdError.ERROR_CODE_TIMEOUT))
+    }
+
+    @Test
+    fun `retries stop when disabled or out of attempts`() {
+        val network = AdKitAdError.ERROR_CODE_NETWORK
+        assertTrue(AdLoadingPolicy.shouldRetry(network, attempt = 2, enabled = true, maxAttempts = 3))
+        assertFalse(AdLoadingPolicy.shouldRetry(network, attempt = 3, enabled = true, maxAttempts = 3))
+        assertFalse(AdLoadingPolicy.shouldRetry(network, attempt = 0, enabled = false, maxAttempts = 3))
+        assertFalse(AdLoadingPolicy.shouldRetry(AdKitAdError.ERROR_CODE_NO_FILL, attempt = 0, enabled = true, maxAttempts = 3))
+    }
+
+    @Test
+    fun `retry delay doubles per attempt up to the cap, or stays flat`() {
+        assertEquals(1_000L, AdLoadingPolicy.retryDelayMillis(0, 1_000, 5_000, exponential = true))
+        assertEquals(4_000L, AdLoadingPolicy.retryDelayMillis(2, 1_000, 5_000, exponential = true))
+        assertEquals(5_000L, AdLoadingPolicy.retryDelayMillis(3, 1_000, 5_000, exponential = true))
+        assertEquals(1_000L, AdLoadingPolicy.retryDelayMillis(3, 1_000, 5_000, exponential = false))
+    }
+}
@@ -1,5 +1,6 @@
 package com.i2hammad.admanagekit.config
 
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
@@ -37,6 +38,7 @@ class AdManageKitConfigTest {
         assertEquals(1.hours, AdManageKitConfig.nativeCacheExpiry)
         assertEquals(3, AdManageKitConfig.maxCachedAdsPerUnit)
         assertFalse(AdManageKitConfig.enableCrossAdUnitFallback)
+        assertEquals(4, AdManageKitConfig.maxConcurrentAdRequests)
 
         // Reliability
         assertFalse(AdManageKitConfig.autoRetryFailedAds)
@@ -55,6 +57,8 @@ class AdManageKitConfigTest {
         assertFalse(AdManageKitConfig.testMode)
         assertTrue(AdManageKitConfig.privacyCompliantMode)
         assertFalse(AdManageKitConfig.enableDebugOverlay)
+        assertFalse(AdManageKitConfig.enableAdTracing)
+        assertFalse(AdManageKitConfig.enableSystemTracing)
 
         // Ad-specific
         assertEquals(15.seconds, AdManageKitConfig.defaultInterstitialInterval)
@@ -62,12 +66,19 @@ class AdManageKitConfigTest {
         assertTrue(AdManageKitConfig.appOpenAutoReload)
         assertTrue(AdManageKitConfig.rewardedAutoReload)
         assertEquals(60.seconds, AdManageKitConfig.defaultBannerRefreshInterval)
+        assertTrue(AdManageKitConfig.pauseBannerRefreshWhenHidden)
+        assertEquals(0.5f, AdManageKitConfig.bannerRefreshVisibilityThreshold, 0f)
+        assertEquals(5.seconds, AdManageKitConfig.bannerRefreshBatchWindow)
+        assertEquals(250.milliseconds, AdManageKitConfig.bannerRefreshStagger)
+        assertEquals(30.minutes, AdManageKitConfig.bannerPoolExpiry)
+        assertEquals(2, AdManageKitConfig.maxPooledBannersPerKey)
         assertFalse(AdManageKitConfig.enableCollapsibleBannersByDefault)
         assertEquals(CollapsibleBannerPlacement.BOTTOM, AdManageKitConfig.defaultCollapsiblePlacement)
         assertEquals(10.seconds, AdManageKitConfig.appOpenAdTimeout)
         assertEquals(800.milliseconds, AdManageKitConfig.welcomeDialogDismissDelay)
         assertFalse(AdManageKitConfig.appOpenFetchFreshAd)
         assertEquals(4.hours, AdManageKitConfig.appOpenAdFreshnessThreshold)
+        assertTrue(AdManageKitConfig.appOpenPredictivePrefetch)
         assertEquals(0, AdManageKitConfig.welcomeDialogAppIcon)
 
         // Dialog customization
@@ -110,6 +121,7 @@ class AdManageKitConfigTest {
             nativeCacheExpiry = 9.hours
             maxCachedAdsPerUnit = 7
             enableCrossAdUnitFallback = true
+            maxConcurrentAdRequests = 1
             autoRetryFailedAds = true
             maxRetryAttempts = 9
             circuitBreakerThreshold = 1
@@ -122,15 +134,24 @@ class AdManageKitConfigTest {
             testMode = true
             privacyCompliantMode = false
             enableDebugOverlay = true
+            enableAdTracing = true
+            enableSystemTracing = true
             defaultInterstitialInterval = 1.seconds
             interstitialAutoReload = false
             appOpenAutoReload = false
             rewardedAutoReload = false
             defaultBannerRefreshInterval = 31.seconds
+            pauseBannerRefreshWhenHidden = false
+            bannerRefreshVisibilityThreshold = 1f
+            bannerRefreshBatchWindow = 1.seconds
+            bannerRefreshStagger = 0.milliseconds
+            bannerPoolExpiry = 5.minutes
+            maxPooledBannersPerKey = 1
             enableCollapsibleBannersByDefault = true
             defaultCollapsiblePlacement = CollapsibleBannerPlacement.TOP
             appOpenAdTimeout = 1.seconds
             appOpenFetchFreshAd = true
+            appOpenPredictivePrefetch = false
             welcomeDialogAppIcon = 42
             welcomeDialogDismissDelay = 5.seconds
             dialogBackgroundColor = 0xFFFFFF
@@ -162,6 +183,7 @@ class AdManageKitConfigTest {
         assertEquals(1.hours, AdManageKitConfig.nativeCacheExpiry)
         assertEquals(3, AdManageKitConfig.maxCachedAdsPerUnit)
         assertFalse(AdManageKitConfig.enableCrossAdUnitFallback)
+        assertEquals(4, AdManageKitConfig.maxConcurrentAdRequests)
         assertFalse(AdManageKitConfig.autoRetryFailedAds)
         assertEquals(3, AdManageKitConfig.maxRetryAttempts)
         assertEquals(5, AdManageKitConfig.circuitBreakerThreshold)
@@ -174,15 +196,24 @@ class AdManageKitConfigTest {
         assertFalse(AdManageKitConfig.testMode)
         assertTrue(AdManageKitConfig.privacyCompliantMode)
         assertFalse(AdManageKitConfig.enableDebugOverlay)
+        assertFalse(AdManageKitConfig.enableAdTracing)
+        assertFalse(AdManageKitConfig.enableSystemTracing)
         assertEquals(15.seconds, AdManageKitConfig.defaultInterstitialInterval)
         assertTrue(AdManageKitConfig.interstitialAutoReload)
         assertTrue(AdManageKitConfig.appOpenAutoReload)
         assertTrue(AdManageKitConfig.rewardedAutoReload)
         assertEquals(60.seconds, AdManageKitConfig.defaultBannerRefreshInterval)
+        assertTrue(AdManageKitConfig.pauseBannerRefreshWhenHidden)
+        assertEquals(0.5f, AdManageKitConfig.bannerRefreshVisibilityThreshold, 0f)
+        assertEquals(5.seconds, AdManageKitConfig.bannerRefreshBatchWindow)
+        assertEquals(250.milliseconds, AdManageKitConfig.bannerRefreshStagger)
+        assertEquals(30.minutes, AdManageKitConfig.bannerPoolExpiry)
+        assertEquals(2, AdManageKitConfig.maxPooledBannersPerKey)
         assertFalse(AdManageKitConfig.enableCollapsibleBannersByDefault)
         assertEquals(CollapsibleBannerPlacement.BOTTOM, AdManageKitConfig.defaultCollapsiblePlacement)
         assertEquals(10.seconds, AdManageKitConfig.appOpenAdTimeout)
         assertFalse(AdManageKitConfig.appOpenFetchFreshAd)
+        assertTrue(AdManageKitConfig.appOpenPredictivePrefetch)
         assertEquals(0, AdManageKitConfig.welcomeDialogAppIcon)
         assertEquals(800.milliseconds, AdManageKitConfig.welcomeDialogDismissDelay)
         assertEquals(0, AdManageKitConfig.dialogBackgroundColor)
@@ -225,10 +256,22 @@ class AdManageKitConfigTest {
         assertFalse(AdManageKitConfig.validate())
         AdManageKitConfig.resetToDefaults()
 
+        AdManageKitConfig.maxConcurrentAdRequests = -1
+        assertFalse(AdManageKitConfig.validate())
+        AdManageKitConfig.resetToDefaults()
+
         AdManageKitConfig.defaultBannerRefreshInterval = 10.seconds
         assertFalse(AdManageKitConfig.validate())
         AdManageKitConfig.resetToDefaults()
 
+        AdManageKitConfig.bannerRefreshVisibilityThreshold = 1.5f
+        assertFalse(AdManageKitConfig.validate())
+        AdManageKitConfig.resetToDefaults()
+
+        AdManageKitConfig.bannerRefreshBatchWindow = 60.seconds
+        assertFalse(AdManageKitConfig.validate())
+        AdManageKitConfig.resetToDefaults()
+
         AdManageKitConfig.maxCacheMemoryMB = 201
         assertFalse(AdManageKitConfig.validate())
     }
@@ -243,4 +286,13 @@ class AdManageKitConfigTest {
         AdManageKitConfig.testMode = true
         assertFalse(AdManageKitConfig.isProductionReady())
     }
+
+    @Test
+    fun `maxConcurrentAdRequests is applied to the request governor`() {
+        AdManageKitConfig.maxConcurrentAdRequests = 2
+        assertEquals(2, AdRequestGovernor.maxConcurrentRequests)
+
+        AdManageKitConfig.resetToDefaults()
+        assertEquals(AdRequestGovernor.DEFAULT_MAX_CONCURRENT_REQUESTS, AdRequestGovernor.maxConcurrentRequests)
+    }
 }
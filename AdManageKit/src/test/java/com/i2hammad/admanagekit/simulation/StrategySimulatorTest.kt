@@ -0,0 +1,171 @@
+package com.i2hammad.admanagekit.simulation
+
+import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.SimulatedAdProfile
+import com.i2hammad.admanagekit.core.ad.SimulatedDistribution
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Tests for [StrategySimulator] and [SessionTrace]: runs are reproducible, and each
+ * strategy, expiry, interval and retry setting shows up in the report as it should.
+ */
+class StrategySimulatorTest {
+
+    private val instantNetwork = SimulatedAdProfile(loadLatencyMillis = SimulatedDistribution.fixed(100), fillRate = 1.0)
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    @After
+    fun tearDown() {
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    private fun trace(vararg opportunities: AdOpportunity) = SessionTrace(listOf(AdSession(0, opportunities.toList())))
+
+    private fun native(atMillis: Long, visibleMillis: Long = 10_000) =
+        AdOpportunity(atMillis, AdOpportunity.Format.NATIVE, "feed", visibleMillis)
+
+    private fun interstitial(atMillis: Long) = AdOpportunity(atMillis, AdOpportunity.Format.INTERSTITIAL, "level")
+
+    @Test
+    fun `runs are reproducible`() {
+        val trace = SessionTrace.synthetic(
+            seed = 3,
+            sessions = 50,
+            adUnits = mapOf("feed" to AdOpportunity.Format.NATIVE, "level" to AdOpportunity.Format.INTERSTITIAL)
+        )
+        val simulator = StrategySimulator(listOf(SimulatedAdProfile(fillRate = 0.6), SimulatedAdProfile()), seed = 9)
+
+        val reports = simulator.compare(trace, mapOf(
+            "hybrid" to SimulationConfig(),
+            "cache" to SimulationConfig(nativeStrategy = AdLoadingStrategy.ONLY_CACHE)
+        ))
+
+        assertEquals(reports["hybrid"], simulator.run(trace))
+        assertEquals(trace.size, reports.getValue("cache").native.opportunities +
+            reports.getValue("cache").interstitial.let { it.opportunities + it.throttled })
+    }
+
+    @Test
+    fun `only cache serves preloaded ads instantly and refills`() {
+        val report = StrategySimulator(listOf(instantNetwork))
+            .run(trace(native(1_000)), SimulationConfig(nativeStrategy = AdLoadingStrategy.ONLY_CACHE))
+            .native
+
+        assertEquals(1, report.shownFromCache)
+        assertEquals(0L, report.timeToAdP50Millis)
+        assertEquals(2L, report.requests)
+        assertEquals(1, report.cachedAtEnd)
+        assertEquals(0L, report.wastedAds)
+    }
+
+    @Test
+    fun `on demand waits for the network and caches nothing`() {
+        val report = StrategySimulator(listOf(instantNetwork))
+            .run(trace(native(1_000)), SimulationConfig(nativeStrategy = AdLoadingStrategy.ON_DEMAND))
+
+        assertEquals(1, report.native.shown)
+        assertEquals(0, report.native.shownFromCache)
+        assertEquals(100L, report.native.timeToAdP50Millis)
+        assertEquals(0L, report.peakMemoryBytes)
+    }
+
+    @Test
+    fun `expired preloads are wasted and hybrid loads fresh`() {
+        val report = StrategySimulator(listOf(instantNetwork)).run(
+            trace(native(10.minutes.inWholeMilliseconds)),
+            SimulationConfig(
+                nativeStrategy = AdLoadingStrategy.HYBRID,
+                nativeCacheExpiry = 1.minutes,
+                preloadedAdsPerUnit = 2,
+                maxCachedAdsPerUnit = 2
+            )
+        )
+
+        assertEquals(2L, report.native.expiredAds)
+        assertEquals(1, report.native.shown)
+        assertEquals(0, report.native.shownFromCache)
+        assertEquals(2L, report.native.wastedAds)
+        assertTrue(report.peakMemoryBytes > 0)
+    }
+
+    @Test
+    fun `native ads arriving after the slot left are wasted`() {
+        val slowNetwork = SimulatedAdProfile(loadLatencyMillis = SimulatedDistribution.fixed(5_000), fillRate = 1.0)
+
+        val report = StrategySimulator(listOf(slowNetwork))
+            .run(trace(native(1_000, visibleMillis = 2_000)), SimulationConfig(nativeStrategy = AdLoadingStrategy.ON_DEMAND))
+            .native
+
+        assertEquals(0, report.shown)
+        assertEquals(1L, report.wastedAds)
+    }
+
+    @Test
+    fun `interstitials inside the interval are throttled`() {
+        val report = StrategySimulator(listOf(instantNetwork)).run(
+            trace(interstitial(1_000), interstitial(5_000), interstitial(30_000)),
+            SimulationConfig(interstitialStrategy = AdLoadingStrategy.ON_DEMAND, interstitialInterval = 15.seconds)
+        ).interstitial
+
+        assertEquals(1, report.throttled)
+        assertEquals(2, report.opportunities)
+        assertEquals(2, report.shown)
+    }
+
+    @Test
+    fun `network errors are retried with backoff, exhausted waterfalls are not`() {
+        val failing = SimulatedAdProfile(
+            loadLatencyMillis = SimulatedDistribution.fixed(100),
+            fillRate = 0.0,
+            errorCodeWeights = mapOf(AdKitAdError.ERROR_CODE_NETWORK to 1.0)
+        )
+        val config = SimulationConfig(
+            nativeStrategy = AdLoadingStrategy.ON_DEMAND,
+            autoRetryFailedAds = true,
+            maxRetryAttempts = 2
+        )
+
+        val single = StrategySimulator(listOf(failing)).run(trace(native(0, visibleMillis = 60_000)), config).native
+        assertEquals(2, single.retries)
+        assertEquals(3L, single.requests)
+
+        // A waterfall reports exhaustion as no fill, which is not retried
+        val chain = StrategySimulator(listOf(failing, failing)).run(trace(native(0, visibleMillis = 60_000)), config).native
+        assertEquals(0, chain.retries)
+        assertEquals(2L, chain.requests)
+    }
+
+    @Test
+    fun `csv traces group opportunities by session`() {
+        val trace = SessionTrace.fromCsv(sequenceOf(
+            "session_start_ms,offset_ms,format,ad_unit_id,visible_ms",
+            "# recorded 2026-09-01",
+            "5000,200,native,feed,4000",
+            "0,100,interstitial,level",
+            "5000,100,NATIVE,feed",
+            ""
+        ))
+
+        assertEquals(listOf(0L, 5000L), trace.sessions.map { it.startMillis })
+        assertEquals(listOf(100L, 200L), trace.sessions[1].opportunities.map { it.offsetMillis })
+        assertEquals(4000L, trace.sessions[1].opportunities[1].visibleMillis)
+        assertEquals(AdOpportunity.Format.INTERSTITIAL, trace.adUnits["level"])
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `malformed csv lines are rejected`() {
+        SessionTrace.fromCsv(sequenceOf("0,100,banner,home"))
+    }
+}
@@ -0,0 +1,170 @@
+package com.i2hammad.admanagekit.startup
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.i2hammad.admanagekit.core.AppPurchaseProvider
+import com.i2hammad.admanagekit.core.BillingConfig
+import com.i2hammad.admanagekit.core.NoPurchaseProvider
+import com.i2hammad.admanagekit.startup.AdManageKitStartup.StageHandle
+import com.i2hammad.admanagekit.startup.AdManageKitStartup.StageStatus
+import com.i2hammad.admanagekit.startup.AdManageKitStartup.StartupReport
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import java.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Tests for [AdManageKitStartup]: independent stages run concurrently, the first
+ * ad waits only for its prerequisites, and the report honors the single deadline.
+ *
+ * Uses custom stages only, so no ad SDK, billing or UMP is touched.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class AdManageKitStartupTest {
+
+    private val handles = mutableMapOf<String, StageHandle>()
+    private var report: StartupReport? = null
+
+    @After
+    fun tearDown() {
+        BillingConfig.setPurchaseProvider(NoPurchaseProvider())
+    }
+
+    private fun builder() = AdManageKitStartup.Builder(Handler(Looper.getMainLooper()), SystemClock::uptimeMillis)
+
+    private fun parked(name: String) = AdManageKitStartup.StageAction { handles[name] = it }
+
+    private fun advance(ms: Long) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms))
+    }
+
+    @Test
+    fun `independent stages start together`() {
+        builder()
+            .billing(parked("billing"))
+            .stage("mobile_ads", action = parked("mobile_ads"))
+            .stage("yandex", action = parked("yandex"))
+            .start { report = it }
+
+        assertEquals(setOf("billing", "mobile_ads", "yandex"), handles.keys)
+        assertNull(report)
+    }
+
+    @Test
+    fun `report arrives when every stage finishes, with per-stage timing`() {
+        builder()
+            .deadline(10.seconds)
+            .billing(parked("billing"))
+            .stage("yandex", action = parked("yandex"))
+            .start { report = it }
+
+        advance(300)
+        handles.getValue("billing").complete()
+        advance(200)
+        handles.getValue("yandex").fail("offline")
+
+        val result = report!!
+        assertFalse(result.timedOut)
+        assertEquals(StageStatus.COMPLETED, result.stage("billing")?.status)
+        assertEquals(300L, result.stage("billing")?.durationMillis)
+        assertEquals(StageStatus.FAILED, result.stage("yandex")?.status)
+        assertEquals("offline", result.stage("yandex")?.message)
+        assertEquals(500L, result.totalMillis)
+    }
+
+    @Test
+    fun `deadline reports stages still running`() {
+        builder()
+            .deadline(2.seconds)
+            .billing(parked("billing"))
+            .start { report = it }
+
+        advance(1_999)
+        assertNull(report)
+        advance(1)
+
+        val result = report!!
+        assertTrue(result.timedOut)
+        assertEquals(StageStatus.RUNNING, result.stage("billing")?.status)
+        assertEquals(2_000L, result.stage("billing")?.durationMillis)
+    }
+
+    @Test
+    fun `first ad waits for mobile ads and billing`() {
+        builder()
+            .billing(parked("billing"))
+            .stage(AdManageKitStartup.MOBILE_ADS, action = parked("mobile_ads"))
+            .firstAd(parked("first_ad"))
+            .start { report = it }
+
+        assertFalse("first_ad" in handles)
+        handles.getValue("mobile_ads").complete()
+        assertFalse("first_ad" in handles)
+        handles.getValue("billing").complete()
+
+        assertTrue("first_ad" in handles)
+        handles.getValue("first_ad").complete()
+        assertEquals(StageStatus.COMPLETED, report!!.stage(AdManageKitStartup.FIRST_AD)?.status)
+    }
+
+    @Test
+    fun `first ad is skipped for purchased users`() {
+        BillingConfig.setPurchaseProvider(object : AppPurchaseProvider {
+            override fun isPurchased() = true
+        })
+
+        builder()
+            .billing(parked("billing"))
+            .firstAd(parked("first_ad"))
+            .start { report = it }
+        handles.getValue("billing").complete()
+
+        assertFalse("first_ad" in handles)
+        assertEquals(StageStatus.SKIPPED, report!!.stage(AdManageKitStartup.FIRST_AD)?.status)
+    }
+
+    @Test
+    fun `dependent stage runs after its dependency in any outcome`() {
+        builder()
+            .stage("a", action = parked("a"))
+            .stage("b", dependsOn = listOf("a"), action = parked("b"))
+            .start { report = it }
+
+        assertFalse("b" in handles)
+        handles.getValue("a").fail("boom")
+        assertTrue("b" in handles)
+    }
+
+    @Test
+    fun `a throwing stage fails without blocking the report`() {
+        builder()
+            .stage("broken") { throw IllegalStateException("bad") }
+            .start { report = it }
+
+        assertEquals(StageStatus.FAILED, report!!.stage("broken")?.status)
+        assertEquals("bad", report!!.stage("broken")?.message)
+    }
+
+    @Test
+    fun `only the first completion of a stage counts`() {
+        var reports = 0
+        builder()
+            .stage("a", action = parked("a"))
+            .start { reports++ }
+
+        handles.getValue("a").complete()
+        handles.getValue("a").fail("late")
+
+        assertEquals(1, reports)
+    }
+}
@@ -0,0 +1,122 @@
+package com.i2hammad.admanagekit.ump
+
+import android.content.Context
+import android.content.SharedPreferences
+import androidx.test.core.app.ApplicationProvider
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for [ConsentState] parsing of the IAB TCF keys and the derived checks.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class ConsentStateTest {
+
+    private lateinit var context: Context
+    private lateinit var prefs: SharedPreferences
+
+    @Before
+    fun setUp() {
+        context = ApplicationProvider.getApplicationContext()
+        prefs = context.getSharedPreferences(context.packageName + "_preferences", 0)
+        prefs.edit().clear().commit()
+    }
+
+    /** "1" for each listed id (1-based), "0" elsewhere, up to [length]. */
+    private fun bits(length: Int, vararg ids: Int) =
+        (1..length).joinToString("") { if (it in ids) "1" else "0" }
+
+    private fun storeFullConsent() {
+        prefs.edit()
+            .putInt("IABTCF_gdprApplies", 1)
+            .putString("IABTCF_PurposeConsents", bits(11, 1, 2, 3, 4, 7, 9, 10))
+            .putString("IABTCF_VendorConsents", bits(800, 755))
+            .commit()
+    }
+
+    @Test
+    fun `nothing stored parses to EMPTY`() {
+        val state = ConsentState.parse(prefs)
+
+        assertSame(ConsentState.EMPTY, state)
+        assertNull(state.gdprApplies)
+        assertTrue(state.consentResult)
+        assertTrue(state.canShowPersonalizedAds())
+    }
+
+    @Test
+    fun `purpose and vendor bits are 1-based`() {
+        storeFullConsent()
+
+        val state = ConsentState.parse(prefs)
+
+        assertEquals(true, state.gdprApplies)
+        assertTrue(state.hasPurposeConsent(1))
+        assertFalse(state.hasPurposeConsent(5))
+        assertFalse(state.hasPurposeConsent(0))
+        assertTrue(state.hasVendorConsent(ConsentState.GOOGLE_VENDOR_ID))
+        assertFalse(state.hasVendorConsent(754))
+        assertFalse(state.hasVendorConsent(10_000))
+    }
+
+    @Test
+    fun `personalized ads need Google vendor consent and purposes 1, 3 and 4`() {
+        storeFullConsent()
+        assertTrue(ConsentState.parse(prefs).canShowPersonalizedAds())
+
+        prefs.edit().putString("IABTCF_VendorConsents", bits(800, 1)).commit()
+        assertFalse(ConsentState.parse(prefs).canShowPersonalizedAds())
+
+        storeFullConsent()
+        prefs.edit().putString("IABTCF_PurposeConsents", bits(11, 1, 2, 4, 7, 9, 10)).commit()
+        assertFalse(ConsentState.parse(prefs).canShowPersonalizedAds())
+    }
+
+    @Test
+    fun `legitimate interest is enough for purposes 2, 7, 9 and 10`() {
+        storeFullConsent()
+        prefs.edit()
+            .putString("IABTCF_PurposeConsents", bits(11, 1, 3, 4))
+            .putString("IABTCF_PurposeLegitimateInterests", bits(11, 2, 7, 9, 10))
+            .commit()
+
+        assertTrue(ConsentState.parse(prefs).canShowPersonalizedAds())
+    }
+
+    @Test
+    fun `gdpr not applying allows personalized ads`() {
+        prefs.edit().putInt("IABTCF_gdprApplies", 0).commit()
+
+        val state = ConsentState.parse(prefs)
+
+        assertEquals(false, state.gdprApplies)
+        assertTrue(state.canShowPersonalizedAds())
+    }
+
+    @Test
+    fun `gdprApplies stored as a string is accepted`() {
+        prefs.edit().putString("IABTCF_gdprApplies", "1").commit()
+
+        assertEquals(true, ConsentState.parse(prefs).gdprApplies)
+    }
+
+    @Test
+    fun `consent result keeps the purpose 1 contract`() {
+        prefs.edit().putString("IABTCF_PurposeConsents", "0111").commit()
+        assertFalse(ConsentState.parse(prefs).consentResult)
+        assertFalse(AdsConsentManager.getConsentResult(context))
+
+        prefs.edit().putString("IABTCF_PurposeConsents", "1000").commit()
+        assertTrue(ConsentState.parse(prefs).consentResult)
+        assertTrue(AdsConsentManager.getConsentResult(context))
+    }
+}
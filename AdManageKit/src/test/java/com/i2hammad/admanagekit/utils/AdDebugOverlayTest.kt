@@ -0,0 +1,68 @@
+package com.i2hammad.admanagekit.utils
+
+import android.widget.FrameLayout
+import androidx.activity.ComponentActivity
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for the [AdDebugOverlay] lifecycle in [AdDebugUtils.enableDebugOverlay]: one
+ * overlay per activity, removed when disabled or when its activity is destroyed.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class AdDebugOverlayTest {
+
+    // Created but never shown, so the overlay is added without starting its refresh
+    private val controller = Robolectric.buildActivity(ComponentActivity::class.java)
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        AdManageKitConfig.debugMode = true
+        controller.create()
+    }
+
+    @After
+    fun tearDown() {
+        AdDebugUtils.enableDebugOverlay(controller.get(), false)
+        if (!controller.get().isDestroyed) controller.destroy()
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    private fun content(): FrameLayout = controller.get().findViewById(android.R.id.content)
+
+    @Test
+    fun `enabling twice adds one overlay`() {
+        AdDebugUtils.enableDebugOverlay(controller.get(), true)
+        AdDebugUtils.enableDebugOverlay(controller.get(), true)
+
+        assertEquals(1, content().childCount)
+    }
+
+    @Test
+    fun `disabling removes the overlay`() {
+        AdDebugUtils.enableDebugOverlay(controller.get(), true)
+
+        AdDebugUtils.enableDebugOverlay(controller.get(), false)
+
+        assertEquals(0, content().childCount)
+    }
+
+    @Test
+    fun `destroying the activity removes its overlay`() {
+        AdDebugUtils.enableDebugOverlay(controller.get(), true)
+        val content = content()
+
+        controller.destroy()
+
+        assertEquals(0, content.childCount)
+    }
+}
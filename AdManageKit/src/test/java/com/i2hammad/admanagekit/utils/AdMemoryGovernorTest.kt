@@ -0,0 +1,132 @@
+package com.i2hammad.admanagekit.utils
+
+import android.content.ComponentCallbacks2
+import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAd
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdMemoryTrimmers
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for [AdMemoryGovernor]: trim level to tier mapping, how far each tier
+ * shrinks the native cache, registered trimmers, the freed-bytes report and the
+ * config gate.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class AdMemoryGovernorTest {
+
+    private fun newAd(): NativeAd = mockk(relaxed = true)
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = true
+    }
+
+    @After
+    fun tearDown() {
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = false
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    @Suppress("DEPRECATION")
+    @Test
+    fun `trim levels map to tiers, with hiding and backgrounding kept light`() {
+        assertEquals(AdMemoryTier.EXPIRED,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE))
+        assertEquals(AdMemoryTier.SHRINK,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW))
+        assertEquals(AdMemoryTier.RELEASE,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL))
+        assertEquals(AdMemoryTier.EXPIRED,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN))
+        assertEquals(AdMemoryTier.SHRINK,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND))
+        assertEquals(AdMemoryTier.RELEASE,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_MODERATE))
+        assertEquals(AdMemoryTier.CLEAR,
+            AdMemoryGovernor.tierFor(ComponentCallbacks2.TRIM_MEMORY_COMPLETE))
+    }
+
+    @Test
+    fun `expired tier keeps fresh ads`() {
+        NativeAdManager.setCachedNativeAd("unit-a", newAd())
+
+        val report = AdMemoryGovernor.trim(AdMemoryTier.EXPIRED)
+
+        assertTrue(report.freedBytes.isEmpty())
+        assertEquals(1, NativeAdManager.getCacheSize("unit-a"))
+    }
+
+    @Test
+    fun `shrink keeps one native ad per unit and reports the freed bytes`() {
+        val ads = List(3) { newAd() }
+        ads.forEach { NativeAdManager.setCachedNativeAd("unit-a", it) }
+        NativeAdManager.setCachedNativeAd("unit-b", newAd())
+
+        val report = AdMemoryGovernor.trim(AdMemoryTier.SHRINK)
+
+        assertEquals(2 * NativeAdManager.ESTIMATED_AD_SIZE_BYTES, report.freedBytes["native"])
+        assertEquals(1, NativeAdManager.getCacheSize("unit-a"))
+        assertEquals(1, NativeAdManager.getCacheSize("unit-b"))
+        assertSame(report, AdMemoryGovernor.lastReport)
+    }
+
+    @Test
+    fun `clear destroys every cached native ad`() {
+        val ad = newAd()
+        NativeAdManager.setCachedNativeAd("unit-a", ad)
+
+        val report = AdMemoryGovernor.trim(AdMemoryTier.CLEAR)
+
+        assertEquals(NativeAdManager.ESTIMATED_AD_SIZE_BYTES, report.totalFreedBytes)
+        assertEquals(0, NativeAdManager.getTotalCacheSize())
+        verify { ad.destroy() }
+    }
+
+    @Test
+    fun `registered trimmers run with the tier and are reported by name`() {
+        val tiers = mutableListOf<AdMemoryTier>()
+        val trimmer = AdMemoryTrimmers.Trimmer { tier ->
+            tiers += tier
+            if (tier >= AdMemoryTier.RELEASE) AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES else 0L
+        }
+        AdMemoryTrimmers.register("external", trimmer)
+        try {
+            val shrink = AdMemoryGovernor.trim(AdMemoryTier.SHRINK)
+            val release = AdMemoryGovernor.trim(AdMemoryTier.RELEASE)
+
+            assertEquals(listOf(AdMemoryTier.SHRINK, AdMemoryTier.RELEASE), tiers)
+            assertNull(shrink.freedBytes["external"])
+            assertEquals(AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES, release.freedBytes["external"])
+        } finally {
+            AdMemoryTrimmers.unregister(trimmer)
+        }
+    }
+
+    @Test
+    fun `callbacks do nothing when auto cache cleanup is off`() {
+        AdManageKitConfig.enableAutoCacheCleanup = false
+        NativeAdManager.setCachedNativeAd("unit-a", newAd())
+
+        AdMemoryGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+        AdMemoryGovernor.onLowMemory()
+
+        assertEquals(1, NativeAdManager.getCacheSize("unit-a"))
+    }
+}
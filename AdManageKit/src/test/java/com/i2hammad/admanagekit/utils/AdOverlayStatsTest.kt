@@ -0,0 +1,93 @@
+package com.i2hammad.admanagekit.utils
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [AdOverlayStats]: which slices are tracked, and the outcomes, latencies and
+ * failure streaks derived from them.
+ */
+class AdOverlayStatsTest {
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        AdOverlayStats.clear()
+    }
+
+    @After
+    fun tearDown() {
+        AdManageKitConfig.resetToDefaults()
+        AdOverlayStats.clear()
+    }
+
+    private fun enableOverlay() {
+        AdManageKitConfig.debugMode = true
+        AdManageKitConfig.enableDebugOverlay = true
+    }
+
+    @Test
+    fun `slices are only tracked while the overlay is on`() {
+        assertNull(AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", "admob", "unit"))
+
+        AdManageKitConfig.enableDebugOverlay = true
+        assertNull(AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", "admob", "unit"))
+
+        AdManageKitConfig.debugMode = true
+        assertNotNull(AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", "admob", "unit"))
+    }
+
+    @Test
+    fun `ended slices leave in flight and are reported once`() {
+        enableOverlay()
+        val slice = AdSystrace.beginAsync(AdSystrace.FORMAT_BANNER, "load", "admob", "unit")!!
+        assertEquals(listOf(slice), AdOverlayStats.inFlight())
+
+        slice.end(success = false)
+        slice.end()
+
+        assertTrue(AdOverlayStats.inFlight().isEmpty())
+        val outcome = AdOverlayStats.recentOutcomes().single()
+        assertFalse(outcome.success)
+        assertEquals("admob", outcome.provider)
+    }
+
+    @Test
+    fun `failure streak resets on a successful load`() {
+        enableOverlay()
+        repeat(3) { AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", "yandex", "unit")!!.end(false) }
+        assertEquals(3, AdOverlayStats.consecutiveFailures()["unit"]?.count)
+
+        AdSystrace.beginAsync(AdSystrace.FORMAT_NATIVE, "load", "admob", "unit")!!.end()
+
+        assertTrue(AdOverlayStats.consecutiveFailures().isEmpty())
+        assertEquals(1, AdOverlayStats.loadLatencies()[AdSystrace.FORMAT_NATIVE]?.count)
+    }
+
+    @Test
+    fun `only load stages count towards latency`() {
+        enableOverlay()
+        AdSystrace.beginAsync(AdSystrace.FORMAT_INTERSTITIAL, "waterfall")!!.end()
+        AdSystrace.beginAsync(AdSystrace.FORMAT_INTERSTITIAL, "show", "admob", "unit")!!.end()
+
+        assertTrue(AdOverlayStats.loadLatencies().isEmpty())
+        assertEquals(2, AdOverlayStats.recentOutcomes().size)
+    }
+
+    @Test
+    fun `percentiles use the nearest rank`() {
+        val samples = (1L..100L).toList()
+
+        assertEquals(51L, AdOverlayStats.percentile(samples, 50))
+        assertEquals(90L, AdOverlayStats.percentile(samples, 90))
+        assertEquals(99L, AdOverlayStats.percentile(samples, 99))
+        assertEquals(7L, AdOverlayStats.percentile(listOf(7L), 99))
+    }
+}
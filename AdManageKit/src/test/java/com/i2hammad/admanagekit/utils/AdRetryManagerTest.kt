@@ -2,6 +2,7 @@ package com.i2hammad.admanagekit.utils
 
 import android.os.Looper
 import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
@@ -33,6 +34,7 @@ class AdRetryManagerTest {
     @Before
     fun setUp() {
         AdManageKitConfig.resetToDefaults()
+        AdRequestGovernor.scheduler.reset()
         retryManager.clear()
     }
 
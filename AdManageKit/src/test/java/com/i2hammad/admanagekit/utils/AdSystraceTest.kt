@@ -0,0 +1,57 @@
+package com.i2hammad.admanagekit.utils
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+/**
+ * Tests for [AdSystrace] section names and for staying inert while disabled.
+ */
+class AdSystraceTest {
+
+    @After
+    fun tearDown() {
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    @Test
+    fun `provider names are lowercased`() {
+        assertEquals(
+            "AdKit:Banner:load:mynetwork",
+            AdSystrace.sectionName(AdSystrace.FORMAT_BANNER, "load", "MyNetwork", null)
+        )
+    }
+
+    @Test
+    fun `names include format, stage, provider and ad unit tail`() {
+        assertEquals(
+            "AdKit:Native:load:admob@12345678",
+            AdSystrace.sectionName(AdSystrace.FORMAT_NATIVE, "load", AdProvider.ADMOB.name, "ca-app-pub-0000/12345678")
+        )
+        assertEquals(
+            "AdKit:Interstitial:waterfall",
+            AdSystrace.sectionName(AdSystrace.FORMAT_INTERSTITIAL, "waterfall", null, null)
+        )
+    }
+
+    @Test
+    fun `names are capped at the Trace limit`() {
+        val name = AdSystrace.sectionName(AdSystrace.FORMAT_BANNER, "x".repeat(200), null, null)
+
+        assertEquals(127, name.length)
+    }
+
+    @Test
+    fun `nothing is emitted while disabled`() {
+        assertFalse(AdSystrace.isEnabled)
+        assertNull(AdSystrace.beginAsync(AdSystrace.FORMAT_APP_OPEN, "show"))
+
+        val result = AdSystrace.section(AdSystrace.FORMAT_BANNER, "request") { 7 }
+
+        assertEquals(7, result)
+    }
+}
@@ -0,0 +1,107 @@
+package com.i2hammad.admanagekit.utils
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [AdTrace] recording and ring buffer wrap-around, and for the lazy
+ * [AdDebugUtils] overloads never building their message outside debug mode.
+ *
+ * debugMode stays false, so nothing here reaches android.util.Log.
+ */
+class AdTraceTest {
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        AdTrace.clear()
+    }
+
+    @After
+    fun tearDown() {
+        AdManageKitConfig.resetToDefaults()
+        AdTrace.clear()
+    }
+
+    @Test
+    @Suppress("DEPRECATION")
+    fun `nothing is recorded while tracing is off`() {
+        AdTrace.event("unit", "onAdLoaded", true)
+        AdDebugUtils.logEvent("unit", "onAdLoaded", "loaded", true)
+
+        assertTrue(AdTrace.snapshot().isEmpty())
+    }
+
+    @Test
+    fun `events and spans are recorded in order`() {
+        AdManageKitConfig.enableAdTracing = true
+
+        AdTrace.event("unit", "load", true)
+        AdTrace.spanNanos("unit", "render", 1_500_000, success = false)
+
+        val records = AdTrace.snapshot()
+        assertEquals(listOf("load", "render"), records.map { it.name })
+        assertEquals(AdTrace.KIND_EVENT, records[0].kind)
+        assertTrue(records[0].success)
+        assertEquals(AdTrace.KIND_SPAN, records[1].kind)
+        assertFalse(records[1].success)
+        assertEquals(1_500_000L, records[1].value)
+        assertTrue(records[1].timeNanos >= records[0].timeNanos)
+    }
+
+    @Test
+    fun `buffer keeps the most recent records`() {
+        AdManageKitConfig.enableAdTracing = true
+        val names = List(AdTrace.CAPACITY + 10) { "event$it" }
+
+        names.forEach { AdTrace.event("unit", it, true) }
+
+        val records = AdTrace.snapshot()
+        assertEquals(AdTrace.CAPACITY, records.size)
+        assertEquals("event10", records.first().name)
+        assertEquals(names.last(), records.last().name)
+    }
+
+    @Test
+    fun `lazy messages are not built outside debug mode`() {
+        AdManageKitConfig.enableAdTracing = true
+        var built = 0
+
+        AdDebugUtils.logEvent("unit", "onAdLoaded", true) { built++; "loaded" }
+        AdDebugUtils.logDebug("Test") { built++; "message" }
+
+        assertEquals(0, built)
+        assertEquals(listOf("onAdLoaded"), AdTrace.snapshot().map { it.name })
+    }
+
+    @Test
+    fun `measureTime records a span`() {
+        AdManageKitConfig.enableAdTracing = true
+
+        val result = AdDebugUtils.measureTime("work", "unit") { 42 }
+
+        assertEquals(42, result)
+        val span = AdTrace.snapshot().single()
+        assertEquals("work", span.name)
+        assertEquals(AdTrace.KIND_SPAN, span.kind)
+        assertTrue(span.value >= 0)
+    }
+
+    @Test
+    fun `dump lists every record`() {
+        AdManageKitConfig.enableAdTracing = true
+        AdTrace.event("ca-app-pub-0000/12345678", "onAdLoaded", true)
+        AdTrace.spanNanos("", "startup", 2_000_000)
+
+        val dump = AdTrace.dump()
+
+        assertTrue(dump.contains("(2 records)"))
+        assertTrue(dump.contains("OK   [12345678] onAdLoaded"))
+        assertTrue(dump.contains("startup 2000us"))
+    }
+}
@@ -0,0 +1,80 @@
+package com.i2hammad.admanagekit.utils
+
+import androidx.activity.ComponentActivity
+import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAd
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for [NativeAdIntegrationManager] screen tracking: screens are tied to their
+ * activity's lifecycle, and a cached ad the screen never picked up is destroyed with it.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class NativeAdIntegrationManagerTest {
+
+    private val controller = Robolectric.buildActivity(ComponentActivity::class.java)
+    private val screenKey = "ComponentActivity_SMALL"
+
+    @Before
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = true
+        controller.setup()
+    }
+
+    @After
+    fun tearDown() {
+        if (!controller.get().isDestroyed) controller.destroy()
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = false
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    private fun load(strategy: AdLoadingStrategy) {
+        NativeAdIntegrationManager.loadNativeAdWithCaching(
+            activity = controller.get(),
+            baseAdUnitId = "unit-a",
+            screenType = NativeAdIntegrationManager.ScreenType.SMALL,
+            loadingStrategy = strategy,
+            callback = null
+        ) { _, _ -> }
+    }
+
+    @Test
+    fun `screens are tracked while their activity is alive`() {
+        load(AdLoadingStrategy.ON_DEMAND)
+        load(AdLoadingStrategy.ON_DEMAND)
+
+        val stats = NativeAdIntegrationManager.getScreenUsageStats()
+        assertEquals(2L, stats[screenKey]?.get("request_count"))
+        assertEquals("unit-a", stats[screenKey]?.get("ad_unit_id"))
+    }
+
+    @Test
+    fun `destroying the activity forgets the screen and its unclaimed ad`() {
+        val ad: NativeAd = mockk(relaxed = true)
+        NativeAdManager.setCachedNativeAd("unit-a", ad)
+        load(AdLoadingStrategy.HYBRID)
+
+        controller.destroy()
+
+        verify { ad.destroy() }
+        assertFalse(NativeAdIntegrationManager.getScreenUsageStats().containsKey(screenKey))
+        assertNull(NativeAdIntegrationManager.getAndClearTemporaryCachedAd(screenKey))
+    }
+}
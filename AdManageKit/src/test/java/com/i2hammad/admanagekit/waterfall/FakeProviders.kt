@@ -5,6 +5,8 @@ import android.content.Context
 import android.view.View
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
@@ -123,6 +125,30 @@ class FakeKeyedInterstitialProvider(
     }
 }
 
+/**
+ * Fake interstitial provider that submits each load to [AdRequestGovernor] like the
+ * real providers, and records it in [startedCalls] only once its ticket starts.
+ */
+class FakeGovernedInterstitialProvider(
+    override val provider: AdProvider = AdProvider("fake-governed", "Fake Governed")
+) : InterstitialAdProvider {
+
+    val tickets = mutableListOf<AdRequestScheduler.Ticket>()
+    val startedCalls = mutableListOf<InterstitialAdProvider.InterstitialAdCallback>()
+
+    override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {
+        tickets += AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) {
+            startedCalls += callback
+        }
+    }
+
+    override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {}
+
+    override fun isAdReady(): Boolean = false
+
+    override fun destroy() {}
+}
+
 // =================== REWARDED FAKE ===================
 
 /** Fake single-slot rewarded provider, manually-triggered like the interstitial fakes. */
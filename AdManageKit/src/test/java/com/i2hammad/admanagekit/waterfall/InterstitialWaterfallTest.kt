@@ -7,6 +7,10 @@ import androidx.test.core.app.ApplicationProvider
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
@@ -42,6 +46,7 @@ class InterstitialWaterfallTest {
             "fake-b" -> "unit-b"
             "fake-keyed" -> "unit-keyed"
             "fake-single" -> "unit-single"
+            "fake-governed" -> "unit-governed"
             else -> null
         }
     }
@@ -56,7 +61,9 @@ class InterstitialWaterfallTest {
 
     @After
     fun tearDown() {
+        AdRequestGovernor.scheduler.reset()
         AdManageKitConfig.resetToDefaults()
+        AdProviderReadiness.reset()
     }
 
     private fun waterfall(
@@ -240,6 +247,100 @@ class InterstitialWaterfallTest {
         assertEquals(1, providerB.loadCalls.size)
     }
 
+    @Test
+    fun `watchdog does not count time queued in the request governor`() {
+        AdManageKitConfig.maxConcurrentAdRequests = 1
+        val blocker = AdRequestGovernor.submit("other", AdRequestPriority.PREFETCH) {}
+        val governed = FakeGovernedInterstitialProvider()
+
+        waterfall(listOf(governed, providerB)).load(context, RecordingInterstitialLoadCallback())
+        idleFor(timeoutMillis)
+        assertEquals(0, governed.startedCalls.size)
+        assertEquals(0, providerB.loadCalls.size)
+
+        blocker.finish()
+        idle()
+        assertEquals(1, governed.startedCalls.size)
+
+        idleFor(timeoutMillis - 1)
+        assertEquals(0, providerB.loadCalls.size)
+        idleFor(1)
+        assertEquals(1, providerB.loadCalls.size)
+    }
+
+    @Test
+    fun `timed out attempt frees its request slot`() {
+        val governed = FakeGovernedInterstitialProvider()
+
+        waterfall(listOf(governed, providerB)).load(context, RecordingInterstitialLoadCallback())
+        idleFor(timeoutMillis)
+
+        assertEquals(AdRequestScheduler.Ticket.State.CANCELLED, governed.tickets.single().state)
+        assertEquals(0, AdRequestGovernor.scheduler.runningCount())
+    }
+
+    @Test
+    fun `destroy drops the queued request of the in-flight attempt`() {
+        AdManageKitConfig.maxConcurrentAdRequests = 1
+        val blocker = AdRequestGovernor.submit("other", AdRequestPriority.PREFETCH) {}
+        val governed = FakeGovernedInterstitialProvider()
+        val waterfall = waterfall(listOf(governed))
+
+        waterfall.load(context, RecordingInterstitialLoadCallback())
+        waterfall.destroy()
+        blocker.finish()
+        idle()
+
+        assertEquals(0, governed.startedCalls.size)
+        assertEquals(0, AdRequestGovernor.scheduler.queuedCount())
+    }
+
+    // =================== PROVIDER READINESS ===================
+
+    @Test
+    fun `initializing provider is skipped when a later provider can serve`() {
+        AdProviderReadiness.markInitializing(providerA.provider)
+        val callback = RecordingInterstitialLoadCallback()
+
+        waterfall(listOf(providerA, providerB)).load(context, callback)
+
+        assertEquals(0, providerA.loadCalls.size)
+        assertEquals(1, providerB.loadCalls.size)
+    }
+
+    @Test
+    fun `last initializing provider is loaded once ready`() {
+        AdProviderReadiness.markInitializing(providerA.provider)
+        val callback = RecordingInterstitialLoadCallback()
+
+        waterfall(listOf(providerA)).load(context, callback)
+        idleFor(1_000)
+        assertEquals(0, providerA.loadCalls.size)
+
+        AdProviderReadiness.markReady(providerA.provider)
+        idle()
+
+        assertEquals(1, providerA.loadCalls.size)
+        assertEquals(0, callback.loadErrors.size)
+    }
+
+    @Test
+    fun `provider that never becomes ready counts as a timed out attempt`() {
+        AdProviderReadiness.markInitializing(providerA.provider)
+        val callback = RecordingInterstitialLoadCallback()
+
+        waterfall(listOf(providerA)).load(context, callback)
+        idleFor(timeoutMillis)
+
+        assertEquals(0, providerA.loadCalls.size)
+        assertEquals(1, callback.loadErrors.size)
+
+        // A late ready signal must not restart the finished chain
+        AdProviderReadiness.markReady(providerA.provider)
+        idle()
+        assertEquals(0, providerA.loadCalls.size)
+    }
+
     // =================== DESTROY ===================
 
     @Test
@@ -0,0 +1,116 @@
+package com.i2hammad.admanagekit.simulation
+
+import com.i2hammad.admanagekit.core.ad.SimulatedDistribution
+import java.util.Random
+
+/**
+ * A moment in a session where the app would show an ad.
+ *
+ * @param offsetMillis Time since the session started
+ * @param format Which kind of ad the placement shows
+ * @param adUnitId The placement's ad unit id
+ * @param visibleMillis How long a native slot stays on screen; an ad arriving later is
+ *        never seen. Interstitials ignore it and wait up to the configured ad timeout.
+ */
+data class AdOpportunity(
+    val offsetMillis: Long,
+    val format: Format,
+    val adUnitId: String,
+    val visibleMillis: Long = 30_000
+) {
+    enum class Format { NATIVE, INTERSTITIAL }
+}
+
+/** One app session, starting at [startMillis] on the trace's clock. */
+data class AdSession(val startMillis: Long, val opportunities: List<AdOpportunity>)
+
+/**
+ * Sessions to replay through [StrategySimulator], either recorded ([fromCsv]) or
+ * generated ([synthetic]). Sessions are kept in start order.
+ */
+class SessionTrace(sessions: List<AdSession>) {
+
+    val sessions: List<AdSession> = sessions.sortedBy { it.startMillis }
+
+    /** Every ad unit in the trace with its format. */
+    val adUnits: Map<String, AdOpportunity.Format> =
+        this.sessions.flatMap { it.opportunities }.associate { it.adUnitId to it.format }
+
+    /** Total ad opportunities across sessions. */
+    val size: Int get() = sessions.sumOf { it.opportunities.size }
+
+    companion object {
+        private const val HOUR_MILLIS = 60 * 60 * 1000L
+
+        /**
+         * Parses a recorded trace, one opportunity per line:
+         * `session_start_ms,offset_ms,format,ad_unit_id[,visible_ms]`, where format is
+         * `native` or `interstitial`. Blank lines, `#` comments and a header line are skipped.
+         *
+         * @throws IllegalArgumentException on a malformed line
+         */
+        @JvmStatic
+        fun fromCsv(lines: Sequence<String>): SessionTrace {
+            val sessions = LinkedHashMap<Long, MutableList<AdOpportunity>>()
+            lines.forEachIndexed { index, raw ->
+                val line = raw.trim()
+                if (line.isEmpty() || line.startsWith("#") || (index == 0 && !line[0].isDigit())) {
+                    return@forEachIndexed
+                }
+                val fields = line.split(',').map { it.trim() }
+                val start = fields.getOrNull(0)?.toLongOrNull()
+                val offset = fields.getOrNull(1)?.toLongOrNull()
+                val format = fields.getOrNull(2)?.let { name ->
+                    AdOpportunity.Format.values().firstOrNull { it.name.equals(name, ignoreCase = true) }
+                }
+                val adUnitId = fields.getOrNull(3)?.takeIf { it.isNotEmpty() }
+                val visible = fields.getOrNull(4)?.toLongOrNull()
+                if (start == null || offset == null || format == null || adUnitId == null) {
+                    throw IllegalArgumentException("Malformed trace line ${index + 1}: $raw")
+                }
+                val opportunity = if (visible != null) {
+                    AdOpportunity(offset, format, adUnitId, visible)
+                } else {
+                    AdOpportunity(offset, format, adUnitId)
+                }
+                sessions.getOrPut(start) { ArrayList() }.add(opportunity)
+            }
+            return SessionTrace(sessions.map { (start, ops) -> AdSession(start, ops.sortedBy { it.offsetMillis }) })
+        }
+
+        /**
+         * Generates [sessions] sessions, back to back with [sessionGapMillis] between them,
+         * each with [opportunitiesPerSession] opportunities on ad units picked evenly from
+         * [adUnits]. The same [seed] always generates the same trace.
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun synthetic(
+            seed: Long,
+            sessions: Int,
+            adUnits: Map<String, AdOpportunity.Format>,
+            sessionGapMillis: SimulatedDistribution = SimulatedDistribution.exponential(4 * HOUR_MILLIS),
+            opportunitiesPerSession: SimulatedDistribution = SimulatedDistribution.uniform(1, 10),
+            opportunityGapMillis: SimulatedDistribution = SimulatedDistribution.logNormal(40_000, 0.8),
+            visibleMillis: SimulatedDistribution = SimulatedDistribution.logNormal(20_000, 0.7)
+        ): SessionTrace {
+            require(adUnits.isNotEmpty()) { "adUnits must not be empty" }
+            val random = Random(seed)
+            val units = adUnits.entries.toList()
+            var start = 0L
+            val generated = List(sessions) {
+                var offset = 0L
+                val count = opportunitiesPerSession.sample(random).coerceAtLeast(0).toInt()
+                val opportunities = List(count) {
+                    offset += opportunityGapMillis.sample(random).coerceAtLeast(0)
+                    val unit = units[random.nextInt(units.size)]
+                    AdOpportunity(offset, unit.value, unit.key, visibleMillis.sample(random).coerceAtLeast(0))
+                }
+                AdSession(start, opportunities).also {
+                    start += offset + sessionGapMillis.sample(random).coerceAtLeast(0)
+                }
+            }
+            return SessionTrace(generated)
+        }
+    }
+}
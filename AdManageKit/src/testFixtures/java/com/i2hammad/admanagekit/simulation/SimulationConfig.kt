@@ -0,0 +1,43 @@
+package com.i2hammad.admanagekit.simulation
+
+import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import kotlin.time.Duration
+
+/**
+ * The settings a [StrategySimulator] run replays a trace with. Each defaults to the
+ * current [AdManageKitConfig] value, so a config only names what it varies:
+ *
+ * ```kotlin
+ * val reports = simulator.compare(trace, mapOf(
+ *     "hybrid" to SimulationConfig(),
+ *     "cache only, 3 per unit" to SimulationConfig(
+ *         nativeStrategy = AdLoadingStrategy.ONLY_CACHE,
+ *         maxCachedAdsPerUnit = 3,
+ *         preloadedAdsPerUnit = 3
+ *     )
+ * ))
+ * ```
+ *
+ * @param preloadedAdsPerUnit Ads each native ad unit is topped up to when a session
+ *        starts, as an app calling `NativeAdManager.preloadNativeAd` would. Only for
+ *        strategies that read the cache.
+ * @param refillAfterServe Whether serving a cached native ad preloads a replacement
+ */
+data class SimulationConfig(
+    val nativeStrategy: AdLoadingStrategy = AdManageKitConfig.nativeLoadingStrategy,
+    val interstitialStrategy: AdLoadingStrategy = AdManageKitConfig.interstitialLoadingStrategy,
+    val nativeCacheExpiry: Duration = AdManageKitConfig.nativeCacheExpiry,
+    val maxCachedAdsPerUnit: Int = AdManageKitConfig.maxCachedAdsPerUnit,
+    val enableCrossAdUnitFallback: Boolean = AdManageKitConfig.enableCrossAdUnitFallback,
+    val adTimeout: Duration = AdManageKitConfig.defaultAdTimeout,
+    val autoRetryFailedAds: Boolean = AdManageKitConfig.autoRetryFailedAds,
+    val maxRetryAttempts: Int = AdManageKitConfig.maxRetryAttempts,
+    val baseRetryDelay: Duration = AdManageKitConfig.baseRetryDelay,
+    val maxRetryDelay: Duration = AdManageKitConfig.maxRetryDelay,
+    val enableExponentialBackoff: Boolean = AdManageKitConfig.enableExponentialBackoff,
+    val interstitialInterval: Duration = AdManageKitConfig.defaultInterstitialInterval,
+    val interstitialAutoReload: Boolean = AdManageKitConfig.interstitialAutoReload,
+    val preloadedAdsPerUnit: Int = 1,
+    val refillAfterServe: Boolean = true
+)
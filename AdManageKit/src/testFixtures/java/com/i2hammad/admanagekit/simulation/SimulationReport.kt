@@ -0,0 +1,77 @@
+package com.i2hammad.admanagekit.simulation
+
+/**
+ * What one format's placements got during a [StrategySimulator] run.
+ *
+ * Every opportunity that was not [throttled] ends as either shown or missed. An ad is
+ * wasted when a network filled it but it was never shown: it expired or was evicted
+ * from the cache, arrived after its slot was gone, or replaced a ready ad. Ads still
+ * cached when the trace ends are counted in [cachedAtEnd] instead.
+ *
+ * @param opportunities Opportunities not skipped by the interstitial interval
+ * @param throttled Interstitial opportunities inside the interval after the last show
+ * @param shown Opportunities that showed an ad
+ * @param shownFromCache Shown ads that came from the cache, not a fresh request
+ * @param timeToAdP50Millis Median wait from opportunity to shown ad; 0 for cache hits
+ * @param requests Network requests, one per provider attempt
+ * @param fills Requests that returned an ad, including ones that came too late
+ * @param retries Retries scheduled after failed loads
+ * @param wastedAds Filled ads never shown
+ * @param expiredAds Native ads that expired in the cache
+ * @param evictedAds Native ads evicted from a full cache
+ * @param cachedAtEnd Ads still cached when the trace ended
+ */
+data class FormatReport(
+    val opportunities: Int,
+    val throttled: Int,
+    val shown: Int,
+    val shownFromCache: Int,
+    val timeToAdP50Millis: Long,
+    val timeToAdP90Millis: Long,
+    val timeToAdP99Millis: Long,
+    val requests: Long,
+    val fills: Long,
+    val retries: Int,
+    val wastedAds: Long,
+    val expiredAds: Long,
+    val evictedAds: Long,
+    val cachedAtEnd: Int
+) {
+    /** Share of opportunities that showed an ad. */
+    val fillRate: Double get() = if (opportunities > 0) shown.toDouble() / opportunities else 0.0
+
+    /** Requests that did not end in a shown ad. */
+    val wastedRequests: Long get() = (requests - shown).coerceAtLeast(0)
+}
+
+/**
+ * Result of replaying a [SessionTrace] with one [SimulationConfig].
+ *
+ * @param peakMemoryBytes Most memory held by cached ads at once, estimated per ad as
+ *        `NativeAdManager` does
+ * @param averageMemoryBytes Memory held by cached ads, averaged over the trace's time
+ * @param simulatedMillis Virtual time the trace spanned
+ */
+data class SimulationReport(
+    val native: FormatReport,
+    val interstitial: FormatReport,
+    val peakMemoryBytes: Long,
+    val averageMemoryBytes: Long,
+    val simulatedMillis: Long
+) {
+    /** One line per format, for logs and test output. */
+    fun summary(): String = buildString {
+        append(line("native", native)).append('\n')
+        append(line("interstitial", interstitial)).append('\n')
+        append("memory peak=").append(peakMemoryBytes / 1024).append("KB avg=")
+            .append(averageMemoryBytes / 1024).append("KB over ")
+            .append("%.1f".format(simulatedMillis / 86_400_000.0)).append(" days")
+    }
+
+    private fun line(label: String, report: FormatReport) = with(report) {
+        "$label: fill=${"%.1f".format(fillRate * 100)}% ($shown/$opportunities, $shownFromCache cached" +
+            ", $throttled throttled) ttad p50/p90/p99=$timeToAdP50Millis/$timeToAdP90Millis/${timeToAdP99Millis}ms" +
+            " requests=$requests wasted=$wastedRequests retries=$retries" +
+            " ads wasted=$wastedAds expired=$expiredAds evicted=$evictedAds"
+    }
+}
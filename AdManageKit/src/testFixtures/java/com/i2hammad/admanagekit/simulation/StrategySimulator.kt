@@ -0,0 +1,401 @@
+package com.i2hammad.admanagekit.simulation
+
+import android.content.ContextWrapper
+import android.view.View
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdLoadingPolicy
+import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.CachedNativeAd
+import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.core.ad.NativeAdInventory
+import com.i2hammad.admanagekit.core.ad.NativeAdProvider
+import com.i2hammad.admanagekit.core.ad.NativeAdSize
+import com.i2hammad.admanagekit.core.ad.SimulatedAdProfile
+import com.i2hammad.admanagekit.core.ad.SimulatedAdProvider
+import java.util.PriorityQueue
+
+/**
+ * Replays a [SessionTrace] against simulated ad networks on a virtual clock, to compare
+ * loading strategies, cache sizes, expiry, retry and interval settings offline. A month
+ * of sessions runs in well under a second.
+ *
+ * Each run uses the library's own pieces where they are free of the main looper: a
+ * [NativeAdInventory] (the native cache rules of `NativeAdManager`) on the virtual
+ * clock, one [SimulatedAdProvider] per entry of [networks], and [AdLoadingPolicy] for
+ * the strategy decision, the interstitial interval and the retry rules and backoff,
+ * the same functions `NativeAdIntegrationManager`, `AdManager.forceShowInterstitial`
+ * and `AdRetryManager` call. Networks are tried in order with an
+ * [SimulationConfig.adTimeout] watchdog per attempt, like the waterfalls.
+ *
+ * Every run reseeds the networks, so the n-th request of an ad unit gets the same
+ * answer under every config and differences between reports come from the config.
+ *
+ * Part of AdManageKit's test fixtures, for unit tests of this module and of modules
+ * that add `testImplementation(testFixtures(project(":AdManageKit")))`. Views are
+ * constructed but never drawn, which the unit-test `android.jar` allows with
+ * `unitTests.isReturnDefaultValues = true`.
+ *
+ * ```kotlin
+ * val trace = SessionTrace.synthetic(seed = 1, sessions = 150, adUnits = mapOf(
+ *     "native_feed" to AdOpportunity.Format.NATIVE,
+ *     "interstitial_level" to AdOpportunity.Format.INTERSTITIAL
+ * ))
+ * val simulator = StrategySimulator(listOf(SimulatedAdProfile(fillRate = 0.7), SimulatedAdProfile()))
+ * println(simulator.run(trace, SimulationConfig(nativeStrategy = AdLoadingStrategy.ONLY_CACHE)).summary())
+ * ```
+ *
+ * @param networks Behavior of each network in the waterfall, in order
+ * @param seed Seed of the networks' random streams
+ */
+class StrategySimulator @JvmOverloads constructor(
+    private val networks: List<SimulatedAdProfile>,
+    private val seed: Long = 0L
+) {
+    init {
+        require(networks.isNotEmpty()) { "networks must not be empty" }
+    }
+
+    /** Replays [trace] with [config]. */
+    @JvmOverloads
+    fun run(trace: SessionTrace, config: SimulationConfig = SimulationConfig()): SimulationReport =
+        Run(trace, config).execute()
+
+    /** Replays [trace] once per config, keyed like [configs]. */
+    fun compare(trace: SessionTrace, configs: Map<String, SimulationConfig>): Map<String, SimulationReport> =
+        configs.mapValues { (_, config) -> run(trace, config) }
+
+    private class Task(val atMillis: Long, val order: Long, val action: () -> Unit)
+
+    private class Counters {
+        var opportunities = 0
+        var throttled = 0
+        var shown = 0
+        var shownFromCache = 0
+        val timesToAd = ArrayList<Long>()
+        var requests = 0L
+        var fills = 0L
+        var retries = 0
+    }
+
+    /** One replay. Single-threaded: every callback runs from the virtual clock's queue. */
+    private inner class Run(private val trace: SessionTrace, private val config: SimulationConfig) {
+
+        private val context = ContextWrapper(null)
+        private val tasks = PriorityQueue<Task>(compareBy<Task>({ it.atMillis }, { it.order }))
+        private var order = 0L
+        private var now = 0L
+
+        private val providers = networks.mapIndexed { index, profile ->
+            SimulatedAdProvider(
+                seed + index,
+                profile,
+                provider = AdProvider("simulated_$index", "Simulated network ${index + 1}"),
+                scheduler = this::schedule
+            )
+        }
+
+        private val inventory = NativeAdInventory(
+            expiryMillis = { config.nativeCacheExpiry.inWholeMilliseconds },
+            maxAdsPerUnit = { config.maxCachedAdsPerUnit },
+            crossUnitFallback = { config.enableCrossAdUnitFallback },
+            clock = { now }
+        )
+
+        private val native = Counters()
+        private val interstitial = Counters()
+
+        // Native preloads in flight per ad unit
+        private val preloading = HashMap<String, Int>()
+        private val readyInterstitials = HashSet<String>()
+        private val loadingInterstitials = HashSet<String>()
+        private var lastInterstitialShownAt: Long? = null
+
+        private var memoryBytes = 0L
+        private var peakMemoryBytes = 0L
+        private var memoryByteMillis = 0.0
+
+        fun execute(): SimulationReport {
+            val begin = trace.sessions.firstOrNull()?.startMillis ?: 0L
+            now = begin
+            trace.sessions.forEach { session ->
+                scheduleAt(session.startMillis) { startSession() }
+                session.opportunities.forEach { opportunity ->
+                    scheduleAt(session.startMillis + opportunity.offsetMillis) {
+                        when (opportunity.format) {
+                            AdOpportunity.Format.NATIVE -> showNative(opportunity)
+                            AdOpportunity.Format.INTERSTITIAL -> showInterstitial(opportunity)
+                        }
+                    }
+                }
+            }
+
+            while (true) {
+                val task = tasks.poll() ?: break
+                memoryByteMillis += memoryBytes.toDouble() * (task.atMillis - now)
+                now = task.atMillis
+                task.action()
+                memoryBytes = (inventory.totalSize() + readyInterstitials.size) * NativeAdManager.ESTIMATED_AD_SIZE_BYTES
+                peakMemoryBytes = maxOf(peakMemoryBytes, memoryBytes)
+            }
+
+            inventory.performCleanup()
+            val inventoryStats = inventory.getStats()
+            val elapsed = now - begin
+            return SimulationReport(
+                native = report(
+                    native,
+                    cachedAtEnd = inventory.totalSize(),
+                    expired = inventoryStats["expired"] as Long,
+                    evicted = inventoryStats["evicted"] as Long
+                ),
+                interstitial = report(interstitial, cachedAtEnd = readyInterstitials.size, expired = 0, evicted = 0),
+                peakMemoryBytes = peakMemoryBytes,
+                averageMemoryBytes = if (elapsed > 0) (memoryByteMillis / elapsed).toLong() else memoryBytes,
+                simulatedMillis = elapsed
+            )
+        }
+
+        private fun schedule(delayMillis: Long, action: () -> Unit) = scheduleAt(now + delayMillis, action)
+
+        private fun scheduleAt(atMillis: Long, action: () -> Unit) {
+            tasks.add(Task(atMillis, order++, action))
+        }
+
+        private fun startSession() {
+            trace.adUnits.forEach { (adUnitId, format) ->
+                when (format) {
+                    AdOpportunity.Format.NATIVE -> if (config.nativeStrategy != AdLoadingStrategy.ON_DEMAND) {
+                        val missing = config.preloadedAdsPerUnit - inventory.size(adUnitId) - (preloading[adUnitId] ?: 0)
+                        repeat(missing.coerceAtLeast(0)) { preloadNative(adUnitId) }
+                    }
+                    AdOpportunity.Format.INTERSTITIAL -> if (config.interstitialStrategy != AdLoadingStrategy.ON_DEMAND) {
+                        preloadInterstitial(adUnitId)
+                    }
+                }
+            }
+        }
+
+        // =================== NATIVE ===================
+
+        private fun showNative(opportunity: AdOpportunity) {
+            native.opportunities++
+            val start = now
+            val adUnitId = opportunity.adUnitId
+            when (AdLoadingPolicy.decide(config.nativeStrategy) { takeCachedNative(adUnitId) }) {
+                AdLoadingPolicy.Decision.SHOW_CACHED -> cachedNativeShown(adUnitId, start)
+                AdLoadingPolicy.Decision.LOAD_FRESH -> loadFreshNative(opportunity, start, fallbackToCache = false)
+                AdLoadingPolicy.Decision.LOAD_FRESH_WITH_CACHE_FALLBACK ->
+                    loadFreshNative(opportunity, start, fallbackToCache = true)
+                AdLoadingPolicy.Decision.SKIP -> Unit
+            }
+        }
+
+        private fun takeCachedNative(adUnitId: String): Boolean =
+            inventory.take(adUnitId, NATIVE_SIZE, fallbackToAnyAd = true) != null
+
+        private fun cachedNativeShown(adUnitId: String, start: Long) {
+            record(native, now - start, fromCache = true)
+            if (config.refillAfterServe) preloadNative(adUnitId)
+        }
+
+        private fun loadFreshNative(opportunity: AdOpportunity, start: Long, fallbackToCache: Boolean) {
+            loadWithRetry(native, nativeLoader(opportunity.adUnitId)) { ad ->
+                val visible = now - start <= opportunity.visibleMillis
+                when {
+                    ad != null && visible -> record(native, now - start, fromCache = false)
+                    // The slot left the screen before the ad arrived
+                    ad != null -> ad.destroy()
+                    visible && fallbackToCache -> if (takeCachedNative(opportunity.adUnitId)) {
+                        cachedNativeShown(opportunity.adUnitId, start)
+                    }
+                }
+            }
+        }
+
+        private fun preloadNative(adUnitId: String) {
+            preloading[adUnitId] = (preloading[adUnitId] ?: 0) + 1
+            loadChain(native, nativeLoader(adUnitId), { ad, _ ->
+                preloading[adUnitId] = preloading.getValue(adUnitId) - 1
+                if (ad != null) inventory.put(adUnitId, ad)
+            })
+        }
+
+        private fun nativeLoader(adUnitId: String): Loader<CachedNativeAd> = { provider, settle ->
+            provider.loadNativeAd(context, adUnitId, object : NativeAdProvider.NativeAdCallback {
+                override fun onNativeAdLoaded(adView: View, nativeAdRef: Any) {
+                    settle(CachedNativeAd(adView, nativeAdRef, provider.provider, NATIVE_SIZE, loadedAtMillis = now), 0)
+                }
+
+                override fun onNativeAdFailedToLoad(error: AdKitAdError) {
+                    settle(null, error.code)
+                }
+            }, NATIVE_SIZE)
+        }
+
+        // =================== INTERSTITIAL ===================
+
+        private fun showInterstitial(opportunity: AdOpportunity) {
+            val lastShown = lastInterstitialShownAt
+            val interval = config.interstitialInterval.inWholeMilliseconds
+            if (lastShown != null && !AdLoadingPolicy.isIntervalElapsed(lastShown, now, interval)) {
+                interstitial.throttled++
+                return
+            }
+            interstitial.opportunities++
+            val start = now
+            val adUnitId = opportunity.adUnitId
+            // Like AdManager.isReady(), the check leaves the ready ad in place until shown
+            when (AdLoadingPolicy.decide(config.interstitialStrategy) { adUnitId in readyInterstitials }) {
+                AdLoadingPolicy.Decision.SHOW_CACHED -> serveReadyInterstitial(adUnitId, start)
+                AdLoadingPolicy.Decision.LOAD_FRESH -> loadFreshInterstitial(adUnitId, start, fallbackToReady = false)
+                AdLoadingPolicy.Decision.LOAD_FRESH_WITH_CACHE_FALLBACK ->
+                    loadFreshInterstitial(adUnitId, start, fallbackToReady = true)
+                AdLoadingPolicy.Decision.SKIP -> Unit
+            }
+        }
+
+        private fun serveReadyInterstitial(adUnitId: String, start: Long): Boolean {
+            if (!readyInterstitials.remove(adUnitId)) return false
+            interstitialShown(adUnitId, now - start, fromCache = true)
+            return true
+        }
+
+        private fun interstitialShown(adUnitId: String, waitMillis: Long, fromCache: Boolean) {
+            record(interstitial, waitMillis, fromCache)
+            lastInterstitialShownAt = now
+            if (config.interstitialAutoReload) preloadInterstitial(adUnitId)
+        }
+
+        private fun loadFreshInterstitial(adUnitId: String, start: Long, fallbackToReady: Boolean) {
+            loadWithRetry(interstitial, interstitialLoader(adUnitId)) { ad ->
+                val timeout = config.adTimeout.inWholeMilliseconds
+                val waiting = timeout <= 0 || now - start <= timeout
+                when {
+                    ad != null && waiting -> interstitialShown(adUnitId, now - start, fromCache = false)
+                    // The loading dialog gave up; the ad stays ready for a strategy that reads it
+                    ad != null -> if (config.interstitialStrategy != AdLoadingStrategy.ON_DEMAND) {
+                        readyInterstitials.add(adUnitId)
+                    }
+                    waiting && fallbackToReady -> serveReadyInterstitial(adUnitId, start)
+                }
+            }
+        }
+
+        private fun preloadInterstitial(adUnitId: String) {
+            if (adUnitId in readyInterstitials || !loadingInterstitials.add(adUnitId)) return
+            loadChain(interstitial, interstitialLoader(adUnitId), { ad, _ ->
+                loadingInterstitials.remove(adUnitId)
+                if (ad != null) readyInterstitials.add(adUnitId)
+            })
+        }
+
+        private fun interstitialLoader(adUnitId: String): Loader<Unit> = { provider, settle ->
+            provider.loadAd(context, adUnitId, object : InterstitialAdProvider.InterstitialAdCallback {
+                override fun onAdLoaded() {
+                    settle(Unit, 0)
+                }
+
+                override fun onAdFailedToLoad(error: AdKitAdError) {
+                    settle(null, error.code)
+                }
+            })
+        }
+
+        // =================== LOADING ===================
+
+        /**
+         * Tries each network from [index] until one fills, like the waterfalls. When all
+         * fail, several networks report no fill; a single network reports its own error.
+         */
+        private fun <T : Any> loadChain(
+            counters: Counters,
+            loader: Loader<T>,
+            onDone: (ad: T?, errorCode: Int) -> Unit,
+            index: Int = 0,
+            lastErrorCode: Int = AdKitAdError.ERROR_CODE_NO_FILL
+        ) {
+            if (index >= providers.size) {
+                onDone(null, if (providers.size > 1) AdKitAdError.ERROR_CODE_NO_FILL else lastErrorCode)
+                return
+            }
+            counters.requests++
+            var settled = false
+            val settle: (T?, Int) -> Unit = { ad, errorCode ->
+                if (ad != null) counters.fills++
+                if (!settled) {
+                    settled = true
+                    if (ad != null) onDone(ad, 0) else loadChain(counters, loader, onDone, index + 1, errorCode)
+                } else {
+                    // Answered after the watchdog; the waterfall ignores it
+                    (ad as? CachedNativeAd)?.destroy()
+                }
+            }
+            val timeout = config.adTimeout.inWholeMilliseconds
+            if (timeout > 0) schedule(timeout) { settle(null, AdKitAdError.ERROR_CODE_TIMEOUT) }
+            loader(providers[index], settle)
+        }
+
+        /** [loadChain], retried with backoff as [AdLoadingPolicy.shouldRetry] allows. */
+        private fun <T : Any> loadWithRetry(
+            counters: Counters,
+            loader: Loader<T>,
+            retryAttempt: Int = 0,
+            onDone: (T?) -> Unit
+        ) {
+            loadChain(counters, loader, { ad, errorCode ->
+                val retry = ad == null && AdLoadingPolicy.shouldRetry(
+                    errorCode, retryAttempt, config.autoRetryFailedAds, config.maxRetryAttempts
+                )
+                if (retry) {
+                    counters.retries++
+                    val delay = AdLoadingPolicy.retryDelayMillis(
+                        retryAttempt,
+                        config.baseRetryDelay.inWholeMilliseconds,
+                        config.maxRetryDelay.inWholeMilliseconds,
+                        config.enableExponentialBackoff
+                    )
+                    schedule(delay) { loadWithRetry(counters, loader, retryAttempt + 1, onDone) }
+                } else {
+                    onDone(ad)
+                }
+            })
+        }
+
+        private fun record(counters: Counters, waitMillis: Long, fromCache: Boolean) {
+            counters.shown++
+            if (fromCache) counters.shownFromCache++
+            counters.timesToAd.add(waitMillis)
+        }
+
+        private fun report(counters: Counters, cachedAtEnd: Int, expired: Long, evicted: Long): FormatReport {
+            val times = counters.timesToAd.sorted()
+            // Nearest rank, as AdOverlayStats reports latencies
+            fun percentile(percent: Int) = if (times.isEmpty()) 0L else times[((times.size - 1) * percent + 50) / 100]
+            return FormatReport(
+                opportunities = counters.opportunities,
+                throttled = counters.throttled,
+                shown = counters.shown,
+                shownFromCache = counters.shownFromCache,
+                timeToAdP50Millis = percentile(50),
+                timeToAdP90Millis = percentile(90),
+                timeToAdP99Millis = percentile(99),
+                requests = counters.requests,
+                fills = counters.fills,
+                retries = counters.retries,
+                wastedAds = counters.fills - counters.shown - cachedAtEnd,
+                expiredAds = expired,
+                evictedAds = evicted,
+                cachedAtEnd = cachedAtEnd
+            )
+        }
+    }
+
+    private companion object {
+        val NATIVE_SIZE = NativeAdSize.MEDIUM
+    }
+}
+
+/** Starts one network's load and reports it through the settle function: an ad, or null and an error code. */
+private typealias Loader<T> = (provider: SimulatedAdProvider, settle: (ad: T?, errorCode: Int) -> Unit) -> Unit
@@ -0,0 +1,75 @@
+plugins {
+    alias(libs.plugins.android.library)
+    alias(libs.plugins.jetbrains.kotlin.android)
+    alias(libs.plugins.jetbrains.kotlin.kapt)
+}
+
+// JMH benchmarks for the libraries' JVM-testable hot paths. Not published.
+//
+// The code under test ships as Android libraries, so this is an Android library
+// module with no main sources: the benchmarks live in the unit-test source set,
+// which compiles against the libraries and runs on a plain JVM with the unit-test
+// android.jar. The jmh task runs them from that classpath.
+//
+//   ./gradlew :admanagekit-benchmark:jmh
+//   ./gradlew :admanagekit-benchmark:jmh -Pjmh.include=NativeAdCache
+//
+// Results: build/reports/jmh/results.json (JMH's JSON format, one entry per
+// benchmark and parameter set), for comparing runs between releases.
+
+android {
+    namespace = "com.i2hammad.admanagekit.benchmark"
+    compileSdk = 37
+
+    defaultConfig {
+        minSdk = 24
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_17
+        targetCompatibility = JavaVersion.VERSION_17
+    }
+    kotlinOptions {
+        jvmTarget = "17"
+    }
+
+    testOptions {
+        unitTests {
+            // Benchmarks construct Handlers, Views and Contexts but never use them
+            isReturnDefaultValues = true
+            all {
+                // The unit-test source set holds only JMH benchmarks, no JUnit tests
+                it.failOnNoDiscoveredTests.set(false)
+            }
+        }
+    }
+}
+
+dependencies {
+    testImplementation(project(":AdManageKit"))
+    testImplementation(project(":admanagekit-core"))
+    testImplementation(project(":admanagekit-billing"))
+
+    testImplementation(libs.jmh.core)
+    kaptTest(libs.jmh.generator.annprocess)
+    testImplementation(libs.mockk)
+    // ProductDetails parses JSON; the unit-test android.jar stubs org.json
+    testImplementation(libs.json)
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and writes build/reports/jmh/results.json"
+
+    val unitTest = tasks.named<Test>("testReleaseUnitTest")
+    classpath(unitTest.map { it.classpath })
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+    doFirst { results.get().asFile.parentFile.mkdirs() }
+
+    args(providers.gradleProperty("jmh.include").getOrElse(".*"))
+    args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+}
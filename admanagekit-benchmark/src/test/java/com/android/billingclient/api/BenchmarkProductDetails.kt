@@ -0,0 +1,35 @@
+package com.android.billingclient.api
+
+/**
+ * Real [ProductDetails] for the billing benchmarks. Its JSON constructor is
+ * package-private, hence this package.
+ */
+object BenchmarkProductDetails {
+
+    /** A monthly subscription with a one-week free trial and three discounted months. */
+    fun introOfferSubscription(productId: String): ProductDetails = ProductDetails(
+        """
+        {
+          "productId": "$productId",
+          "type": "subs",
+          "title": "$productId (Benchmark)",
+          "name": "$productId",
+          "description": "Benchmark subscription",
+          "subscriptionOfferDetails": [{
+            "basePlanId": "monthly",
+            "offerId": "intro",
+            "offerIdToken": "token-monthly-intro",
+            "offerTags": ["intro"],
+            "pricingPhases": [
+              {"priceAmountMicros": 0, "priceCurrencyCode": "USD", "formattedPrice": "Free",
+               "billingPeriod": "P1W", "recurrenceMode": 2, "billingCycleCount": 1},
+              {"priceAmountMicros": 990000, "priceCurrencyCode": "USD", "formattedPrice": "$0.99",
+               "billingPeriod": "P1M", "recurrenceMode": 2, "billingCycleCount": 3},
+              {"priceAmountMicros": 4990000, "priceCurrencyCode": "USD", "formattedPrice": "$4.99",
+               "billingPeriod": "P1M", "recurrenceMode": 1, "billingCycleCount": 0}
+            ]
+          }]
+        }
+        """.trimIndent()
+    )
+}
@@ -0,0 +1,70 @@
+package com.i2hammad.admanagekit.benchmark
+
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import com.i2hammad.admanagekit.utils.AdRetryManager
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * [AdRetryManager.scheduleRetry], including its backoff calculation, and cancellation.
+ * The unit-test android.jar makes the main-thread post a no-op, so the retries never run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class AdRetryBenchmark {
+
+    @Param("0", "4")
+    var attempt: Int = 0
+
+    private val retryManager = AdRetryManager.getInstance()
+    private val retryAction = {}
+
+    @Setup
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        AdManageKitConfig.autoRetryFailedAds = true
+    }
+
+    @TearDown
+    fun tearDown() {
+        retryManager.cancelAllRetries()
+        AdManageKitConfig.resetToDefaults()
+    }
+
+    /** Replaces the pending retry for one ad unit, as repeated load failures do. */
+    @Benchmark
+    fun schedule() {
+        retryManager.scheduleRetry(AD_UNIT, attempt, maxAttempts = 5, retryAction = retryAction)
+    }
+
+    @Benchmark
+    fun scheduleThenCancel() {
+        retryManager.scheduleRetry(AD_UNIT, attempt, maxAttempts = 5, retryAction = retryAction)
+        retryManager.cancelRetry(AD_UNIT)
+    }
+
+    /** A retry past the limit is dropped before any backoff is computed. */
+    @Benchmark
+    fun dropExhausted() {
+        retryManager.scheduleRetry(AD_UNIT, 5, maxAttempts = 5, retryAction = retryAction)
+    }
+
+    private companion object {
+        const val AD_UNIT = "ca-app-pub-3940256099942544/1033173712"
+    }
+}
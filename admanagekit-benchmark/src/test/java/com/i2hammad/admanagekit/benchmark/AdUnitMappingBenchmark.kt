@@ -0,0 +1,58 @@
+package com.i2hammad.admanagekit.benchmark
+
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdUnitMapping
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/** [AdUnitMapping] lookups, which every waterfall step makes to resolve its ad unit. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class AdUnitMappingBenchmark {
+
+    @Param("10", "200")
+    var placements: Int = 0
+
+    private lateinit var placement: String
+
+    @Setup
+    fun setUp() {
+        AdUnitMapping.clear()
+        repeat(placements) { index ->
+            AdUnitMapping.register(
+                "placement_$index",
+                mapOf("admob" to "ca-app-pub-xxx/$index", "yandex" to "R-M-12345-$index")
+            )
+        }
+        placement = "placement_${placements / 2}"
+    }
+
+    @TearDown
+    fun tearDown() {
+        AdUnitMapping.clear()
+    }
+
+    @Benchmark
+    fun byProvider(): String? = AdUnitMapping.getAdUnitId(placement, AdProvider.ADMOB)
+
+    @Benchmark
+    fun byProviderName(): String? = AdUnitMapping.getAdUnitId(placement, "yandex")
+
+    @Benchmark
+    fun unregisteredProvider(): String? = AdUnitMapping.getAdUnitId(placement, "applovin")
+}
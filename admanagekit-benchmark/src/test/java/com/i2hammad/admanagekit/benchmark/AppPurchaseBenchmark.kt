@@ -0,0 +1,61 @@
+package com.i2hammad.admanagekit.benchmark
+
+import com.i2hammad.admanagekit.billing.AppPurchase
+import com.i2hammad.admanagekit.billing.PurchaseItem
+import com.i2hammad.admanagekit.billing.PurchaseResult
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+/**
+ * [AppPurchase.isPurchased] for a user owning [products] consumables and no
+ * subscription: the slowest case, as every owned product is looked up in the
+ * configured items before the check can return false.
+ *
+ * Owned products normally arrive from Play, so the lists are seeded by reflection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class AppPurchaseBenchmark {
+
+    @Param("10", "100", "1000")
+    var products: Int = 0
+
+    private val appPurchase = AppPurchase.getInstance()
+
+    @Setup
+    fun setUp() {
+        val ids = List(products) { "coins_$it" }
+        setField("purchaseItemList", ids.mapTo(ArrayList()) { PurchaseItem(it, AppPurchase.TYPE_IAP.PURCHASE, true) })
+        setField("stringList", CopyOnWriteArrayList(ids))
+        setField("purchaseResultList", CopyOnWriteArrayList<PurchaseResult>())
+    }
+
+    @TearDown
+    fun tearDown() {
+        setField("purchaseItemList", ArrayList<PurchaseItem>())
+        setField("stringList", CopyOnWriteArrayList<String>())
+    }
+
+    @Benchmark
+    fun isPurchased(): Boolean = appPurchase.isPurchased()
+
+    private fun setField(name: String, value: Any) {
+        AppPurchase::class.java.getDeclaredField(name).apply { isAccessible = true }.set(appPurchase, value)
+    }
+}
@@ -0,0 +1,47 @@
+package com.i2hammad.admanagekit.benchmark
+
+import com.android.billingclient.api.BenchmarkProductDetails
+import com.android.billingclient.api.ProductDetails
+import com.i2hammad.admanagekit.billing.BillingPeriod
+import com.i2hammad.admanagekit.billing.OfferInfo
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Parsing Play's ISO 8601 billing periods and building an [OfferInfo] from a
+ * subscription offer with a free trial, an intro price and the base price.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class BillingParsingBenchmark {
+
+    @Param("P1W", "P1M", "P1Y", "P3D", "P1Y6M2W")
+    lateinit var period: String
+
+    private lateinit var offer: ProductDetails.SubscriptionOfferDetails
+
+    @Setup
+    fun setUp() {
+        offer = BenchmarkProductDetails.introOfferSubscription("premium").subscriptionOfferDetails!!.first()
+    }
+
+    @Benchmark
+    fun parseBillingPeriod(): BillingPeriod? = BillingPeriod.parse(period)
+
+    @Benchmark
+    fun offerInfo(): OfferInfo = OfferInfo.from("premium", offer)
+}
@@ -0,0 +1,75 @@
+package com.i2hammad.admanagekit.benchmark
+
+import com.google.android.libraries.ads.mobile.sdk.nativead.NativeAd
+import com.i2hammad.admanagekit.admob.NativeAdManager
+import com.i2hammad.admanagekit.config.AdManageKitConfig
+import io.mockk.mockk
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Group
+import org.openjdk.jmh.annotations.GroupThreads
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * [NativeAdManager]'s cache: writers and readers contending for one ad unit, and a
+ * read that falls back to another size variant of the same base ad unit.
+ *
+ * Ads are relaxed mocks, so the `destroy()` an eviction makes is a mock call; the
+ * default cache size of 3 keeps evictions to one per put once the unit is full.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class NativeAdCacheBenchmark {
+
+    private lateinit var ad: NativeAd
+
+    @Setup
+    fun setUp() {
+        AdManageKitConfig.resetToDefaults()
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = true
+        ad = mockk(relaxed = true)
+    }
+
+    @TearDown
+    fun tearDown() {
+        NativeAdManager.clearAllCachedAds()
+        NativeAdManager.enableCachingNativeAds = false
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    fun put() {
+        NativeAdManager.setCachedNativeAd(AD_UNIT, ad)
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    fun take(): NativeAd? = NativeAdManager.getCachedNativeAd(AD_UNIT)
+
+    @Benchmark
+    fun putThenTakeWithFallback(): NativeAd? {
+        NativeAdManager.setCachedNativeAd("${BASE_AD_UNIT}_SMALL", ad)
+        return NativeAdManager.getCachedNativeAd("${BASE_AD_UNIT}_LARGE", enableFallbackToAnyAd = true)
+    }
+
+    private companion object {
+        const val AD_UNIT = "ca-app-pub-3940256099942544/2247696110"
+        const val BASE_AD_UNIT = "home_native"
+    }
+}
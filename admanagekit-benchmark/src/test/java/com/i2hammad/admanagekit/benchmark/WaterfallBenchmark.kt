@@ -0,0 +1,91 @@
+package com.i2hammad.admanagekit.benchmark
+
+import android.app.Activity
+import android.content.Context
+import android.content.ContextWrapper
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.waterfall.InterstitialWaterfall
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * One [InterstitialWaterfall] load through a chain where every provider but the last
+ * fails immediately, so the time measured is the waterfall's own advance logic: ad unit
+ * resolution, watchdog bookkeeping and the stale-callback checks.
+ *
+ * Without a main looper the waterfall advances inline and its watchdog posts are no-ops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class WaterfallBenchmark {
+
+    @Param("1", "3", "6")
+    var chainLength: Int = 0
+
+    private val context: Context = ContextWrapper(null)
+    private lateinit var waterfall: InterstitialWaterfall
+
+    @Setup
+    fun setUp() {
+        val providers = List(chainLength) { index -> InstantProvider(fills = index == chainLength - 1) }
+        waterfall = InterstitialWaterfall(providers, { provider -> "${provider.name.lowercase()}_interstitial" })
+    }
+
+    @TearDown
+    fun tearDown() {
+        waterfall.destroy()
+    }
+
+    @Benchmark
+    fun load(blackhole: Blackhole) {
+        waterfall.load(context, object : InterstitialAdProvider.InterstitialAdCallback {
+            override fun onAdLoaded() = blackhole.consume(true)
+            override fun onAdFailedToLoad(error: AdKitAdError) = blackhole.consume(error)
+        })
+    }
+
+    /** Settles every load synchronously, filling only when [fills]. */
+    private class InstantProvider(private val fills: Boolean) : InterstitialAdProvider {
+        private var ready = false
+
+        override val provider = AdProvider.ADMOB
+
+        override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {
+            ready = fills
+            if (fills) callback.onAdLoaded() else callback.onAdFailedToLoad(NO_FILL)
+        }
+
+        override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
+            ready = false
+            callback.onAdDismissed()
+        }
+
+        override fun isAdReady(): Boolean = ready
+
+        override fun destroy() {
+            ready = false
+        }
+    }
+
+    private companion object {
+        val NO_FILL = AdKitAdError(AdKitAdError.ERROR_CODE_NO_FILL, "No fill", "benchmark")
+    }
+}
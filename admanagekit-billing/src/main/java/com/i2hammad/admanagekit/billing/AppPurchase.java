@@ -39,10 +39,11 @@ import java.util.Currency;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class AppPurchase {
 
@@ -65,8 +66,10 @@ public class AppPurchase {
     public boolean isBillingAvailable;
     public Boolean isBillingInitialized = Boolean.FALSE;
 
-    private List<PurchaseResult> purchaseResultList = new CopyOnWriteArrayList<>();
-    private List<String> stringList = new CopyOnWriteArrayList<>();
+    // Owned-product snapshots. Replaced wholesale by applyPurchaseSnapshot() so a
+    // refresh is one state transition rather than a clear() followed by addAll().
+    private volatile List<PurchaseResult> purchaseResultList = new CopyOnWriteArrayList<>();
+    private volatile List<String> stringList = new CopyOnWriteArrayList<>();
     private List<PurchaseItem> purchaseItemList = new ArrayList<>();
     private List<String> subProductIdList = new CopyOnWriteArrayList<>();
     private List<String> inAppProductIdList = new CopyOnWriteArrayList<>();
@@ -87,6 +90,7 @@ public class AppPurchase {
 
     private PurchaseHistoryListener purchaseHistoryListener;
     private SubscriptionVerificationCallback subscriptionVerificationCallback;
+    private final SubscriptionVerifier subscriptionVerifier = new SubscriptionVerifier();
     private boolean isPurchased = false;
     private double discount = 1.0d;
     private String idPurchased = "";
@@ -101,8 +105,19 @@ public class AppPurchase {
 
     private ProductDetailsListener productDetailsListener;
     // Products Play declined to return details for, keyed by product id, from the
-    // most recent query of each type. Cleared per product type on each query.
+    // most recent query that asked for them. Replaced per product id on each query.
     private final Map<String, UnfetchedProduct> unfetchedProducts = new ConcurrentHashMap<>();
+    // Product-details queries in flight, keyed by type and sorted product ids (see
+    // productDetailsQueryKey), so the connect path and an app-triggered query for the
+    // same products do not both hit Play.
+    private final Set<String> productDetailsQueriesInFlight = ConcurrentHashMap.newKeySet();
+
+    // Every purchase refresh (verifyPurchased / updatePurchaseStatus / refreshPurchases)
+    // shares one in-flight INAPP + SUBS query pair and one state transition.
+    private final PurchaseRefreshCoordinator refreshCoordinator = new PurchaseRefreshCoordinator(
+            (productType, listener) -> billingClient.queryPurchasesAsync(
+                    QueryPurchasesParams.newBuilder().setProductType(productType).build(), listener),
+            this::applyPurchaseSnapshot);
 
     private AppPurchase() {
     }
@@ -132,6 +147,10 @@ public class AppPurchase {
             billingClient.endConnection();
             isServiceConnected.set(false);
         }
+        // Queries issued on the old client may never answer; waiters are carried
+        // over to the refresh the new connection starts.
+        refreshCoordinator.reset();
+        productDetailsQueriesInFlight.clear();
         initBillingFinishedNotified.set(false);
         billingClient = BillingClient.newBuilder(application)
                 .setListener(purchasesUpdatedListener)
@@ -296,6 +315,37 @@ public class AppPurchase {
      */
     public void setSubscriptionVerificationCallback(SubscriptionVerificationCallback callback) {
         this.subscriptionVerificationCallback = callback;
+        // Results came from the previous backend; do not serve them for the new one.
+        subscriptionVerifier.clearCache();
+    }
+
+    /**
+     * Sets how long a verified subscription result is reused before the backend is
+     * asked again. A result is never reused past its verified expiry time, so a
+     * renewal is picked up as soon as the current period ends. Default: 1 hour.
+     *
+     * @param durationMillis Maximum cache age in milliseconds; 0 disables caching.
+     */
+    public void setSubscriptionVerificationCacheDuration(long durationMillis) {
+        subscriptionVerifier.setMaxCacheAgeMillis(durationMillis);
+    }
+
+    /**
+     * Sets how many subscription verifications may call the backend at once.
+     * Further requests queue until a slot frees. Default: 3.
+     *
+     * @param maxConcurrent Maximum concurrent verifications (minimum 1).
+     */
+    public void setMaxConcurrentSubscriptionVerifications(int maxConcurrent) {
+        subscriptionVerifier.setMaxConcurrent(maxConcurrent);
+    }
+
+    /**
+     * Discards all cached subscription verification results, so the next
+     * verification of every token goes to the backend.
+     */
+    public void clearSubscriptionVerificationCache() {
+        subscriptionVerifier.clearCache();
     }
 
     // ==================== Billing flow configuration ====================
@@ -568,62 +618,11 @@ public class AppPurchase {
             }
             return;
         }
-        AtomicInteger pendingQueries = new AtomicInteger(2);
-        billingClient.queryPurchasesAsync(
-                QueryPurchasesParams.newBuilder().setProductType(BillingClient.ProductType.INAPP).build(),
-                (billingResult, list) -> {
-                    Log.d(Tag, "verifyPurchased INAPP code: " + billingResult.getResponseCode() + " === size: " + list.size());
-                    if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
-                        List<String> ownedInApp = new ArrayList<>();
-                        for (Purchase purchase : list) {
-                            // Only PURCHASED grants entitlement; PENDING is not paid yet.
-                            if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
-                                continue;
-                            }
-                            for (String productId : inAppProductIdList) {
-                                if (purchase.getProducts().contains(productId)) {
-                                    Log.d(Tag, "verifyPurchased INAPP: true");
-                                    acknowledgePurchaseIfNeeded(purchase);
-                                    if (!ownedInApp.contains(productId)) {
-                                        ownedInApp.add(productId);
-                                    }
-                                    idPurchased = productId;
-                                }
-                            }
-                        }
-                        applyOwnedInApp(ownedInApp);
-                    }
-                    if (pendingQueries.decrementAndGet() == 0 && isCallback) {
-                        notifyInitBillingFinished(billingResult.getResponseCode());
-                    }
-                }
-        );
-        billingClient.queryPurchasesAsync(
-                QueryPurchasesParams.newBuilder().setProductType(BillingClient.ProductType.SUBS).build(),
-                (billingResult, list) -> {
-                    Log.d(Tag, "verifyPurchased SUBS code: " + billingResult.getResponseCode() + " === size: " + list.size());
-                    if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
-                        List<PurchaseResult> ownedSubs = new ArrayList<>();
-                        for (Purchase purchase : list) {
-                            if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
-                                continue;
-                            }
-                            for (String productId : subProductIdList) {
-                                if (purchase.getProducts().contains(productId)) {
-                                    Log.d(Tag, "verifyPurchased SUBS: true");
-                                    acknowledgePurchaseIfNeeded(purchase);
-                                    addOwnedSubscription(ownedSubs, toSubsPurchaseResult(purchase), productId);
-                                    idPurchased = productId;
-                                }
-                            }
-                        }
-                        applyOwnedSubs(ownedSubs);
-                    }
-                    if (pendingQueries.decrementAndGet() == 0 && isCallback) {
-                        notifyInitBillingFinished(billingResult.getResponseCode());
-                    }
-                }
-        );
+        refreshCoordinator.refresh(snapshot -> {
+            if (isCallback) {
+                notifyInitBillingFinished(snapshot.getResponseCode());
+            }
+        });
     }
 
     /**
@@ -669,18 +668,71 @@ public class AppPurchase {
         ownedSubs.add(purchaseResult);
     }
 
-    // Replaces the owned-product snapshot for one product type and recomputes the
-    // global purchased flag, so refunded/expired purchases stop disabling ads.
-    private void applyOwnedInApp(List<String> ownedInApp) {
-        stringList.clear();
-        stringList.addAll(ownedInApp);
-        recomputePurchasedState();
-    }
-
-    private void applyOwnedSubs(List<PurchaseResult> ownedSubs) {
-        purchaseResultList.clear();
-        purchaseResultList.addAll(ownedSubs);
-        recomputePurchasedState();
+    /**
+     * Applies one coalesced refresh: both product types are matched against the
+     * configured id lists and swapped in together, and the purchased flag is
+     * recomputed once. A product type whose query failed keeps its previous state.
+     *
+     * @param snapshot the INAPP + SUBS query results of one refresh.
+     */
+    private void applyPurchaseSnapshot(PurchaseRefreshCoordinator.Snapshot snapshot) {
+        Log.d(Tag, "Purchases refreshed: INAPP code " + snapshot.inAppResult.getResponseCode()
+                + " size " + snapshot.inAppPurchases.size()
+                + ", SUBS code " + snapshot.subsResult.getResponseCode()
+                + " size " + snapshot.subsPurchases.size());
+        List<String> ownedInApp = null;
+        if (snapshot.isInAppOk()) {
+            ownedInApp = new ArrayList<>();
+            for (Purchase purchase : snapshot.inAppPurchases) {
+                // Only PURCHASED grants entitlement; PENDING is not paid yet.
+                if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
+                    continue;
+                }
+                for (String productId : inAppProductIdList) {
+                    if (purchase.getProducts().contains(productId)) {
+                        acknowledgePurchaseIfNeeded(purchase);
+                        if (!ownedInApp.contains(productId)) {
+                            ownedInApp.add(productId);
+                        }
+                    }
+                }
+            }
+        } else {
+            Log.e(Tag, "Failed to refresh INAPP purchases: " + snapshot.inAppResult.getDebugMessage());
+        }
+        List<PurchaseResult> ownedSubs = null;
+        if (snapshot.isSubsOk()) {
+            ownedSubs = new ArrayList<>();
+            for (Purchase purchase : snapshot.subsPurchases) {
+                if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
+                    continue;
+                }
+                for (String productId : subProductIdList) {
+                    if (purchase.getProducts().contains(productId)) {
+                        acknowledgePurchaseIfNeeded(purchase);
+                        addOwnedSubscription(ownedSubs, toSubsPurchaseResult(purchase), productId);
+                    }
+                }
+            }
+        } else {
+            Log.e(Tag, "Failed to refresh SUBS purchases: " + snapshot.subsResult.getDebugMessage());
+        }
+        synchronized (this) {
+            if (ownedInApp != null) {
+                stringList = new CopyOnWriteArrayList<>(ownedInApp);
+            }
+            if (ownedSubs != null) {
+                purchaseResultList = new CopyOnWriteArrayList<>(ownedSubs);
+            }
+            // Subscriptions win over INAPP, matching the order the two queries used
+            // to complete in when each wrote idPurchased itself.
+            if (ownedSubs != null && !ownedSubs.isEmpty()) {
+                idPurchased = ownedSubs.get(ownedSubs.size() - 1).getFirstProductId();
+            } else if (ownedInApp != null && !ownedInApp.isEmpty()) {
+                idPurchased = ownedInApp.get(ownedInApp.size() - 1);
+            }
+            recomputePurchasedState();
+        }
     }
 
     private void recomputePurchasedState() {
@@ -712,57 +764,7 @@ public class AppPurchase {
             Log.e(Tag, "Billing client not connected. Cannot update purchase status.");
             return;
         }
-        AtomicInteger pendingQueries = new AtomicInteger(2);
-        billingClient.queryPurchasesAsync(
-                QueryPurchasesParams.newBuilder().setProductType(BillingClient.ProductType.INAPP).build(),
-                (billingResult, list) -> {
-                    if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
-                        List<String> ownedInApp = new ArrayList<>();
-                        for (Purchase purchase : list) {
-                            if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
-                                continue;
-                            }
-                            for (String productId : inAppProductIdList) {
-                                if (purchase.getProducts().contains(productId)) {
-                                    acknowledgePurchaseIfNeeded(purchase);
-                                    if (!ownedInApp.contains(productId)) {
-                                        ownedInApp.add(productId);
-                                    }
-                                    idPurchased = productId;
-                                }
-                            }
-                        }
-                        applyOwnedInApp(ownedInApp);
-                    }
-                    if (pendingQueries.decrementAndGet() == 0) {
-                        notifyUpdateFinished();
-                    }
-                }
-        );
-        billingClient.queryPurchasesAsync(
-                QueryPurchasesParams.newBuilder().setProductType(BillingClient.ProductType.SUBS).build(),
-                (billingResult, list) -> {
-                    if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
-                        List<PurchaseResult> ownedSubs = new ArrayList<>();
-                        for (Purchase purchase : list) {
-                            if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
-                                continue;
-                            }
-                            for (String productId : subProductIdList) {
-                                if (purchase.getProducts().contains(productId)) {
-                                    acknowledgePurchaseIfNeeded(purchase);
-                                    addOwnedSubscription(ownedSubs, toSubsPurchaseResult(purchase), productId);
-                                    idPurchased = productId;
-                                }
-                            }
-                        }
-                        applyOwnedSubs(ownedSubs);
-                    }
-                    if (pendingQueries.decrementAndGet() == 0) {
-                        notifyUpdateFinished();
-                    }
-                }
-        );
+        refreshCoordinator.refresh(snapshot -> notifyUpdateFinished());
     }
 
     private void notifyProductDetailsLoaded(String productType, List<ProductDetails> loaded,
@@ -1340,7 +1342,9 @@ public class AppPurchase {
                                         notifyPurchaseHistoryEvent(purchase, productId, true);
                                         // Remove from owned list
                                         stringList.remove(productId);
-                                        verifyPurchased(false);
+                                        // A refresh already in flight predates the
+                                        // consume; wait for one issued after it.
+                                        refreshCoordinator.refresh(null, true);
                                     } else {
                                         Log.e(Tag, "Failed to consume purchase: " + consumeResult.getDebugMessage());
                                     }
@@ -1357,62 +1361,31 @@ public class AppPurchase {
      * This fetches both INAPP and subscription purchases.
      * Results are available via the existing purchase tracking.
      *
+     * <p>Joins a refresh already in flight from {@link #verifyPurchased(boolean)} or
+     * {@link #updatePurchaseStatus()} instead of issuing a second query pair.</p>
+     *
      * Note: For consumed purchases, you must track them yourself using PurchaseHistoryListener.
      * Google's queryPurchaseHistoryAsync is deprecated in Billing Library 8+.
      */
     public void refreshPurchases() {
-        refreshPurchases(BillingClient.ProductType.INAPP);
-        refreshPurchases(BillingClient.ProductType.SUBS);
+        if (!isServiceConnected.get()) {
+            Log.e(Tag, "Billing client not connected. Cannot refresh purchases.");
+            return;
+        }
+        refreshCoordinator.refresh(null);
     }
 
     /**
      * Refreshes and retrieves current purchases for a specific product type.
      *
+     * <p>Both types are always refreshed together: Play serves the two queries in
+     * parallel and the state update is applied once, so a single-type refresh costs
+     * no more latency and cannot leave the two types out of step.</p>
+     *
      * @param productType BillingClient.ProductType.INAPP or BillingClient.ProductType.SUBS
      */
     public void refreshPurchases(String productType) {
-        if (!isServiceConnected.get()) {
-            Log.e(Tag, "Billing client not connected. Cannot refresh purchases.");
-            return;
-        }
-        billingClient.queryPurchasesAsync(
-                QueryPurchasesParams.newBuilder().setProductType(productType).build(),
-                (billingResult, purchases) -> {
-                    if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
-                        Log.d(Tag, "Purchases refreshed: " + purchases.size() + " for " + productType);
-                        List<String> ownedInApp = new ArrayList<>();
-                        List<PurchaseResult> ownedSubs = new ArrayList<>();
-                        for (Purchase purchase : purchases) {
-                            Log.d(Tag, "Active purchase - Products: " + purchase.getProducts() +
-                                    ", Time: " + purchase.getPurchaseTime() +
-                                    ", Quantity: " + purchase.getQuantity() +
-                                    ", Acknowledged: " + purchase.isAcknowledged());
-                            if (purchase.getPurchaseState() != Purchase.PurchaseState.PURCHASED) {
-                                continue;
-                            }
-                            acknowledgePurchaseIfNeeded(purchase);
-                            // Update internal tracking
-                            if (productType.equals(BillingClient.ProductType.INAPP)) {
-                                for (String productId : purchase.getProducts()) {
-                                    if (!ownedInApp.contains(productId)) {
-                                        ownedInApp.add(productId);
-                                    }
-                                }
-                            } else if (productType.equals(BillingClient.ProductType.SUBS)) {
-                                String productId = purchase.getProducts().isEmpty() ? "" : purchase.getProducts().get(0);
-                                addOwnedSubscription(ownedSubs, toSubsPurchaseResult(purchase), productId);
-                            }
-                        }
-                        if (productType.equals(BillingClient.ProductType.INAPP)) {
-                            applyOwnedInApp(ownedInApp);
-                        } else if (productType.equals(BillingClient.ProductType.SUBS)) {
-                            applyOwnedSubs(ownedSubs);
-                        }
-                    } else {
-                        Log.e(Tag, "Failed to refresh purchases: " + billingResult.getDebugMessage());
-                    }
-                }
-        );
+        refreshPurchases();
     }
 
     /**
@@ -1536,10 +1509,29 @@ public class AppPurchase {
      * <p>After verification, the expiry time will be stored in the PurchaseResult
      * and can be retrieved via {@link #getSubscriptionExpiryTime(String)}.</p>
      *
+     * <p>Results are cached per purchase token (see
+     * {@link #setSubscriptionVerificationCacheDuration(long)}), and a call for a token
+     * already being verified joins that verification instead of calling the backend
+     * again.</p>
+     *
      * @param subscriptionId The subscription product ID to verify.
      * @param listener       Callback for verification result.
      */
     public void verifySubscription(String subscriptionId, SubscriptionVerificationListener listener) {
+        verifySubscription(subscriptionId, false, listener);
+    }
+
+    /**
+     * Verifies a subscription with your backend server, optionally bypassing the
+     * verification cache, e.g. right after the user returns from the Play
+     * subscription center.
+     *
+     * @param subscriptionId The subscription product ID to verify.
+     * @param forceRefresh   true to ignore any cached result.
+     * @param listener       Callback for verification result.
+     */
+    public void verifySubscription(String subscriptionId, boolean forceRefresh,
+                                   SubscriptionVerificationListener listener) {
         if (subscriptionVerificationCallback == null) {
             Log.e(Tag, "SubscriptionVerificationCallback not set. Call setSubscriptionVerificationCallback first.");
             if (listener != null) {
@@ -1556,14 +1548,29 @@ public class AppPurchase {
             }
             return;
         }
+        verifySubscription(subscriptionId, subscription, forceRefresh, listener);
+    }
+
+    private void verifySubscription(String subscriptionId, PurchaseResult subscription, boolean forceRefresh,
+                                    SubscriptionVerificationListener listener) {
+        SubscriptionVerificationCallback callback = subscriptionVerificationCallback;
+        if (callback == null) {
+            Log.e(Tag, "SubscriptionVerificationCallback not set. Call setSubscriptionVerificationCallback first.");
+            if (listener != null) {
+                listener.onVerificationFailed("Verification callback not configured");
+            }
+            return;
+        }
 
         String packageName = application.getPackageName();
         String purchaseToken = subscription.getPurchaseToken();
 
-        subscriptionVerificationCallback.verifySubscription(
+        subscriptionVerifier.verify(
                 packageName,
                 subscriptionId,
                 purchaseToken,
+                callback,
+                forceRefresh,
                 new SubscriptionVerificationCallback.VerificationResultListener() {
                     @Override
                     public void onVerified(@NonNull SubscriptionVerificationCallback.SubscriptionDetails details) {
@@ -1593,6 +1600,10 @@ public class AppPurchase {
     /**
      * Verifies all active subscriptions with your backend server.
      *
+     * <p>Verifications run in parallel, bounded by
+     * {@link #setMaxConcurrentSubscriptionVerifications(int)}; tokens with a cached
+     * result are answered without a backend call.</p>
+     *
      * @param listener Callback for each verification result.
      */
     public void verifyAllSubscriptions(SubscriptionVerificationListener listener) {
@@ -1601,10 +1612,11 @@ public class AppPurchase {
             return;
         }
 
-        for (PurchaseResult result : purchaseResultList) {
+        // Snapshot: a refresh may swap the list while verifications are queued.
+        for (PurchaseResult result : new ArrayList<>(purchaseResultList)) {
             String subscriptionId = result.getFirstProductId();
             if (subscriptionId != null) {
-                verifySubscription(subscriptionId, listener);
+                verifySubscription(subscriptionId, result, false, listener);
             }
         }
     }
@@ -2691,6 +2703,8 @@ public class AppPurchase {
                 @Override
                 public void onBillingServiceDisconnected() {
                     isServiceConnected.set(false);
+                    refreshCoordinator.reset();
+                    productDetailsQueriesInFlight.clear();
                     isBillingAvailable = false;
                     Log.w(Tag, "Billing service disconnected. Attempting to reconnect...");
                 }
@@ -2703,6 +2717,14 @@ public class AppPurchase {
             Log.e(Tag, "Billing client not connected. Cannot query product details.");
             return;
         }
+        // An identical query in flight updates the same products when it lands, and
+        // listeners are notified then, so a second one would only duplicate it. A query
+        // for other ids of the same type still runs.
+        String queryKey = productDetailsQueryKey(productType, productIds);
+        if (!productDetailsQueriesInFlight.add(queryKey)) {
+            Log.d(Tag, "Product details query " + queryKey + " already in flight");
+            return;
+        }
         List<QueryProductDetailsParams.Product> productList = new ArrayList<>();
         for (String productId : productIds) {
             productList.add(QueryProductDetailsParams.Product.newBuilder()
@@ -2716,20 +2738,17 @@ public class AppPurchase {
         billingClient.queryProductDetailsAsync(params, new ProductDetailsResponseListener() {
             @Override
             public void onProductDetailsResponse(@NonNull BillingResult billingResult, @NonNull QueryProductDetailsResult queryProductDetailsResult) {
+                productDetailsQueriesInFlight.remove(queryKey);
                 if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK) {
                     List<ProductDetails> productDetailsList = queryProductDetailsResult.getProductDetailsList();
-                    if (productType.equals(BillingClient.ProductType.INAPP)) {
-                        inAppProductDetailsMap.clear();
-                    } else {
-                        subProductDetailsMap.clear();
-                    }
+                    // Replace only the products this query asked for; details of other ids
+                    // of the same type, from another query, stay.
+                    Map<String, ProductDetails> typeDetailsMap =
+                            productType.equals(BillingClient.ProductType.INAPP) ? inAppProductDetailsMap : subProductDetailsMap;
+                    typeDetailsMap.keySet().removeAll(productIds);
                     for (ProductDetails productDetails : productDetailsList) {
                         productDetailsMap.put(productDetails.getProductId(), productDetails);
-                        if (productType.equals(BillingClient.ProductType.INAPP)) {
-                            inAppProductDetailsMap.put(productDetails.getProductId(), productDetails);
-                        } else {
-                            subProductDetailsMap.put(productDetails.getProductId(), productDetails);
-                        }
+                        typeDetailsMap.put(productDetails.getProductId(), productDetails);
                         Log.d(Tag, "Found Product: " + productDetails.getProductId() + " - " + productDetails.getTitle());
                     }
                     // Play reports ids it could not resolve; keep them so an empty
@@ -2738,11 +2757,7 @@ public class AppPurchase {
                     if (unfetched == null) {
                         unfetched = Collections.emptyList();
                     }
-                    for (Iterator<Map.Entry<String, UnfetchedProduct>> it = unfetchedProducts.entrySet().iterator(); it.hasNext(); ) {
-                        if (productType.equals(it.next().getValue().getProductType())) {
-                            it.remove();
-                        }
-                    }
+                    unfetchedProducts.keySet().removeAll(productIds);
                     for (UnfetchedProduct product : unfetched) {
                         unfetchedProducts.put(product.getProductId(), product);
                         Log.e(Tag, "Unfetched product: " + product.getProductId()
@@ -2759,6 +2774,11 @@ public class AppPurchase {
         });
     }
 
+    /** Identifies a product-details query by its type and its product ids, in any order. */
+    static String productDetailsQueryKey(String productType, List<String> productIds) {
+        return productType + ":" + String.join(",", new TreeSet<>(productIds));
+    }
+
     PurchasesUpdatedListener purchasesUpdatedListener = new PurchasesUpdatedListener() {
         @Override
         public void onPurchasesUpdated(@NonNull BillingResult billingResult, List<Purchase> list) {
@@ -0,0 +1,224 @@
+package com.i2hammad.admanagekit.billing;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.billingclient.api.BillingClient;
+import com.android.billingclient.api.BillingResult;
+import com.android.billingclient.api.Purchase;
+import com.android.billingclient.api.PurchasesResponseListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Coalesces purchase refreshes into one INAPP + SUBS query pair.
+ *
+ * <p>{@code verifyPurchased}, {@code updatePurchaseStatus} and {@code refreshPurchases}
+ * used to each issue their own pair of {@code queryPurchasesAsync} calls, so an app
+ * calling them from several screens during startup sent 4–6 identical queries to Play.
+ * Every refresh now goes through {@link #refresh(Listener)}: the first caller issues
+ * both queries in parallel, callers arriving while they are in flight join them, and
+ * the merged {@link Snapshot} is handed to the {@link SnapshotApplier} exactly once
+ * before any waiter is notified — so all waiters observe the same, fully applied state.</p>
+ *
+ * <p>Free of android.* so it can be unit tested on the JVM.</p>
+ */
+final class PurchaseRefreshCoordinator {
+
+    /** Issues a single purchase query; in production this is {@code BillingClient.queryPurchasesAsync}. */
+    interface PurchaseSource {
+        void queryPurchases(@NonNull String productType, @NonNull PurchasesResponseListener listener);
+    }
+
+    /** Applies a completed snapshot to entitlement state. Called once per refresh. */
+    interface SnapshotApplier {
+        void apply(@NonNull Snapshot snapshot);
+    }
+
+    /** Notified after the snapshot it joined has been applied. */
+    interface Listener {
+        void onRefreshed(@NonNull Snapshot snapshot);
+    }
+
+    /** Result of one coalesced refresh: both query results, captured together. */
+    static final class Snapshot {
+        @NonNull final BillingResult inAppResult;
+        @NonNull final List<Purchase> inAppPurchases;
+        @NonNull final BillingResult subsResult;
+        @NonNull final List<Purchase> subsPurchases;
+
+        Snapshot(@NonNull BillingResult inAppResult, @Nullable List<Purchase> inAppPurchases,
+                 @NonNull BillingResult subsResult, @Nullable List<Purchase> subsPurchases) {
+            this.inAppResult = inAppResult;
+            this.inAppPurchases = inAppPurchases != null ? inAppPurchases : Collections.emptyList();
+            this.subsResult = subsResult;
+            this.subsPurchases = subsPurchases != null ? subsPurchases : Collections.emptyList();
+        }
+
+        boolean isInAppOk() {
+            return inAppResult.getResponseCode() == BillingClient.BillingResponseCode.OK;
+        }
+
+        boolean isSubsOk() {
+            return subsResult.getResponseCode() == BillingClient.BillingResponseCode.OK;
+        }
+
+        /** OK when both queries succeeded, otherwise the first failing response code. */
+        int getResponseCode() {
+            if (!isInAppOk()) {
+                return inAppResult.getResponseCode();
+            }
+            return subsResult.getResponseCode();
+        }
+    }
+
+    private final PurchaseSource source;
+    private final SnapshotApplier applier;
+
+    private final Object lock = new Object();
+    // Guarded by lock.
+    private final List<Listener> waiters = new ArrayList<>();
+    // Callers that must observe state newer than the in-flight queries (e.g. right
+    // after a consume) wait for one trailing refresh instead.
+    private final List<Listener> trailingWaiters = new ArrayList<>();
+    private boolean trailingRequested = false;
+    private boolean inFlight = false;
+    // Bumped by reset(); responses carrying an older generation are ignored.
+    private int generation = 0;
+    private BillingResult pendingInAppResult;
+    private List<Purchase> pendingInAppPurchases;
+    private BillingResult pendingSubsResult;
+    private List<Purchase> pendingSubsPurchases;
+
+    PurchaseRefreshCoordinator(@NonNull PurchaseSource source, @NonNull SnapshotApplier applier) {
+        this.source = source;
+        this.applier = applier;
+    }
+
+    /**
+     * Requests a refresh. Starts one if none is in flight, otherwise joins the
+     * in-flight one.
+     *
+     * @param listener notified once the shared snapshot has been applied; may be null.
+     * @return true if this call started the queries, false if it joined an in-flight refresh.
+     */
+    boolean refresh(@Nullable Listener listener) {
+        return refresh(listener, false);
+    }
+
+    /**
+     * Requests a refresh.
+     *
+     * @param listener      notified once the snapshot has been applied; may be null.
+     * @param afterInFlight when true and a refresh is already in flight, wait for one
+     *                      trailing refresh issued after it completes rather than sharing
+     *                      a result whose queries predate this call. Concurrent
+     *                      afterInFlight callers still share that single trailing refresh.
+     * @return true if this call started the queries.
+     */
+    boolean refresh(@Nullable Listener listener, boolean afterInFlight) {
+        final int startedGeneration;
+        synchronized (lock) {
+            if (inFlight) {
+                if (afterInFlight) {
+                    trailingRequested = true;
+                    if (listener != null) {
+                        trailingWaiters.add(listener);
+                    }
+                } else if (listener != null) {
+                    waiters.add(listener);
+                }
+                return false;
+            }
+            if (listener != null) {
+                waiters.add(listener);
+            }
+            startedGeneration = beginLocked();
+        }
+        issueQueries(startedGeneration);
+        return true;
+    }
+
+    // Marks a refresh in flight; caller holds lock and must then call issueQueries().
+    private int beginLocked() {
+        inFlight = true;
+        pendingInAppResult = null;
+        pendingInAppPurchases = null;
+        pendingSubsResult = null;
+        pendingSubsPurchases = null;
+        return generation;
+    }
+
+    private void issueQueries(int startedGeneration) {
+        // Both queries are issued back to back; Play serves them concurrently.
+        source.queryPurchases(BillingClient.ProductType.INAPP,
+                (billingResult, purchases) -> onResponse(startedGeneration, true, billingResult, purchases));
+        source.queryPurchases(BillingClient.ProductType.SUBS,
+                (billingResult, purchases) -> onResponse(startedGeneration, false, billingResult, purchases));
+    }
+
+    /** True while a query pair is outstanding. */
+    boolean isInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Abandons the in-flight refresh, e.g. when the BillingClient it was issued on is
+     * replaced. Its responses, if they ever arrive, are ignored. Waiters are kept and
+     * served by the next {@link #refresh(Listener)}.
+     */
+    void reset() {
+        synchronized (lock) {
+            generation++;
+            inFlight = false;
+            trailingRequested = false;
+            waiters.addAll(trailingWaiters);
+            trailingWaiters.clear();
+        }
+    }
+
+    private void onResponse(int responseGeneration, boolean inApp,
+                            @NonNull BillingResult billingResult, @Nullable List<Purchase> purchases) {
+        Snapshot snapshot;
+        List<Listener> toNotify;
+        int trailingGeneration = -1;
+        synchronized (lock) {
+            if (responseGeneration != generation || !inFlight) {
+                return;
+            }
+            if (inApp) {
+                pendingInAppResult = billingResult;
+                pendingInAppPurchases = purchases;
+            } else {
+                pendingSubsResult = billingResult;
+                pendingSubsPurchases = purchases;
+            }
+            if (pendingInAppResult == null || pendingSubsResult == null) {
+                return;
+            }
+            snapshot = new Snapshot(pendingInAppResult, pendingInAppPurchases,
+                    pendingSubsResult, pendingSubsPurchases);
+            toNotify = new ArrayList<>(waiters);
+            waiters.clear();
+            inFlight = false;
+            if (trailingRequested) {
+                // Claimed under the same lock so no caller can slip in a duplicate.
+                trailingRequested = false;
+                waiters.addAll(trailingWaiters);
+                trailingWaiters.clear();
+                trailingGeneration = beginLocked();
+            }
+        }
+        applier.apply(snapshot);
+        for (Listener waiter : toNotify) {
+            waiter.onRefreshed(snapshot);
+        }
+        if (trailingGeneration >= 0) {
+            issueQueries(trailingGeneration);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.i2hammad.admanagekit.billing;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link SubscriptionVerificationCallback} lookups with a per-purchase-token
+ * result cache, in-flight de-duplication and a concurrency bound.
+ *
+ * <ul>
+ *   <li><b>Cache</b> — a verified result is reused until the earlier of its
+ *       {@code expiryTimeMillis} and {@code maxCacheAgeMillis} after verification.
+ *       The age cap bounds how long a refund or cancellation can go unnoticed; the
+ *       expiry bound forces a re-check once the period ends, when a renewal would
+ *       have moved it. Failures are never cached.</li>
+ *   <li><b>De-duplication</b> — requests for a token that is already being verified
+ *       join it instead of calling the backend again.</li>
+ *   <li><b>Concurrency</b> — at most {@code maxConcurrent} backend calls run at once;
+ *       the rest queue in arrival order.</li>
+ * </ul>
+ *
+ * <p>Listeners are called on whatever thread the verification callback reports on,
+ * or synchronously on the caller's thread for a cache hit. Free of android.* so it
+ * can be unit tested on the JVM.</p>
+ */
+final class SubscriptionVerifier {
+
+    /** Default number of backend verifications allowed in flight at once. */
+    static final int DEFAULT_MAX_CONCURRENT = 3;
+    /** Default upper bound on how long a verified result is reused: 1 hour. */
+    static final long DEFAULT_MAX_CACHE_AGE_MS = 60 * 60 * 1000L;
+
+    /** Time source, replaceable in tests. */
+    interface Clock {
+        long currentTimeMillis();
+    }
+
+    private static final class CacheEntry {
+        final SubscriptionVerificationCallback.SubscriptionDetails details;
+        final long validUntil;
+
+        CacheEntry(SubscriptionVerificationCallback.SubscriptionDetails details, long validUntil) {
+            this.details = details;
+            this.validUntil = validUntil;
+        }
+    }
+
+    private static final class Request {
+        final String packageName;
+        final String subscriptionId;
+        final String purchaseToken;
+        final SubscriptionVerificationCallback callback;
+
+        Request(String packageName, String subscriptionId, String purchaseToken,
+                SubscriptionVerificationCallback callback) {
+            this.packageName = packageName;
+            this.subscriptionId = subscriptionId;
+            this.purchaseToken = purchaseToken;
+            this.callback = callback;
+        }
+    }
+
+    private final Clock clock;
+
+    private final Object lock = new Object();
+    // All guarded by lock.
+    private final Map<String, CacheEntry> cache = new HashMap<>();
+    private final Map<String, List<SubscriptionVerificationCallback.VerificationResultListener>> waiters = new HashMap<>();
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+    private int running = 0;
+    private int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+    private long maxCacheAgeMillis = DEFAULT_MAX_CACHE_AGE_MS;
+
+    SubscriptionVerifier() {
+        this(System::currentTimeMillis);
+    }
+
+    SubscriptionVerifier(@NonNull Clock clock) {
+        this.clock = clock;
+    }
+
+    void setMaxConcurrent(int maxConcurrent) {
+        synchronized (lock) {
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+        }
+        drain();
+    }
+
+    /** 0 disables caching; in-flight de-duplication still applies. */
+    void setMaxCacheAgeMillis(long maxCacheAgeMillis) {
+        synchronized (lock) {
+            this.maxCacheAgeMillis = Math.max(0, maxCacheAgeMillis);
+            if (this.maxCacheAgeMillis == 0) {
+                cache.clear();
+            }
+        }
+    }
+
+    /** Drops the cached result for one token, e.g. after a plan change. */
+    void invalidate(@NonNull String purchaseToken) {
+        synchronized (lock) {
+            cache.remove(purchaseToken);
+        }
+    }
+
+    void clearCache() {
+        synchronized (lock) {
+            cache.clear();
+        }
+    }
+
+    /** Cached, still-valid details for a token, or null. */
+    @Nullable
+    SubscriptionVerificationCallback.SubscriptionDetails getCached(@NonNull String purchaseToken) {
+        synchronized (lock) {
+            CacheEntry entry = cache.get(purchaseToken);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.currentTimeMillis() >= entry.validUntil) {
+                cache.remove(purchaseToken);
+                return null;
+            }
+            return entry.details;
+        }
+    }
+
+    /**
+     * Verifies a purchase token, answering from the cache or an in-flight
+     * verification when possible.
+     *
+     * @param forceRefresh skip the cache (in-flight requests are still joined).
+     */
+    void verify(@NonNull String packageName,
+                @NonNull String subscriptionId,
+                @NonNull String purchaseToken,
+                @NonNull SubscriptionVerificationCallback callback,
+                boolean forceRefresh,
+                @NonNull SubscriptionVerificationCallback.VerificationResultListener listener) {
+        SubscriptionVerificationCallback.SubscriptionDetails cached = forceRefresh ? null : getCached(purchaseToken);
+        if (cached != null) {
+            listener.onVerified(cached);
+            return;
+        }
+        synchronized (lock) {
+            List<SubscriptionVerificationCallback.VerificationResultListener> joined = waiters.get(purchaseToken);
+            if (joined != null) {
+                joined.add(listener);
+                return;
+            }
+            joined = new ArrayList<>();
+            joined.add(listener);
+            waiters.put(purchaseToken, joined);
+            queue.add(new Request(packageName, subscriptionId, purchaseToken, callback));
+        }
+        drain();
+    }
+
+    /** Number of backend verifications currently running. */
+    int getRunningCount() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /** Number of verifications waiting for a free slot. */
+    int getQueuedCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Request next;
+            synchronized (lock) {
+                if (running >= maxConcurrent || queue.isEmpty()) {
+                    return;
+                }
+                next = queue.poll();
+                running++;
+            }
+            start(next);
+        }
+    }
+
+    private void start(Request request) {
+        // The backend callback is app code: guard against it reporting twice.
+        final boolean[] done = {false};
+        SubscriptionVerificationCallback.VerificationResultListener resultListener =
+                new SubscriptionVerificationCallback.VerificationResultListener() {
+                    @Override
+                    public void onVerified(@NonNull SubscriptionVerificationCallback.SubscriptionDetails details) {
+                        List<SubscriptionVerificationCallback.VerificationResultListener> joined;
+                        synchronized (lock) {
+                            if (done[0]) {
+                                return;
+                            }
+                            done[0] = true;
+                            store(request.purchaseToken, details);
+                            joined = finish(request.purchaseToken);
+                        }
+                        for (SubscriptionVerificationCallback.VerificationResultListener waiter : joined) {
+                            waiter.onVerified(details);
+                        }
+                        drain();
+                    }
+
+                    @Override
+                    public void onVerificationFailed(@Nullable String errorMessage) {
+                        List<SubscriptionVerificationCallback.VerificationResultListener> joined;
+                        synchronized (lock) {
+                            if (done[0]) {
+                                return;
+                            }
+                            done[0] = true;
+                            joined = finish(request.purchaseToken);
+                        }
+                        for (SubscriptionVerificationCallback.VerificationResultListener waiter : joined) {
+                            waiter.onVerificationFailed(errorMessage);
+                        }
+                        drain();
+                    }
+                };
+        try {
+            request.callback.verifySubscription(request.packageName, request.subscriptionId,
+                    request.purchaseToken, resultListener);
+        } catch (RuntimeException e) {
+            // A throwing callback must not leak its concurrency slot.
+            resultListener.onVerificationFailed(e.getMessage());
+        }
+    }
+
+    // Caller holds lock.
+    private void store(String purchaseToken, SubscriptionVerificationCallback.SubscriptionDetails details) {
+        if (maxCacheAgeMillis == 0) {
+            return;
+        }
+        long now = clock.currentTimeMillis();
+        long validUntil = now + maxCacheAgeMillis;
+        long expiry = details.getExpiryTimeMillis();
+        if (expiry > 0) {
+            validUntil = Math.min(validUntil, expiry);
+        }
+        if (validUntil <= now) {
+            return;
+        }
+        // Superseded tokens (renewals, plan changes) are never looked up again;
+        // prune expired entries here so the map stays bounded by live tokens.
+        for (Iterator<CacheEntry> it = cache.values().iterator(); it.hasNext(); ) {
+            if (now >= it.next().validUntil) {
+                it.remove();
+            }
+        }
+        cache.put(purchaseToken, new CacheEntry(details, validUntil));
+    }
+
+    // Caller holds lock.
+    private List<SubscriptionVerificationCallback.VerificationResultListener> finish(String purchaseToken) {
+        running--;
+        List<SubscriptionVerificationCallback.VerificationResultListener> joined = waiters.remove(purchaseToken);
+        return joined != null ? joined : new ArrayList<>();
+    }
+}
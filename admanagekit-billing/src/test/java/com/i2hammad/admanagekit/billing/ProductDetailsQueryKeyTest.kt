@@ -0,0 +1,40 @@
+package com.i2hammad.admanagekit.billing
+
+import com.android.billingclient.api.BillingClient
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+
+/**
+ * Tests for [AppPurchase.productDetailsQueryKey], which de-duplicates in-flight
+ * product-details queries: only a query for the same type and the same ids is a duplicate.
+ */
+class ProductDetailsQueryKeyTest {
+
+    private val inApp = BillingClient.ProductType.INAPP
+    private val subs = BillingClient.ProductType.SUBS
+
+    @Test
+    fun `the same ids in any order make the same key`() {
+        assertEquals(
+            AppPurchase.productDetailsQueryKey(inApp, listOf("remove_ads", "coins_100")),
+            AppPurchase.productDetailsQueryKey(inApp, listOf("coins_100", "remove_ads", "coins_100"))
+        )
+    }
+
+    @Test
+    fun `other ids of the same type make another key`() {
+        assertNotEquals(
+            AppPurchase.productDetailsQueryKey(inApp, listOf("remove_ads")),
+            AppPurchase.productDetailsQueryKey(inApp, listOf("coins_100"))
+        )
+    }
+
+    @Test
+    fun `the same ids of another type make another key`() {
+        assertNotEquals(
+            AppPurchase.productDetailsQueryKey(inApp, listOf("premium")),
+            AppPurchase.productDetailsQueryKey(subs, listOf("premium"))
+        )
+    }
+}
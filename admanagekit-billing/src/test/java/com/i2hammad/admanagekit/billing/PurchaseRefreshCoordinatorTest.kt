@@ -0,0 +1,165 @@
+package com.i2hammad.admanagekit.billing
+
+import com.android.billingclient.api.BillingClient
+import com.android.billingclient.api.BillingResult
+import com.android.billingclient.api.PurchasesResponseListener
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [PurchaseRefreshCoordinator]: concurrent refreshes share one
+ * INAPP + SUBS query pair, and the snapshot is applied once before waiters hear.
+ */
+class PurchaseRefreshCoordinatorTest {
+
+    /** Records queries and lets the test answer them in any order. */
+    private class FakeSource : PurchaseRefreshCoordinator.PurchaseSource {
+        val pending = mutableListOf<Pair<String, PurchasesResponseListener>>()
+        var issued = 0
+
+        override fun queryPurchases(productType: String, listener: PurchasesResponseListener) {
+            issued++
+            pending.add(productType to listener)
+        }
+
+        fun answer(productType: String, code: Int = BillingClient.BillingResponseCode.OK) {
+            val index = pending.indexOfFirst { it.first == productType }
+            val (_, listener) = pending.removeAt(index)
+            listener.onQueryPurchasesResponse(result(code), emptyList())
+        }
+
+        fun answerAll() {
+            answer(BillingClient.ProductType.INAPP)
+            answer(BillingClient.ProductType.SUBS)
+        }
+    }
+
+    private lateinit var source: FakeSource
+    private val applied = mutableListOf<PurchaseRefreshCoordinator.Snapshot>()
+    private lateinit var coordinator: PurchaseRefreshCoordinator
+
+    @Before
+    fun setUp() {
+        source = FakeSource()
+        applied.clear()
+        coordinator = PurchaseRefreshCoordinator(source) { applied.add(it) }
+    }
+
+    @Test
+    fun `refresh issues INAPP and SUBS queries together`() {
+        assertTrue(coordinator.refresh(null))
+
+        assertEquals(2, source.issued)
+        assertEquals(
+            setOf(BillingClient.ProductType.INAPP, BillingClient.ProductType.SUBS),
+            source.pending.map { it.first }.toSet()
+        )
+        assertTrue(coordinator.isInFlight)
+    }
+
+    @Test
+    fun `concurrent refreshes share the in-flight queries`() {
+        var notified = 0
+        coordinator.refresh { notified++ }
+        assertFalse(coordinator.refresh { notified++ })
+        assertFalse(coordinator.refresh { notified++ })
+
+        assertEquals(2, source.issued)
+        source.answerAll()
+
+        assertEquals(1, applied.size)
+        assertEquals(3, notified)
+        assertFalse(coordinator.isInFlight)
+    }
+
+    @Test
+    fun `snapshot is applied only after both queries answer`() {
+        coordinator.refresh(null)
+
+        source.answer(BillingClient.ProductType.SUBS)
+        assertTrue(applied.isEmpty())
+
+        source.answer(BillingClient.ProductType.INAPP)
+        assertEquals(1, applied.size)
+    }
+
+    @Test
+    fun `waiters are notified after the snapshot is applied`() {
+        var appliedWhenNotified = -1
+        coordinator.refresh { appliedWhenNotified = applied.size }
+
+        source.answerAll()
+
+        assertEquals(1, appliedWhenNotified)
+    }
+
+    @Test
+    fun `a refresh after completion issues new queries`() {
+        coordinator.refresh(null)
+        source.answerAll()
+
+        assertTrue(coordinator.refresh(null))
+        assertEquals(4, source.issued)
+    }
+
+    @Test
+    fun `response code reports the first failing query`() {
+        var code = -1
+        coordinator.refresh { code = it.responseCode }
+
+        source.answer(BillingClient.ProductType.INAPP)
+        source.answer(BillingClient.ProductType.SUBS, BillingClient.BillingResponseCode.SERVICE_UNAVAILABLE)
+
+        assertEquals(BillingClient.BillingResponseCode.SERVICE_UNAVAILABLE, code)
+        assertTrue(applied.single().isInAppOk)
+        assertFalse(applied.single().isSubsOk)
+    }
+
+    @Test
+    fun `afterInFlight waits for a trailing refresh`() {
+        var firstNotified = 0
+        var trailingNotified = 0
+        coordinator.refresh { firstNotified++ }
+        coordinator.refresh({ trailingNotified++ }, true)
+        coordinator.refresh({ trailingNotified++ }, true)
+
+        source.answerAll()
+        assertEquals(1, firstNotified)
+        assertEquals(0, trailingNotified)
+        // Exactly one trailing pair, shared by both afterInFlight callers.
+        assertEquals(4, source.issued)
+        assertTrue(coordinator.isInFlight)
+
+        source.answerAll()
+        assertEquals(2, trailingNotified)
+        assertEquals(2, applied.size)
+    }
+
+    @Test
+    fun `reset ignores stale responses and keeps waiters for the next refresh`() {
+        var notified = 0
+        coordinator.refresh { notified++ }
+        val stale = source.pending.toList()
+        source.pending.clear()
+
+        coordinator.reset()
+        stale.forEach { (_, listener) ->
+            listener.onQueryPurchasesResponse(result(BillingClient.BillingResponseCode.OK), emptyList())
+        }
+        assertTrue(applied.isEmpty())
+        assertEquals(0, notified)
+
+        coordinator.refresh(null)
+        source.answerAll()
+        assertEquals(1, applied.size)
+        assertEquals(1, notified)
+    }
+
+    private companion object {
+        fun result(code: Int): BillingResult =
+            BillingResult.newBuilder().setResponseCode(code).build()
+    }
+}
@@ -0,0 +1,212 @@
+package com.i2hammad.admanagekit.billing
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [SubscriptionVerifier]: per-token caching bounded by expiry and max
+ * age, in-flight de-duplication, and the concurrency limit.
+ */
+class SubscriptionVerifierTest {
+
+    /** Backend stand-in that parks every call until the test answers it. */
+    private class FakeBackend : SubscriptionVerificationCallback {
+        val pending = mutableListOf<Pair<String, SubscriptionVerificationCallback.VerificationResultListener>>()
+        var calls = 0
+
+        override fun verifySubscription(
+            packageName: String,
+            subscriptionId: String,
+            purchaseToken: String,
+            listener: SubscriptionVerificationCallback.VerificationResultListener
+        ) {
+            calls++
+            pending.add(purchaseToken to listener)
+        }
+
+        fun succeed(token: String, expiry: Long) {
+            val index = pending.indexOfFirst { it.first == token }
+            pending.removeAt(index).second.onVerified(details(expiry))
+        }
+
+        fun fail(token: String) {
+            val index = pending.indexOfFirst { it.first == token }
+            pending.removeAt(index).second.onVerificationFailed("boom")
+        }
+    }
+
+    private class Recorder : SubscriptionVerificationCallback.VerificationResultListener {
+        var verified = 0
+        var failed = 0
+        override fun onVerified(details: SubscriptionVerificationCallback.SubscriptionDetails) {
+            verified++
+        }
+        override fun onVerificationFailed(errorMessage: String?) {
+            failed++
+        }
+    }
+
+    private var now = 1_000_000L
+    private lateinit var backend: FakeBackend
+    private lateinit var verifier: SubscriptionVerifier
+
+    @Before
+    fun setUp() {
+        now = 1_000_000L
+        backend = FakeBackend()
+        verifier = SubscriptionVerifier(SubscriptionVerifier.Clock { now })
+    }
+
+    private fun verify(token: String, listener: Recorder = Recorder(), force: Boolean = false): Recorder {
+        verifier.verify("pkg", "sub", token, backend, force, listener)
+        return listener
+    }
+
+    @Test
+    fun `cached result is reused without calling the backend`() {
+        verify("t1")
+        backend.succeed("t1", expiry = now + DAY)
+
+        val second = verify("t1")
+
+        assertEquals(1, backend.calls)
+        assertEquals(1, second.verified)
+    }
+
+    @Test
+    fun `cache entry ends at the verified expiry time`() {
+        verify("t1")
+        backend.succeed("t1", expiry = now + 1_000)
+
+        now += 1_000
+        verify("t1")
+
+        assertEquals(2, backend.calls)
+    }
+
+    @Test
+    fun `cache entry ends at the max cache age`() {
+        verifier.setMaxCacheAgeMillis(5_000)
+        verify("t1")
+        backend.succeed("t1", expiry = now + DAY)
+
+        now += 4_999
+        verify("t1")
+        assertEquals(1, backend.calls)
+
+        now += 1
+        verify("t1")
+        assertEquals(2, backend.calls)
+    }
+
+    @Test
+    fun `force refresh bypasses the cache`() {
+        verify("t1")
+        backend.succeed("t1", expiry = now + DAY)
+
+        verify("t1", force = true)
+
+        assertEquals(2, backend.calls)
+    }
+
+    @Test
+    fun `failures are not cached`() {
+        val first = verify("t1")
+        backend.fail("t1")
+        verify("t1")
+
+        assertEquals(1, first.failed)
+        assertEquals(2, backend.calls)
+        assertNull(verifier.getCached("t1"))
+    }
+
+    @Test
+    fun `concurrent requests for a token share one backend call`() {
+        val a = verify("t1")
+        val b = verify("t1")
+
+        assertEquals(1, backend.calls)
+        backend.succeed("t1", expiry = now + DAY)
+
+        assertEquals(1, a.verified)
+        assertEquals(1, b.verified)
+    }
+
+    @Test
+    fun `backend calls are bounded by max concurrent`() {
+        verifier.setMaxConcurrent(2)
+        verify("t1")
+        verify("t2")
+        verify("t3")
+
+        assertEquals(2, backend.calls)
+        assertEquals(1, verifier.queuedCount)
+
+        backend.succeed("t1", expiry = now + DAY)
+
+        assertEquals(3, backend.calls)
+        assertEquals(0, verifier.queuedCount)
+        assertEquals(2, verifier.runningCount)
+    }
+
+    @Test
+    fun `a backend reporting twice is delivered once`() {
+        val recorder = verify("t1")
+        val listener = backend.pending.single().second
+
+        listener.onVerified(details(now + DAY))
+        listener.onVerificationFailed("late")
+
+        assertEquals(1, recorder.verified)
+        assertEquals(0, recorder.failed)
+        assertEquals(0, verifier.runningCount)
+    }
+
+    @Test
+    fun `a throwing backend fails the request and frees its slot`() {
+        verifier.setMaxConcurrent(1)
+        val throwing = SubscriptionVerificationCallback { _, _, _, _ -> throw IllegalStateException("down") }
+        val recorder = Recorder()
+
+        verifier.verify("pkg", "sub", "t1", throwing, false, recorder)
+
+        assertEquals(1, recorder.failed)
+        assertEquals(0, verifier.runningCount)
+    }
+
+    @Test
+    fun `zero cache age disables caching`() {
+        verifier.setMaxCacheAgeMillis(0)
+        verify("t1")
+        backend.succeed("t1", expiry = now + DAY)
+
+        assertNull(verifier.getCached("t1"))
+        verify("t1")
+        assertEquals(2, backend.calls)
+    }
+
+    @Test
+    fun `invalidate drops one token only`() {
+        verify("t1")
+        backend.succeed("t1", expiry = now + DAY)
+        verify("t2")
+        backend.succeed("t2", expiry = now + DAY)
+
+        verifier.invalidate("t1")
+
+        assertNull(verifier.getCached("t1"))
+        assertNotNull(verifier.getCached("t2"))
+    }
+
+    private companion object {
+        const val DAY = 24 * 60 * 60 * 1000L
+
+        fun details(expiry: Long): SubscriptionVerificationCallback.SubscriptionDetails =
+            SubscriptionVerificationCallback.SubscriptionDetails.Builder()
+                .setExpiryTimeMillis(expiry)
+                .build()
+    }
+}
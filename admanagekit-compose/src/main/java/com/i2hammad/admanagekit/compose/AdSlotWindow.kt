@@ -0,0 +1,113 @@
+package com.i2hammad.admanagekit.compose
+
+import kotlin.math.abs
+import kotlin.math.roundToInt
+
+/**
+ * Decides which ad items of a lazy list [LazyListAdSlots] loads and keeps: the items
+ * [preloadAhead] past the viewport, reaching further in the direction of a fling, and
+ * at most [retainedSlots] slots, evicting the off-screen slot farthest from the
+ * viewport first. Holds no views, so it runs on the JVM.
+ *
+ * @param onEvict Releases a slot removed to make room for a nearer one
+ */
+internal class AdSlotWindow<S : AdSlotWindow.Entry>(private val onEvict: (S) -> Unit) {
+
+    /** A slot the window tracks. */
+    interface Entry {
+        val index: Int
+
+        /** Whether the slot's item is composed; such a slot is never evicted. */
+        val composed: Boolean
+    }
+
+    private val slots = LinkedHashMap<Int, S>()
+
+    var firstVisible = 0
+        private set
+    var lastVisible = 0
+        private set
+
+    /** Items ahead of the viewport to load at rest; a fling reaches up to 3x further. */
+    var preloadAhead: Int = LazyListAdSlots.DEFAULT_PRELOAD_AHEAD
+
+    /** Slots kept across item disposal, including those on screen. */
+    var retainedSlots: Int = LazyListAdSlots.DEFAULT_RETAINED_SLOTS
+
+    val size: Int get() = slots.size
+
+    operator fun get(index: Int): S? = slots[index]
+
+    fun add(slot: S) {
+        slots[slot.index] = slot
+    }
+
+    /** Removes and returns every slot. */
+    fun clear(): List<S> = slots.values.toList().also { slots.clear() }
+
+    fun setViewport(first: Int, last: Int) {
+        firstVisible = first
+        lastVisible = last
+    }
+
+    /**
+     * Items ahead of the viewport to load, nearest first: behind it while scrolling back
+     * faster than half an item per second, otherwise after it.
+     *
+     * @param itemsPerSecond Scroll velocity, positive towards the end of the list
+     */
+    fun aheadOf(itemCount: Int, itemsPerSecond: Float): IntProgression {
+        val reach = (abs(itemsPerSecond) * LOAD_LEAD_TIME_MS / 1000f).roundToInt()
+            .coerceIn(preloadAhead, preloadAhead * MAX_REACH_MULTIPLIER)
+        return if (itemsPerSecond < -MIN_DIRECTIONAL_VELOCITY) {
+            (firstVisible - 1 downTo (firstVisible - reach).coerceAtLeast(0))
+        } else {
+            (lastVisible + 1..(lastVisible + reach).coerceAtMost(itemCount - 1))
+        }
+    }
+
+    /**
+     * Calls [load] for each ad item [aheadOf] the viewport without a slot, while the
+     * budget allows. [load] must [add] the slot it creates.
+     */
+    fun fillAhead(itemCount: Int, itemsPerSecond: Float, isAdItem: (Int) -> Boolean, load: (Int) -> Unit) {
+        // Nearest first, so the budget goes to the items the user reaches first
+        for (index in aheadOf(itemCount, itemsPerSecond)) {
+            if (!isAdItem(index) || slots.containsKey(index)) continue
+            if (!makeRoomFor(index)) break
+            load(index)
+        }
+    }
+
+    /**
+     * Makes room for a slot at [index] within [retainedSlots] by evicting the off-screen
+     * slot farthest from the viewport, if it is farther than [index]. Returns false if
+     * there is no room.
+     */
+    fun makeRoomFor(index: Int): Boolean {
+        if (slots.size < retainedSlots) return true
+        val victim = slots.values
+            .filter { !it.composed }
+            .maxByOrNull { distanceFromViewport(it.index) }
+            ?: return false
+        if (distanceFromViewport(victim.index) <= distanceFromViewport(index)) return false
+        slots.remove(victim.index)
+        onEvict(victim)
+        return true
+    }
+
+    private fun distanceFromViewport(index: Int): Int = when {
+        index < firstVisible -> firstVisible - index
+        index > lastVisible -> index - lastVisible
+        else -> 0
+    }
+
+    private companion object {
+        // Typical native load time: a fling should find the ad loaded when it arrives
+        const val LOAD_LEAD_TIME_MS = 1500f
+        const val MAX_REACH_MULTIPLIER = 3
+
+        // Below this, treat the list as at rest and look towards its end
+        const val MIN_DIRECTIONAL_VELOCITY = 0.5f
+    }
+}
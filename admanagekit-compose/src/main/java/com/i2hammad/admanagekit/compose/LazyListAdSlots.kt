@@ -0,0 +1,315 @@
+package com.i2hammad.admanagekit.compose
+
+import android.app.Activity
+import android.os.SystemClock
+import android.view.View
+import android.view.ViewGroup
+import androidx.compose.foundation.layout.fillMaxWidth
+import androidx.compose.foundation.layout.wrapContentHeight
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.MutableState
+import androidx.compose.runtime.SideEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.key
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.viewinterop.AndroidView
+import com.google.android.libraries.ads.mobile.sdk.common.LoadAdError
+import com.i2hammad.admanagekit.admob.AdLoadCallback
+import com.i2hammad.admanagekit.admob.NativeAdTemplate
+import com.i2hammad.admanagekit.admob.NativeTemplateView
+import com.i2hammad.admanagekit.config.AdLoadingStrategy
+import com.i2hammad.admanagekit.utils.AdDebugUtils
+import kotlinx.coroutines.flow.distinctUntilChanged
+
+/**
+ * Native ad slots for a `LazyColumn`/`LazyRow` that load ahead of the viewport.
+ *
+ * [NativeTemplateCompose] starts its request when composed, which in a lazy list means
+ * when the item scrolls into view, so the user sees a shimmer. These slots instead
+ * watch the list's scroll position and velocity and start loading ad items
+ * [preloadAhead] items before they appear, further ahead on fast flings. Each slot
+ * loads through [NativeTemplateView], so the loading strategy, cache and provider
+ * waterfall apply as usual.
+ *
+ * A slot keeps its loaded ad (or its failure) after its item is disposed, so scrolling
+ * back and forth shows it again without a new request. Up to [retainedSlots] slots are
+ * kept; past that, the slot farthest from the viewport is destroyed. Slots on screen
+ * are never evicted.
+ *
+ * Create with [rememberLazyListAdSlots] and show each ad item with [LazyListAdSlot].
+ * Slots are keyed by item index. Main thread only.
+ */
+class LazyListAdSlots internal constructor(
+    private val activity: Activity?,
+    val adUnitId: String,
+    val template: NativeAdTemplate,
+    private val loadingStrategy: AdLoadingStrategy?
+) {
+    internal class Slot(override val index: Int, val view: NativeTemplateView) : AdSlotWindow.Entry {
+        val state: MutableState<AdSlotState> = mutableStateOf(AdSlotState.LOADING)
+        var listener: AdLoadCallback? = null
+        override var composed = false
+
+        // The load may finish before the item is composed; report it once, on attach
+        private var loaded: Boolean? = null
+        private var error: LoadAdError? = null
+        private var reported = false
+
+        val callback = object : AdLoadCallback() {
+            override fun onAdLoaded() {
+                state.value = AdSlotState.SHOWN
+                loaded = true
+                report()
+            }
+
+            override fun onFailedToLoad(error: LoadAdError?) {
+                state.value = AdSlotState.HIDDEN
+                loaded = false
+                this@Slot.error = error
+                report()
+            }
+
+            override fun onAdClicked() { listener?.onAdClicked() }
+            override fun onAdImpression() { listener?.onAdImpression() }
+        }
+
+        fun report() {
+            val listener = listener ?: return
+            val loaded = loaded ?: return
+            if (reported) return
+            reported = true
+            if (loaded) listener.onAdLoaded() else listener.onFailedToLoad(error)
+        }
+    }
+
+    private val window = AdSlotWindow<Slot> { victim ->
+        victim.view.destroy()
+        AdDebugUtils.logDebug(TAG) { "Evicted ad slot ${victim.index} for $adUnitId" }
+    }
+    private var destroyed = false
+
+    /** Items ahead of the viewport to load at rest; a fling reaches up to 3x further. */
+    var preloadAhead: Int
+        get() = window.preloadAhead
+        internal set(value) {
+            window.preloadAhead = value
+        }
+
+    /** Slots kept across item disposal, including those on screen. */
+    var retainedSlots: Int
+        get() = window.retainedSlots
+        internal set(value) {
+            window.retainedSlots = value
+        }
+
+    internal var adItemPredicate: (Int) -> Boolean = { false }
+    internal var adsDisabled = false
+
+    /** Number of slots currently holding a loaded, loading or failed ad. */
+    val size: Int get() = window.size
+
+    /**
+     * Called on every scroll frame that changes the visible range.
+     *
+     * @param itemsPerSecond Scroll velocity, positive towards the end of the list
+     */
+    internal fun onViewportChanged(first: Int, last: Int, itemCount: Int, itemsPerSecond: Float) {
+        window.setViewport(first, last)
+        if (destroyed || adsDisabled || activity == null || itemCount == 0) return
+        window.fillAhead(itemCount, itemsPerSecond, ::isAdItem) { index -> load(activity, index) }
+    }
+
+    /** Whether [index] is an ad slot, per the `isAdItem` passed to [rememberLazyListAdSlots]. */
+    fun isAdItem(index: Int): Boolean = adItemPredicate(index)
+
+    internal fun acquire(index: Int): Slot? {
+        window[index]?.let { return it }
+        val activity = activity
+        if (destroyed || activity == null) return null
+        // An item on screen loads even when every retained slot is closer
+        window.makeRoomFor(index)
+        return load(activity, index)
+    }
+
+    /** Destroys every slot's ad. Called when the list leaves composition. */
+    fun destroy() {
+        destroyed = true
+        window.clear().forEach { it.view.destroy() }
+    }
+
+    private fun load(activity: Activity, index: Int): Slot {
+        val view = NativeTemplateView(activity).apply { setTemplate(template) }
+        val slot = Slot(index, view)
+        window.add(slot)
+        AdDebugUtils.logDebug(TAG) {
+            "Loading ad slot $index for $adUnitId (visible ${window.firstVisible}..${window.lastVisible}, slots: ${window.size})"
+        }
+        if (loadingStrategy != null) {
+            view.loadNativeAd(activity, adUnitId, slot.callback, loadingStrategy)
+        } else {
+            view.loadNativeAd(activity, adUnitId, slot.callback)
+        }
+        return slot
+    }
+
+    companion object {
+        private const val TAG = "LazyListAdSlots"
+
+        /** Default for [preloadAhead]. */
+        const val DEFAULT_PRELOAD_AHEAD = 3
+
+        /** Default for [retainedSlots]. */
+        const val DEFAULT_RETAINED_SLOTS = 6
+    }
+}
+
+/**
+ * Remembers [LazyListAdSlots] for [listState] and starts preloading the items for which
+ * [isAdItem] returns true as the list scrolls.
+ *
+ * ```kotlin
+ * val listState = rememberLazyListState()
+ * val adSlots = rememberLazyListAdSlots(listState, "ca-app-pub-xxx/yyy", isAdItem = { it % 8 == 4 })
+ * LazyColumn(state = listState) {
+ *     items(feed.size) { index ->
+ *         if (adSlots.isAdItem(index)) LazyListAdSlot(adSlots, index) else FeedRow(feed[index])
+ *     }
+ * }
+ * ```
+ *
+ * @param listState The state of the list holding the ad items
+ * @param adUnitId The AdMob ad unit ID, or the logical name mapped through the waterfall
+ * @param isAdItem Whether the item at an index is an ad slot
+ * @param template The template each slot renders with (default: LIST_ITEM)
+ * @param preloadAhead Items ahead of the viewport to load at rest (default: 3)
+ * @param retainedSlots Slots kept across item disposal, including on-screen ones (default: 6)
+ * @param loadingStrategy Loading strategy override for each slot's load
+ */
+@Composable
+fun rememberLazyListAdSlots(
+    listState: LazyListState,
+    adUnitId: String,
+    isAdItem: (index: Int) -> Boolean,
+    template: NativeAdTemplate = NativeAdTemplate.LIST_ITEM,
+    preloadAhead: Int = LazyListAdSlots.DEFAULT_PRELOAD_AHEAD,
+    retainedSlots: Int = LazyListAdSlots.DEFAULT_RETAINED_SLOTS,
+    loadingStrategy: AdLoadingStrategy? = null
+): LazyListAdSlots {
+    val context = LocalContext.current
+    val slots = remember(context, adUnitId, template, loadingStrategy) {
+        LazyListAdSlots(context.findComponentActivity(), adUnitId, template, loadingStrategy)
+    }
+    val currentIsAdItem by rememberUpdatedState(isAdItem)
+    val isPurchased = rememberPurchaseStatus()
+
+    SideEffect {
+        slots.adItemPredicate = { currentIsAdItem(it) }
+        slots.preloadAhead = preloadAhead.coerceAtLeast(1)
+        slots.retainedSlots = retainedSlots.coerceAtLeast(1)
+        slots.adsDisabled = isPurchased
+    }
+
+    DisposableEffect(slots) {
+        onDispose { slots.destroy() }
+    }
+
+    LaunchedEffect(listState, slots) {
+        var previousFirst = -1
+        var previousTime = 0L
+        var itemsPerSecond = 0f
+        snapshotFlow {
+            val info = listState.layoutInfo
+            Triple(
+                listState.firstVisibleItemIndex,
+                info.visibleItemsInfo.lastOrNull()?.index ?: listState.firstVisibleItemIndex,
+                info.totalItemsCount
+            )
+        }.distinctUntilChanged().collect { (first, last, itemCount) ->
+            val now = SystemClock.uptimeMillis()
+            if (previousFirst >= 0 && now > previousTime) {
+                // Smoothed, so one slow frame mid-fling does not collapse the reach
+                val instant = (first - previousFirst) * 1000f / (now - previousTime)
+                itemsPerSecond = (itemsPerSecond + instant) / 2
+            }
+            if (!listState.isScrollInProgress) itemsPerSecond = 0f
+            previousFirst = first
+            previousTime = now
+            slots.onViewportChanged(first, last, itemCount, itemsPerSecond)
+        }
+    }
+    return slots
+}
+
+/**
+ * Shows the ad for item [index] of a list using [slots]: the preloaded ad if the item
+ * was loaded ahead of the viewport, the retained one if it was shown before, otherwise
+ * a new load. Occupies no space if the load failed or ads are disabled for this user.
+ *
+ * Load results are reported once per slot, also when the load finished before the item
+ * was composed.
+ */
+@Composable
+fun LazyListAdSlot(
+    slots: LazyListAdSlots,
+    index: Int,
+    modifier: Modifier = Modifier,
+    onAdLoaded: (() -> Unit)? = null,
+    onAdFailedToLoad: ((LoadAdError?) -> Unit)? = null,
+    onAdClicked: (() -> Unit)? = null,
+    onAdImpression: (() -> Unit)? = null
+) {
+    val currentOnAdLoaded by rememberUpdatedState(onAdLoaded)
+    val currentOnAdFailedToLoad by rememberUpdatedState(onAdFailedToLoad)
+    val currentOnAdClicked by rememberUpdatedState(onAdClicked)
+    val currentOnAdImpression by rememberUpdatedState(onAdImpression)
+
+    // Premium users get no ad and no reserved space.
+    if (rememberPurchaseStatus()) return
+
+    val slot = remember(slots, index) { slots.acquire(index) }
+    if (slot == null) {
+        // No hosting Activity (e.g. an application context); same as NativeTemplateCompose
+        LaunchedEffect(slots, index) { currentOnAdFailedToLoad?.invoke(null) }
+        return
+    }
+
+    DisposableEffect(slot) {
+        slot.composed = true
+        slot.listener = object : AdLoadCallback() {
+            override fun onAdLoaded() { currentOnAdLoaded?.invoke() }
+            override fun onFailedToLoad(error: LoadAdError?) { currentOnAdFailedToLoad?.invoke(error) }
+            override fun onAdClicked() { currentOnAdClicked?.invoke() }
+            override fun onAdImpression() { currentOnAdImpression?.invoke() }
+        }
+        slot.report()
+        onDispose {
+            // Keep the slot and its ad; the list may scroll back to it
+            slot.composed = false
+            slot.listener = null
+        }
+    }
+
+    key(slot) {
+        AndroidView(
+            factory = {
+                // A retained view is still inside the holder of its previous composition
+                (slot.view.parent as? ViewGroup)?.removeView(slot.view)
+                slot.view
+            },
+            modifier = modifier
+                .fillMaxWidth()
+                .wrapContentHeight(),
+            update = { view ->
+                view.visibility = if (slot.state.value.occupiesSpace) View.VISIBLE else View.GONE
+            }
+        )
+    }
+}
@@ -3,9 +3,7 @@ package com.i2hammad.admanagekit.compose
 import androidx.compose.foundation.layout.fillMaxWidth
 import androidx.compose.foundation.layout.wrapContentHeight
 import androidx.compose.runtime.Composable
-import androidx.compose.runtime.DisposableEffect
 import androidx.compose.runtime.getValue
-import androidx.compose.runtime.key
 import androidx.compose.runtime.remember
 import androidx.compose.runtime.rememberUpdatedState
 import androidx.compose.ui.Modifier
@@ -15,7 +13,6 @@ import com.google.android.libraries.ads.mobile.sdk.common.LoadAdError
 import com.google.android.libraries.ads.mobile.sdk.common.AdValue
 import com.i2hammad.admanagekit.admob.AdLoadCallback
 import com.i2hammad.admanagekit.admob.NativeAdTemplate
-import com.i2hammad.admanagekit.admob.NativeTemplateView
 import com.i2hammad.admanagekit.config.AdLoadingStrategy
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
 
@@ -118,61 +115,58 @@ fun NativeTemplateCompose(
         }
     }
 
-    // Create the NativeTemplateView
-    val nativeTemplateView = remember(adUnitId, template, customLayoutResId) {
-        NativeTemplateView(context).apply {
-            setTemplate(template)
-            if (customLayoutResId != null) {
-                setCustomTemplate(customLayoutResId, customShimmerResId ?: 0, customSizeHint)
+    // The view comes from a per-template pool and is rebound rather than rebuilt: a
+    // lazy list reusing this node for another item, or a change of ad unit, binds the
+    // new ad into the already inflated template.
+    val layout = NativeTemplateViewPool.Layout(template, customLayoutResId, customShimmerResId, customSizeHint)
+    val request = NativeTemplateRequest(adUnitId, loadingStrategy, layout)
+
+    AndroidView(
+        factory = { viewContext -> NativeTemplateViewPool.acquire(viewContext, layout) },
+        modifier = modifier
+            .fillMaxWidth()
+            .wrapContentHeight(),
+        // Reused for another item: drop this item's ad; update loads the new one
+        onReset = { view -> NativeTemplateViewPool.unbind(view) },
+        // Left composition: release the displayed NativeAd and pool the view
+        onRelease = { view -> NativeTemplateViewPool.release(view) },
+        update = { view ->
+            NativeTemplateViewPool.configure(view, layout)
+            if (NativeTemplateViewPool.bind(view, request)) {
+                val activity = context.findComponentActivity()
+                if (activity != null) {
+                    if (loadingStrategy != null) {
+                        view.loadNativeAd(activity, adUnitId, callback, loadingStrategy)
+                    } else {
+                        view.loadNativeAd(activity, adUnitId, callback)
+                    }
+                } else {
+                    // No hosting Activity (e.g. an application context). Report it instead of
+                    // rendering an empty slot forever with no signal to the caller.
+                    android.util.Log.w(
+                        "NativeTemplateCompose",
+                        "No hosting ComponentActivity for ad unit $adUnitId; skipping load"
+                    )
+                    slotState.value = AdSlotState.HIDDEN
+                    callback.onFailedToLoad(null)
+                }
             }
+            // Do not force VISIBLE unconditionally - NativeTemplateView hides its
+            // own root on failure/premium and this overrode it.
+            view.visibility =
+                if (slotState.value.occupiesSpace) android.view.View.VISIBLE
+                else android.view.View.GONE
         }
-    }
-
-    // Load the ad
-    DisposableEffect(adUnitId, template, loadingStrategy, customLayoutResId) {
-        val activity = context.findComponentActivity()
-        if (activity != null) {
-            if (loadingStrategy != null) {
-                nativeTemplateView.loadNativeAd(activity, adUnitId, callback, loadingStrategy)
-            } else {
-                nativeTemplateView.loadNativeAd(activity, adUnitId, callback)
-            }
-        } else {
-            // No hosting Activity (e.g. an application context). Report it instead of
-            // rendering an empty slot forever with no signal to the caller.
-            android.util.Log.w(
-                "NativeTemplateCompose",
-                "No hosting ComponentActivity for ad unit $adUnitId; skipping load"
-            )
-            slotState.value = AdSlotState.HIDDEN
-            callback.onFailedToLoad(null)
-        }
-
-        onDispose {
-            // Release the displayed NativeAd when the composable leaves composition
-            nativeTemplateView.destroy()
-        }
-    }
-
-    // key() ensures the AndroidView node is recreated when a new view instance
-    // is created for new keys, so the new view actually gets attached
-    key(adUnitId, template, customLayoutResId) {
-        AndroidView(
-            factory = { nativeTemplateView },
-            modifier = modifier
-                .fillMaxWidth()
-                .wrapContentHeight(),
-            update = { view ->
-                // Do not force VISIBLE unconditionally - NativeTemplateView hides its
-                // own root on failure/premium and this overrode it.
-                view.visibility =
-                    if (slotState.value.occupiesSpace) android.view.View.VISIBLE
-                    else android.view.View.GONE
-            }
-        )
-    }
+    )
 }
 
+/** What a pooled [NativeTemplateView] is showing; a different one triggers a new load. */
+private data class NativeTemplateRequest(
+    val adUnitId: String,
+    val loadingStrategy: AdLoadingStrategy?,
+    val layout: NativeTemplateViewPool.Layout
+)
+
 /**
  * Card Modern template - general purpose native ad
  */
@@ -0,0 +1,132 @@
+package com.i2hammad.admanagekit.compose
+
+import android.content.Context
+import android.view.ViewGroup
+import androidx.activity.ComponentActivity
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.LifecycleEventObserver
+import com.i2hammad.admanagekit.admob.NativeAdTemplate
+import com.i2hammad.admanagekit.admob.NativeTemplateView
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdMemoryTrimmers
+import com.i2hammad.admanagekit.core.ad.NativeAdSize
+import java.util.WeakHashMap
+
+/**
+ * Released [NativeTemplateView]s per Compose context and template, so a native ad
+ * composable that leaves composition hands its inflated hierarchy to the next one
+ * instead of each inflating its own.
+ *
+ * Views are only reused for the [Context] they were built with, since a theme wrapper
+ * changes how they resolve attributes. A context's views are dropped when its Activity
+ * is destroyed, and trimmed through [AdMemoryTrimmers] under memory pressure. Main
+ * thread only.
+ */
+internal object NativeTemplateViewPool {
+
+    /** The layout a view was configured for; views are only reused for the same one. */
+    data class Layout(
+        val template: NativeAdTemplate,
+        val customLayoutResId: Int?,
+        val customShimmerResId: Int?,
+        val customSizeHint: NativeAdSize
+    )
+
+    private const val MAX_VIEWS_PER_LAYOUT = 3
+
+    private val pools = WeakHashMap<Context, HashMap<Layout, ArrayDeque<NativeTemplateView>>>()
+    private val layouts = WeakHashMap<NativeTemplateView, Layout>()
+    private val requests = WeakHashMap<NativeTemplateView, Any>()
+    private val observedActivities = WeakHashMap<ComponentActivity, Unit>()
+
+    // Builds the views the pool hands out; replaced in tests
+    internal var createView: (Context) -> NativeTemplateView = { NativeTemplateView(it) }
+
+    init {
+        AdMemoryTrimmers.register("composeTemplateViews") { tier ->
+            val keepPerLayout = when (tier) {
+                AdMemoryTier.EXPIRED -> MAX_VIEWS_PER_LAYOUT
+                AdMemoryTier.SHRINK -> 1
+                AdMemoryTier.RELEASE, AdMemoryTier.CLEAR -> 0
+            }
+            trim(keepPerLayout) * AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES
+        }
+    }
+
+    fun acquire(context: Context, layout: Layout): NativeTemplateView {
+        pools[context]?.get(layout)?.removeLastOrNull()?.let { pooled ->
+            // Still inside the holder of the composition that released it
+            (pooled.parent as? ViewGroup)?.removeView(pooled)
+            return pooled
+        }
+        return createView(context).also {
+            configure(it, layout)
+            clearOnDestroy(context)
+        }
+    }
+
+    /** Points a pooled or reused view at [layout], if it is configured for another one. */
+    fun configure(view: NativeTemplateView, layout: Layout) {
+        if (layouts[view] == layout) return
+        if (layout.customLayoutResId != null) {
+            view.setCustomTemplate(layout.customLayoutResId, layout.customShimmerResId ?: 0, layout.customSizeHint)
+        } else {
+            view.setTemplate(layout.template)
+        }
+        layouts[view] = layout
+    }
+
+    /**
+     * Records that [view] now shows [request]. Returns true if it showed something else,
+     * whose ad has then been destroyed, and the caller should load [request].
+     */
+    fun bind(view: NativeTemplateView, request: Any): Boolean {
+        val previous = requests[view]
+        if (previous == request) return false
+        if (previous != null) view.resetForReuse()
+        requests[view] = request
+        return true
+    }
+
+    /** Destroys [view]'s ad, so the next [bind] loads whatever it is given. */
+    fun unbind(view: NativeTemplateView) {
+        requests.remove(view)
+        view.resetForReuse()
+    }
+
+    /** Destroys [view]'s ad and keeps the view for the next [acquire] of its layout. */
+    fun release(view: NativeTemplateView) {
+        unbind(view)
+        val layout = layouts[view] ?: return
+        val activity = view.context.findComponentActivity()
+        if (activity == null || activity.isFinishing || activity.isDestroyed) return
+        val views = pools.getOrPut(view.context) { HashMap() }.getOrPut(layout) { ArrayDeque() }
+        if (views.size < MAX_VIEWS_PER_LAYOUT && views.none { it === view }) views.addLast(view)
+    }
+
+    /** Drops pooled views beyond [keepPerLayout] per layout and returns how many. */
+    private fun trim(keepPerLayout: Int): Int {
+        var dropped = 0
+        pools.values.forEach { byLayout ->
+            byLayout.values.forEach { views ->
+                while (views.size > keepPerLayout) {
+                    views.removeFirst()
+                    dropped++
+                }
+            }
+        }
+        return dropped
+    }
+
+    private fun clearOnDestroy(context: Context) {
+        val activity = context.findComponentActivity() ?: return
+        if (observedActivities.containsKey(activity)) return
+        observedActivities[activity] = Unit
+        activity.lifecycle.addObserver(LifecycleEventObserver { _, event ->
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                pools.keys.removeAll { it.findComponentActivity() === activity }
+                observedActivities.remove(activity)
+            }
+        })
+    }
+}
@@ -0,0 +1,127 @@
+package com.i2hammad.admanagekit.compose
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Tests for [AdSlotWindow]: the preload-ahead window, its velocity lookahead in the
+ * scroll direction, the retained-slot budget and which slot is evicted first.
+ */
+class AdSlotWindowTest {
+
+    private class TestSlot(override val index: Int, override var composed: Boolean = false) : AdSlotWindow.Entry
+
+    private val evicted = ArrayList<Int>()
+    private val window = AdSlotWindow<TestSlot> { evicted += it.index }
+
+    private fun fill(itemsPerSecond: Float = 0f, itemCount: Int = 100, isAdItem: (Int) -> Boolean = { true }): List<Int> {
+        val loaded = ArrayList<Int>()
+        window.fillAhead(itemCount, itemsPerSecond, isAdItem) { index ->
+            window.add(TestSlot(index))
+            loaded += index
+        }
+        return loaded
+    }
+
+    @Test
+    fun `at rest the window covers preloadAhead items after the viewport`() {
+        window.setViewport(0, 4)
+
+        assertEquals(listOf(5, 6, 7), window.aheadOf(100, 0f).toList())
+    }
+
+    @Test
+    fun `a fling reaches further, up to three times preloadAhead`() {
+        window.setViewport(0, 4)
+
+        assertEquals((5..10).toList(), window.aheadOf(100, 4f).toList())
+        assertEquals((5..13).toList(), window.aheadOf(100, 100f).toList())
+    }
+
+    @Test
+    fun `scrolling back looks behind the viewport, nearest first`() {
+        window.setViewport(20, 24)
+
+        assertEquals((19 downTo 14).toList(), window.aheadOf(100, -4f).toList())
+        // Drifting back slower than half an item per second counts as at rest
+        assertEquals(listOf(25, 26, 27), window.aheadOf(100, -0.4f).toList())
+    }
+
+    @Test
+    fun `the window stops at the ends of the list`() {
+        window.setViewport(1, 4)
+
+        assertEquals(listOf(5), window.aheadOf(6, 0f).toList())
+        assertEquals(listOf(0), window.aheadOf(100, -4f).toList())
+    }
+
+    @Test
+    fun `fill loads only ad items that have no slot`() {
+        window.setViewport(0, 4)
+        window.add(TestSlot(7))
+
+        assertEquals(listOf(5, 9), fill(itemsPerSecond = 4f, isAdItem = { it % 2 == 1 }))
+        assertEquals(3, window.size)
+    }
+
+    @Test
+    fun `fill stops at the retained slot budget`() {
+        window.retainedSlots = 2
+        window.setViewport(0, 4)
+
+        assertEquals(listOf(5, 6), fill())
+        assertTrue(evicted.isEmpty())
+        assertNull(window[7])
+    }
+
+    @Test
+    fun `the off-screen slot farthest from the viewport is evicted first`() {
+        window.retainedSlots = 3
+        window.add(TestSlot(2, composed = true))
+        window.add(TestSlot(12))
+        window.add(TestSlot(30))
+        window.setViewport(0, 4)
+
+        assertEquals(listOf(5, 6), fill(itemsPerSecond = 0f))
+        assertEquals(listOf(30, 12), evicted)
+    }
+
+    @Test
+    fun `a slot nearer than the one to load is kept`() {
+        window.retainedSlots = 1
+        window.add(TestSlot(6))
+        window.setViewport(0, 4)
+
+        assertFalse(window.makeRoomFor(8))
+        assertTrue(evicted.isEmpty())
+
+        window.setViewport(10, 14)
+        assertTrue(window.makeRoomFor(15))
+        assertEquals(listOf(6), evicted)
+    }
+
+    @Test
+    fun `composed slots are never evicted`() {
+        window.retainedSlots = 2
+        window.add(TestSlot(0, composed = true))
+        window.add(TestSlot(1, composed = true))
+        window.setViewport(40, 44)
+
+        assertFalse(window.makeRoomFor(45))
+        assertTrue(evicted.isEmpty())
+        assertEquals(2, window.size)
+    }
+
+    @Test
+    fun `clear returns and removes every slot`() {
+        window.add(TestSlot(3))
+        window.add(TestSlot(9))
+
+        assertEquals(listOf(3, 9), window.clear().map { it.index })
+        assertEquals(0, window.size)
+        assertTrue(evicted.isEmpty())
+    }
+}
@@ -0,0 +1,104 @@
+package com.i2hammad.admanagekit.compose
+
+import android.content.Context
+import androidx.activity.ComponentActivity
+import com.i2hammad.admanagekit.admob.NativeAdTemplate
+import com.i2hammad.admanagekit.admob.NativeTemplateView
+import com.i2hammad.admanagekit.core.ad.NativeAdSize
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+
+/**
+ * Tests for [NativeTemplateViewPool]: rebinding the same request keeps the ad, release
+ * resets a view and pools it up to the per-layout cap, and an Activity's views are
+ * dropped when it is destroyed. Views are mocks.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [35])
+class NativeTemplateViewPoolTest {
+
+    private val controller = Robolectric.buildActivity(ComponentActivity::class.java).setup()
+    private val activity = controller.get()
+    private val layout = NativeTemplateViewPool.Layout(NativeAdTemplate.LIST_ITEM, null, null, NativeAdSize.MEDIUM)
+    private val created = ArrayList<NativeTemplateView>()
+
+    @Before
+    fun setUp() {
+        NativeTemplateViewPool.createView = { context ->
+            mockk<NativeTemplateView>(relaxed = true).also { view ->
+                every { view.context } returns context
+                every { view.parent } returns null
+                created += view
+            }
+        }
+    }
+
+    @After
+    fun tearDown() {
+        NativeTemplateViewPool.createView = { NativeTemplateView(it) }
+    }
+
+    private fun acquire(context: Context = activity) = NativeTemplateViewPool.acquire(context, layout)
+
+    @Test
+    fun `rebinding the same request does not reload`() {
+        val view = acquire()
+
+        assertTrue(NativeTemplateViewPool.bind(view, "request"))
+        assertFalse(NativeTemplateViewPool.bind(view, "request"))
+        verify(exactly = 0) { view.resetForReuse() }
+
+        assertTrue(NativeTemplateViewPool.bind(view, "other"))
+        verify(exactly = 1) { view.resetForReuse() }
+    }
+
+    @Test
+    fun `release unbinds and resets the view`() {
+        val view = acquire()
+        NativeTemplateViewPool.bind(view, "request")
+
+        NativeTemplateViewPool.release(view)
+
+        verify(exactly = 1) { view.resetForReuse() }
+        assertSame(view, acquire())
+        // The released view no longer counts as showing its request
+        assertTrue(NativeTemplateViewPool.bind(view, "request"))
+    }
+
+    @Test
+    fun `pool keeps at most three views per layout`() {
+        val views = List(4) { acquire() }
+        views.forEach { NativeTemplateViewPool.release(it) }
+
+        val reused = List(4) { acquire() }
+
+        assertEquals(views.take(3).toSet(), reused.take(3).toSet())
+        assertNotSame(views[3], reused[3])
+        assertEquals(5, created.size)
+    }
+
+    @Test
+    fun `views of a destroyed activity are dropped`() {
+        val view = acquire()
+        NativeTemplateViewPool.release(view)
+
+        controller.destroy()
+
+        NativeTemplateViewPool.release(view)
+        assertNotSame(view, acquire())
+        assertEquals(2, created.size)
+    }
+}
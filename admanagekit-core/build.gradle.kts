@@ -30,6 +30,13 @@ android {
     kotlinOptions {
         jvmTarget = "17"
     }
+
+    testOptions {
+        unitTests {
+            // NativeAdInventoryTest constructs placeholder Views; their methods are never called
+            isReturnDefaultValues = true
+        }
+    }
 }
 
 dependencies {
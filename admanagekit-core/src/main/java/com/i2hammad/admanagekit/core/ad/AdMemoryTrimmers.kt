@@ -0,0 +1,79 @@
+package com.i2hammad.admanagekit.core.ad
+
+/**
+ * How much ad memory a trim releases, in increasing order. Each tier also applies
+ * everything below it.
+ */
+enum class AdMemoryTier {
+    /** Expired ads only. */
+    EXPIRED,
+
+    /** Shrink caches to about one item each. */
+    SHRINK,
+
+    /** Drop preloaded views and pooled view-based ads. */
+    RELEASE,
+
+    /** Drop every cached and loaded ad not on screen. */
+    CLEAR
+}
+
+/**
+ * Ad caches that live outside AdManageKit's own managers, such as a provider's ad pool
+ * or a UI module's view pool. AdManageKit's `AdMemoryGovernor` trims them along with
+ * its own caches when the system reports memory pressure, and reports what they freed
+ * under their names.
+ *
+ * A cache registers a [Trimmer] while it holds memory and unregisters it when it is
+ * destroyed. Trimmers run on the main thread.
+ *
+ * ```kotlin
+ * private val trimmer = AdMemoryTrimmers.Trimmer { tier ->
+ *     if (tier >= AdMemoryTier.RELEASE) pool.releaseAll() * AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES else 0L
+ * }
+ * AdMemoryTrimmers.register("myPool", trimmer)
+ * ```
+ */
+object AdMemoryTrimmers {
+
+    /** Rough size of an ad with its inflated view hierarchy (native template or banner). */
+    const val ESTIMATED_AD_VIEW_BYTES = 150 * 1024L
+
+    /** Rough size of a loaded full-screen ad's creative. */
+    const val ESTIMATED_FULL_SCREEN_AD_BYTES = 250 * 1024L
+
+    /** Releases a cache's memory for a [AdMemoryTier]. */
+    fun interface Trimmer {
+        /** Releases what [tier] calls for and returns the estimated bytes freed. */
+        fun trim(tier: AdMemoryTier): Long
+    }
+
+    // Registration order, so reports list caches the same way every time
+    private val trimmers = LinkedHashMap<Trimmer, String>()
+
+    /** Trims [trimmer] with AdManageKit's caches, reported as [name], until [unregister]. */
+    @JvmStatic
+    fun register(name: String, trimmer: Trimmer) {
+        synchronized(trimmers) { trimmers[trimmer] = name }
+    }
+
+    @JvmStatic
+    fun unregister(trimmer: Trimmer) {
+        synchronized(trimmers) { trimmers.remove(trimmer) }
+    }
+
+    /**
+     * Runs every registered trimmer for [tier]. Returns the estimated bytes freed per
+     * name, for names that freed anything. Call on the main thread.
+     */
+    @JvmStatic
+    fun trimAll(tier: AdMemoryTier): Map<String, Long> {
+        val snapshot = synchronized(trimmers) { trimmers.entries.map { it.key to it.value } }
+        val freed = LinkedHashMap<String, Long>()
+        snapshot.forEach { (trimmer, name) ->
+            val bytes = trimmer.trim(tier)
+            if (bytes > 0) freed[name] = (freed[name] ?: 0L) + bytes
+        }
+        return freed
+    }
+}
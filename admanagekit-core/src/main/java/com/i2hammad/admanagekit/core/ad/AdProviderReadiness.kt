@@ -0,0 +1,116 @@
+package com.i2hammad.admanagekit.core.ad
+
+/**
+ * Registry of one-shot "SDK initialized" signals, one per ad network.
+ *
+ * Each network's registration publishes [markInitializing] when it starts its SDK
+ * and [markReady] once the SDK accepts requests. Ad managers and waterfalls
+ * subscribe with [whenReady] instead of polling, so work parked during startup
+ * runs the moment the SDK is ready, and waterfalls can pass over a network that is
+ * still initializing instead of timing out on it.
+ *
+ * A network that never published anything is [State.UNKNOWN]: the app initializes
+ * it by other means, so callers should fall back to their own readiness check
+ * rather than treat it as not ready.
+ *
+ * Thread-safe. Callbacks run on the thread that calls [markReady], or synchronously
+ * on the caller's thread when the network is already ready.
+ *
+ * Example:
+ * ```kotlin
+ * AdProviderReadiness.markInitializing(AdProvider.YANDEX)
+ * YandexAds.initialize(context) { AdProviderReadiness.markReady(AdProvider.YANDEX) }
+ *
+ * AdProviderReadiness.whenReady(AdProvider.YANDEX) { loadFirstAd() }
+ * ```
+ */
+object AdProviderReadiness {
+
+    enum class State {
+        /** Nothing published; readiness is unknown to AdManageKit. */
+        UNKNOWN,
+        /** SDK initialization started and has not finished. */
+        INITIALIZING,
+        /** SDK initialized. Final: never goes back. */
+        READY
+    }
+
+    /** Handle returned by [whenReady]. */
+    fun interface Subscription {
+        /** Drops the callback if it has not run yet. Safe to call more than once. */
+        fun cancel()
+    }
+
+    private val lock = Any()
+    // All guarded by lock; keyed by AdProvider.name.
+    private val states = HashMap<String, State>()
+    private val waiters = HashMap<String, MutableList<Runnable>>()
+
+    /** Publishes that [provider]'s SDK initialization has started. No-op once ready. */
+    @JvmStatic
+    fun markInitializing(provider: AdProvider) {
+        synchronized(lock) {
+            if (states[provider.name] != State.READY) {
+                states[provider.name] = State.INITIALIZING
+            }
+        }
+    }
+
+    /** Publishes that [provider]'s SDK is initialized and runs every parked callback. */
+    @JvmStatic
+    fun markReady(provider: AdProvider) {
+        val toRun: List<Runnable>
+        synchronized(lock) {
+            if (states[provider.name] == State.READY) return
+            states[provider.name] = State.READY
+            toRun = waiters.remove(provider.name).orEmpty()
+        }
+        toRun.forEach { it.run() }
+    }
+
+    @JvmStatic
+    fun getState(provider: AdProvider): State = synchronized(lock) {
+        states[provider.name] ?: State.UNKNOWN
+    }
+
+    @JvmStatic
+    fun isReady(provider: AdProvider): Boolean = getState(provider) == State.READY
+
+    /** True while [provider] is known to be initializing, i.e. requests would fail or stall. */
+    @JvmStatic
+    fun isInitializing(provider: AdProvider): Boolean = getState(provider) == State.INITIALIZING
+
+    /**
+     * Runs [callback] once [provider] is ready: immediately if it already is,
+     * otherwise when [markReady] is called. Callbacks are never run for a
+     * provider that stays [State.UNKNOWN], so pair this with a timeout.
+     */
+    @JvmStatic
+    fun whenReady(provider: AdProvider, callback: Runnable): Subscription {
+        synchronized(lock) {
+            if (states[provider.name] != State.READY) {
+                waiters.getOrPut(provider.name) { ArrayList() }.add(callback)
+                return Subscription {
+                    synchronized(lock) { waiters[provider.name]?.remove(callback) }
+                }
+            }
+        }
+        callback.run()
+        return Subscription { }
+    }
+
+    /** Number of callbacks parked for [provider]. */
+    @JvmStatic
+    fun getWaiterCount(provider: AdProvider): Int = synchronized(lock) {
+        waiters[provider.name]?.size ?: 0
+    }
+
+    /** Forgets every state and parked callback. For tests. */
+    @JvmStatic
+    fun reset() {
+        synchronized(lock) {
+            states.clear()
+            waiters.clear()
+        }
+    }
+}
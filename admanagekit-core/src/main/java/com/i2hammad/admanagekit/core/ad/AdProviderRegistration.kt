@@ -1,14 +1,18 @@
 package com.i2hammad.admanagekit.core.ad
 
+import android.content.Context
+
 /**
  * Bundles all providers from a single ad network into one object.
  * Each ad network module creates an implementation of this interface.
+ * The bundled registrations hand out lazy providers (see [LazyProvider]), so a
+ * format's provider is only created on its first request.
  *
  * Example:
  * ```kotlin
  * val admob = AdMobProviderRegistration.create()
- * admob.interstitialProvider  // AdMobInterstitialProvider
- * admob.bannerProvider        // AdMobBannerProvider
+ * admob.interstitialProvider  // AdMobInterstitialProvider, created on first load
+ * admob.bannerProvider        // AdMobBannerProvider, created on first load
  * ```
  */
 interface AdProviderRegistration {
@@ -30,4 +34,14 @@ interface AdProviderRegistration {
 
     /** Rewarded ad provider, or null if not supported. */
     val rewardedProvider: RewardedAdProvider?
+
+    /**
+     * Creates every lazily-built provider now and starts any deferred SDK
+     * initialization, instead of on the first request for each format.
+     * Safe to call from a background thread; see [AdProviderPrewarmer].
+     */
+    fun prewarm(context: Context) {
+        listOfNotNull(interstitialProvider, bannerProvider, nativeProvider, appOpenProvider, rewardedProvider)
+            .forEach { (it as? PrewarmableProvider)?.prewarm(context) }
+    }
 }
@@ -0,0 +1,149 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.os.Handler
+import android.os.Looper
+import java.util.concurrent.Executor
+
+/**
+ * The process-wide [AdRequestScheduler] that every ad load goes through, limited to
+ * [maxConcurrentRequests] at once. Each network request is submitted where it is
+ * issued, by AdManageKit's managers and views and by the provider implementations:
+ *
+ * - splash and load-with-dialog interstitials, the timed app open fetch and rewarded
+ *   load-and-show are [AdRequestPriority.SHOW_BLOCKING];
+ * - native and banner views filling their slot, cache and pool fills, app open
+ *   prefetches and interstitial and rewarded preloads are [AdRequestPriority.PREFETCH];
+ * - banner auto-refreshes are [AdRequestPriority.REFRESH] and give up if they cannot
+ *   start within one refresh interval;
+ * - automatic retries are [AdRequestPriority.RETRY].
+ *
+ * A provider does not know why it is loading, so it submits at [currentPriority]: the
+ * caller wraps `provider.loadAd(...)` in [withPriority], as the waterfalls do for each
+ * attempt. Loads a provider starts on its own, such as pool top-ups, are prefetches.
+ * A caller that also passes a [RequestObserver] learns the tickets those loads submit
+ * and when they start, so it can time an attempt from its start and cancel it.
+ *
+ * Requests start on the main thread. Apps that load ads of their own can [submit]
+ * them here too, so they share the budget.
+ *
+ * Example:
+ * ```kotlin
+ * AdRequestGovernor.submit(adUnitId, AdRequestPriority.PREFETCH) { ticket ->
+ *     loader.load(request) { result -> ticket.finish(); handle(result) }
+ * }
+ * ```
+ */
+object AdRequestGovernor {
+
+    /** Default for [maxConcurrentRequests]. */
+    const val DEFAULT_MAX_CONCURRENT_REQUESTS = 4
+
+    /**
+     * Requests allowed to run at once; 0 or less disables the limit. AdManageKit sets
+     * it from `AdManageKitConfig.maxConcurrentAdRequests`.
+     */
+    @Volatile
+    @JvmStatic
+    var maxConcurrentRequests: Int = DEFAULT_MAX_CONCURRENT_REQUESTS
+
+    private val handler = Handler(Looper.getMainLooper())
+
+    private val mainExecutor = Executor { task ->
+        if (Looper.myLooper() == Looper.getMainLooper()) task.run() else handler.post(task)
+    }
+
+    /**
+     * Watches the requests submitted inside [withPriority]. Runs on the thread that
+     * submits or starts the request.
+     */
+    interface RequestObserver {
+        /** A load submitted [ticket]. A show-blocking ticket has already started. */
+        fun onSubmitted(ticket: AdRequestScheduler.Ticket) {}
+
+        /**
+         * [ticket] got its slot and its request is about to be issued. Cancelling the
+         * ticket here drops the request without issuing it.
+         */
+        fun onStarted(ticket: AdRequestScheduler.Ticket) {}
+    }
+
+    private class Scope(val priority: AdRequestPriority, val observer: RequestObserver?)
+
+    // Priority and observer of the load being issued on this thread, set by withPriority
+    private val contextScope = ThreadLocal<Scope?>()
+
+    @JvmStatic
+    val scheduler = AdRequestScheduler(
+        maxConcurrent = { maxConcurrentRequests },
+        executor = mainExecutor,
+        timer = { delayMillis, check -> handler.postDelayed(check, delayMillis) }
+    )
+
+    /** Submits [request] to the shared [scheduler]. See [AdRequestScheduler.submit]. */
+    @JvmStatic
+    @JvmOverloads
+    fun submit(
+        adUnitId: String,
+        priority: AdRequestPriority,
+        deadlineMillis: Long = 0,
+        onExpired: Runnable? = null,
+        request: AdRequestScheduler.Request
+    ): AdRequestScheduler.Ticket {
+        val observer = contextScope.get()?.observer
+            ?: return scheduler.submit(adUnitId, priority, deadlineMillis, onExpired, request)
+        val ticket = scheduler.submit(adUnitId, priority, deadlineMillis, onExpired) { started ->
+            observer.onStarted(started)
+            if (started.state == AdRequestScheduler.Ticket.State.RUNNING) request.start(started)
+        }
+        observer.onSubmitted(ticket)
+        return ticket
+    }
+
+    /**
+     * Runs [block] with [priority] as the [currentPriority] of this thread, so the loads
+     * a provider submits synchronously inside it get that priority.
+     */
+    @JvmStatic
+    fun <T> withPriority(priority: AdRequestPriority, block: () -> T): T = withPriority(priority, null, block)
+
+    /**
+     * Like [withPriority], and reports every request submitted inside [block] to
+     * [observer], including a load it defers with [bindToCurrentScope].
+     */
+    @JvmStatic
+    fun <T> withPriority(priority: AdRequestPriority, observer: RequestObserver?, block: () -> T): T =
+        inScope(Scope(priority, observer), block)
+
+    /**
+     * Wraps [action] to run with this thread's current priority and observer, for a
+     * load that a provider issues later, e.g. once its SDK is initialized.
+     */
+    @JvmStatic
+    fun bindToCurrentScope(action: () -> Unit): () -> Unit {
+        val scope = contextScope.get() ?: return action
+        return { inScope(scope, action) }
+    }
+
+    private fun <T> inScope(scope: Scope, block: () -> T): T {
+        val previous = contextScope.get()
+        contextScope.set(scope)
+        try {
+            return block()
+        } finally {
+            contextScope.set(previous)
+        }
+    }
+
+    /**
+     * The priority set by the innermost [withPriority] on this thread, or [default]
+     * outside one. Providers submit their loads at this priority.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun currentPriority(default: AdRequestPriority = AdRequestPriority.PREFETCH): AdRequestPriority =
+        contextScope.get()?.priority ?: default
+
+    /** Running and queued requests, and queue times per priority. */
+    @JvmStatic
+    fun getStats(): Map<String, Any> = scheduler.getStats()
+}
@@ -0,0 +1,333 @@
+package com.i2hammad.admanagekit.core.ad
+
+import java.util.concurrent.Executor
+
+/** How urgently an ad request is needed. Queued requests start in this order. */
+enum class AdRequestPriority {
+    /** The user is waiting on this ad, e.g. a splash or load-and-show. Never queued. */
+    SHOW_BLOCKING,
+    /** Fills an ad slot, cache or pool that nobody is blocked on, e.g. a native view or a preload. */
+    PREFETCH,
+    /** Replaces an ad that is already on screen, e.g. a banner refresh. */
+    REFRESH,
+    /** Repeats a failed load. */
+    RETRY
+}
+
+/**
+ * Limits how many ad requests run at once across formats and networks, so prefetches,
+ * refreshes and retries fired together on a screen transition do not all compete for
+ * bandwidth with each other and with the app's own calls.
+ *
+ * A loader [submit]s each request and calls [Ticket.finish] when the load succeeds or
+ * fails. While fewer than [maxConcurrent] requests are running, a request starts
+ * immediately; otherwise it queues and starts when a slot frees:
+ *
+ * - by [AdRequestPriority], highest first. [AdRequestPriority.SHOW_BLOCKING] requests
+ *   start immediately even over the limit, since the user is waiting, but still count
+ *   against it;
+ * - within a priority, round-robin across ad units, so one unit's burst of requests
+ *   does not starve the others;
+ * - a request still queued at its deadline is dropped and its `onExpired` runs.
+ *
+ * A running request that never finishes frees its slot after [maxHoldMillis], so a hung
+ * load cannot block the queue; the load itself is not cancelled.
+ *
+ * Thread-safe. Requests start on [executor]. Deadlines and holds are enforced when
+ * [timer] fires, and otherwise whenever a request is submitted or finishes.
+ *
+ * @param maxConcurrent Requests allowed to run at once; 0 or less disables the limit.
+ *        Read on every decision.
+ * @param maxHoldMillis How long a running request may hold its slot; 0 or less never
+ *        frees it early
+ * @param clock Time source, in milliseconds
+ * @param executor Runs [Request.start]. Defaults to the thread that submitted the request
+ *        or freed the slot.
+ * @param timer Schedules a deadline or hold check after a delay, or null to check only
+ *        on submit and finish
+ */
+class AdRequestScheduler @JvmOverloads constructor(
+    private val maxConcurrent: () -> Int,
+    private val maxHoldMillis: () -> Long = { DEFAULT_MAX_HOLD_MILLIS },
+    private val clock: () -> Long = System::currentTimeMillis,
+    private val executor: Executor = Executor { it.run() },
+    private val timer: ((delayMillis: Long, check: Runnable) -> Unit)? = null
+) {
+
+    /** Issues the ad request. Call [Ticket.finish] once it has loaded or failed. */
+    fun interface Request {
+        fun start(ticket: Ticket)
+    }
+
+    /** One submitted request. */
+    class Ticket internal constructor(
+        private val scheduler: AdRequestScheduler,
+        val adUnitId: String,
+        val priority: AdRequestPriority,
+        internal val request: Request,
+        internal val deadlineAt: Long,
+        internal val onExpired: Runnable?,
+        internal val submittedAt: Long
+    ) {
+        enum class State { QUEUED, RUNNING, FINISHED, EXPIRED, CANCELLED }
+
+        // Guarded by the scheduler's lock
+        @Volatile
+        var state: State = State.QUEUED
+            internal set
+
+        internal var startedAt = 0L
+
+        /** Time spent queued before starting, or so far if still queued. */
+        val queuedMillis: Long
+            get() = if (state == State.QUEUED) scheduler.clock() - submittedAt else startedAt - submittedAt
+
+        /** Frees the request's slot. Only the first call has an effect. */
+        fun finish() = scheduler.release(this, State.FINISHED)
+
+        /** Drops the request if it is still queued, or frees its slot if it is running. */
+        fun cancel() = scheduler.release(this, State.CANCELLED)
+    }
+
+    /**
+     * Queue times of requests of one priority that started, in milliseconds.
+     *
+     * @param started Requests that started
+     * @param expired Requests dropped at their deadline
+     * @param p90Millis 90th percentile over the most recent [QUEUE_TIME_WINDOW] starts
+     */
+    data class QueueTimeStats(
+        val started: Long,
+        val expired: Long,
+        val averageMillis: Long,
+        val p90Millis: Long,
+        val maxMillis: Long
+    )
+
+    private val lock = Any()
+
+    // All guarded by lock. Per priority: ad unit -> its queued tickets. Insertion order
+    // of the units is the round-robin order; a served unit moves to the back.
+    private val queues = AdRequestPriority.values().associateWith { LinkedHashMap<String, ArrayDeque<Ticket>>() }
+    private val running = LinkedHashSet<Ticket>()
+    private var draining = false
+    private val metrics = AdRequestPriority.values().associateWith { PriorityMetrics() }
+
+    /**
+     * Runs [request] now if a slot is free or [priority] is show-blocking, otherwise
+     * queues it.
+     *
+     * @param deadlineMillis How long the request may wait in the queue; 0 waits as long
+     *        as it takes
+     * @param onExpired Runs, instead of [request], if the deadline passes first
+     */
+    @JvmOverloads
+    fun submit(
+        adUnitId: String,
+        priority: AdRequestPriority,
+        deadlineMillis: Long = 0,
+        onExpired: Runnable? = null,
+        request: Request
+    ): Ticket {
+        val now = clock()
+        val ticket = Ticket(
+            this, adUnitId, priority, request,
+            deadlineAt = if (deadlineMillis > 0) now + deadlineMillis else Long.MAX_VALUE,
+            onExpired = onExpired,
+            submittedAt = now
+        )
+        val startNow = synchronized(lock) {
+            if (priority == AdRequestPriority.SHOW_BLOCKING) {
+                markStartedLocked(ticket, now)
+                true
+            } else {
+                queues.getValue(priority).getOrPut(adUnitId) { ArrayDeque() }.addLast(ticket)
+                false
+            }
+        }
+        if (startNow) {
+            start(ticket)
+        } else if (deadlineMillis > 0) {
+            timer?.invoke(deadlineMillis, Runnable { expireOverdue() })
+        }
+        expireOverdue()
+        return ticket
+    }
+
+    /**
+     * Drops queued requests past their deadline and frees slots held past
+     * [maxHoldMillis], then starts whatever now fits. Returns how many requests expired.
+     */
+    fun expireOverdue(): Int {
+        val expired = ArrayList<Ticket>()
+        synchronized(lock) {
+            val now = clock()
+            queues.values.forEach { units ->
+                val unitIterator = units.values.iterator()
+                while (unitIterator.hasNext()) {
+                    val queue = unitIterator.next()
+                    queue.removeAll { ticket ->
+                        (ticket.deadlineAt <= now).also { if (it) expired.add(ticket) }
+                    }
+                    if (queue.isEmpty()) unitIterator.remove()
+                }
+            }
+            expired.forEach {
+                it.state = Ticket.State.EXPIRED
+                metrics.getValue(it.priority).expired++
+            }
+            val maxHold = maxHoldMillis()
+            if (maxHold > 0) {
+                // Still RUNNING from the ticket's view; finish() will then find no slot to free
+                running.removeAll { now - it.startedAt >= maxHold }
+            }
+        }
+        expired.forEach { it.onExpired?.run() }
+        drain()
+        return expired.size
+    }
+
+    /** Requests running now, including show-blocking ones over the limit. */
+    fun runningCount(): Int = synchronized(lock) { running.size }
+
+    /** Requests waiting for a slot. */
+    fun queuedCount(): Int = synchronized(lock) {
+        queues.values.sumOf { units -> units.values.sumOf { it.size } }
+    }
+
+    fun getQueueTimeStats(priority: AdRequestPriority): QueueTimeStats = synchronized(lock) {
+        metrics.getValue(priority).snapshot()
+    }
+
+    fun getStats(): Map<String, Any> {
+        val stats = LinkedHashMap<String, Any>()
+        stats["max_concurrent"] = maxConcurrent()
+        stats["running"] = runningCount()
+        stats["queued"] = queuedCount()
+        AdRequestPriority.values().forEach { priority ->
+            val key = priority.name.lowercase()
+            val queueTimes = getQueueTimeStats(priority)
+            stats["${key}_started"] = queueTimes.started
+            stats["${key}_expired"] = queueTimes.expired
+            stats["${key}_avg_queue_ms"] = queueTimes.averageMillis
+            stats["${key}_p90_queue_ms"] = queueTimes.p90Millis
+            stats["${key}_max_queue_ms"] = queueTimes.maxMillis
+        }
+        return stats
+    }
+
+    /** Drops every queued request without running it and forgets every slot. For tests. */
+    fun reset() {
+        synchronized(lock) {
+            queues.values.forEach { units ->
+                units.values.forEach { queue -> queue.forEach { it.state = Ticket.State.CANCELLED } }
+                units.clear()
+            }
+            running.clear()
+            metrics.values.forEach { it.clear() }
+        }
+    }
+
+    private fun release(ticket: Ticket, outcome: Ticket.State) {
+        synchronized(lock) {
+            when (ticket.state) {
+                Ticket.State.QUEUED -> {
+                    val units = queues.getValue(ticket.priority)
+                    val queue = units[ticket.adUnitId]
+                    queue?.remove(ticket)
+                    if (queue != null && queue.isEmpty()) units.remove(ticket.adUnitId)
+                }
+                Ticket.State.RUNNING -> running.remove(ticket)
+                else -> return
+            }
+            ticket.state = if (ticket.state == Ticket.State.QUEUED) Ticket.State.CANCELLED else outcome
+        }
+        drain()
+    }
+
+    // Starts queued requests while slots are free. One thread drains at a time; the
+    // others leave their work to it, since it re-checks the queue under the lock before
+    // stopping. This also keeps a request that finishes inside start() from recursing.
+    private fun drain() {
+        synchronized(lock) {
+            if (draining) return
+            draining = true
+        }
+        try {
+            while (true) {
+                val next = synchronized(lock) {
+                    pollLocked()?.also { markStartedLocked(it, clock()) } ?: run { draining = false; null }
+                } ?: return
+                start(next)
+            }
+        } catch (t: Throwable) {
+            synchronized(lock) { draining = false }
+            throw t
+        }
+    }
+
+    private fun pollLocked(): Ticket? {
+        val limit = maxConcurrent()
+        if (limit > 0 && running.size >= limit) return null
+        for (priority in AdRequestPriority.values()) {
+            val units = queues.getValue(priority)
+            val (adUnitId, queue) = units.entries.firstOrNull() ?: continue
+            val ticket = queue.removeFirst()
+            units.remove(adUnitId)
+            if (queue.isNotEmpty()) units[adUnitId] = queue
+            return ticket
+        }
+        return null
+    }
+
+    private fun markStartedLocked(ticket: Ticket, now: Long) {
+        ticket.state = Ticket.State.RUNNING
+        ticket.startedAt = now
+        running.add(ticket)
+        metrics.getValue(ticket.priority).record(now - ticket.submittedAt)
+    }
+
+    private fun start(ticket: Ticket) {
+        val maxHold = maxHoldMillis()
+        if (maxHold > 0) timer?.invoke(maxHold, Runnable { expireOverdue() })
+        executor.execute { ticket.request.start(ticket) }
+    }
+
+    // Guarded by lock
+    private class PriorityMetrics {
+        var started = 0L
+        var expired = 0L
+        var totalMillis = 0L
+        var maxMillis = 0L
+        val recent = LongArray(QUEUE_TIME_WINDOW)
+
+        fun record(queuedMillis: Long) {
+            recent[(started % QUEUE_TIME_WINDOW).toInt()] = queuedMillis
+            started++
+            totalMillis += queuedMillis
+            maxMillis = maxOf(maxMillis, queuedMillis)
+        }
+
+        fun snapshot(): QueueTimeStats {
+            val window = recent.copyOf(minOf(started, QUEUE_TIME_WINDOW.toLong()).toInt()).apply { sort() }
+            val p90 = if (window.isEmpty()) 0L else window[((window.size - 1) * 9) / 10]
+            val average = if (started > 0) totalMillis / started else 0L
+            return QueueTimeStats(started, expired, average, p90, maxMillis)
+        }
+
+        fun clear() {
+            started = 0
+            expired = 0
+            totalMillis = 0
+            maxMillis = 0
+        }
+    }
+
+    companion object {
+        /** Default for [maxHoldMillis]: longer than any network's own load timeout. */
+        const val DEFAULT_MAX_HOLD_MILLIS = 60_000L
+
+        /** Starts per priority that [QueueTimeStats.p90Millis] is computed over. */
+        const val QUEUE_TIME_WINDOW = 128
+    }
+}
@@ -0,0 +1,309 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.app.Activity
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import android.view.ViewTreeObserver
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Holds a provider that is created on first use, so a registration can list
+ * every format without loading each network's classes at startup.
+ */
+class LazyProvider<T : Any>(private val factory: () -> T) {
+
+    @Volatile
+    private var instance: T? = null
+
+    val isCreated: Boolean get() = instance != null
+
+    /** The provider, created now if this is the first use. */
+    fun get(): T {
+        instance?.let { return it }
+        return synchronized(this) {
+            instance ?: factory().also { instance = it }
+        }
+    }
+
+    /** The provider if it was already created, without creating it. */
+    fun getIfCreated(): T? = instance
+}
+
+/**
+ * Implemented by providers that defer work until first use. [prewarm] does that
+ * work now, e.g. after the first frame, so the first ad request does not pay for it.
+ */
+interface PrewarmableProvider {
+    /** Safe to call from any thread, and more than once. */
+    fun prewarm(context: Context)
+}
+
+/**
+ * Starts an ad network SDK on the first ad request instead of in
+ * `Application.onCreate`, and publishes its progress through [AdProviderReadiness].
+ *
+ * Shared by all of one network's lazy providers. Does nothing if the SDK's
+ * readiness was already published, e.g. by the network's explicit `initialize`.
+ * If [initialize] throws, the SDK is published as ready anyway, so parked loads
+ * fail on their own requests instead of waiting forever.
+ *
+ * @param provider The network whose SDK this initializes
+ * @param initialize Starts the SDK and calls `onComplete` when it is ready. Runs on
+ *        the main thread.
+ */
+class DeferredSdkInit(
+    private val provider: AdProvider,
+    private val initialize: (context: Context, onComplete: () -> Unit) -> Unit
+) {
+    private val started = AtomicBoolean(false)
+
+    /** Starts initialization if nobody has. Safe to call from any thread. */
+    fun start(context: Context) {
+        if (AdProviderReadiness.getState(provider) != AdProviderReadiness.State.UNKNOWN) return
+        if (!started.compareAndSet(false, true)) return
+        val appContext = context.applicationContext
+        AdProviderReadiness.markInitializing(provider)
+        val run = Runnable {
+            try {
+                initialize(appContext) { AdProviderReadiness.markReady(provider) }
+            } catch (t: Throwable) {
+                Log.e("DeferredSdkInit", "${provider.displayName} initialization failed: ${t.message}", t)
+                AdProviderReadiness.markReady(provider)
+            }
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) run.run() else Handler(Looper.getMainLooper()).post(run)
+    }
+
+    /** Starts initialization if needed and runs [action] once the SDK is ready. */
+    fun whenReady(context: Context, action: Runnable) {
+        start(context)
+        AdProviderReadiness.whenReady(provider, action)
+    }
+}
+
+/**
+ * Pre-warms registrations off the critical path: once [activity] has drawn its
+ * first frame, every lazy provider is created on a background thread and any
+ * deferred SDK initialization is started.
+ *
+ * Example:
+ * ```kotlin
+ * override fun onCreate(savedInstanceState: Bundle?) {
+ *     super.onCreate(savedInstanceState)
+ *     AdProviderPrewarmer.prewarmAfterFirstFrame(this, admob, yandex)
+ * }
+ * ```
+ */
+object AdProviderPrewarmer {
+
+    @JvmStatic
+    fun prewarmAfterFirstFrame(activity: Activity, vararg registrations: AdProviderRegistration) {
+        val appContext = activity.applicationContext
+        val decorView = activity.window.decorView
+        val fired = AtomicBoolean(false)
+        val listener = object : ViewTreeObserver.OnDrawListener {
+            override fun onDraw() {
+                if (!fired.compareAndSet(false, true)) return
+                // Listeners can't be removed during dispatch
+                decorView.post {
+                    decorView.viewTreeObserver.removeOnDrawListener(this)
+                    prewarmInBackground(appContext, *registrations)
+                }
+            }
+        }
+        decorView.viewTreeObserver.addOnDrawListener(listener)
+    }
+
+    @JvmStatic
+    fun prewarmInBackground(context: Context, vararg registrations: AdProviderRegistration) {
+        val appContext = context.applicationContext
+        Thread({
+            registrations.forEach { it.prewarm(appContext) }
+        }, "AdManageKit-Prewarm").start()
+    }
+}
+
+// =================== LAZY PROVIDERS ===================
+//
+// Each wraps a provider factory: loads create the provider (after the deferred SDK
+// init, if any); queries and lifecycle calls on a provider that was never created
+// answer without creating it.
+
+private fun notLoaded(provider: AdProvider) =
+    AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "No ad loaded", provider.name)
+
+// A load deferred past the SDK init keeps the caller's request priority and observer
+private fun DeferredSdkInit?.runWhenReady(context: Context, action: () -> Unit) {
+    if (this == null) return action()
+    val scoped = AdRequestGovernor.bindToCurrentScope(action)
+    whenReady(context, Runnable { scoped() })
+}
+
+/** Interstitial provider created on the first load. */
+class LazyInterstitialAdProvider @JvmOverloads constructor(
+    override val provider: AdProvider,
+    private val sdkInit: DeferredSdkInit? = null,
+    factory: () -> InterstitialAdProvider
+) : InterstitialAdProvider, PrewarmableProvider {
+
+    private val delegate = LazyProvider(factory)
+
+    override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {
+        sdkInit.runWhenReady(context) { delegate.get().loadAd(context, adUnitId, callback) }
+    }
+
+    override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, adUnitId, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun isAdReady(): Boolean = delegate.getIfCreated()?.isAdReady() ?: false
+
+    override fun isAdReady(adUnitId: String): Boolean = delegate.getIfCreated()?.isAdReady(adUnitId) ?: false
+
+    override fun destroy() {
+        delegate.getIfCreated()?.destroy()
+    }
+
+    override fun prewarm(context: Context) {
+        sdkInit?.start(context)
+        delegate.get()
+    }
+}
+
+/** Banner provider created on the first load. */
+class LazyBannerAdProvider @JvmOverloads constructor(
+    override val provider: AdProvider,
+    private val sdkInit: DeferredSdkInit? = null,
+    factory: () -> BannerAdProvider
+) : BannerAdProvider, PrewarmableProvider {
+
+    private val delegate = LazyProvider(factory)
+
+    override fun loadBanner(context: Context, adUnitId: String, callback: BannerAdProvider.BannerAdCallback) {
+        sdkInit.runWhenReady(context) { delegate.get().loadBanner(context, adUnitId, callback) }
+    }
+
+    override fun pause() {
+        delegate.getIfCreated()?.pause()
+    }
+
+    override fun resume() {
+        delegate.getIfCreated()?.resume()
+    }
+
+    override fun destroy() {
+        delegate.getIfCreated()?.destroy()
+    }
+
+    override fun prewarm(context: Context) {
+        sdkInit?.start(context)
+        delegate.get()
+    }
+}
+
+/** Native provider created on the first load. */
+class LazyNativeAdProvider @JvmOverloads constructor(
+    override val provider: AdProvider,
+    private val sdkInit: DeferredSdkInit? = null,
+    factory: () -> NativeAdProvider
+) : NativeAdProvider, PrewarmableProvider {
+
+    private val delegate = LazyProvider(factory)
+
+    override fun loadNativeAd(
+        context: Context,
+        adUnitId: String,
+        callback: NativeAdProvider.NativeAdCallback,
+        sizeHint: NativeAdSize,
+        templateLayoutResId: Int
+    ) {
+        sdkInit.runWhenReady(context) {
+            delegate.get().loadNativeAd(context, adUnitId, callback, sizeHint, templateLayoutResId)
+        }
+    }
+
+    override fun destroy() {
+        delegate.getIfCreated()?.destroy()
+    }
+
+    override fun prewarm(context: Context) {
+        sdkInit?.start(context)
+        delegate.get()
+    }
+}
+
+/** App open provider created on the first load. */
+class LazyAppOpenAdProvider @JvmOverloads constructor(
+    override val provider: AdProvider,
+    private val sdkInit: DeferredSdkInit? = null,
+    factory: () -> AppOpenAdProvider
+) : AppOpenAdProvider, PrewarmableProvider {
+
+    private val delegate = LazyProvider(factory)
+
+    override fun loadAd(context: Context, adUnitId: String, callback: AppOpenAdProvider.AppOpenAdCallback) {
+        sdkInit.runWhenReady(context) { delegate.get().loadAd(context, adUnitId, callback) }
+    }
+
+    override fun showAd(activity: Activity, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, adUnitId, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun isAdReady(): Boolean = delegate.getIfCreated()?.isAdReady() ?: false
+
+    override fun isAdReady(adUnitId: String): Boolean = delegate.getIfCreated()?.isAdReady(adUnitId) ?: false
+
+    override fun destroy() {
+        delegate.getIfCreated()?.destroy()
+    }
+
+    override fun prewarm(context: Context) {
+        sdkInit?.start(context)
+        delegate.get()
+    }
+}
+
+/** Rewarded provider created on the first load. */
+class LazyRewardedAdProvider @JvmOverloads constructor(
+    override val provider: AdProvider,
+    private val sdkInit: DeferredSdkInit? = null,
+    factory: () -> RewardedAdProvider
+) : RewardedAdProvider, PrewarmableProvider {
+
+    private val delegate = LazyProvider(factory)
+
+    override fun loadAd(context: Context, adUnitId: String, callback: RewardedAdProvider.RewardedAdCallback) {
+        sdkInit.runWhenReady(context) { delegate.get().loadAd(context, adUnitId, callback) }
+    }
+
+    override fun showAd(activity: Activity, callback: RewardedAdProvider.RewardedShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: RewardedAdProvider.RewardedShowCallback) {
+        delegate.getIfCreated()?.showAd(activity, adUnitId, callback) ?: callback.onAdFailedToShow(notLoaded(provider))
+    }
+
+    override fun isAdReady(): Boolean = delegate.getIfCreated()?.isAdReady() ?: false
+
+    override fun isAdReady(adUnitId: String): Boolean = delegate.getIfCreated()?.isAdReady(adUnitId) ?: false
+
+    override fun destroy() {
+        delegate.getIfCreated()?.destroy()
+    }
+
+    override fun prewarm(context: Context) {
+        sdkInit?.start(context)
+        delegate.get()
+    }
+}
@@ -0,0 +1,300 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.view.View
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A loaded native ad from any [NativeAdProvider], kept in a [NativeAdInventory]
+ * until a slot shows it.
+ *
+ * Events the ad raises while cached go nowhere. Once a slot takes it, [deliverTo]
+ * routes clicks, impressions and paid events to that slot's callback, provided the
+ * loader forwarded its provider callbacks to [events].
+ *
+ * @param adView The view the provider rendered for [sizeHint] / [templateLayoutResId]
+ * @param nativeAdRef The provider's opaque ad object, as passed to
+ *        [NativeAdProvider.NativeAdCallback.onNativeAdLoaded]
+ * @param provider The network that served the ad
+ * @param sizeHint The layout size [adView] was rendered for
+ * @param templateLayoutResId The template [adView] was rendered with, or 0
+ * @param loadedAtMillis When the ad loaded; its cache lifetime counts from here
+ * @param adValue The ad's value if known, updated by paid events
+ * @param onDestroy Releases the ad. Runs once, when the inventory expires, evicts or
+ *        clears it; never for an ad a slot took
+ */
+class CachedNativeAd @JvmOverloads constructor(
+    val adView: View,
+    val nativeAdRef: Any,
+    val provider: AdProvider,
+    val sizeHint: NativeAdSize,
+    val templateLayoutResId: Int = 0,
+    val loadedAtMillis: Long = System.currentTimeMillis(),
+    adValue: AdKitAdValue? = null,
+    private val onDestroy: () -> Unit = {}
+) {
+    private val destroyed = AtomicBoolean(false)
+
+    @Volatile
+    private var eventListener: NativeAdProvider.NativeAdCallback? = null
+
+    @Volatile
+    var adValue: AdKitAdValue? = adValue
+        private set
+
+    /** Forward the loading provider's ad events here. Load results are ignored. */
+    val events: NativeAdProvider.NativeAdCallback = object : NativeAdProvider.NativeAdCallback {
+        override fun onNativeAdLoaded(adView: View, nativeAdRef: Any) {}
+        override fun onNativeAdFailedToLoad(error: AdKitAdError) {}
+        override fun onNativeAdClicked() { eventListener?.onNativeAdClicked() }
+        override fun onNativeAdImpression() { eventListener?.onNativeAdImpression() }
+        override fun onPaidEvent(adValue: AdKitAdValue) {
+            this@CachedNativeAd.adValue = adValue
+            eventListener?.onPaidEvent(adValue)
+        }
+        override fun onNativeAdOpened() { eventListener?.onNativeAdOpened() }
+        override fun onNativeAdClosed() { eventListener?.onNativeAdClosed() }
+    }
+
+    fun ageMillis(nowMillis: Long = System.currentTimeMillis()): Long = nowMillis - loadedAtMillis
+
+    /** Hands the ad to [callback] as a fresh load would, and routes its events there. */
+    fun deliverTo(callback: NativeAdProvider.NativeAdCallback) {
+        eventListener = callback
+        callback.onNativeAdLoaded(adView, nativeAdRef)
+    }
+
+    /** Releases the ad. Only the first call has an effect. */
+    fun destroy() {
+        if (destroyed.compareAndSet(false, true)) {
+            eventListener = null
+            onDestroy()
+        }
+    }
+}
+
+/**
+ * Cache of preloaded native ads from any provider, keyed by ad unit id, with the
+ * same rules as the AdMob-only `NativeAdManager` cache:
+ *
+ * - an ad expires [expiryMillis] after it loaded and is destroyed;
+ * - each ad unit keeps at most [maxAdsPerUnit] ads, evicting the oldest;
+ * - [take] is a destructive read of the freshest ad, and can fall back to variants
+ *   of the same base ad unit (`home_native_LARGE` → `home_native_SMALL`), then to any
+ *   ad unit when [crossUnitFallback] is on.
+ *
+ * Unlike a raw AdMob `NativeAd`, a provider's ad is cached as a rendered view, so
+ * [take] only serves ads rendered for the requested size and template.
+ *
+ * Thread-safe. Destroy hooks run on the calling thread, outside the lock.
+ *
+ * @param expiryMillis Cache lifetime of an ad, read on every access
+ * @param maxAdsPerUnit Ads kept per ad unit, read on every [put]
+ * @param crossUnitFallback Whether [take] with fallback may serve any ad unit's ad
+ * @param clock Time source, in milliseconds
+ */
+class NativeAdInventory @JvmOverloads constructor(
+    private val expiryMillis: () -> Long,
+    private val maxAdsPerUnit: () -> Int,
+    private val crossUnitFallback: () -> Boolean = { false },
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+    private val lock = Any()
+
+    // Oldest first, so eviction takes the head and reads take the tail
+    private val units = HashMap<String, ArrayList<CachedNativeAd>>()
+
+    private val hits = AtomicLong(0)
+    private val fallbackHits = AtomicLong(0)
+    private val misses = AtomicLong(0)
+    private val expired = AtomicLong(0)
+    private val evicted = AtomicLong(0)
+
+    /** Caches [ad] under [adUnitId], evicting the oldest ad if the unit is full. */
+    fun put(adUnitId: String, ad: CachedNativeAd) {
+        val released = ArrayList<CachedNativeAd>()
+        synchronized(lock) {
+            val list = units.getOrPut(adUnitId) { ArrayList() }
+            removeExpired(list, clock(), released)
+            val max = maxAdsPerUnit().coerceAtLeast(1)
+            while (list.size >= max) {
+                released.add(list.removeAt(0))
+                evicted.incrementAndGet()
+            }
+            list.add(ad)
+        }
+        released.forEach { it.destroy() }
+    }
+
+    /**
+     * Removes and returns the freshest unexpired ad for [adUnitId] rendered for
+     * [sizeHint] and [templateLayoutResId], or null.
+     *
+     * @param fallbackToAnyAd If nothing matches, try other variants of the same base
+     *        ad unit, then (with [crossUnitFallback]) any ad unit
+     */
+    @JvmOverloads
+    fun take(
+        adUnitId: String,
+        sizeHint: NativeAdSize,
+        templateLayoutResId: Int = 0,
+        fallbackToAnyAd: Boolean = false
+    ): CachedNativeAd? {
+        val released = ArrayList<CachedNativeAd>()
+        val ad = synchronized(lock) {
+            val now = clock()
+            units.values.forEach { removeExpired(it, now, released) }
+            units.values.removeAll { it.isEmpty() }
+
+            takeFrom(adUnitId, sizeHint, templateLayoutResId)?.also { hits.incrementAndGet() }
+                ?: if (!fallbackToAnyAd) null else fallbackCandidates(adUnitId).firstNotNullOfOrNull {
+                    takeFrom(it, sizeHint, templateLayoutResId)
+                }?.also { fallbackHits.incrementAndGet() }
+        }
+        released.forEach { it.destroy() }
+        if (ad == null) misses.incrementAndGet()
+        return ad
+    }
+
+    /** Number of unexpired ads cached for [adUnitId], of any size. */
+    fun size(adUnitId: String): Int = synchronized(lock) {
+        val now = clock()
+        units[adUnitId]?.count { !isExpired(it, now) } ?: 0
+    }
+
+    /** Number of unexpired ads cached across all ad units. */
+    fun totalSize(): Int = synchronized(lock) {
+        val now = clock()
+        units.values.sumOf { list -> list.count { !isExpired(it, now) } }
+    }
+
+    /** Ages in milliseconds of the unexpired ads cached per ad unit, oldest first. */
+    fun getAdAges(): Map<String, List<Long>> = synchronized(lock) {
+        val now = clock()
+        units.mapValues { (_, list) -> list.filterNot { isExpired(it, now) }.map { now - it.loadedAtMillis } }
+            .filterValues { it.isNotEmpty() }
+    }
+
+    /** Destroys and removes expired ads. Returns how many were removed. */
+    fun performCleanup(): Int {
+        val released = ArrayList<CachedNativeAd>()
+        synchronized(lock) {
+            val now = clock()
+            units.values.forEach { removeExpired(it, now, released) }
+            units.values.removeAll { it.isEmpty() }
+        }
+        released.forEach { it.destroy() }
+        return released.size
+    }
+
+    /**
+     * Destroys expired ads, then the oldest ads of each ad unit beyond [maxAdsPerUnit],
+     * e.g. to release memory; 0 empties the inventory. Returns how many were removed.
+     */
+    fun trimTo(maxAdsPerUnit: Int): Int {
+        val released = ArrayList<CachedNativeAd>()
+        synchronized(lock) {
+            val now = clock()
+            val max = maxAdsPerUnit.coerceAtLeast(0)
+            units.values.forEach { list ->
+                removeExpired(list, now, released)
+                while (list.size > max) {
+                    released.add(list.removeAt(0))
+                    evicted.incrementAndGet()
+                }
+            }
+            units.values.removeAll { it.isEmpty() }
+        }
+        released.forEach { it.destroy() }
+        return released.size
+    }
+
+    /**
+     * Destroys and removes the cached ads matching [predicate], e.g. those whose views
+     * were built with a destroyed Activity. Returns how many were removed.
+     */
+    fun removeAll(predicate: (CachedNativeAd) -> Boolean): Int {
+        val released = ArrayList<CachedNativeAd>()
+        synchronized(lock) {
+            units.values.forEach { list ->
+                val iterator = list.iterator()
+                while (iterator.hasNext()) {
+                    val ad = iterator.next()
+                    if (predicate(ad)) {
+                        iterator.remove()
+                        released.add(ad)
+                    }
+                }
+            }
+            units.values.removeAll { it.isEmpty() }
+        }
+        released.forEach { it.destroy() }
+        return released.size
+    }
+
+    /** Destroys and removes the ads cached for [adUnitId]. */
+    fun clear(adUnitId: String) {
+        val released = synchronized(lock) { units.remove(adUnitId) }
+        released?.forEach { it.destroy() }
+    }
+
+    /** Destroys and removes every cached ad. */
+    fun clearAll() {
+        val released = synchronized(lock) {
+            units.values.flatten().also { units.clear() }
+        }
+        released.forEach { it.destroy() }
+    }
+
+    fun getStats(): Map<String, Any> {
+        val served = hits.get() + fallbackHits.get()
+        val requests = served + misses.get()
+        return mapOf(
+            "cache_hits" to hits.get(),
+            "fallback_hits" to fallbackHits.get(),
+            "cache_misses" to misses.get(),
+            "hit_rate_percent" to if (requests > 0) (served * 100 / requests).toInt() else 0,
+            "expired" to expired.get(),
+            "evicted" to evicted.get(),
+            "total_cached_ads" to totalSize()
+        )
+    }
+
+    private fun takeFrom(adUnitId: String, sizeHint: NativeAdSize, templateLayoutResId: Int): CachedNativeAd? {
+        val list = units[adUnitId] ?: return null
+        val index = list.indexOfLast { it.sizeHint == sizeHint && it.templateLayoutResId == templateLayoutResId }
+        if (index < 0) return null
+        return list.removeAt(index).also { if (list.isEmpty()) units.remove(adUnitId) }
+    }
+
+    // Same base ad unit first, then every other unit; fullest units first within each
+    private fun fallbackCandidates(adUnitId: String): List<String> {
+        val base = baseAdUnitId(adUnitId)
+        val others = units.keys.filter { it != adUnitId }.sortedByDescending { units[it]?.size ?: 0 }
+        val sameBase = others.filter { baseAdUnitId(it) == base }
+        return if (crossUnitFallback()) sameBase + (others - sameBase.toSet()) else sameBase
+    }
+
+    private fun removeExpired(list: MutableList<CachedNativeAd>, now: Long, into: MutableList<CachedNativeAd>) {
+        val iterator = list.iterator()
+        while (iterator.hasNext()) {
+            val ad = iterator.next()
+            if (isExpired(ad, now)) {
+                iterator.remove()
+                into.add(ad)
+                expired.incrementAndGet()
+            }
+        }
+    }
+
+    private fun isExpired(ad: CachedNativeAd, now: Long): Boolean = ad.ageMillis(now) > expiryMillis()
+
+    companion object {
+        private val SCREEN_SUFFIXES = listOf("_SMALL", "_MEDIUM", "_LARGE", "_small", "_medium", "_large")
+
+        /** [adUnitId] without a screen-aware suffix such as `_LARGE`. */
+        @JvmStatic
+        fun baseAdUnitId(adUnitId: String): String =
+            SCREEN_SUFFIXES.firstOrNull { adUnitId.endsWith(it) }?.let { adUnitId.removeSuffix(it) } ?: adUnitId
+    }
+}
@@ -0,0 +1,91 @@
+package com.i2hammad.admanagekit.core.ad
+
+import java.util.Random
+import kotlin.math.exp
+import kotlin.math.ln
+import kotlin.math.roundToLong
+
+/**
+ * A random quantity for [SimulatedAdProfile], such as a load latency or an eCPM,
+ * drawn from the seeded [Random] the simulated provider passes in.
+ */
+fun interface SimulatedDistribution {
+
+    /** Draws one value. Values below zero are treated as zero. */
+    fun sample(random: Random): Long
+
+    companion object {
+        /** Always [value]. */
+        @JvmStatic
+        fun fixed(value: Long) = SimulatedDistribution { value }
+
+        /** Evenly spread over [min]..[max]. */
+        @JvmStatic
+        fun uniform(min: Long, max: Long) = SimulatedDistribution { random ->
+            if (max <= min) min else min + (random.nextDouble() * (max - min + 1)).toLong()
+        }
+
+        /** Normal around [mean] with [stdDev]. */
+        @JvmStatic
+        fun normal(mean: Long, stdDev: Long) = SimulatedDistribution { random ->
+            (mean + random.nextGaussian() * stdDev).roundToLong()
+        }
+
+        /**
+         * Log-normal with the given [median] and shape [sigma]: mostly near the median with
+         * a long tail, the usual shape of ad network latencies.
+         */
+        @JvmStatic
+        fun logNormal(median: Long, sigma: Double) = SimulatedDistribution { random ->
+            (median * exp(random.nextGaussian() * sigma)).roundToLong()
+        }
+
+        /** Exponential with the given [mean]. */
+        @JvmStatic
+        fun exponential(mean: Long) = SimulatedDistribution { random ->
+            (-mean * ln(1.0 - random.nextDouble())).roundToLong()
+        }
+    }
+}
+
+/**
+ * How a [SimulatedAdProvider] behaves for an ad unit.
+ *
+ * @param loadLatencyMillis Time from a load request to its callback
+ * @param fillRate Probability that a load that does not hang fills
+ * @param ecpmMicros eCPM of a filled ad in micros; each impression pays a thousandth
+ * @param errorCodeWeights Relative weights of the [AdKitAdError] codes reported when a
+ *        load does not fill
+ * @param hangRate Probability that a load never calls back, as a stuck SDK would
+ * @param showFailureRate Probability that showing a loaded full-screen ad fails
+ * @param displayMillis How long a full-screen ad stays up before it is dismissed
+ * @param currencyCode Currency of paid events
+ */
+data class SimulatedAdProfile @JvmOverloads constructor(
+    val loadLatencyMillis: SimulatedDistribution = SimulatedDistribution.logNormal(800, 0.5),
+    val fillRate: Double = 0.9,
+    val ecpmMicros: SimulatedDistribution = SimulatedDistribution.logNormal(1_500_000, 0.6),
+    val errorCodeWeights: Map<Int, Double> = DEFAULT_ERROR_CODE_WEIGHTS,
+    val hangRate: Double = 0.0,
+    val showFailureRate: Double = 0.0,
+    val displayMillis: Long = 1_000,
+    val currencyCode: String = "USD"
+) {
+    init {
+        require(fillRate in 0.0..1.0) { "fillRate must be in 0..1" }
+        require(hangRate in 0.0..1.0) { "hangRate must be in 0..1" }
+        require(showFailureRate in 0.0..1.0) { "showFailureRate must be in 0..1" }
+        require(errorCodeWeights.isNotEmpty() && errorCodeWeights.values.all { it >= 0 }) {
+            "errorCodeWeights must have at least one non-negative weight"
+        }
+    }
+
+    companion object {
+        @JvmField
+        val DEFAULT_ERROR_CODE_WEIGHTS = mapOf(
+            AdKitAdError.ERROR_CODE_NO_FILL to 0.8,
+            AdKitAdError.ERROR_CODE_NETWORK to 0.15,
+            AdKitAdError.ERROR_CODE_INTERNAL to 0.05
+        )
+    }
+}
@@ -0,0 +1,350 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.app.Activity
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.view.LayoutInflater
+import android.widget.TextView
+import java.util.Random
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * An ad network that makes no requests: every format is served by drawing the outcome
+ * of each load from a [SimulatedAdProfile], with a seeded random source, so waterfall,
+ * caching and retry behavior can be load-tested offline and reproduced exactly.
+ *
+ * Each ad unit has its own random stream, derived from [seed] and the ad unit id, and
+ * every load draws the same number of values from it. The n-th load of an ad unit
+ * therefore has the same latency, outcome and eCPM on every run, however loads of other
+ * units interleave, and changing one probability does not reshuffle later draws.
+ *
+ * A load either hangs (never calls back), or after its drawn latency fills or fails with
+ * a drawn [AdKitAdError] code. Full-screen ads are kept per ad unit and shown oldest
+ * first; a show reports showed, impression and a paid event worth a thousandth of the
+ * drawn eCPM, then dismisses after [SimulatedAdProfile.displayMillis]. Native and banner
+ * ads report their impression and paid event as soon as they are delivered. Native ads
+ * inflate the requested template layout, so layout cost is real.
+ *
+ * The full-screen formats share [isAdReady], so give each format its own ad unit ids.
+ *
+ * ```kotlin
+ * val simulated = SimulatedAdProvider(
+ *     seed = 42,
+ *     defaultProfile = SimulatedAdProfile(fillRate = 0.6, hangRate = 0.05),
+ *     adUnitProfiles = mapOf("native_home" to SimulatedAdProfile(
+ *         loadLatencyMillis = SimulatedDistribution.uniform(2_000, 6_000)
+ *     ))
+ * )
+ * AdProviderConfig.setInterstitialChain(listOf(simulated, otherProvider))
+ * ```
+ *
+ * @param seed Seed of every ad unit's random stream
+ * @param defaultProfile Behavior of ad units without their own profile
+ * @param adUnitProfiles Behavior per ad unit id
+ * @param provider Identity reported to waterfalls and callbacks
+ * @param scheduler Runs a callback after a delay in milliseconds. Defaults to the main
+ *        thread, as real SDKs call back; tests can pass a fake clock's scheduler.
+ */
+class SimulatedAdProvider @JvmOverloads constructor(
+    private val seed: Long = 0L,
+    private val defaultProfile: SimulatedAdProfile = SimulatedAdProfile(),
+    private val adUnitProfiles: Map<String, SimulatedAdProfile> = emptyMap(),
+    override val provider: AdProvider = SIMULATED,
+    private val scheduler: (delayMillis: Long, action: () -> Unit) -> Unit = mainThreadScheduler()
+) : InterstitialAdProvider, RewardedAdProvider, AppOpenAdProvider, BannerAdProvider, NativeAdProvider,
+    AdProviderRegistration {
+
+    private class SimulatedAd(
+        val format: String,
+        val adUnitId: String,
+        val ecpmMicros: Long,
+        val failsToShow: Boolean
+    )
+
+    private class Draw(
+        val latencyMillis: Long,
+        val hangs: Boolean,
+        val error: AdKitAdError?,
+        val ecpmMicros: Long,
+        val failsToShow: Boolean
+    )
+
+    private val lock = Any()
+    private val randoms = HashMap<String, Random>()
+
+    // Oldest first, per ad unit
+    private val ready = HashMap<String, ArrayDeque<SimulatedAd>>()
+
+    /** Incremented by [destroy]; loads begun before it never call back. */
+    private val generation = AtomicInteger(0)
+
+    private val requests = AtomicLong(0)
+    private val fills = AtomicLong(0)
+    private val failures = AtomicLong(0)
+    private val hangs = AtomicLong(0)
+    private val shows = AtomicLong(0)
+    private val showFailures = AtomicLong(0)
+    private val impressions = AtomicLong(0)
+    private val revenueMicros = AtomicLong(0)
+
+    // =================== REGISTRATION ===================
+
+    override val adProvider: AdProvider get() = provider
+    override val interstitialProvider: InterstitialAdProvider get() = this
+    override val bannerProvider: BannerAdProvider get() = this
+    override val nativeProvider: NativeAdProvider get() = this
+    override val appOpenProvider: AppOpenAdProvider get() = this
+    override val rewardedProvider: RewardedAdProvider get() = this
+
+    // =================== FULL-SCREEN FORMATS ===================
+
+    override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {
+        loadFullScreen(FORMAT_INTERSTITIAL, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
+    }
+
+    override fun loadAd(context: Context, adUnitId: String, callback: RewardedAdProvider.RewardedAdCallback) {
+        loadFullScreen(FORMAT_REWARDED, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
+    }
+
+    override fun loadAd(context: Context, adUnitId: String, callback: AppOpenAdProvider.AppOpenAdCallback) {
+        loadFullScreen(FORMAT_APP_OPEN, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
+    }
+
+    override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        show(take(FORMAT_INTERSTITIAL, null), callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        show(take(FORMAT_INTERSTITIAL, adUnitId), callback)
+    }
+
+    override fun showAd(activity: Activity, callback: RewardedAdProvider.RewardedShowCallback) {
+        show(take(FORMAT_REWARDED, null), callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: RewardedAdProvider.RewardedShowCallback) {
+        show(take(FORMAT_REWARDED, adUnitId), callback)
+    }
+
+    override fun showAd(activity: Activity, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        show(take(FORMAT_APP_OPEN, null), callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        show(take(FORMAT_APP_OPEN, adUnitId), callback)
+    }
+
+    override fun isAdReady(): Boolean = synchronized(lock) { ready.values.any { it.isNotEmpty() } }
+
+    override fun isAdReady(adUnitId: String): Boolean = synchronized(lock) { ready[adUnitId]?.isNotEmpty() == true }
+
+    // =================== NATIVE AND BANNER ===================
+
+    override fun loadNativeAd(
+        context: Context,
+        adUnitId: String,
+        callback: NativeAdProvider.NativeAdCallback,
+        sizeHint: NativeAdSize,
+        templateLayoutResId: Int
+    ) {
+        load(adUnitId, callback::onNativeAdFailedToLoad) { draw ->
+            val adView = if (templateLayoutResId != 0) {
+                LayoutInflater.from(context).inflate(templateLayoutResId, null)
+            } else {
+                TextView(context).apply { text = "Simulated native ad (${sizeHint.name})" }
+            }
+            val ad = SimulatedAd(FORMAT_NATIVE, adUnitId, draw.ecpmMicros, failsToShow = false)
+            callback.onNativeAdLoaded(adView, ad)
+            callback.onNativeAdImpression()
+            callback.onPaidEvent(recordImpression(ad))
+        }
+    }
+
+    override fun loadBanner(context: Context, adUnitId: String, callback: BannerAdProvider.BannerAdCallback) {
+        load(adUnitId, callback::onBannerFailedToLoad) { draw ->
+            val ad = SimulatedAd(FORMAT_BANNER, adUnitId, draw.ecpmMicros, failsToShow = false)
+            callback.onBannerLoaded(TextView(context).apply { text = "Simulated banner ad" })
+            callback.onBannerImpression()
+            callback.onPaidEvent(recordImpression(ad))
+        }
+    }
+
+    override fun pause() {}
+
+    override fun resume() {}
+
+    // =================== LIFECYCLE AND STATS ===================
+
+    /** Drops every loaded ad; loads in flight never call back. */
+    override fun destroy() {
+        generation.incrementAndGet()
+        synchronized(lock) { ready.clear() }
+    }
+
+    /**
+     * Counts since creation: requests, fills, failures, hangs, shows, failed shows,
+     * impressions, revenue in micros and ads ready to show.
+     */
+    fun getStats(): Map<String, Any> = mapOf(
+        "requests" to requests.get(),
+        "fills" to fills.get(),
+        "failures" to failures.get(),
+        "hangs" to hangs.get(),
+        "shows" to shows.get(),
+        "show_failures" to showFailures.get(),
+        "impressions" to impressions.get(),
+        "revenue_micros" to revenueMicros.get(),
+        "ready_ads" to synchronized(lock) { ready.values.sumOf { it.size } }
+    )
+
+    // =================== SIMULATION ===================
+
+    private fun loadFullScreen(
+        format: String,
+        adUnitId: String,
+        onLoaded: () -> Unit,
+        onFailed: (AdKitAdError) -> Unit
+    ) {
+        load(adUnitId, onFailed) { draw ->
+            synchronized(lock) {
+                ready.getOrPut(adUnitId) { ArrayDeque() }
+                    .addLast(SimulatedAd(format, adUnitId, draw.ecpmMicros, draw.failsToShow))
+            }
+            onLoaded()
+        }
+    }
+
+    private fun load(adUnitId: String, onFailed: (AdKitAdError) -> Unit, onFilled: (Draw) -> Unit) {
+        val loadGeneration = generation.get()
+        val draw = draw(adUnitId)
+        requests.incrementAndGet()
+        if (draw.hangs) {
+            hangs.incrementAndGet()
+            return
+        }
+        scheduler(draw.latencyMillis) {
+            if (loadGeneration != generation.get()) return@scheduler
+            val error = draw.error
+            if (error != null) {
+                failures.incrementAndGet()
+                onFailed(error)
+            } else {
+                fills.incrementAndGet()
+                onFilled(draw)
+            }
+        }
+    }
+
+    private fun draw(adUnitId: String): Draw = synchronized(lock) {
+        val profile = adUnitProfiles[adUnitId] ?: defaultProfile
+        val random = randoms.getOrPut(adUnitId) { Random(seed * 31 + adUnitId.hashCode()) }
+        // Always draw every value, so one probability does not shift the others' streams
+        val latency = profile.loadLatencyMillis.sample(random).coerceAtLeast(0)
+        val hangs = random.nextDouble() < profile.hangRate
+        val fills = random.nextDouble() < profile.fillRate
+        val errorCode = pickErrorCode(profile.errorCodeWeights, random.nextDouble())
+        val ecpm = profile.ecpmMicros.sample(random).coerceAtLeast(0)
+        val failsToShow = random.nextDouble() < profile.showFailureRate
+        Draw(
+            latencyMillis = latency,
+            hangs = hangs,
+            error = if (fills) null else AdKitAdError(errorCode, "Simulated load failure", DOMAIN),
+            ecpmMicros = ecpm,
+            failsToShow = failsToShow
+        )
+    }
+
+    private fun take(format: String, adUnitId: String?): SimulatedAd? = synchronized(lock) {
+        val units = if (adUnitId != null) listOfNotNull(ready[adUnitId]) else ready.values
+        for (ads in units) {
+            val index = ads.indexOfFirst { it.format == format }
+            if (index >= 0) return@synchronized ads.removeAt(index)
+        }
+        null
+    }
+
+    private fun recordImpression(ad: SimulatedAd): AdKitAdValue {
+        val value = ad.ecpmMicros / 1_000
+        impressions.incrementAndGet()
+        revenueMicros.addAndGet(value)
+        return AdKitAdValue(value, profileFor(ad.adUnitId).currencyCode, AdKitAdValue.PrecisionType.ESTIMATED)
+    }
+
+    private fun profileFor(adUnitId: String) = adUnitProfiles[adUnitId] ?: defaultProfile
+
+    private fun show(ad: SimulatedAd?, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        show(ad, callback::onAdFailedToShow, callback::onAdDismissed) { value ->
+            callback.onAdShowed()
+            callback.onAdImpression()
+            callback.onPaidEvent(value)
+        }
+    }
+
+    private fun show(ad: SimulatedAd?, callback: RewardedAdProvider.RewardedShowCallback) {
+        show(ad, callback::onAdFailedToShow, callback::onAdDismissed) { value ->
+            callback.onAdShowed()
+            callback.onAdImpression()
+            callback.onPaidEvent(value)
+            callback.onRewardEarned(REWARD_TYPE, REWARD_AMOUNT)
+        }
+    }
+
+    private fun show(ad: SimulatedAd?, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        show(ad, callback::onAdFailedToShow, callback::onAdDismissed) { value ->
+            callback.onAdShowed()
+            callback.onAdImpression()
+            callback.onPaidEvent(value)
+        }
+    }
+
+    /** Shows [ad], or fails the show if it is null (nothing loaded) or drew a show failure. */
+    private fun show(
+        ad: SimulatedAd?,
+        onFailed: (AdKitAdError) -> Unit,
+        onDismissed: () -> Unit,
+        onShowed: (AdKitAdValue) -> Unit
+    ) {
+        if (ad == null || ad.failsToShow) {
+            showFailures.incrementAndGet()
+            val message = if (ad == null) "No simulated ad loaded" else "Simulated show failure"
+            scheduler(0L) { onFailed(AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, message, DOMAIN)) }
+            return
+        }
+        shows.incrementAndGet()
+        scheduler(0L) { onShowed(recordImpression(ad)) }
+        scheduler(profileFor(ad.adUnitId).displayMillis) { onDismissed() }
+    }
+
+    companion object {
+        @JvmField
+        val SIMULATED = AdProvider("simulated", "Simulated Ads")
+
+        const val DOMAIN = "simulated"
+        const val REWARD_TYPE = "simulated"
+        const val REWARD_AMOUNT = 1
+
+        private const val FORMAT_INTERSTITIAL = "interstitial"
+        private const val FORMAT_REWARDED = "rewarded"
+        private const val FORMAT_APP_OPEN = "app_open"
+        private const val FORMAT_NATIVE = "native"
+        private const val FORMAT_BANNER = "banner"
+
+        internal fun pickErrorCode(weights: Map<Int, Double>, roll: Double): Int {
+            val total = weights.values.sum()
+            if (total <= 0.0) return weights.keys.first()
+            var remaining = roll * total
+            for ((code, weight) in weights) {
+                remaining -= weight
+                if (remaining < 0) return code
+            }
+            return weights.keys.last()
+        }
+
+        private fun mainThreadScheduler(): (Long, () -> Unit) -> Unit {
+            val handler by lazy { Handler(Looper.getMainLooper()) }
+            return { delayMillis, action -> handler.postDelayed(action, delayMillis) }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.app.Activity
+import android.content.Context
+import android.content.ContextWrapper
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for [AdProviderRegistration.prewarm] and [AdProviderPrewarmer.prewarmInBackground]:
+ * every lazy provider is created and the deferred SDK init started, once, off the
+ * calling thread. Runs on the JVM with stubbed Android classes.
+ */
+class AdProviderPrewarmerTest {
+
+    private class FakeContext : ContextWrapper(null) {
+        override fun getApplicationContext(): Context = this
+    }
+
+    private class FakeInterstitial : InterstitialAdProvider {
+        override val provider = AdProvider.YANDEX
+        override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {}
+        override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {}
+        override fun isAdReady() = false
+        override fun destroy() {}
+    }
+
+    private class FakeBanner : BannerAdProvider {
+        override val provider = AdProvider.YANDEX
+        override fun loadBanner(context: Context, adUnitId: String, callback: BannerAdProvider.BannerAdCallback) {}
+        override fun pause() {}
+        override fun resume() {}
+        override fun destroy() {}
+    }
+
+    private val context = FakeContext()
+    private var initCalls = 0
+    private val created = mutableListOf<String>()
+    private val createdOn = mutableListOf<String>()
+
+    private val registration = object : AdProviderRegistration {
+        private val sdkInit = DeferredSdkInit(AdProvider.YANDEX) { _, onComplete ->
+            initCalls++
+            onComplete()
+        }
+        override val adProvider = AdProvider.YANDEX
+        override val interstitialProvider = LazyInterstitialAdProvider(AdProvider.YANDEX, sdkInit) {
+            created += "interstitial"
+            createdOn += Thread.currentThread().name
+            FakeInterstitial()
+        }
+        override val bannerProvider = LazyBannerAdProvider(AdProvider.YANDEX, sdkInit) {
+            created += "banner"
+            createdOn += Thread.currentThread().name
+            FakeBanner()
+        }
+        override val nativeProvider: NativeAdProvider? = null
+        override val appOpenProvider: AppOpenAdProvider? = null
+        override val rewardedProvider: RewardedAdProvider? = null
+    }
+
+    @Before
+    fun setUp() {
+        AdProviderReadiness.reset()
+    }
+
+    @After
+    fun tearDown() {
+        AdProviderReadiness.reset()
+    }
+
+    @Test
+    fun `prewarm creates every lazy provider and starts the sdk init`() {
+        registration.prewarm(context)
+
+        assertEquals(listOf("interstitial", "banner"), created)
+        assertEquals(1, initCalls)
+        assertTrue(AdProviderReadiness.isReady(AdProvider.YANDEX))
+    }
+
+    @Test
+    fun `prewarm is safe to repeat`() {
+        registration.prewarm(context)
+        registration.prewarm(context)
+
+        assertEquals(listOf("interstitial", "banner"), created)
+        assertEquals(1, initCalls)
+    }
+
+    @Test
+    fun `prewarm in background runs on its own thread`() {
+        val done = CountDownLatch(1)
+        val marker = object : AdProviderRegistration by registration {
+            override fun prewarm(context: Context) {
+                registration.prewarm(context)
+                done.countDown()
+            }
+        }
+
+        AdProviderPrewarmer.prewarmInBackground(context, marker)
+
+        assertTrue(done.await(5, TimeUnit.SECONDS))
+        assertEquals(listOf("AdManageKit-Prewarm", "AdManageKit-Prewarm"), createdOn)
+    }
+}
@@ -0,0 +1,85 @@
+package com.i2hammad.admanagekit.core.ad
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [AdProviderReadiness] one-shot readiness signals.
+ * Pure JVM test (no Android types involved).
+ */
+class AdProviderReadinessTest {
+
+    @Before
+    fun setUp() {
+        AdProviderReadiness.reset()
+    }
+
+    @After
+    fun tearDown() {
+        AdProviderReadiness.reset()
+    }
+
+    @Test
+    fun `unpublished provider is unknown, not initializing`() {
+        assertEquals(AdProviderReadiness.State.UNKNOWN, AdProviderReadiness.getState(AdProvider.ADMOB))
+        assertFalse(AdProviderReadiness.isInitializing(AdProvider.ADMOB))
+        assertFalse(AdProviderReadiness.isReady(AdProvider.ADMOB))
+    }
+
+    @Test
+    fun `parked callbacks run once on markReady`() {
+        var runs = 0
+        AdProviderReadiness.markInitializing(AdProvider.ADMOB)
+        AdProviderReadiness.whenReady(AdProvider.ADMOB) { runs++ }
+        AdProviderReadiness.whenReady(AdProvider.ADMOB) { runs++ }
+        assertEquals(0, runs)
+
+        AdProviderReadiness.markReady(AdProvider.ADMOB)
+        AdProviderReadiness.markReady(AdProvider.ADMOB)
+
+        assertEquals(2, runs)
+        assertEquals(0, AdProviderReadiness.getWaiterCount(AdProvider.ADMOB))
+    }
+
+    @Test
+    fun `whenReady runs immediately once ready`() {
+        var ran = false
+        AdProviderReadiness.markReady(AdProvider.YANDEX)
+
+        AdProviderReadiness.whenReady(AdProvider.YANDEX) { ran = true }
+
+        assertTrue(ran)
+    }
+
+    @Test
+    fun `cancelled subscription does not run`() {
+        var ran = false
+        val subscription = AdProviderReadiness.whenReady(AdProvider.ADMOB) { ran = true }
+
+        subscription.cancel()
+        AdProviderReadiness.markReady(AdProvider.ADMOB)
+
+        assertFalse(ran)
+    }
+
+    @Test
+    fun `ready is final`() {
+        AdProviderReadiness.markReady(AdProvider.ADMOB)
+        AdProviderReadiness.markInitializing(AdProvider.ADMOB)
+
+        assertTrue(AdProviderReadiness.isReady(AdProvider.ADMOB))
+    }
+
+    @Test
+    fun `providers are tracked independently`() {
+        AdProviderReadiness.markInitializing(AdProvider.ADMOB)
+        AdProviderReadiness.markReady(AdProvider.YANDEX)
+
+        assertTrue(AdProviderReadiness.isInitializing(AdProvider.ADMOB))
+        assertTrue(AdProviderReadiness.isReady(AdProvider.YANDEX))
+    }
+}
@@ -0,0 +1,176 @@
+package com.i2hammad.admanagekit.core.ad
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Tests for [AdRequestScheduler]: the concurrency limit, priority order, round-robin
+ * across ad units, deadlines, hold limits and queue-time metrics. Uses a fake clock.
+ */
+class AdRequestSchedulerTest {
+
+    private var now = 0L
+    private var limit = 2
+    private val started = mutableListOf<String>()
+    private val tickets = mutableMapOf<String, AdRequestScheduler.Ticket>()
+
+    private val scheduler = AdRequestScheduler(
+        maxConcurrent = { limit },
+        maxHoldMillis = { 10_000L },
+        clock = { now }
+    )
+
+    private fun submit(
+        name: String,
+        priority: AdRequestPriority = AdRequestPriority.PREFETCH,
+        adUnitId: String = name,
+        deadlineMillis: Long = 0,
+        onExpired: Runnable? = null
+    ) {
+        scheduler.submit(adUnitId, priority, deadlineMillis, onExpired) { ticket ->
+            started.add(name)
+            tickets[name] = ticket
+        }
+    }
+
+    @Test
+    fun `requests beyond the limit wait for a free slot`() {
+        submit("a")
+        submit("b")
+        submit("c")
+
+        assertEquals(listOf("a", "b"), started)
+        assertEquals(1, scheduler.queuedCount())
+
+        tickets.getValue("a").finish()
+        tickets.getValue("a").finish()
+
+        assertEquals(listOf("a", "b", "c"), started)
+        assertEquals(2, scheduler.runningCount())
+    }
+
+    @Test
+    fun `queued requests start by priority`() {
+        limit = 1
+        submit("busy")
+        submit("retry", AdRequestPriority.RETRY)
+        submit("refresh", AdRequestPriority.REFRESH)
+        submit("prefetch", AdRequestPriority.PREFETCH)
+
+        tickets.getValue("busy").finish()
+        tickets.getValue("prefetch").finish()
+        tickets.getValue("refresh").finish()
+
+        assertEquals(listOf("busy", "prefetch", "refresh", "retry"), started)
+    }
+
+    @Test
+    fun `show-blocking requests start over the limit and count against it`() {
+        limit = 1
+        submit("prefetch")
+        submit("splash", AdRequestPriority.SHOW_BLOCKING)
+        submit("waiting")
+
+        assertEquals(listOf("prefetch", "splash"), started)
+        assertEquals(2, scheduler.runningCount())
+
+        tickets.getValue("prefetch").finish()
+        assertEquals(listOf("prefetch", "splash"), started)
+
+        tickets.getValue("splash").finish()
+        assertEquals(listOf("prefetch", "splash", "waiting"), started)
+    }
+
+    @Test
+    fun `ad units take turns within a priority`() {
+        limit = 1
+        submit("busy")
+        submit("a1", adUnitId = "a")
+        submit("a2", adUnitId = "a")
+        submit("a3", adUnitId = "a")
+        submit("b1", adUnitId = "b")
+
+        listOf("busy", "a1", "b1", "a2").forEach { tickets.getValue(it).finish() }
+
+        assertEquals(listOf("busy", "a1", "b1", "a2", "a3"), started)
+    }
+
+    @Test
+    fun `a request still queued at its deadline expires without starting`() {
+        limit = 1
+        var expired = false
+        submit("busy")
+        submit("late", deadlineMillis = 1_000, onExpired = { expired = true })
+
+        now += 1_000
+        assertEquals(1, scheduler.expireOverdue())
+        tickets.getValue("busy").finish()
+
+        assertTrue(expired)
+        assertEquals(listOf("busy"), started)
+        assertEquals(1L, scheduler.getQueueTimeStats(AdRequestPriority.PREFETCH).expired)
+    }
+
+    @Test
+    fun `a request holding its slot too long frees it`() {
+        limit = 1
+        submit("hung")
+        submit("next")
+
+        now += 10_000
+        scheduler.expireOverdue()
+
+        assertEquals(listOf("hung", "next"), started)
+        tickets.getValue("hung").finish()
+        assertEquals(1, scheduler.runningCount())
+    }
+
+    @Test
+    fun `cancelled queued requests never start`() {
+        limit = 1
+        submit("busy")
+        val ticket = scheduler.submit("unit", AdRequestPriority.PREFETCH) { started.add("cancelled") }
+
+        ticket.cancel()
+        tickets.getValue("busy").finish()
+
+        assertFalse("cancelled" in started)
+        assertEquals(AdRequestScheduler.Ticket.State.CANCELLED, ticket.state)
+    }
+
+    @Test
+    fun `requests finishing synchronously drain the queue without recursion`() {
+        limit = 1
+        var runs = 0
+        submit("busy")
+        repeat(10_000) {
+            scheduler.submit("unit", AdRequestPriority.RETRY) { ticket ->
+                runs++
+                ticket.finish()
+            }
+        }
+        assertEquals(0, runs)
+
+        tickets.getValue("busy").finish()
+
+        assertEquals(10_000, runs)
+        assertEquals(0, scheduler.runningCount())
+    }
+
+    @Test
+    fun `queue times are reported per priority`() {
+        limit = 1
+        submit("busy")
+        submit("waited")
+        now += 300
+        tickets.getValue("busy").finish()
+
+        val stats = scheduler.getQueueTimeStats(AdRequestPriority.PREFETCH)
+        assertEquals(2L, stats.started)
+        assertEquals(150L, stats.averageMillis)
+        assertEquals(300L, stats.maxMillis)
+        assertEquals(300L, scheduler.getStats()["prefetch_max_queue_ms"])
+    }
+}
@@ -0,0 +1,111 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.content.Context
+import android.content.ContextWrapper
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Tests for [DeferredSdkInit]: the first request starts the SDK once, waiters run
+ * together when it is ready, readiness published elsewhere is respected, and a
+ * failed initialization still releases the waiters.
+ *
+ * Runs on the JVM with stubbed Android classes, where no Looper exists, so
+ * initialization runs on the calling thread.
+ */
+class DeferredSdkInitTest {
+
+    private class FakeContext : ContextWrapper(null) {
+        override fun getApplicationContext(): Context = this
+    }
+
+    private val context = FakeContext()
+    private val initCalls = AtomicInteger()
+    private var complete: (() -> Unit)? = null
+    private val sdkInit = DeferredSdkInit(AdProvider.YANDEX) { _, onComplete ->
+        initCalls.incrementAndGet()
+        complete = onComplete
+    }
+
+    @Before
+    fun setUp() {
+        AdProviderReadiness.reset()
+    }
+
+    @After
+    fun tearDown() {
+        AdProviderReadiness.reset()
+    }
+
+    @Test
+    fun `first request starts initialization once`() {
+        sdkInit.start(context)
+        sdkInit.start(context)
+
+        assertEquals(1, initCalls.get())
+        assertTrue(AdProviderReadiness.isInitializing(AdProvider.YANDEX))
+
+        complete!!()
+
+        assertTrue(AdProviderReadiness.isReady(AdProvider.YANDEX))
+    }
+
+    @Test
+    fun `waiters run together once initialization completes`() {
+        var runs = 0
+        sdkInit.whenReady(context) { runs++ }
+        sdkInit.whenReady(context) { runs++ }
+        assertEquals(0, runs)
+
+        complete!!()
+        assertEquals(2, runs)
+
+        sdkInit.whenReady(context) { runs++ }
+        assertEquals(3, runs)
+        assertEquals(1, initCalls.get())
+    }
+
+    @Test
+    fun `concurrent first requests start one initialization`() {
+        val gate = CountDownLatch(1)
+        val threads = List(8) {
+            Thread {
+                gate.await()
+                sdkInit.start(context)
+            }.also { it.start() }
+        }
+
+        gate.countDown()
+        threads.forEach { it.join() }
+
+        assertEquals(1, initCalls.get())
+    }
+
+    @Test
+    fun `readiness published elsewhere skips initialization`() {
+        var ran = false
+        AdProviderReadiness.markInitializing(AdProvider.YANDEX)
+
+        sdkInit.whenReady(context) { ran = true }
+        AdProviderReadiness.markReady(AdProvider.YANDEX)
+
+        assertEquals(0, initCalls.get())
+        assertTrue(ran)
+    }
+
+    @Test
+    fun `failed initialization still releases waiters`() {
+        val failing = DeferredSdkInit(AdProvider.YANDEX) { _, _ -> throw IllegalStateException("init failed") }
+        var ran = false
+
+        failing.whenReady(context) { ran = true }
+
+        assertTrue(ran)
+        assertTrue(AdProviderReadiness.isReady(AdProvider.YANDEX))
+    }
+}
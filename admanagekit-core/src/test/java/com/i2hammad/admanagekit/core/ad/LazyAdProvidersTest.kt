@@ -0,0 +1,133 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.app.Activity
+import android.content.Context
+import android.content.ContextWrapper
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Tests for [LazyProvider] and the lazy provider wrappers: the wrapped provider is
+ * only created by a load, never by queries or lifecycle calls, and a load waits for
+ * the deferred SDK init with the caller's request scope.
+ * Pure JVM test (no Android method is invoked).
+ */
+class LazyAdProvidersTest {
+
+    private class FakeContext : ContextWrapper(null) {
+        override fun getApplicationContext(): Context = this
+    }
+
+    private class FakeInterstitial : InterstitialAdProvider {
+        val loads = mutableListOf<String>()
+        val tickets = mutableListOf<AdRequestScheduler.Ticket>()
+        override val provider = AdProvider.ADMOB
+        override fun loadAd(context: Context, adUnitId: String, callback: InterstitialAdProvider.InterstitialAdCallback) {
+            loads += adUnitId
+            tickets += AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { it.finish() }
+        }
+        override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {}
+        override fun isAdReady() = true
+        override fun destroy() {}
+    }
+
+    private val callback = object : InterstitialAdProvider.InterstitialAdCallback {
+        override fun onAdLoaded() {}
+        override fun onAdFailedToLoad(error: AdKitAdError) {}
+    }
+
+    @Before
+    fun setUp() {
+        AdProviderReadiness.reset()
+    }
+
+    @After
+    fun tearDown() {
+        AdRequestGovernor.scheduler.reset()
+        AdProviderReadiness.reset()
+    }
+
+    @Test
+    fun `factory runs once, on first get`() {
+        var created = 0
+        val lazy = LazyProvider { created++; Any() }
+
+        assertFalse(lazy.isCreated)
+        val first = lazy.get()
+        val second = lazy.get()
+
+        assertEquals(1, created)
+        assertSame(first, second)
+        assertTrue(lazy.isCreated)
+    }
+
+    @Test
+    fun `queries and destroy do not create the provider`() {
+        var created = 0
+        val provider = LazyInterstitialAdProvider(AdProvider.ADMOB) { created++; FakeInterstitial() }
+
+        assertFalse(provider.isAdReady())
+        assertFalse(provider.isAdReady("unit"))
+        provider.destroy()
+
+        assertEquals(0, created)
+        assertEquals(AdProvider.ADMOB, provider.provider)
+    }
+
+    @Test
+    fun `loads share the provider created by the first one`() {
+        val fakes = mutableListOf<FakeInterstitial>()
+        val provider = LazyInterstitialAdProvider(AdProvider.ADMOB) { FakeInterstitial().also { fakes += it } }
+
+        provider.loadAd(FakeContext(), "unit-a", callback)
+        provider.loadAd(FakeContext(), "unit-b", callback)
+
+        assertEquals(1, fakes.size)
+        assertEquals(listOf("unit-a", "unit-b"), fakes[0].loads)
+    }
+
+    @Test
+    fun `load waits for the deferred sdk init before creating the provider`() {
+        var complete: (() -> Unit)? = null
+        val sdkInit = DeferredSdkInit(AdProvider.ADMOB) { _, onComplete -> complete = onComplete }
+        val fakes = mutableListOf<FakeInterstitial>()
+        val provider = LazyInterstitialAdProvider(AdProvider.ADMOB, sdkInit) { FakeInterstitial().also { fakes += it } }
+
+        provider.loadAd(FakeContext(), "unit", callback)
+        assertTrue(fakes.isEmpty())
+
+        complete!!()
+
+        assertEquals(listOf("unit"), fakes.single().loads)
+    }
+
+    @Test
+    fun `deferred load keeps the caller's priority and request observer`() {
+        var complete: (() -> Unit)? = null
+        val sdkInit = DeferredSdkInit(AdProvider.ADMOB) { _, onComplete -> complete = onComplete }
+        val fakes = mutableListOf<FakeInterstitial>()
+        val provider = LazyInterstitialAdProvider(AdProvider.ADMOB, sdkInit) { FakeInterstitial().also { fakes += it } }
+        val observed = mutableListOf<AdRequestScheduler.Ticket>()
+        val observer = object : AdRequestGovernor.RequestObserver {
+            override fun onSubmitted(ticket: AdRequestScheduler.Ticket) {
+                observed += ticket
+            }
+        }
+
+        AdRequestGovernor.withPriority(AdRequestPriority.RETRY, observer) {
+            provider.loadAd(FakeContext(), "unit", callback)
+        }
+        assertTrue(observed.isEmpty())
+
+        complete!!()
+
+        val ticket = fakes.single().tickets.single()
+        assertEquals(listOf(ticket), observed)
+        assertEquals(AdRequestPriority.RETRY, ticket.priority)
+    }
+}
@@ -0,0 +1,176 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.view.View
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Tests for [NativeAdInventory]: expiry, per-unit eviction, size matching and the
+ * same-base / cross-unit fallback order. Uses a fake clock.
+ */
+class NativeAdInventoryTest {
+
+    private var now = 1_000_000L
+    private var crossUnit = false
+    private val destroyed = mutableListOf<CachedNativeAd>()
+
+    private val inventory = NativeAdInventory(
+        expiryMillis = { 60_000L },
+        maxAdsPerUnit = { 2 },
+        crossUnitFallback = { crossUnit },
+        clock = { now }
+    )
+
+    private fun ad(size: NativeAdSize = NativeAdSize.LARGE, template: Int = 0): CachedNativeAd {
+        var self: CachedNativeAd? = null
+        return CachedNativeAd(
+            adView = View(null),
+            nativeAdRef = Any(),
+            provider = AdProvider.YANDEX,
+            sizeHint = size,
+            templateLayoutResId = template,
+            loadedAtMillis = now,
+            onDestroy = { destroyed.add(self!!) }
+        ).also { self = it }
+    }
+
+    @Test
+    fun `take returns the freshest ad and removes it`() {
+        val older = ad()
+        inventory.put("unit", older)
+        now += 1_000
+        val newer = ad()
+        inventory.put("unit", newer)
+
+        assertSame(newer, inventory.take("unit", NativeAdSize.LARGE))
+        assertSame(older, inventory.take("unit", NativeAdSize.LARGE))
+        assertNull(inventory.take("unit", NativeAdSize.LARGE))
+        assertTrue(destroyed.isEmpty())
+    }
+
+    @Test
+    fun `expired ads are destroyed, not served`() {
+        val stale = ad()
+        inventory.put("unit", stale)
+        now += 60_001
+
+        assertNull(inventory.take("unit", NativeAdSize.LARGE))
+        assertEquals(listOf(stale), destroyed)
+    }
+
+    @Test
+    fun `full unit evicts its oldest ad`() {
+        val first = ad()
+        inventory.put("unit", first)
+        inventory.put("unit", ad())
+        inventory.put("unit", ad())
+
+        assertEquals(listOf(first), destroyed)
+        assertEquals(2, inventory.size("unit"))
+    }
+
+    @Test
+    fun `trimTo drops expired ads, then the oldest beyond the depth`() {
+        val stale = ad()
+        inventory.put("other", stale)
+        now += 30_000
+        val oldest = ad()
+        inventory.put("unit", oldest)
+        val newest = ad()
+        inventory.put("unit", newest)
+        now += 30_001
+
+        assertEquals(2, inventory.trimTo(1))
+        assertEquals(setOf(stale, oldest), destroyed.toSet())
+        assertSame(newest, inventory.take("unit", NativeAdSize.LARGE))
+
+        inventory.put("unit", ad())
+        assertEquals(1, inventory.trimTo(0))
+        assertEquals(0, inventory.totalSize())
+    }
+
+    @Test
+    fun `only ads rendered for the requested layout are served`() {
+        inventory.put("unit", ad(NativeAdSize.SMALL))
+        inventory.put("unit", ad(NativeAdSize.LARGE, template = 42))
+
+        assertNull(inventory.take("unit", NativeAdSize.LARGE))
+        assertEquals(NativeAdSize.SMALL, inventory.take("unit", NativeAdSize.SMALL)?.sizeHint)
+        assertEquals(42, inventory.take("unit", NativeAdSize.LARGE, 42)?.templateLayoutResId)
+    }
+
+    @Test
+    fun `fallback prefers the same base ad unit, then any unit when enabled`() {
+        val sameBase = ad()
+        val other = ad()
+        inventory.put("home_SMALL", sameBase)
+        inventory.put("detail", other)
+
+        assertNull(inventory.take("home_LARGE", NativeAdSize.LARGE))
+        assertSame(sameBase, inventory.take("home_LARGE", NativeAdSize.LARGE, fallbackToAnyAd = true))
+        assertNull(inventory.take("home_LARGE", NativeAdSize.LARGE, fallbackToAnyAd = true))
+
+        crossUnit = true
+        assertSame(other, inventory.take("home_LARGE", NativeAdSize.LARGE, fallbackToAnyAd = true))
+    }
+
+    @Test
+    fun `clearAll destroys every ad once`() {
+        val a = ad()
+        val b = ad()
+        inventory.put("a", a)
+        inventory.put("b", b)
+
+        inventory.clearAll()
+        a.destroy()
+
+        assertEquals(setOf(a, b), destroyed.toSet())
+        assertEquals(2, destroyed.size)
+        assertEquals(0, inventory.totalSize())
+    }
+
+    @Test
+    fun `removeAll destroys only the matching ads`() {
+        val small = ad(NativeAdSize.SMALL)
+        val large = ad()
+        inventory.put("unit", small)
+        inventory.put("other", large)
+
+        assertEquals(1, inventory.removeAll { it.sizeHint == NativeAdSize.SMALL })
+
+        assertEquals(listOf(small), destroyed)
+        assertEquals(0, inventory.size("unit"))
+        assertSame(large, inventory.take("other", NativeAdSize.LARGE))
+    }
+
+    @Test
+    fun `events reach the slot that took the ad`() {
+        val cached = ad()
+        var clicks = 0
+        cached.events.onNativeAdClicked()
+
+        cached.deliverTo(object : NativeAdProvider.NativeAdCallback {
+            override fun onNativeAdLoaded(adView: View, nativeAdRef: Any) {}
+            override fun onNativeAdFailedToLoad(error: AdKitAdError) {}
+            override fun onNativeAdClicked() { clicks++ }
+        })
+        cached.events.onNativeAdClicked()
+
+        assertEquals(1, clicks)
+    }
+
+    @Test
+    fun `ad ages are reported per unit, oldest first, without expired ads`() {
+        inventory.put("expiring", ad())
+        now += 30_000
+        inventory.put("unit", ad())
+        now += 10_000
+        inventory.put("unit", ad())
+        now += 30_001
+
+        assertEquals(mapOf("unit" to listOf(40_001L, 30_001L)), inventory.getAdAges())
+    }
+}
@@ -0,0 +1,170 @@
+package com.i2hammad.admanagekit.core.ad
+
+import android.app.Activity
+import android.content.ContextWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * Tests for [SimulatedAdProvider]: outcomes are reproducible per seed and ad unit,
+ * probabilities are honored, and full-screen shows report the drawn eCPM. Runs on a
+ * fake scheduler; the Context and Activity are never used by full-screen loads.
+ */
+class SimulatedAdProviderTest {
+
+    private val context = ContextWrapper(null)
+    private var now = 0L
+    private val scheduled = mutableListOf<Pair<Long, () -> Unit>>()
+
+    private fun schedule(delayMillis: Long, action: () -> Unit) {
+        scheduled.add(now + delayMillis to action)
+    }
+
+    private fun advanceBy(millis: Long) {
+        val until = now + millis
+        while (true) {
+            val next = scheduled.filter { it.first <= until }.minByOrNull { it.first } ?: break
+            scheduled.remove(next)
+            now = next.first
+            next.second()
+        }
+        now = until
+    }
+
+    private fun provider(seed: Long = 1, profile: SimulatedAdProfile = SimulatedAdProfile()) =
+        SimulatedAdProvider(seed, profile, scheduler = ::schedule)
+
+    /** Loads [count] interstitials for [adUnitId] and returns each outcome and when it arrived. */
+    private fun SimulatedAdProvider.loadAll(adUnitId: String, count: Int): List<String> {
+        val outcomes = mutableListOf<String>()
+        repeat(count) {
+            val start = now
+            loadAd(context, adUnitId, object : InterstitialAdProvider.InterstitialAdCallback {
+                override fun onAdLoaded() { outcomes.add("filled after ${now - start}") }
+                override fun onAdFailedToLoad(error: AdKitAdError) { outcomes.add("error ${error.code} after ${now - start}") }
+            })
+            advanceBy(60_000)
+        }
+        return outcomes
+    }
+
+    @Test
+    fun `same seed reproduces every outcome`() {
+        val first = provider(seed = 7).loadAll("unit", 20)
+        val second = provider(seed = 7).loadAll("unit", 20)
+
+        assertEquals(first, second)
+        assertNotEquals(first, provider(seed = 8).loadAll("unit", 20))
+    }
+
+    @Test
+    fun `an ad unit's outcomes do not depend on other units' loads`() {
+        val alone = provider().loadAll("unit", 10)
+
+        val interleaved = provider()
+        interleaved.loadAll("other", 5)
+        val withOthers = interleaved.loadAll("unit", 10)
+
+        assertEquals(alone, withOthers)
+    }
+
+    @Test
+    fun `unfilled loads report a weighted error code`() {
+        val simulated = provider(
+            profile = SimulatedAdProfile(
+                fillRate = 0.0,
+                errorCodeWeights = mapOf(AdKitAdError.ERROR_CODE_NETWORK to 1.0)
+            )
+        )
+
+        val outcomes = simulated.loadAll("unit", 5)
+
+        assertTrue(outcomes.all { it.startsWith("error ${AdKitAdError.ERROR_CODE_NETWORK}") })
+        assertEquals(5L, simulated.getStats()["failures"])
+    }
+
+    @Test
+    fun `hanging loads never call back`() {
+        val simulated = provider(profile = SimulatedAdProfile(hangRate = 1.0))
+
+        assertTrue(simulated.loadAll("unit", 3).isEmpty())
+        assertEquals(3L, simulated.getStats()["hangs"])
+    }
+
+    @Test
+    fun `loads arrive after the drawn latency`() {
+        val simulated = provider(
+            profile = SimulatedAdProfile(loadLatencyMillis = SimulatedDistribution.fixed(1_500), fillRate = 1.0)
+        )
+
+        assertEquals(listOf("filled after 1500"), simulated.loadAll("unit", 1))
+    }
+
+    @Test
+    fun `show reports the drawn eCPM and dismisses after the display time`() {
+        val simulated = provider(
+            profile = SimulatedAdProfile(
+                fillRate = 1.0,
+                ecpmMicros = SimulatedDistribution.fixed(2_000_000),
+                displayMillis = 3_000
+            )
+        )
+        simulated.loadAll("unit", 1)
+        assertTrue(simulated.isAdReady("unit"))
+
+        val events = mutableListOf<String>()
+        simulated.showAd(Activity(), "unit", object : InterstitialAdProvider.InterstitialShowCallback {
+            override fun onAdShowed() { events.add("showed") }
+            override fun onAdImpression() { events.add("impression") }
+            override fun onPaidEvent(adValue: AdKitAdValue) { events.add("paid ${adValue.valueMicros}") }
+            override fun onAdDismissed() { events.add("dismissed at $now") }
+        })
+        val shownAt = now
+        advanceBy(3_000)
+
+        assertEquals(listOf("showed", "impression", "paid 2000", "dismissed at ${shownAt + 3_000}"), events)
+        assertFalse(simulated.isAdReady("unit"))
+    }
+
+    @Test
+    fun `show without a loaded ad fails`() {
+        var failure: AdKitAdError? = null
+        provider().showAd(Activity(), "unit", object : RewardedAdProvider.RewardedShowCallback {
+            override fun onAdDismissed() {}
+            override fun onAdFailedToShow(error: AdKitAdError) { failure = error }
+            override fun onRewardEarned(rewardType: String, rewardAmount: Int) {}
+        })
+        advanceBy(0)
+
+        assertEquals(SimulatedAdProvider.DOMAIN, failure?.domain)
+    }
+
+    @Test
+    fun `destroy drops loads in flight`() {
+        val simulated = provider(profile = SimulatedAdProfile(fillRate = 1.0))
+        var calls = 0
+        simulated.loadAd(context, "unit", object : AppOpenAdProvider.AppOpenAdCallback {
+            override fun onAdLoaded() { calls++ }
+            override fun onAdFailedToLoad(error: AdKitAdError) { calls++ }
+        })
+
+        simulated.destroy()
+        advanceBy(60_000)
+
+        assertEquals(0, calls)
+        assertFalse(simulated.isAdReady())
+    }
+
+    @Test
+    fun `error codes are picked by weight`() {
+        val weights = mapOf(1 to 1.0, 2 to 3.0)
+
+        assertEquals(1, SimulatedAdProvider.pickErrorCode(weights, 0.0))
+        assertEquals(1, SimulatedAdProvider.pickErrorCode(weights, 0.24))
+        assertEquals(2, SimulatedAdProvider.pickErrorCode(weights, 0.26))
+        assertEquals(2, SimulatedAdProvider.pickErrorCode(weights, 0.999))
+    }
+}
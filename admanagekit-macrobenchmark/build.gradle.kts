@@ -0,0 +1,49 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.jetbrains.kotlin.android)
+    alias(libs.plugins.androidx.baselineprofile)
+}
+
+// Macrobenchmarks and the baseline profile generator, run against the sample app's
+// benchmark builds. Those builds serve every ad from a seeded SimulatedAdProvider
+// (see MyApplication.configureSimulatedAds), so runs need no network and repeat
+// exactly on an emulator. Not published.
+//
+//   ./gradlew :admanagekit-macrobenchmark:connectedBenchmarkReleaseAndroidTest
+//   ./gradlew :AdManageKit:generateBaselineProfile
+//
+// Use a physical device or an API 33+ emulator image with no Google account.
+
+android {
+    namespace = "com.i2hammad.admanagekit.macrobenchmark"
+    compileSdk = 37
+
+    defaultConfig {
+        // Baseline profiles can be collected without root from API 28
+        minSdk = 28
+        targetSdk = 37
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_17
+        targetCompatibility = JavaVersion.VERSION_17
+    }
+    kotlinOptions {
+        jvmTarget = "17"
+    }
+
+    targetProjectPath = ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation(libs.androidx.test.ext.junit)
+    implementation(libs.androidx.uiautomator)
+    implementation(libs.androidx.benchmark.macro.junit4)
+}
@@ -0,0 +1,35 @@
+package com.i2hammad.admanagekit.macrobenchmark
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.launchThroughSplash
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.openNativeTemplates
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.scrollNativeTemplates
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Collects the baseline profile from the journeys the benchmarks measure: startup
+ * through the splash's app open ad, and native templates loading while scrolled.
+ *
+ * The sample app and AdManageKit both consume the result; AdManageKit keeps only its
+ * own classes and ships them in its AAR.
+ */
+@RunWith(AndroidJUnit4::class)
+class BaselineProfileGenerator {
+
+    @get:Rule
+    val baselineProfileRule = BaselineProfileRule()
+
+    @Test
+    fun generate() = baselineProfileRule.collect(
+        packageName = SampleApp.PACKAGE_NAME,
+        includeInStartupProfile = true
+    ) {
+        pressHome()
+        launchThroughSplash()
+        openNativeTemplates()
+        scrollNativeTemplates(passes = 2)
+    }
+}
@@ -0,0 +1,50 @@
+package com.i2hammad.admanagekit.macrobenchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.FrameTimingMetric
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.TraceSectionMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.openNativeTemplates
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.scrollNativeTemplates
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Frame timing while scrolling the native template screen as ads load and bind, and
+ * the time spent inflating templates along the way.
+ */
+@OptIn(ExperimentalMetricApi::class)
+@RunWith(AndroidJUnit4::class)
+class NativeScrollBenchmark {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @Test
+    fun scrollNoCompilation() = scroll(CompilationMode.None())
+
+    @Test
+    fun scrollBaselineProfile() = scroll(CompilationMode.Partial(BaselineProfileMode.Require))
+
+    private fun scroll(compilationMode: CompilationMode) = benchmarkRule.measureRepeated(
+        packageName = SampleApp.PACKAGE_NAME,
+        metrics = listOf(
+            FrameTimingMetric(),
+            TraceSectionMetric(SampleApp.NATIVE_INFLATE_SECTION, TraceSectionMetric.Mode.Sum)
+        ),
+        compilationMode = compilationMode,
+        startupMode = StartupMode.WARM,
+        iterations = 10,
+        setupBlock = {
+            pressHome()
+            openNativeTemplates()
+        }
+    ) {
+        scrollNativeTemplates()
+    }
+}
@@ -0,0 +1,58 @@
+package com.i2hammad.admanagekit.macrobenchmark
+
+import android.content.Intent
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.Direction
+import androidx.test.uiautomator.Until
+
+/** The sample app's package, screens and trace sections the benchmarks drive. */
+internal object SampleApp {
+
+    const val PACKAGE_NAME = "com.i2hammad.admanagekit.sample"
+
+    /** Async section the splash emits from its onCreate until its app open ad shows. */
+    const val SPLASH_TO_FIRST_AD_SECTION = "Sample:splashToFirstAd"
+
+    /** Section AdManageKit emits around each native template inflate. */
+    const val NATIVE_INFLATE_SECTION = "AdKit:Native:inflate"
+
+    private const val NATIVE_TEMPLATE_ACTIVITY = "$PACKAGE_NAME.NativeTemplateTestActivity"
+
+    /** Long enough for the splash's billing check, app open ad and its display. */
+    private const val SPLASH_TIMEOUT_MILLIS = 15_000L
+    private const val UI_TIMEOUT_MILLIS = 5_000L
+
+    /**
+     * Launches the app and waits until the splash has shown its app open ad and moved on
+     * to the first content screen.
+     */
+    fun MacrobenchmarkScope.launchThroughSplash() {
+        startActivityAndWait()
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "btnShowInterstitialAd")), SPLASH_TIMEOUT_MILLIS)
+    }
+
+    /** Opens the native template screen and waits for its first ad to bind. */
+    fun MacrobenchmarkScope.openNativeTemplates() {
+        startActivityAndWait(Intent().setClassName(PACKAGE_NAME, NATIVE_TEMPLATE_ACTIVITY))
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "scrollContent")), UI_TIMEOUT_MILLIS)
+        device.waitForIdle()
+    }
+
+    /**
+     * Flings the native template screen down and back up, switching to the next
+     * template before each pass so the scroll overlaps a fresh load and bind.
+     */
+    fun MacrobenchmarkScope.scrollNativeTemplates(passes: Int = 3) {
+        val content = device.findObject(By.res(PACKAGE_NAME, "scrollContent"))
+        // Keep flings off the gesture navigation area
+        content.setGestureMargin(device.displayWidth / 5)
+        repeat(passes) {
+            device.findObject(By.res(PACKAGE_NAME, "btnNextTemplate"))?.click()
+            content.fling(Direction.DOWN)
+            device.waitForIdle()
+            content.fling(Direction.UP)
+            device.waitForIdle()
+        }
+    }
+}
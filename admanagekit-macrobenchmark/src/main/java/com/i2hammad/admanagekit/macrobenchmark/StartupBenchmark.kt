@@ -0,0 +1,62 @@
+package com.i2hammad.admanagekit.macrobenchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.ExperimentalMetricApi
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.StartupTimingMetric
+import androidx.benchmark.macro.TraceSectionMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.i2hammad.admanagekit.macrobenchmark.SampleApp.launchThroughSplash
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Cold and warm startup of the sample app with AdManageKit initialized, and the time
+ * from the splash's onCreate until its app open ad shows.
+ *
+ * Each startup is measured without ahead-of-time compilation and with the baseline
+ * profile, which is what an install from Play gets; the difference is the profile's
+ * gain.
+ */
+@OptIn(ExperimentalMetricApi::class)
+@RunWith(AndroidJUnit4::class)
+class StartupBenchmark {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @Test
+    fun coldStartupNoCompilation() = startup(StartupMode.COLD, CompilationMode.None())
+
+    @Test
+    fun coldStartupBaselineProfile() = startup(StartupMode.COLD, baselineProfile)
+
+    @Test
+    fun warmStartupNoCompilation() = startup(StartupMode.WARM, CompilationMode.None())
+
+    @Test
+    fun warmStartupBaselineProfile() = startup(StartupMode.WARM, baselineProfile)
+
+    private fun startup(startupMode: StartupMode, compilationMode: CompilationMode) =
+        benchmarkRule.measureRepeated(
+            packageName = SampleApp.PACKAGE_NAME,
+            metrics = listOf(
+                StartupTimingMetric(),
+                TraceSectionMetric(SampleApp.SPLASH_TO_FIRST_AD_SECTION, TraceSectionMetric.Mode.First)
+            ),
+            compilationMode = compilationMode,
+            startupMode = startupMode,
+            iterations = ITERATIONS,
+            setupBlock = { pressHome() }
+        ) {
+            launchThroughSplash()
+        }
+
+    private companion object {
+        const val ITERATIONS = 10
+        val baselineProfile = CompilationMode.Partial(BaselineProfileMode.Require)
+    }
+}
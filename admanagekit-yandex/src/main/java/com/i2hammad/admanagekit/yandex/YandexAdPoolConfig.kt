@@ -0,0 +1,40 @@
+package com.i2hammad.admanagekit.yandex
+
+/**
+ * How many loaded ads the Yandex interstitial, rewarded and app open providers keep
+ * per ad unit, and for how long.
+ *
+ * With the defaults a provider keeps one ready ad per ad unit it was asked to load,
+ * and discards it once it is too old to show. Raise [adsPerUnit] and turn on
+ * [refill] so waterfall shows that land on Yandex are served from memory:
+ *
+ * ```kotlin
+ * val yandex = YandexProviderRegistration.create(
+ *     poolConfig = YandexAdPoolConfig(adsPerUnit = 2, refill = true)
+ * )
+ * ```
+ *
+ * @param adsPerUnit Ready ads kept per ad unit. A load for a unit that already has a
+ *        ready ad reports success immediately and tops the unit up in the background
+ * @param maxAgeMillis An ad older than this is discarded instead of shown
+ * @param refill Reload in the background when an ad is shown or expires, so the unit
+ *        stays at [adsPerUnit] without waiting for the next load request
+ */
+data class YandexAdPoolConfig @JvmOverloads constructor(
+    val adsPerUnit: Int = 1,
+    val maxAgeMillis: Long = DEFAULT_MAX_AGE_MILLIS,
+    val refill: Boolean = false
+) {
+    init {
+        require(adsPerUnit >= 1) { "adsPerUnit must be at least 1" }
+        require(maxAgeMillis > 0) { "maxAgeMillis must be positive" }
+    }
+
+    companion object {
+        /** Default lifetime of a pooled interstitial or rewarded ad: 1 hour. */
+        const val DEFAULT_MAX_AGE_MILLIS = 60 * 60 * 1000L
+
+        /** Default lifetime of a pooled app open ad: 4 hours. */
+        const val APP_OPEN_MAX_AGE_MILLIS = 4 * 60 * 60 * 1000L
+    }
+}
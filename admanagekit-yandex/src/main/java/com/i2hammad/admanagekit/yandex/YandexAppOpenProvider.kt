@@ -14,20 +14,49 @@ import com.yandex.mobile.ads.common.ImpressionData
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
+import com.i2hammad.admanagekit.yandex.internal.YandexAdPool
 import com.i2hammad.admanagekit.yandex.internal.toAdKitError
 import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
 
 /**
  * Yandex Ads implementation of [AppOpenAdProvider].
  * Wraps Yandex AppOpenAd behind the provider interface.
+ *
+ * Loaded ads are pooled per ad unit as configured by [poolConfig]. App open ads
+ * default to a 4 hour lifetime.
  */
-class YandexAppOpenProvider : AppOpenAdProvider {
+class YandexAppOpenProvider @JvmOverloads constructor(
+    poolConfig: YandexAdPoolConfig = YandexAdPoolConfig(maxAgeMillis = YandexAdPoolConfig.APP_OPEN_MAX_AGE_MILLIS)
+) : AppOpenAdProvider {
 
     override val provider: AdProvider = AdProvider.YANDEX
 
-    private var appOpenAd: AppOpenAd? = null
-    private var appOpenAdLoader: AppOpenAdLoader? = null
-    private var isDestroyed = false
+    private val pool = YandexAdPool(poolConfig, TAG, object : YandexAdPool.Loader<AppOpenAd> {
+        override fun load(
+            context: Context,
+            adUnitId: String,
+            onLoaded: (AppOpenAd) -> Unit,
+            onFailed: (AdKitAdError) -> Unit
+        ): () -> Unit {
+            val loader = AppOpenAdLoader(context)
+            loader.loadAd(AdRequest.Builder(adUnitId).build(), object : AppOpenAdLoadListener {
+                override fun onAdLoaded(ad: AppOpenAd) {
+                    Log.d(TAG, "App open ad loaded: $adUnitId")
+                    onLoaded(ad)
+                }
+
+                override fun onAdFailedToLoad(error: AdRequestError) {
+                    Log.e(TAG, "App open ad failed to load: ${error.description}")
+                    onFailed(error.toAdKitError())
+                }
+            })
+            return { loader.cancelLoading() }
+        }
+
+        override fun release(ad: AppOpenAd) {
+            ad.setAdEventListener(null)
+        }
+    })
 
     companion object {
         private const val TAG = "YandexAppOpen"
@@ -38,30 +67,18 @@ class YandexAppOpenProvider : AppOpenAdProvider {
         adUnitId: String,
         callback: AppOpenAdProvider.AppOpenAdCallback
     ) {
-        val listener = object : AppOpenAdLoadListener {
-            override fun onAdLoaded(ad: AppOpenAd) {
-                if (isDestroyed) {
-                    Log.d(TAG, "App open ad loaded after destroy, discarding: $adUnitId")
-                    return
-                }
-                appOpenAd = ad
-                Log.d(TAG, "App open ad loaded: $adUnitId")
-                callback.onAdLoaded()
-            }
-
-            override fun onAdFailedToLoad(error: AdRequestError) {
-                appOpenAd = null
-                Log.e(TAG, "App open ad failed to load: ${error.description}")
-                callback.onAdFailedToLoad(error.toAdKitError())
-            }
-        }
-        val loader = AppOpenAdLoader(context)
-        appOpenAdLoader = loader
-        loader.loadAd(AdRequest.Builder(adUnitId).build(), listener)
+        pool.load(context, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
     }
 
     override fun showAd(activity: Activity, callback: AppOpenAdProvider.AppOpenShowCallback) {
-        val ad = appOpenAd
+        show(pool.takeAny(), activity, callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: AppOpenAdProvider.AppOpenShowCallback) {
+        show(pool.take(adUnitId), activity, callback)
+    }
+
+    private fun show(ad: AppOpenAd?, activity: Activity, callback: AppOpenAdProvider.AppOpenShowCallback) {
         if (ad == null) {
             callback.onAdFailedToShow(
                 AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "No ad loaded", provider.name)
@@ -79,7 +96,6 @@ class YandexAppOpenProvider : AppOpenAdProvider {
             override fun onAdFailedToShow(adError: AdError) {
                 Log.e(TAG, "App open ad failed to show: ${adError.description}")
                 ad.setAdEventListener(null)
-                if (appOpenAd === ad) appOpenAd = null
                 callback.onAdFailedToShow(adError.toAdKitError())
                 callback.onAdDismissed()
             }
@@ -87,7 +103,6 @@ class YandexAppOpenProvider : AppOpenAdProvider {
             override fun onAdDismissed() {
                 Log.d(TAG, "App open ad dismissed")
                 ad.setAdEventListener(null)
-                if (appOpenAd === ad) appOpenAd = null
                 callback.onAdDismissed()
             }
 
@@ -104,13 +119,14 @@ class YandexAppOpenProvider : AppOpenAdProvider {
         ad.show(activity)
     }
 
-    override fun isAdReady(): Boolean = appOpenAd != null
+    override fun isAdReady(): Boolean = pool.isReady()
+
+    override fun isAdReady(adUnitId: String): Boolean = pool.isReady(adUnitId)
+
+    /** Ready ads, in-flight loads and oldest ad age per ad unit. */
+    fun getPoolStats(): Map<String, Any> = pool.getStats()
 
     override fun destroy() {
-        isDestroyed = true
-        appOpenAdLoader?.cancelLoading()
-        appOpenAdLoader = null
-        appOpenAd?.setAdEventListener(null)
-        appOpenAd = null
+        pool.destroy()
     }
 }
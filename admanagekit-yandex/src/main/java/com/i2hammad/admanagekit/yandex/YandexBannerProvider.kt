@@ -11,6 +11,8 @@ import com.yandex.mobile.ads.common.AdRequestError
 import com.yandex.mobile.ads.common.ImpressionData
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
 import com.i2hammad.admanagekit.yandex.internal.toAdKitError
 import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
@@ -29,6 +31,7 @@ class YandexBannerProvider(
     override val provider: AdProvider = AdProvider.YANDEX
 
     private var bannerAdView: BannerAdView? = null
+    private var loadTicket: AdRequestScheduler.Ticket? = null
     private var isDestroyed = false
 
     companion object {
@@ -42,6 +45,8 @@ class YandexBannerProvider(
     ) {
         // Replace any previous banner so sequential loads don't leak the first view
         bannerAdView?.destroy()
+        loadTicket?.cancel()
+        var ticket: AdRequestScheduler.Ticket? = null
         val bannerView = BannerAdView(context).apply {
             val width = if (maxAdWidth > 0) maxAdWidth else {
                 val displayMetrics = context.resources.displayMetrics
@@ -51,6 +56,7 @@ class YandexBannerProvider(
 
             setBannerAdEventListener(object : BannerAdEventListener {
                 override fun onAdLoaded() {
+                    ticket?.finish()
                     if (isDestroyed) {
                         Log.d(TAG, "Banner ad loaded after destroy, discarding: $adUnitId")
                         return
@@ -60,6 +66,7 @@ class YandexBannerProvider(
                 }
 
                 override fun onAdFailedToLoad(error: AdRequestError) {
+                    ticket?.finish()
                     if (isDestroyed) return
                     Log.e(TAG, "Banner ad failed to load: ${error.description}")
                     callback.onBannerFailedToLoad(error.toAdKitError())
@@ -78,7 +85,11 @@ class YandexBannerProvider(
 
         // Track the view from creation so destroy() during an in-flight load destroys it
         bannerAdView = bannerView
-        bannerView.loadAd(AdRequest.Builder(adUnitId).build())
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        loadTicket = AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { started ->
+            ticket = started
+            bannerView.loadAd(AdRequest.Builder(adUnitId).build())
+        }
     }
 
     override fun pause() {
@@ -91,6 +102,9 @@ class YandexBannerProvider(
 
     override fun destroy() {
         isDestroyed = true
+        // A destroyed view never reports, so free its slot here
+        loadTicket?.cancel()
+        loadTicket = null
         bannerAdView?.destroy()
         bannerAdView = null
     }
@@ -14,20 +14,48 @@ import com.yandex.mobile.ads.interstitial.InterstitialAdLoader
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.yandex.internal.YandexAdPool
 import com.i2hammad.admanagekit.yandex.internal.toAdKitError
 import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
 
 /**
  * Yandex Ads implementation of [InterstitialAdProvider].
  * Wraps Yandex InterstitialAd behind the provider interface.
+ *
+ * Loaded ads are pooled per ad unit as configured by [poolConfig].
  */
-class YandexInterstitialProvider : InterstitialAdProvider {
+class YandexInterstitialProvider @JvmOverloads constructor(
+    poolConfig: YandexAdPoolConfig = YandexAdPoolConfig()
+) : InterstitialAdProvider {
 
     override val provider: AdProvider = AdProvider.YANDEX
 
-    private var interstitialAd: InterstitialAd? = null
-    private var interstitialAdLoader: InterstitialAdLoader? = null
-    private var isDestroyed = false
+    private val pool = YandexAdPool(poolConfig, TAG, object : YandexAdPool.Loader<InterstitialAd> {
+        override fun load(
+            context: Context,
+            adUnitId: String,
+            onLoaded: (InterstitialAd) -> Unit,
+            onFailed: (AdKitAdError) -> Unit
+        ): () -> Unit {
+            val loader = InterstitialAdLoader(context)
+            loader.loadAd(AdRequest.Builder(adUnitId).build(), object : InterstitialAdLoadListener {
+                override fun onAdLoaded(ad: InterstitialAd) {
+                    Log.d(TAG, "Interstitial ad loaded: $adUnitId")
+                    onLoaded(ad)
+                }
+
+                override fun onAdFailedToLoad(error: AdRequestError) {
+                    Log.e(TAG, "Interstitial ad failed to load: ${error.description}")
+                    onFailed(error.toAdKitError())
+                }
+            })
+            return { loader.cancelLoading() }
+        }
+
+        override fun release(ad: InterstitialAd) {
+            ad.setAdEventListener(null)
+        }
+    })
 
     companion object {
         private const val TAG = "YandexInterstitial"
@@ -38,30 +66,18 @@ class YandexInterstitialProvider : InterstitialAdProvider {
         adUnitId: String,
         callback: InterstitialAdProvider.InterstitialAdCallback
     ) {
-        val listener = object : InterstitialAdLoadListener {
-            override fun onAdLoaded(ad: InterstitialAd) {
-                if (isDestroyed) {
-                    Log.d(TAG, "Interstitial ad loaded after destroy, discarding: $adUnitId")
-                    return
-                }
-                interstitialAd = ad
-                Log.d(TAG, "Interstitial ad loaded: $adUnitId")
-                callback.onAdLoaded()
-            }
-
-            override fun onAdFailedToLoad(error: AdRequestError) {
-                interstitialAd = null
-                Log.e(TAG, "Interstitial ad failed to load: ${error.description}")
-                callback.onAdFailedToLoad(error.toAdKitError())
-            }
-        }
-        val loader = InterstitialAdLoader(context)
-        interstitialAdLoader = loader
-        loader.loadAd(AdRequest.Builder(adUnitId).build(), listener)
+        pool.load(context, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
     }
 
     override fun showAd(activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
-        val ad = interstitialAd
+        show(pool.takeAny(), activity, callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: InterstitialAdProvider.InterstitialShowCallback) {
+        show(pool.take(adUnitId), activity, callback)
+    }
+
+    private fun show(ad: InterstitialAd?, activity: Activity, callback: InterstitialAdProvider.InterstitialShowCallback) {
         if (ad == null) {
             callback.onAdFailedToShow(
                 AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "No ad loaded", provider.name)
@@ -79,7 +95,6 @@ class YandexInterstitialProvider : InterstitialAdProvider {
             override fun onAdFailedToShow(adError: AdError) {
                 Log.e(TAG, "Interstitial ad failed to show: ${adError.description}")
                 ad.setAdEventListener(null)
-                if (interstitialAd === ad) interstitialAd = null
                 callback.onAdFailedToShow(adError.toAdKitError())
                 callback.onAdDismissed()
             }
@@ -87,7 +102,6 @@ class YandexInterstitialProvider : InterstitialAdProvider {
             override fun onAdDismissed() {
                 Log.d(TAG, "Interstitial ad dismissed")
                 ad.setAdEventListener(null)
-                if (interstitialAd === ad) interstitialAd = null
                 callback.onAdDismissed()
             }
 
@@ -104,13 +118,14 @@ class YandexInterstitialProvider : InterstitialAdProvider {
         ad.show(activity)
     }
 
-    override fun isAdReady(): Boolean = interstitialAd != null
+    override fun isAdReady(): Boolean = pool.isReady()
+
+    override fun isAdReady(adUnitId: String): Boolean = pool.isReady(adUnitId)
+
+    /** Ready ads, in-flight loads and oldest ad age per ad unit. */
+    fun getPoolStats(): Map<String, Any> = pool.getStats()
 
     override fun destroy() {
-        isDestroyed = true
-        interstitialAdLoader?.cancelLoading()
-        interstitialAdLoader = null
-        interstitialAd?.setAdEventListener(null)
-        interstitialAd = null
+        pool.destroy()
     }
 }
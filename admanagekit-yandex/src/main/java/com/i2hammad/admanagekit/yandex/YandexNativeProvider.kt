@@ -1,9 +1,7 @@
 package com.i2hammad.admanagekit.yandex
 
 import android.content.Context
-import android.graphics.Color
 import android.graphics.Typeface
-import android.graphics.drawable.GradientDrawable
 import android.util.Log
 import android.util.TypedValue
 import android.view.Gravity
@@ -24,9 +22,15 @@ import com.yandex.mobile.ads.nativeads.NativeAdLoadListener
 import com.yandex.mobile.ads.nativeads.NativeAdLoader
 import com.yandex.mobile.ads.nativeads.NativeAdView
 import com.yandex.mobile.ads.nativeads.NativeAdViewBinder
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdMemoryTrimmers
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdSize
+import com.i2hammad.admanagekit.yandex.internal.NativeAdThemeCache
+import com.i2hammad.admanagekit.yandex.internal.ViewSkeletonPool
 import com.i2hammad.admanagekit.yandex.internal.toAdKitError
 import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
 
@@ -40,7 +44,9 @@ import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
  *
  * Colors are resolved from the app's Material Design 3 theme attributes
  * (`colorSurface`, `colorOnSurface`, `colorPrimary`, etc.), falling back to
- * standard Android theme attrs, then hardcoded defaults.
+ * standard Android theme attrs, then hardcoded defaults. They are resolved once per
+ * theme (see [NativeAdThemeCache]), and view trees are recycled once the app has
+ * taken a shown ad down, so a load usually costs a bind rather than a rebuild.
  */
 class YandexNativeProvider : NativeAdProvider {
 
@@ -48,7 +54,18 @@ class YandexNativeProvider : NativeAdProvider {
 
     private var currentNativeAd: NativeAd? = null
     private var nativeAdLoader: NativeAdLoader? = null
+    private val loadTickets = mutableSetOf<AdRequestScheduler.Ticket>()
     private var isDestroyed = false
+    private val skeletonPool = ViewSkeletonPool<Any, NativeAdSkeleton>(rootOf = { it.root })
+
+    // Released skeletons only hold views, so they go once views are being released
+    private val skeletonTrimmer = AdMemoryTrimmers.Trimmer { tier ->
+        if (tier >= AdMemoryTier.RELEASE) skeletonPool.trimFree() * AdMemoryTrimmers.ESTIMATED_AD_VIEW_BYTES else 0L
+    }
+
+    init {
+        AdMemoryTrimmers.register("yandexNativeSkeletons", skeletonTrimmer)
+    }
 
     companion object {
         private const val TAG = "YandexNative"
@@ -61,14 +78,21 @@ class YandexNativeProvider : NativeAdProvider {
         sizeHint: NativeAdSize,
         templateLayoutResId: Int
     ) {
+        var ticket: AdRequestScheduler.Ticket? = null
+        var settled = false
+        fun finishTicket() {
+            settled = true
+            ticket?.let { it.finish(); loadTickets.remove(it) }
+        }
         val listener = object : NativeAdLoadListener {
             override fun onAdLoaded(nativeAd: NativeAd) {
+                finishTicket()
                 if (isDestroyed) {
                     Log.d(TAG, "Native ad loaded after destroy, discarding: $adUnitId")
                     return
                 }
-                // Detach the previous ad's listener before replacing it
-                currentNativeAd?.setNativeAdEventListener(null)
+                // The previous ad keeps its listener: the provider is shared, so that ad
+                // may still be on screen in another slot or waiting in a NativeAdInventory
                 currentNativeAd = nativeAd
 
                 nativeAd.setNativeAdEventListener(object : NativeAdEventListener {
@@ -99,21 +123,36 @@ class YandexNativeProvider : NativeAdProvider {
             }
 
             override fun onAdFailedToLoad(error: AdRequestError) {
+                finishTicket()
                 Log.e(TAG, "Native ad failed to load: ${error.description}")
                 callback.onNativeAdFailedToLoad(error.toAdKitError())
             }
         }
-        val loader = NativeAdLoader(context)
-        nativeAdLoader = loader
-        loader.loadAd(AdRequest.Builder(adUnitId).build(), listener)
+        // Waits for a request slot at the priority of whoever is loading, e.g. a waterfall step
+        val submitted = AdRequestGovernor.submit(adUnitId, AdRequestGovernor.currentPriority()) { started ->
+            ticket = started
+            if (isDestroyed) {
+                finishTicket()
+                return@submit
+            }
+            val loader = NativeAdLoader(context)
+            nativeAdLoader = loader
+            loader.loadAd(AdRequest.Builder(adUnitId).build(), listener)
+        }
+        if (!settled) loadTickets.add(submitted)
     }
 
     override fun destroy() {
         isDestroyed = true
+        // Cancelled loads never report, so free their slots here
+        loadTickets.toList().forEach { it.cancel() }
+        loadTickets.clear()
         nativeAdLoader?.cancelLoading()
         nativeAdLoader = null
         currentNativeAd?.setNativeAdEventListener(null)
         currentNativeAd = null
+        AdMemoryTrimmers.unregister(skeletonTrimmer)
+        skeletonPool.clear()
     }
 
     // ======================== View Creation ========================
@@ -129,20 +168,44 @@ class YandexNativeProvider : NativeAdProvider {
         // layout, binding failure), fall back to the built-in size-based view.
         if (templateLayoutResId != 0) {
             try {
-                return createTemplateAdView(context, nativeAd, templateLayoutResId)
+                return bindSkeleton(context, nativeAd, templateLayoutResId) {
+                    buildTemplateSkeleton(context, templateLayoutResId)
+                }
             } catch (e: Exception) {
                 Log.w(TAG, "Template render failed ($templateLayoutResId), falling back to $sizeHint: ${e.message}")
             }
         }
-        return when (sizeHint) {
-            NativeAdSize.LARGE -> createLargeAdView(context, nativeAd)
-            NativeAdSize.MEDIUM -> createMediumAdView(context, nativeAd)
-            NativeAdSize.SMALL -> createSmallAdView(context, nativeAd)
+        return bindSkeleton(context, nativeAd, sizeHint) {
+            when (sizeHint) {
+                NativeAdSize.LARGE -> buildLargeSkeleton(context)
+                NativeAdSize.MEDIUM -> buildMediumSkeleton(context)
+                NativeAdSize.SMALL -> buildSmallSkeleton(context)
+            }
         }
     }
 
     /**
-     * Renders [nativeAd] into the AdMob native template at [templateLayoutResId] so a
+     * Binds [nativeAd] into a recycled skeleton for [key], or into a new one from [build].
+     * A skeleton that fails to bind is dropped from the pool.
+     */
+    private fun bindSkeleton(
+        context: Context,
+        nativeAd: NativeAd,
+        key: Any,
+        build: () -> NativeAdSkeleton
+    ): View {
+        val skeleton = skeletonPool.acquire(key, context, build)
+        try {
+            skeleton.bind(nativeAd)
+        } catch (e: Exception) {
+            skeletonPool.discard(skeleton)
+            throw e
+        }
+        return skeleton.root
+    }
+
+    /**
+     * Builds the AdMob native template at [templateLayoutResId] as a Yandex skeleton so a
      * Yandex fallback ad looks identical to the AdMob ad for the same template.
      *
      * The AdMob template XML is inflated as-is and its standard asset views are bound to
@@ -153,10 +216,11 @@ class YandexNativeProvider : NativeAdProvider {
      * warning) is appended because the Yandex SDK requires those views to be present for
      * the ad to bind and render legally — AdMob templates don't include them.
      *
-     * @throws IllegalStateException if the template lacks a title view or Yandex binding fails.
+     * @throws IllegalStateException if the template lacks a title view.
      */
-    private fun createTemplateAdView(context: Context, nativeAd: NativeAd, templateLayoutResId: Int): View {
-        val colors = resolveColors(context)
+    private fun buildTemplateSkeleton(context: Context, templateLayoutResId: Int): NativeAdSkeleton {
+        val theme = NativeAdThemeCache.get(context)
+        val colors = theme.colors
         val dp4 = dpToPx(context, 4)
         val dp8 = dpToPx(context, 8)
 
@@ -246,24 +310,19 @@ class YandexNativeProvider : NativeAdProvider {
 
         nativeAdView.addView(container)
 
-        val binder = NativeAdViewBinder.Builder(nativeAdView)
-            .setTitleView(titleView)
-            .setFeedbackView(feedbackView)
-            .setSponsoredView(sponsoredView)
-            .setWarningView(warningView)
-            .apply {
-                bodyView?.let { setBodyView(it) }
-                ctaView?.let { setCallToActionView(it) }
-                iconView?.let { setIconView(it) }
-                advertiserView?.let { setDomainView(it) }
-                mediaView?.let { setMediaView(it) }
-            }
-            .build()
-
-        if (nativeAd.bindNativeAd(binder) is AdBindingResult.Failure) {
-            throw IllegalStateException("Native ad binding failed for template $templateLayoutResId")
-        }
-        return nativeAdView
+        return NativeAdSkeleton(
+            label = "template $templateLayoutResId",
+            root = nativeAdView,
+            title = titleView,
+            feedback = feedbackView,
+            sponsored = sponsoredView,
+            warning = warningView,
+            body = bodyView,
+            callToAction = ctaView,
+            icon = iconView,
+            domain = advertiserView,
+            media = mediaView
+        )
     }
 
     /**
@@ -295,8 +354,9 @@ class YandexNativeProvider : NativeAdProvider {
     }
 
     /** LARGE: MediaView + icon + title + body + CTA — full asset set for app-type ads. */
-    private fun createLargeAdView(context: Context, nativeAd: NativeAd): View {
-        val colors = resolveColors(context)
+    private fun buildLargeSkeleton(context: Context): NativeAdSkeleton {
+        val theme = NativeAdThemeCache.get(context)
+        val colors = theme.colors
         val dp4 = dpToPx(context, 4)
         val dp8 = dpToPx(context, 8)
         val dp12 = dpToPx(context, 12)
@@ -317,7 +377,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.WRAP_CONTENT
             )
             setPadding(dp12, dp12, dp12, dp12)
-            background = createCardBackground(context, colors)
+            background = theme.newCardBackground()
             clipToOutline = true
         }
 
@@ -419,7 +479,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.MATCH_PARENT,
                 LinearLayout.LayoutParams.WRAP_CONTENT
             ).apply { topMargin = dp8 }
-            background = createCtaBackground(context, colors)
+            background = theme.newCtaBackground()
             setTextColor(colors.ctaText)
             setTextSize(TypedValue.COMPLEX_UNIT_SP, 14f)
             setTypeface(typeface, Typeface.BOLD)
@@ -471,29 +531,28 @@ class YandexNativeProvider : NativeAdProvider {
 
         nativeAdView.addView(container)
 
-        val binder = NativeAdViewBinder.Builder(nativeAdView)
-            .setTitleView(titleView)
-            .setBodyView(bodyView)
-            .setCallToActionView(ctaView)
-            .setIconView(iconView)
-            .setFaviconView(faviconView)
-            .setDomainView(domainView)
-            .setPriceView(priceView)
-            .setFeedbackView(feedbackView)
-            .setWarningView(warningView)
-            .setSponsoredView(sponsoredView)
-            .setMediaView(mediaView)
-            .build()
-
-        if (nativeAd.bindNativeAd(binder) is AdBindingResult.Failure) {
-            throw IllegalStateException("Native ad binding failed for LARGE")
-        }
-        return nativeAdView
+        return NativeAdSkeleton(
+            label = "LARGE",
+            root = nativeAdView,
+            title = titleView,
+            feedback = feedbackView,
+            sponsored = sponsoredView,
+            warning = warningView,
+            body = bodyView,
+            callToAction = ctaView,
+            icon = iconView,
+            favicon = faviconView,
+            domain = domainView,
+            price = priceView,
+            media = mediaView,
+            mediaHiddenUntilLoaded = true
+        )
     }
 
     /** MEDIUM: Icon + title + body + CTA. No media. */
-    private fun createMediumAdView(context: Context, nativeAd: NativeAd): View {
-        val colors = resolveColors(context)
+    private fun buildMediumSkeleton(context: Context): NativeAdSkeleton {
+        val theme = NativeAdThemeCache.get(context)
+        val colors = theme.colors
         val dp4 = dpToPx(context, 4)
         val dp8 = dpToPx(context, 8)
         val dp12 = dpToPx(context, 12)
@@ -513,7 +572,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.WRAP_CONTENT
             )
             setPadding(dp12, dp12, dp12, dp12)
-            background = createCardBackground(context, colors)
+            background = theme.newCardBackground()
             clipToOutline = true
         }
 
@@ -575,7 +634,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.MATCH_PARENT,
                 LinearLayout.LayoutParams.WRAP_CONTENT
             ).apply { topMargin = dp8 }
-            background = createCtaBackground(context, colors)
+            background = theme.newCtaBackground()
             setTextColor(colors.ctaText)
             setTextSize(TypedValue.COMPLEX_UNIT_SP, 14f)
             setTypeface(typeface, Typeface.BOLD)
@@ -622,26 +681,24 @@ class YandexNativeProvider : NativeAdProvider {
 
         nativeAdView.addView(container)
 
-        val binder = NativeAdViewBinder.Builder(nativeAdView)
-            .setTitleView(titleView)
-            .setBodyView(bodyView)
-            .setCallToActionView(ctaView)
-            .setIconView(iconView)
-            .setDomainView(domainView)
-            .setFeedbackView(feedbackView)
-            .setWarningView(warningView)
-            .setSponsoredView(sponsoredView)
-            .build()
-
-        if (nativeAd.bindNativeAd(binder) is AdBindingResult.Failure) {
-            throw IllegalStateException("Native ad binding failed for MEDIUM")
-        }
-        return nativeAdView
+        return NativeAdSkeleton(
+            label = "MEDIUM",
+            root = nativeAdView,
+            title = titleView,
+            feedback = feedbackView,
+            sponsored = sponsoredView,
+            warning = warningView,
+            body = bodyView,
+            callToAction = ctaView,
+            icon = iconView,
+            domain = domainView
+        )
     }
 
     /** SMALL: Icon + title + CTA in a compact row. No body, no media. */
-    private fun createSmallAdView(context: Context, nativeAd: NativeAd): View {
-        val colors = resolveColors(context)
+    private fun buildSmallSkeleton(context: Context): NativeAdSkeleton {
+        val theme = NativeAdThemeCache.get(context)
+        val colors = theme.colors
         val dp4 = dpToPx(context, 4)
         val dp8 = dpToPx(context, 8)
         val dp40 = dpToPx(context, 40)
@@ -660,7 +717,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.WRAP_CONTENT
             )
             setPadding(dp8, dp8, dp8, dp8)
-            background = createCardBackground(context, colors)
+            background = theme.newCardBackground()
             clipToOutline = true
         }
 
@@ -709,7 +766,7 @@ class YandexNativeProvider : NativeAdProvider {
                 LinearLayout.LayoutParams.WRAP_CONTENT,
                 LinearLayout.LayoutParams.WRAP_CONTENT
             ).apply { marginStart = dp8 }
-            background = createCtaBackground(context, colors)
+            background = theme.newCtaBackground()
             setTextColor(colors.ctaText)
             setTextSize(TypedValue.COMPLEX_UNIT_SP, 12f)
             setTypeface(typeface, Typeface.BOLD)
@@ -760,97 +817,73 @@ class YandexNativeProvider : NativeAdProvider {
 
         nativeAdView.addView(container)
 
-        val binder = NativeAdViewBinder.Builder(nativeAdView)
-            .setTitleView(titleView)
-            .setCallToActionView(ctaView)
-            .setIconView(iconView)
-            .setDomainView(domainView)
-            .setFeedbackView(feedbackView)
-            .setWarningView(warningView)
-            .setSponsoredView(sponsoredView)
-            .build()
-
-        if (nativeAd.bindNativeAd(binder) is AdBindingResult.Failure) {
-            throw IllegalStateException("Native ad binding failed for SMALL")
-        }
-        return nativeAdView
-    }
-
-    // ======================== Theming ========================
-
-    /**
-     * Holds resolved theme colors for Yandex native ad views.
-     *
-     * Colors are resolved from Material Design 3 attrs (e.g., `colorSurface`),
-     * falling back to standard Android attrs, then hardcoded defaults.
-     * This ensures Yandex ads match the app's theme, just like AdMob templates do.
-     */
-    private data class NativeAdColors(
-        val background: Int,
-        val title: Int,
-        val body: Int,
-        val secondary: Int,
-        val ctaBackground: Int,
-        val ctaText: Int,
-        val border: Int
-    )
-
-    private fun resolveColors(context: Context): NativeAdColors {
-        return NativeAdColors(
-            background = resolveColorByName(context, "colorSurface", android.R.attr.colorBackground, Color.WHITE),
-            title = resolveColorByName(context, "colorOnSurface", android.R.attr.textColorPrimary, Color.BLACK),
-            body = resolveColorByName(context, "colorOnSurfaceVariant", android.R.attr.textColorSecondary, Color.DKGRAY),
-            secondary = resolveColorByName(context, "colorOnSurfaceVariant", android.R.attr.textColorSecondary, Color.GRAY),
-            ctaBackground = resolveColorByName(context, "colorPrimary", android.R.attr.colorAccent, DEFAULT_CTA_COLOR),
-            ctaText = resolveColorByName(context, "colorOnPrimary", 0, Color.WHITE),
-            border = resolveColorByName(context, "colorOutlineVariant", 0, DEFAULT_BORDER_COLOR)
+        return NativeAdSkeleton(
+            label = "SMALL",
+            root = nativeAdView,
+            title = titleView,
+            feedback = feedbackView,
+            sponsored = sponsoredView,
+            warning = warningView,
+            callToAction = ctaView,
+            icon = iconView,
+            domain = domainView
         )
     }
 
+    // ======================== Skeletons ========================
+
     /**
-     * Resolves a color from the theme, trying Material attr name first,
-     * then a standard Android attr, then a hardcoded default.
+     * A built native ad view tree and the asset views the Yandex binder needs.
+     * Optional views are null when the layout has no slot for them.
      */
-    private fun resolveColorByName(context: Context, materialAttrName: String, fallbackAttr: Int, defaultColor: Int): Int {
-        // Try Material Design attr by name (resolved from app's merged resources)
-        val materialId = context.resources.getIdentifier(materialAttrName, "attr", context.packageName)
-        if (materialId != 0) {
-            val color = resolveColorAttr(context, materialId)
-            if (color != null) return color
-        }
-        // Fallback to standard Android attr
-        if (fallbackAttr != 0) {
-            val color = resolveColorAttr(context, fallbackAttr)
-            if (color != null) return color
-        }
-        return defaultColor
-    }
-
-    private fun resolveColorAttr(context: Context, attrId: Int): Int? {
-        val a = context.obtainStyledAttributes(intArrayOf(attrId))
-        try {
-            // getColor returns defaultColor if the attr is not found in the theme
-            val color = a.getColor(0, Int.MIN_VALUE)
-            return if (color != Int.MIN_VALUE) color else null
-        } finally {
-            a.recycle()
-        }
-    }
-
-    // ======================== Drawables ========================
-
-    private fun createCardBackground(context: Context, colors: NativeAdColors): GradientDrawable {
-        return GradientDrawable().apply {
-            setColor(colors.background)
-            cornerRadius = dpToPx(context, 12).toFloat()
-            setStroke(dpToPx(context, 1), colors.border)
+    private class NativeAdSkeleton(
+        val label: String,
+        val root: NativeAdView,
+        val title: TextView,
+        val feedback: ImageView,
+        val sponsored: TextView,
+        val warning: TextView,
+        val body: TextView? = null,
+        val callToAction: TextView? = null,
+        val icon: ImageView? = null,
+        val favicon: ImageView? = null,
+        val domain: TextView? = null,
+        val price: TextView? = null,
+        val media: MediaView? = null,
+        val mediaHiddenUntilLoaded: Boolean = false
+    ) {
+        private var bound = false
+
+        /** @throws IllegalStateException if Yandex binding fails. */
+        fun bind(nativeAd: NativeAd) {
+            if (bound) clearAssets()
+            val binder = NativeAdViewBinder.Builder(root)
+                .setTitleView(title)
+                .setFeedbackView(feedback)
+                .setSponsoredView(sponsored)
+                .setWarningView(warning)
+                .apply {
+                    body?.let { setBodyView(it) }
+                    callToAction?.let { setCallToActionView(it) }
+                    icon?.let { setIconView(it) }
+                    favicon?.let { setFaviconView(it) }
+                    domain?.let { setDomainView(it) }
+                    price?.let { setPriceView(it) }
+                    media?.let { setMediaView(it) }
+                }
+                .build()
+            bound = true
+            if (nativeAd.bindNativeAd(binder) is AdBindingResult.Failure) {
+                throw IllegalStateException("Native ad binding failed for $label")
+            }
         }
-    }
 
-    private fun createCtaBackground(context: Context, colors: NativeAdColors): GradientDrawable {
-        return GradientDrawable().apply {
-            setColor(colors.ctaBackground)
-            cornerRadius = dpToPx(context, 20).toFloat()
+        // Clears the previous ad's assets in case the new ad lacks some of them
+        private fun clearAssets() {
+            listOfNotNull(title, sponsored, warning, body, callToAction, domain, price)
+                .forEach { it.text = null }
+            listOfNotNull(feedback, icon, favicon).forEach { it.setImageDrawable(null) }
+            if (mediaHiddenUntilLoaded) media?.visibility = View.GONE
         }
     }
 
@@ -860,6 +893,3 @@ class YandexNativeProvider : NativeAdProvider {
         return (dp * context.resources.displayMetrics.density).toInt()
     }
 }
-
-private val DEFAULT_CTA_COLOR = Color.parseColor("#1976D2")
-private val DEFAULT_BORDER_COLOR = Color.parseColor("#C4C4C4")
@@ -2,10 +2,17 @@ package com.i2hammad.admanagekit.yandex
 
 import android.content.Context
 import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdProviderReadiness
 import com.i2hammad.admanagekit.core.ad.AdProviderRegistration
 import com.i2hammad.admanagekit.core.ad.AppOpenAdProvider
 import com.i2hammad.admanagekit.core.ad.BannerAdProvider
+import com.i2hammad.admanagekit.core.ad.DeferredSdkInit
 import com.i2hammad.admanagekit.core.ad.InterstitialAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyAppOpenAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyBannerAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyInterstitialAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyNativeAdProvider
+import com.i2hammad.admanagekit.core.ad.LazyRewardedAdProvider
 import com.i2hammad.admanagekit.core.ad.NativeAdProvider
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
 import com.yandex.mobile.ads.common.YandexAds
@@ -33,26 +40,55 @@ class YandexProviderRegistration private constructor(
         /**
          * Initialize the Yandex Mobile Ads SDK.
          * Must be called before loading any Yandex ads (typically in Application.onCreate).
+         * Readiness is published through [AdProviderReadiness], so waterfalls pass over
+         * Yandex while it initializes instead of stalling on it.
          */
         @JvmStatic
         fun initialize(context: Context, onComplete: (() -> Unit)? = null) {
-            YandexAds.initialize(context) { onComplete?.invoke() }
+            AdProviderReadiness.markInitializing(AdProvider.YANDEX)
+            YandexAds.initialize(context) {
+                AdProviderReadiness.markReady(AdProvider.YANDEX)
+                onComplete?.invoke()
+            }
         }
 
         /**
          * Create a Yandex provider registration with all ad types.
+         * Each format's provider is created on its first request; call [AdProviderRegistration.prewarm]
+         * (or [com.i2hammad.admanagekit.core.ad.AdProviderPrewarmer]) to create them earlier.
          *
          * @param bannerMaxWidth Maximum banner width in dp (0 = screen width)
+         * @param initializeOnFirstRequest Initialize the Yandex SDK on the first Yandex ad
+         *        request (or on [AdProviderRegistration.prewarm]) instead of requiring [initialize] in
+         *        Application.onCreate. Requests wait for initialization to finish.
+         * @param poolConfig How many ready ads the interstitial, rewarded and app open
+         *        providers keep per ad unit, and for how long (null = each format's default)
          */
         @JvmStatic
         @JvmOverloads
-        fun create(bannerMaxWidth: Int = 0): YandexProviderRegistration {
+        fun create(
+            bannerMaxWidth: Int = 0,
+            initializeOnFirstRequest: Boolean = false,
+            poolConfig: YandexAdPoolConfig? = null
+        ): YandexProviderRegistration {
+            val yandex = AdProvider.YANDEX
+            val sdkInit = if (initializeOnFirstRequest) {
+                DeferredSdkInit(yandex) { context, onComplete -> YandexAds.initialize(context) { onComplete() } }
+            } else {
+                null
+            }
             return YandexProviderRegistration(
-                interstitialProvider = YandexInterstitialProvider(),
-                bannerProvider = YandexBannerProvider(bannerMaxWidth),
-                nativeProvider = YandexNativeProvider(),
-                appOpenProvider = YandexAppOpenProvider(),
-                rewardedProvider = YandexRewardedProvider()
+                interstitialProvider = LazyInterstitialAdProvider(yandex, sdkInit) {
+                    poolConfig?.let { YandexInterstitialProvider(it) } ?: YandexInterstitialProvider()
+                },
+                bannerProvider = LazyBannerAdProvider(yandex, sdkInit) { YandexBannerProvider(bannerMaxWidth) },
+                nativeProvider = LazyNativeAdProvider(yandex, sdkInit) { YandexNativeProvider() },
+                appOpenProvider = LazyAppOpenAdProvider(yandex, sdkInit) {
+                    poolConfig?.let { YandexAppOpenProvider(it) } ?: YandexAppOpenProvider()
+                },
+                rewardedProvider = LazyRewardedAdProvider(yandex, sdkInit) {
+                    poolConfig?.let { YandexRewardedProvider(it) } ?: YandexRewardedProvider()
+                }
             )
         }
     }
@@ -15,20 +15,48 @@ import com.yandex.mobile.ads.rewarded.RewardedAdLoader
 import com.i2hammad.admanagekit.core.ad.AdKitAdError
 import com.i2hammad.admanagekit.core.ad.AdProvider
 import com.i2hammad.admanagekit.core.ad.RewardedAdProvider
+import com.i2hammad.admanagekit.yandex.internal.YandexAdPool
 import com.i2hammad.admanagekit.yandex.internal.toAdKitError
 import com.i2hammad.admanagekit.yandex.internal.toAdKitValue
 
 /**
  * Yandex Ads implementation of [RewardedAdProvider].
  * Wraps Yandex RewardedAd behind the provider interface.
+ *
+ * Loaded ads are pooled per ad unit as configured by [poolConfig].
  */
-class YandexRewardedProvider : RewardedAdProvider {
+class YandexRewardedProvider @JvmOverloads constructor(
+    poolConfig: YandexAdPoolConfig = YandexAdPoolConfig()
+) : RewardedAdProvider {
 
     override val provider: AdProvider = AdProvider.YANDEX
 
-    private var rewardedAd: RewardedAd? = null
-    private var rewardedAdLoader: RewardedAdLoader? = null
-    private var isDestroyed = false
+    private val pool = YandexAdPool(poolConfig, TAG, object : YandexAdPool.Loader<RewardedAd> {
+        override fun load(
+            context: Context,
+            adUnitId: String,
+            onLoaded: (RewardedAd) -> Unit,
+            onFailed: (AdKitAdError) -> Unit
+        ): () -> Unit {
+            val loader = RewardedAdLoader(context)
+            loader.loadAd(AdRequest.Builder(adUnitId).build(), object : RewardedAdLoadListener {
+                override fun onAdLoaded(ad: RewardedAd) {
+                    Log.d(TAG, "Rewarded ad loaded: $adUnitId")
+                    onLoaded(ad)
+                }
+
+                override fun onAdFailedToLoad(error: AdRequestError) {
+                    Log.e(TAG, "Rewarded ad failed to load: ${error.description}")
+                    onFailed(error.toAdKitError())
+                }
+            })
+            return { loader.cancelLoading() }
+        }
+
+        override fun release(ad: RewardedAd) {
+            ad.setAdEventListener(null)
+        }
+    })
 
     companion object {
         private const val TAG = "YandexRewarded"
@@ -39,30 +67,18 @@ class YandexRewardedProvider : RewardedAdProvider {
         adUnitId: String,
         callback: RewardedAdProvider.RewardedAdCallback
     ) {
-        val listener = object : RewardedAdLoadListener {
-            override fun onAdLoaded(ad: RewardedAd) {
-                if (isDestroyed) {
-                    Log.d(TAG, "Rewarded ad loaded after destroy, discarding: $adUnitId")
-                    return
-                }
-                rewardedAd = ad
-                Log.d(TAG, "Rewarded ad loaded: $adUnitId")
-                callback.onAdLoaded()
-            }
-
-            override fun onAdFailedToLoad(error: AdRequestError) {
-                rewardedAd = null
-                Log.e(TAG, "Rewarded ad failed to load: ${error.description}")
-                callback.onAdFailedToLoad(error.toAdKitError())
-            }
-        }
-        val loader = RewardedAdLoader(context)
-        rewardedAdLoader = loader
-        loader.loadAd(AdRequest.Builder(adUnitId).build(), listener)
+        pool.load(context, adUnitId, callback::onAdLoaded, callback::onAdFailedToLoad)
     }
 
     override fun showAd(activity: Activity, callback: RewardedAdProvider.RewardedShowCallback) {
-        val ad = rewardedAd
+        show(pool.takeAny(), activity, callback)
+    }
+
+    override fun showAd(activity: Activity, adUnitId: String, callback: RewardedAdProvider.RewardedShowCallback) {
+        show(pool.take(adUnitId), activity, callback)
+    }
+
+    private fun show(ad: RewardedAd?, activity: Activity, callback: RewardedAdProvider.RewardedShowCallback) {
         if (ad == null) {
             callback.onAdFailedToShow(
                 AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "No ad loaded", provider.name)
@@ -80,7 +96,6 @@ class YandexRewardedProvider : RewardedAdProvider {
             override fun onAdFailedToShow(adError: AdError) {
                 Log.e(TAG, "Rewarded ad failed to show: ${adError.description}")
                 ad.setAdEventListener(null)
-                if (rewardedAd === ad) rewardedAd = null
                 callback.onAdFailedToShow(adError.toAdKitError())
                 callback.onAdDismissed()
             }
@@ -88,7 +103,6 @@ class YandexRewardedProvider : RewardedAdProvider {
             override fun onAdDismissed() {
                 Log.d(TAG, "Rewarded ad dismissed")
                 ad.setAdEventListener(null)
-                if (rewardedAd === ad) rewardedAd = null
                 callback.onAdDismissed()
             }
 
@@ -110,13 +124,14 @@ class YandexRewardedProvider : RewardedAdProvider {
         ad.show(activity)
     }
 
-    override fun isAdReady(): Boolean = rewardedAd != null
+    override fun isAdReady(): Boolean = pool.isReady()
+
+    override fun isAdReady(adUnitId: String): Boolean = pool.isReady(adUnitId)
+
+    /** Ready ads, in-flight loads and oldest ad age per ad unit. */
+    fun getPoolStats(): Map<String, Any> = pool.getStats()
 
     override fun destroy() {
-        isDestroyed = true
-        rewardedAdLoader?.cancelLoading()
-        rewardedAdLoader = null
-        rewardedAd?.setAdEventListener(null)
-        rewardedAd = null
+        pool.destroy()
     }
 }
@@ -0,0 +1,126 @@
+package com.i2hammad.admanagekit.yandex.internal
+
+import android.content.Context
+import android.content.res.Resources
+import android.graphics.Color
+import android.graphics.drawable.Drawable
+import android.graphics.drawable.GradientDrawable
+import java.util.WeakHashMap
+
+/**
+ * Theme colors and backgrounds for the built-in Yandex native layouts, resolved
+ * once per theme instead of on every ad load.
+ *
+ * Colors are resolved from Material Design 3 attrs (e.g., `colorSurface`),
+ * falling back to standard Android attrs, then hardcoded defaults. Backgrounds are
+ * kept as [Drawable.ConstantState]s, so each view gets its own drawable sharing one
+ * immutable state.
+ *
+ * Entries are keyed weakly by [Resources.Theme] and re-resolved when the theme's
+ * night mode or density changes. Main thread only.
+ */
+internal object NativeAdThemeCache {
+
+    /** Resolved theme colors for Yandex native ad views. */
+    data class NativeAdColors(
+        val background: Int,
+        val title: Int,
+        val body: Int,
+        val secondary: Int,
+        val ctaBackground: Int,
+        val ctaText: Int,
+        val border: Int
+    )
+
+    class Entry internal constructor(
+        val colors: NativeAdColors,
+        internal val uiMode: Int,
+        internal val densityDpi: Int,
+        private val cardBackground: Drawable.ConstantState,
+        private val ctaBackground: Drawable.ConstantState
+    ) {
+        // No Resources argument: that would rescale the already-scaled radii to the
+        // display density and copy the state instead of sharing it
+        fun newCardBackground(): Drawable = cardBackground.newDrawable()
+
+        fun newCtaBackground(): Drawable = ctaBackground.newDrawable()
+    }
+
+    private val entries = WeakHashMap<Resources.Theme, Entry>()
+
+    fun get(context: Context): Entry {
+        val config = context.resources.configuration
+        val theme = context.theme
+        entries[theme]?.let {
+            if (it.uiMode == config.uiMode && it.densityDpi == config.densityDpi) return it
+        }
+        return resolve(context).also { entries[theme] = it }
+    }
+
+    fun clear() {
+        entries.clear()
+    }
+
+    private fun resolve(context: Context): Entry {
+        val colors = NativeAdColors(
+            background = resolveColorByName(context, "colorSurface", android.R.attr.colorBackground, Color.WHITE),
+            title = resolveColorByName(context, "colorOnSurface", android.R.attr.textColorPrimary, Color.BLACK),
+            body = resolveColorByName(context, "colorOnSurfaceVariant", android.R.attr.textColorSecondary, Color.DKGRAY),
+            secondary = resolveColorByName(context, "colorOnSurfaceVariant", android.R.attr.textColorSecondary, Color.GRAY),
+            ctaBackground = resolveColorByName(context, "colorPrimary", android.R.attr.colorAccent, DEFAULT_CTA_COLOR),
+            ctaText = resolveColorByName(context, "colorOnPrimary", 0, Color.WHITE),
+            border = resolveColorByName(context, "colorOutlineVariant", 0, DEFAULT_BORDER_COLOR)
+        )
+        val density = context.resources.displayMetrics.density
+        val cardBackground = GradientDrawable().apply {
+            setColor(colors.background)
+            cornerRadius = (12 * density).toInt().toFloat()
+            setStroke((1 * density).toInt(), colors.border)
+        }
+        val ctaBackground = GradientDrawable().apply {
+            setColor(colors.ctaBackground)
+            cornerRadius = (20 * density).toInt().toFloat()
+        }
+        val config = context.resources.configuration
+        return Entry(
+            colors = colors,
+            uiMode = config.uiMode,
+            densityDpi = config.densityDpi,
+            cardBackground = cardBackground.constantState!!,
+            ctaBackground = ctaBackground.constantState!!
+        )
+    }
+
+    /**
+     * Resolves a color from the theme, trying Material attr name first,
+     * then a standard Android attr, then a hardcoded default.
+     */
+    private fun resolveColorByName(context: Context, materialAttrName: String, fallbackAttr: Int, defaultColor: Int): Int {
+        // Try Material Design attr by name (resolved from app's merged resources)
+        val materialId = context.resources.getIdentifier(materialAttrName, "attr", context.packageName)
+        if (materialId != 0) {
+            val color = resolveColorAttr(context, materialId)
+            if (color != null) return color
+        }
+        // Fallback to standard Android attr
+        if (fallbackAttr != 0) {
+            val color = resolveColorAttr(context, fallbackAttr)
+            if (color != null) return color
+        }
+        return defaultColor
+    }
+
+    private fun resolveColorAttr(context: Context, attrId: Int): Int? {
+        val a = context.obtainStyledAttributes(intArrayOf(attrId))
+        try {
+            // getColor returns defaultColor if the attr is not found in the theme
+            val color = a.getColor(0, Int.MIN_VALUE)
+            return if (color != Int.MIN_VALUE) color else null
+        } finally {
+            a.recycle()
+        }
+    }
+}
+
+private val DEFAULT_CTA_COLOR = Color.parseColor("#1976D2")
+private val DEFAULT_BORDER_COLOR = Color.parseColor("#C4C4C4")
@@ -0,0 +1,102 @@
+package com.i2hammad.admanagekit.yandex.internal
+
+import android.app.Activity
+import android.content.Context
+import android.content.ContextWrapper
+import android.view.View
+
+/**
+ * Recycles prebuilt native ad view trees ("skeletons") between loads, so a new ad
+ * is bound into an existing tree instead of building one.
+ *
+ * A skeleton becomes reusable once the app has shown it and taken it down again:
+ * it was detached from the window and has no parent. A view that was handed out
+ * but never attached is never taken back, since the app may still be holding it.
+ * Skeletons are only reused for the same [Context] they were built with, and are
+ * dropped when that context's activity finishes.
+ *
+ * Main thread only.
+ *
+ * @param maxPerKey Skeletons kept per key; extras are built but not pooled
+ * @param rootOf The view the app attaches, e.g. the `NativeAdView`
+ */
+internal class ViewSkeletonPool<K : Any, S : Any>(
+    private val maxPerKey: Int = DEFAULT_MAX_PER_KEY,
+    private val rootOf: (S) -> View
+) {
+    private class Slot<S>(val skeleton: S, val root: View) {
+        var released = false
+    }
+
+    private val slots = HashMap<K, MutableList<Slot<S>>>()
+
+    /**
+     * A released skeleton for [key] built with [context], or one from [build].
+     * The caller binds the returned skeleton before handing it out.
+     */
+    fun acquire(key: K, context: Context, build: () -> S): S {
+        val list = slots.getOrPut(key) { ArrayList(maxPerKey) }
+        list.firstOrNull { it.isFree() && it.root.context === context }?.let {
+            it.released = false
+            return it.skeleton
+        }
+        val skeleton = build()
+        if (list.size < maxPerKey) {
+            val slot = Slot(skeleton, rootOf(skeleton))
+            slot.root.addOnAttachStateChangeListener(object : View.OnAttachStateChangeListener {
+                override fun onViewAttachedToWindow(v: View) {
+                    slot.released = false
+                }
+
+                override fun onViewDetachedFromWindow(v: View) {
+                    if (v.context.findActivity()?.let { it.isFinishing || it.isDestroyed } == true) {
+                        v.removeOnAttachStateChangeListener(this)
+                        list.remove(slot)
+                    } else {
+                        slot.released = true
+                    }
+                }
+            })
+            list.add(slot)
+        }
+        return skeleton
+    }
+
+    /** Stops pooling [skeleton], e.g. after it failed to bind. */
+    fun discard(skeleton: S) {
+        slots.values.forEach { list -> list.removeAll { it.skeleton === skeleton } }
+    }
+
+    /** Number of pooled skeletons, in use or not. */
+    fun size(): Int = slots.values.sumOf { it.size }
+
+    fun clear() {
+        slots.clear()
+    }
+
+    /**
+     * Drops every released skeleton, keeping those still handed out.
+     * Returns how many were dropped.
+     */
+    fun trimFree(): Int {
+        val before = size()
+        slots.values.forEach { list -> list.removeAll { it.isFree() } }
+        return before - size()
+    }
+
+    private fun Slot<S>.isFree(): Boolean =
+        released && root.parent == null && !root.isAttachedToWindow
+
+    private fun Context.findActivity(): Activity? {
+        var context: Context? = this
+        while (context is ContextWrapper) {
+            if (context is Activity) return context
+            context = context.baseContext
+        }
+        return null
+    }
+
+    companion object {
+        private const val DEFAULT_MAX_PER_KEY = 2
+    }
+}
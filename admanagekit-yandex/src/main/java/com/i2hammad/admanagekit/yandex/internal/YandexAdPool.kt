@@ -0,0 +1,266 @@
+package com.i2hammad.admanagekit.yandex.internal
+
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import android.util.Log
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdMemoryTrimmers
+import com.i2hammad.admanagekit.core.ad.AdProvider
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
+import com.i2hammad.admanagekit.yandex.YandexAdPoolConfig
+
+/**
+ * Ready full-screen ads per ad unit, with their load time, for the Yandex
+ * interstitial, rewarded and app open providers.
+ *
+ * Ads are shown oldest first, since they expire first. An ad older than
+ * [YandexAdPoolConfig.maxAgeMillis] is released instead of shown. Units are topped
+ * up to [YandexAdPoolConfig.adsPerUnit] after a requested load and, with
+ * [YandexAdPoolConfig.refill], after every show or expiry. Background loads use the
+ * application context and are not retried on failure.
+ *
+ * Every load waits for an [AdRequestGovernor] slot: a requested load at the caller's
+ * priority, a top-up as a prefetch.
+ *
+ * Under memory pressure the pool is trimmed through [AdMemoryTrimmers], reported as
+ * [tag], and is not topped up again until the next load or show.
+ *
+ * Main thread only, like the Yandex SDK callbacks.
+ */
+internal class YandexAdPool<T : Any>(
+    private val config: YandexAdPoolConfig,
+    private val tag: String,
+    private val loader: Loader<T>,
+    private val clock: () -> Long = SystemClock::elapsedRealtime
+) {
+    interface Loader<T> {
+        /** Starts one load and returns a function that cancels it. */
+        fun load(
+            context: Context,
+            adUnitId: String,
+            onLoaded: (T) -> Unit,
+            onFailed: (AdKitAdError) -> Unit
+        ): () -> Unit
+
+        /** Drops an ad that will never be shown. */
+        fun release(ad: T)
+    }
+
+    private class PooledAd<T>(val ad: T, val loadedAtMillis: Long) {
+        var expiry: Runnable? = null
+    }
+
+    private class UnitState<T> {
+        val ready = ArrayDeque<PooledAd<T>>()
+        /** Loads waiting for a request slot. */
+        val queued = LinkedHashSet<AdRequestScheduler.Ticket>()
+        /** Loads issued and not yet reported. */
+        var loading = 0
+        var refillContext: Context? = null
+    }
+
+    private val units = HashMap<String, UnitState<T>>()
+    private val pendingLoads = LinkedHashMap<AdRequestScheduler.Ticket, () -> Unit>()
+    private val handler = Handler(Looper.getMainLooper())
+    private var destroyed = false
+    private val trimmer = AdMemoryTrimmers.Trimmer { tier -> trim(tier) * AdMemoryTrimmers.ESTIMATED_FULL_SCREEN_AD_BYTES }
+
+    init {
+        AdMemoryTrimmers.register(tag, trimmer)
+    }
+
+    /**
+     * Reports [onLoaded] at once if [adUnitId] has a ready ad, otherwise loads one.
+     * Either way the unit is then topped up to [YandexAdPoolConfig.adsPerUnit].
+     * Fails with an internal error once the pool is destroyed.
+     */
+    fun load(context: Context, adUnitId: String, onLoaded: () -> Unit, onFailed: (AdKitAdError) -> Unit) {
+        if (destroyed) {
+            Log.w(tag, "Load requested after destroy: $adUnitId")
+            onFailed(AdKitAdError(AdKitAdError.ERROR_CODE_INTERNAL, "Ad pool was destroyed", AdProvider.YANDEX.name))
+            return
+        }
+        val state = units.getOrPut(adUnitId) { UnitState() }
+        state.refillContext = context.applicationContext
+        prune(adUnitId, state)
+        if (state.ready.isNotEmpty()) {
+            Log.d(tag, "Ad already pooled for $adUnitId (ready: ${state.ready.size})")
+            onLoaded()
+            topUp(adUnitId, state)
+            return
+        }
+        startLoad(context, adUnitId, state, onLoaded, onFailed)
+    }
+
+    /** Removes and returns the oldest unexpired ad for [adUnitId], or null. */
+    fun take(adUnitId: String): T? {
+        val state = units[adUnitId] ?: return null
+        prune(adUnitId, state)
+        val pooled = state.ready.removeFirstOrNull() ?: return null
+        pooled.expiry?.let { handler.removeCallbacks(it) }
+        Log.d(tag, "Taking ad for $adUnitId aged ${clock() - pooled.loadedAtMillis}ms (left: ${state.ready.size})")
+        if (config.refill) topUp(adUnitId, state)
+        return pooled.ad
+    }
+
+    /** Like [take], for whichever unit has an ad ready. */
+    fun takeAny(): T? = units.keys.toList().firstNotNullOfOrNull { take(it) }
+
+    fun isReady(adUnitId: String): Boolean {
+        val state = units[adUnitId] ?: return false
+        if (prune(adUnitId, state) > 0 && config.refill) topUp(adUnitId, state)
+        return state.ready.isNotEmpty()
+    }
+
+    fun isReady(): Boolean = units.keys.toList().any { isReady(it) }
+
+    /** Ready ad count and oldest ad age per ad unit. */
+    fun getStats(): Map<String, Any> {
+        val now = clock()
+        return units.mapValues { (_, state) ->
+            mapOf(
+                "ready" to state.ready.size,
+                "inFlight" to inFlight(state),
+                "oldestAgeMs" to (state.ready.firstOrNull()?.let { now - it.loadedAtMillis } ?: 0L)
+            )
+        }
+    }
+
+    /**
+     * Releases expired ads for [tier], then ads beyond one per unit at
+     * [AdMemoryTier.SHRINK] and every ready ad at [AdMemoryTier.CLEAR], without
+     * topping up. Returns how many ads were released.
+     */
+    fun trim(tier: AdMemoryTier): Int {
+        val keepPerUnit = when (tier) {
+            AdMemoryTier.EXPIRED -> Int.MAX_VALUE
+            AdMemoryTier.SHRINK, AdMemoryTier.RELEASE -> 1
+            AdMemoryTier.CLEAR -> 0
+        }
+        var released = 0
+        units.forEach { (adUnitId, state) ->
+            released += prune(adUnitId, state)
+            while (state.ready.size > keepPerUnit) {
+                val oldest = state.ready.removeFirst()
+                oldest.expiry?.let { handler.removeCallbacks(it) }
+                loader.release(oldest.ad)
+                released++
+            }
+        }
+        if (released > 0) Log.d(tag, "Trimmed $released pooled ads for $tier")
+        return released
+    }
+
+    fun destroy() {
+        destroyed = true
+        AdMemoryTrimmers.unregister(trimmer)
+        pendingLoads.values.toList().forEach { it() }
+        pendingLoads.clear()
+        handler.removeCallbacksAndMessages(null)
+        units.values.forEach { state -> state.ready.forEach { loader.release(it.ad) } }
+        units.clear()
+    }
+
+    private fun startLoad(
+        context: Context,
+        adUnitId: String,
+        state: UnitState<T>,
+        onLoaded: (() -> Unit)?,
+        onFailed: ((AdKitAdError) -> Unit)?
+    ) {
+        var settled = false
+        var ticket: AdRequestScheduler.Ticket? = null
+        var cancelLoad: (() -> Unit)? = null
+        // Drops the request while it is queued, or cancels the load once it started
+        val cancel: () -> Unit = {
+            ticket?.cancel()
+            cancelLoad?.invoke()
+        }
+        fun settle() {
+            settled = true
+            state.loading--
+            ticket?.let { pendingLoads.remove(it) }
+        }
+        val priority = if (onLoaded != null) AdRequestGovernor.currentPriority() else AdRequestPriority.PREFETCH
+        ticket = AdRequestGovernor.submit(adUnitId, priority) { started ->
+            state.queued.remove(started)
+            state.loading++
+            cancelLoad = loader.load(
+                context,
+                adUnitId,
+                onLoaded = { ad ->
+                    started.finish()
+                    settle()
+                    if (destroyed) {
+                        Log.d(tag, "Ad loaded after destroy, discarding: $adUnitId")
+                        loader.release(ad)
+                    } else {
+                        add(adUnitId, state, ad)
+                        onLoaded?.invoke()
+                        topUp(adUnitId, state)
+                    }
+                },
+                onFailed = { error ->
+                    started.finish()
+                    settle()
+                    if (onFailed == null) Log.w(tag, "Background load failed for $adUnitId: ${error.message}")
+                    onFailed?.invoke(error)
+                }
+            )
+        }
+        if (ticket.state == AdRequestScheduler.Ticket.State.QUEUED) state.queued.add(ticket)
+        if (!settled) pendingLoads[ticket] = cancel
+    }
+
+    // A ticket cancelled or expired before it started (e.g. by a waterfall that gave up
+    // on it) never reports back, so it stops counting once it leaves the queue
+    private fun inFlight(state: UnitState<T>): Int {
+        state.queued.removeAll { ticket ->
+            val dropped = ticket.state != AdRequestScheduler.Ticket.State.QUEUED
+            if (dropped) pendingLoads.remove(ticket)
+            dropped
+        }
+        return state.queued.size + state.loading
+    }
+
+    private fun add(adUnitId: String, state: UnitState<T>, ad: T) {
+        val pooled = PooledAd(ad, clock())
+        pooled.expiry = Runnable {
+            if (state.ready.remove(pooled)) {
+                Log.d(tag, "Pooled ad expired for $adUnitId")
+                loader.release(ad)
+                if (config.refill) topUp(adUnitId, state)
+            }
+        }.also { handler.postDelayed(it, config.maxAgeMillis) }
+        state.ready.addLast(pooled)
+        Log.d(tag, "Pooled ad for $adUnitId (ready: ${state.ready.size})")
+    }
+
+    private fun topUp(adUnitId: String, state: UnitState<T>) {
+        if (destroyed) return
+        val context = state.refillContext ?: return
+        repeat(config.adsPerUnit - state.ready.size - inFlight(state)) {
+            startLoad(context, adUnitId, state, null, null)
+        }
+    }
+
+    // The expiry Runnable runs on uptime, which stops in deep sleep; the clock does not
+    private fun prune(adUnitId: String, state: UnitState<T>): Int {
+        val now = clock()
+        var removed = 0
+        while (true) {
+            val oldest = state.ready.firstOrNull() ?: return removed
+            if (now - oldest.loadedAtMillis <= config.maxAgeMillis) return removed
+            state.ready.removeFirst()
+            oldest.expiry?.let { handler.removeCallbacks(it) }
+            Log.d(tag, "Discarding expired ad for $adUnitId")
+            loader.release(oldest.ad)
+            removed++
+        }
+    }
+}
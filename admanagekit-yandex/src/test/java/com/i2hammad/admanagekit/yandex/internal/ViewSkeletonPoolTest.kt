@@ -0,0 +1,113 @@
+package com.i2hammad.admanagekit.yandex.internal
+
+import android.app.Activity
+import android.view.View
+import android.widget.FrameLayout
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Tests for [ViewSkeletonPool]: a skeleton is only reused after the app showed it
+ * and took it down, and only for the context it was built with. Also covers
+ * [NativeAdThemeCache] sharing one resolution per theme.
+ */
+@RunWith(RobolectricTestRunner::class)
+class ViewSkeletonPoolTest {
+
+    private lateinit var activity: Activity
+    private lateinit var container: FrameLayout
+    private val pool = ViewSkeletonPool<String, View>(rootOf = { it })
+
+    @Before
+    fun setUp() {
+        activity = Robolectric.buildActivity(Activity::class.java).setup().get()
+        container = FrameLayout(activity)
+        activity.setContentView(container)
+    }
+
+    private fun acquire(): View = pool.acquire("LARGE", activity) { View(activity) }
+
+    @Test
+    fun `skeleton handed out but never shown is not reused`() {
+        val first = acquire()
+
+        assertNotSame(first, acquire())
+    }
+
+    @Test
+    fun `skeleton shown and taken down is reused`() {
+        val first = acquire()
+        container.addView(first)
+        container.removeView(first)
+
+        assertSame(first, acquire())
+    }
+
+    @Test
+    fun `skeleton still on screen is not reused`() {
+        val first = acquire()
+        container.addView(first)
+
+        assertNotSame(first, acquire())
+    }
+
+    @Test
+    fun `skeleton is not reused for another context`() {
+        val first = acquire()
+        container.addView(first)
+        container.removeView(first)
+
+        val other = Robolectric.buildActivity(Activity::class.java).setup().get()
+        assertNotSame(first, pool.acquire("LARGE", other) { View(other) })
+    }
+
+    @Test
+    fun `pool keeps at most two skeletons per key`() {
+        repeat(3) { acquire() }
+
+        assertEquals(2, pool.size())
+    }
+
+    @Test
+    fun `discarded skeleton is not reused`() {
+        val first = acquire()
+        container.addView(first)
+        container.removeView(first)
+
+        pool.discard(first)
+
+        assertNotSame(first, acquire())
+    }
+
+    @Test
+    fun `trim drops released skeletons and keeps those on screen`() {
+        val released = acquire()
+        container.addView(released)
+        container.removeView(released)
+        val shown = acquire()
+        container.addView(shown)
+
+        assertEquals(1, pool.trimFree())
+
+        assertEquals(1, pool.size())
+        assertNotSame(released, acquire())
+    }
+
+    @Test
+    fun `theme resources are resolved once per theme`() {
+        NativeAdThemeCache.clear()
+        val entry = NativeAdThemeCache.get(activity)
+
+        assertSame(entry, NativeAdThemeCache.get(activity))
+        val first = entry.newCardBackground()
+        val second = entry.newCardBackground()
+        assertNotSame(first, second)
+        assertSame(first.constantState, second.constantState)
+    }
+}
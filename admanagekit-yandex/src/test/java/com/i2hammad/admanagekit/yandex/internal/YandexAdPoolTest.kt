@@ -0,0 +1,227 @@
+package com.i2hammad.admanagekit.yandex.internal
+
+import android.content.Context
+import android.os.Looper
+import com.i2hammad.admanagekit.core.ad.AdKitAdError
+import com.i2hammad.admanagekit.core.ad.AdMemoryTier
+import com.i2hammad.admanagekit.core.ad.AdRequestGovernor
+import com.i2hammad.admanagekit.core.ad.AdRequestPriority
+import com.i2hammad.admanagekit.core.ad.AdRequestScheduler
+import com.i2hammad.admanagekit.yandex.YandexAdPoolConfig
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import java.time.Duration
+
+/**
+ * Tests for [YandexAdPool]: ads are shown oldest first, expire after their max age,
+ * units are topped up to the configured size, and memory trims release ready ads.
+ */
+@RunWith(RobolectricTestRunner::class)
+class YandexAdPoolTest {
+
+    private val context: Context = RuntimeEnvironment.getApplication()
+    private var now = 0L
+    private val loader = FakeLoader()
+
+    private class FakeLoader : YandexAdPool.Loader<String> {
+        val pending = ArrayDeque<Pair<(String) -> Unit, (AdKitAdError) -> Unit>>()
+        val released = ArrayList<String>()
+        var cancelled = 0
+        private var next = 0
+
+        override fun load(
+            context: Context,
+            adUnitId: String,
+            onLoaded: (String) -> Unit,
+            onFailed: (AdKitAdError) -> Unit
+        ): () -> Unit {
+            pending.addLast(onLoaded to onFailed)
+            return { cancelled++ }
+        }
+
+        override fun release(ad: String) {
+            released.add(ad)
+        }
+
+        fun completeNext(): String = "ad${next++}".also { pending.removeFirst().first(it) }
+
+        fun failNext() {
+            pending.removeFirst().second(AdKitAdError(AdKitAdError.ERROR_CODE_NO_FILL, "no fill", "YANDEX"))
+        }
+    }
+
+    private fun pool(config: YandexAdPoolConfig) = YandexAdPool(config, "test", loader) { now }
+
+    @After
+    fun tearDown() {
+        AdRequestGovernor.scheduler.reset()
+        AdRequestGovernor.maxConcurrentRequests = AdRequestGovernor.DEFAULT_MAX_CONCURRENT_REQUESTS
+    }
+
+    @Test
+    fun `load reports success once an ad is pooled`() {
+        val pool = pool(YandexAdPoolConfig())
+        var loaded = 0
+        pool.load(context, "unit", { loaded++ }, {})
+        assertEquals(0, loaded)
+
+        loader.completeNext()
+
+        assertEquals(1, loaded)
+        assertTrue(pool.isReady("unit"))
+        assertFalse(pool.isReady("other"))
+    }
+
+    @Test
+    fun `load with a ready ad reports success without a new request`() {
+        val pool = pool(YandexAdPoolConfig())
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+
+        var loaded = 0
+        pool.load(context, "unit", { loaded++ }, {})
+
+        assertEquals(1, loaded)
+        assertTrue(loader.pending.isEmpty())
+    }
+
+    @Test
+    fun `unit is topped up to adsPerUnit and served oldest first`() {
+        val pool = pool(YandexAdPoolConfig(adsPerUnit = 2))
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+        now += 10
+        loader.completeNext()
+
+        assertEquals("ad0", pool.take("unit"))
+        assertEquals("ad1", pool.take("unit"))
+        assertNull(pool.take("unit"))
+    }
+
+    @Test
+    fun `expired ad is released instead of served`() {
+        val pool = pool(YandexAdPoolConfig(maxAgeMillis = 1_000))
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+
+        now += 1_001
+
+        assertNull(pool.take("unit"))
+        assertEquals(listOf("ad0"), loader.released)
+    }
+
+    @Test
+    fun `expiry timer refills the unit when refill is on`() {
+        val pool = pool(YandexAdPoolConfig(maxAgeMillis = 1_000, refill = true))
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(1_001))
+
+        assertEquals(listOf("ad0"), loader.released)
+        assertEquals(1, loader.pending.size)
+    }
+
+    @Test
+    fun `take refills only when refill is on`() {
+        val plain = pool(YandexAdPoolConfig())
+        plain.load(context, "unit", {}, {})
+        loader.completeNext()
+        plain.take("unit")
+        assertTrue(loader.pending.isEmpty())
+
+        val refilling = pool(YandexAdPoolConfig(refill = true))
+        refilling.load(context, "unit", {}, {})
+        loader.completeNext()
+        refilling.take("unit")
+        assertEquals(1, loader.pending.size)
+    }
+
+    @Test
+    fun `failed load is reported and not retried`() {
+        val pool = pool(YandexAdPoolConfig(adsPerUnit = 2))
+        var failed = 0
+        pool.load(context, "unit", {}, { failed++ })
+
+        loader.failNext()
+
+        assertEquals(1, failed)
+        assertTrue(loader.pending.isEmpty())
+        assertFalse(pool.isReady())
+    }
+
+    @Test
+    fun `trim keeps one ad per unit on shrink and none on clear, without topping up`() {
+        val pool = pool(YandexAdPoolConfig(adsPerUnit = 2, refill = true))
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+        loader.completeNext()
+
+        assertEquals(0, pool.trim(AdMemoryTier.EXPIRED))
+        assertEquals(1, pool.trim(AdMemoryTier.SHRINK))
+        assertEquals(listOf("ad0"), loader.released)
+        assertEquals(1, pool.trim(AdMemoryTier.CLEAR))
+
+        assertEquals(listOf("ad0", "ad1"), loader.released)
+        assertTrue(loader.pending.isEmpty())
+        assertFalse(pool.isReady("unit"))
+    }
+
+    @Test
+    fun `load dropped from the request queue stops counting as in flight`() {
+        AdRequestGovernor.maxConcurrentRequests = 1
+        val blocker = AdRequestGovernor.submit("other", AdRequestPriority.PREFETCH) {}
+        val pool = pool(YandexAdPoolConfig(adsPerUnit = 2))
+        val tickets = ArrayList<AdRequestScheduler.Ticket>()
+        val observer = object : AdRequestGovernor.RequestObserver {
+            override fun onSubmitted(ticket: AdRequestScheduler.Ticket) {
+                tickets.add(ticket)
+            }
+        }
+        AdRequestGovernor.withPriority(AdRequestPriority.PREFETCH, observer) { pool.load(context, "unit", {}, {}) }
+
+        tickets.single().cancel()
+        blocker.finish()
+
+        assertTrue(loader.pending.isEmpty())
+        assertEquals(0, (pool.getStats()["unit"] as Map<*, *>)["inFlight"])
+
+        // The next pooled ad tops the unit up without waiting on the dropped load
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+        assertEquals(1, loader.pending.size)
+    }
+
+    @Test
+    fun `destroy cancels loads and releases pooled ads`() {
+        val pool = pool(YandexAdPoolConfig(adsPerUnit = 2))
+        pool.load(context, "unit", {}, {})
+        loader.completeNext()
+
+        pool.destroy()
+
+        assertEquals(1, loader.cancelled)
+        assertEquals(listOf("ad0"), loader.released)
+        assertFalse(pool.isReady())
+    }
+
+    @Test
+    fun `load after destroy fails with an internal error`() {
+        val pool = pool(YandexAdPoolConfig())
+        pool.destroy()
+        var error: AdKitAdError? = null
+
+        pool.load(context, "unit", {}, { error = it })
+
+        assertEquals(AdKitAdError.ERROR_CODE_INTERNAL, error?.code)
+        assertTrue(loader.pending.isEmpty())
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.jetbrains.kotlin.android)
     alias(libs.plugins.compose.compiler)
+    alias(libs.plugins.androidx.baselineprofile)
 }
 
 android {
@@ -15,6 +16,8 @@ android {
         versionCode = 2
         versionName = "2.0"
 
+        // Benchmark builds set this to serve simulated ads; see androidComponents below
+        buildConfigField("boolean", "SIMULATED_ADS", "false")
     }
 
     buildTypes {
@@ -34,6 +37,26 @@ android {
     }
     buildFeatures {
         compose = true
+        buildConfig = true
+    }
+
+    // Benchmark builds export the screens the macrobenchmarks open directly
+    listOf("benchmarkRelease", "nonMinifiedRelease").forEach { buildType ->
+        sourceSets.maybeCreate(buildType).manifest.srcFile("src/benchmark/AndroidManifest.xml")
+    }
+}
+
+// The baselineprofile plugin adds a benchmarkRelease build type for macrobenchmarks and
+// a nonMinifiedRelease one for profile generation. Both replace AdMob and Yandex with a
+// seeded simulated network so runs are offline and repeatable.
+androidComponents {
+    onVariants { variant ->
+        if (variant.buildType == "benchmarkRelease" || variant.buildType == "nonMinifiedRelease") {
+            variant.buildConfigFields?.put(
+                "SIMULATED_ADS",
+                com.android.build.api.variant.BuildConfigField("boolean", "true", "Serve ads from SimulatedAdProvider")
+            )
+        }
     }
 }
 
@@ -49,6 +72,8 @@ dependencies {
     implementation(project(":admanagekit-yandex"))
     implementation(project(":admanagekit-compose"))
     implementation(libs.androidx.work.runtime)
+    implementation(libs.androidx.profileinstaller)
+    baselineProfile(project(":admanagekit-macrobenchmark"))
 
     // Compose (used by ComposeAdsTestActivity - sample screen for the admanagekit-compose module)
     implementation(platform(libs.androidx.compose.bom))
@@ -21,6 +21,9 @@ import com.i2hammad.admanagekit.config.AdLoadingStrategy
 import com.i2hammad.admanagekit.config.AdManageKitConfig
 import com.i2hammad.admanagekit.core.ad.AdProviderConfig
 import com.i2hammad.admanagekit.core.ad.AdUnitMapping
+import com.i2hammad.admanagekit.core.ad.SimulatedAdProfile
+import com.i2hammad.admanagekit.core.ad.SimulatedAdProvider
+import com.i2hammad.admanagekit.core.ad.SimulatedDistribution
 import com.i2hammad.admanagekit.utils.AdDebugUtils
 import com.i2hammad.admanagekit.yandex.YandexProviderRegistration
 import kotlin.time.Duration.Companion.hours
@@ -42,7 +45,9 @@ class MyApplication : Application() {
         // race ahead of the background-thread initialization and fetch an app-open ad
         // before MobileAds.initialize() completes, which the Next-Gen SDK rejects with
         // an exception instead of silently self-initializing like the legacy SDK did.
-        initAds()
+        if (!BuildConfig.SIMULATED_ADS) {
+            initAds()
+        }
 
         //If you want to use billing feature must use billing provider
 //        BillingConfig.setPurchaseProvider(BillingPurchaseProvider())
@@ -53,7 +58,11 @@ class MyApplication : Application() {
         configureAdManageKit()
 
         // Initialize multi-provider waterfall system
-        configureMultiProvider()
+        if (BuildConfig.SIMULATED_ADS) {
+            configureSimulatedAds()
+        } else {
+            configureMultiProvider()
+        }
 
         initBilling()
     }
@@ -213,6 +222,39 @@ class MyApplication : Application() {
 //        AdProviderConfig.setRewardedChain(listOf(yandex.rewardedProvider, admob.rewardedProvider))
     }
 
+    /**
+     * Benchmark builds serve every format from one seeded [SimulatedAdProvider] instead of
+     * AdMob and Yandex, so macrobenchmarks need no network, consent or MobileAds
+     * initialization and see the same ads on every run.
+     */
+    private fun configureSimulatedAds() {
+        AdManageKitConfig.apply {
+            // The overlay and welcome dialog would be measured along with the app
+            debugMode = false
+            enableDebugOverlay = false
+            enableWelcomeBackDialog = false
+            enableSystemTracing = true
+        }
+
+        val simulated = SimulatedAdProvider(
+            seed = 47,
+            defaultProfile = SimulatedAdProfile(
+                loadLatencyMillis = SimulatedDistribution.fixed(300),
+                fillRate = 1.0
+            )
+        )
+        AdProviderConfig.setInterstitialChain(listOf(simulated))
+        AdProviderConfig.setBannerChain(listOf(simulated))
+        AdProviderConfig.setNativeChain(listOf(simulated))
+        AdProviderConfig.setAppOpenChain(listOf(simulated))
+        AdProviderConfig.setRewardedChain(listOf(simulated))
+
+        // No MobileAds.initialize() to wait for: the chain has no AdMob provider
+        appOpenManager = AppOpenManager(this, "ca-app-pub-3940256099942544/9257395921").apply {
+            disableAppOpenWithActivity(SplashActivity::class.java)
+        }
+    }
+
     private fun initBilling() {
 
 
@@ -1,7 +1,9 @@
 package com.i2hammad.admanagekit.sample
 
 import android.content.Intent
+import android.os.Build
 import android.os.Bundle
+import android.os.Trace
 import android.util.Log
 import android.widget.TextView
 import androidx.activity.enableEdgeToEdge
@@ -24,6 +26,10 @@ class SplashActivity : AppCompatActivity() {
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
+        // Ends when the app open ad shows; measured by the macrobenchmarks
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(SPLASH_TO_FIRST_AD_SECTION, 0)
+        }
         enableEdgeToEdge()
         setContentView(R.layout.activity_splash)
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main)) { v, insets ->
@@ -59,6 +65,11 @@ class SplashActivity : AppCompatActivity() {
     }
 
     private fun requestUMP() {
+        if (BuildConfig.SIMULATED_ADS) {
+            // Simulated ads request nothing from the network, so no consent is needed
+            forceLoadAppOpen()
+            return
+        }
         val adsConsentManager: AdsConsentManager = AdsConsentManager.getInstance(this)
 
         if (adsConsentManager.canRequestAds()) {
@@ -188,6 +199,13 @@ class SplashActivity : AppCompatActivity() {
         MyApplication.instance.appOpenManager?.forceShowAdIfAvailable(
             this,
             object : AdManagerCallback() {
+                override fun onAdShowed() {
+                    super.onAdShowed()
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                        Trace.endAsyncSection(SPLASH_TO_FIRST_AD_SECTION, 0)
+                    }
+                }
+
                 override fun onNextAction() {
                     super.onNextAction()
                     Log.d("SplashActivity", "onNext Called")
@@ -209,4 +227,8 @@ class SplashActivity : AppCompatActivity() {
         startActivity(nextIntent)
         finish()
     }
-}
\ No newline at end of file
+
+    companion object {
+        private const val SPLASH_TO_FIRST_AD_SECTION = "Sample:splashToFirstAd"
+    }
+}
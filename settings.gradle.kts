@@ -27,3 +27,5 @@ include(":admanagekit-billing")
 include(":admanagekit-core")
 include(":admanagekit-compose")
 include(":admanagekit-yandex")
+include(":admanagekit-benchmark")
+include(":admanagekit-macrobenchmark")